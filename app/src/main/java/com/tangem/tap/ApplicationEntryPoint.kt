@@ -2,6 +2,7 @@ package com.tangem.tap
 
 import androidx.hilt.work.HiltWorkerFactory
 import com.tangem.core.abtests.manager.ABTestsManager
+import com.tangem.core.analytics.api.PendingAnalyticsEventsStore
 import com.tangem.core.analytics.filter.OneTimeEventFilter
 import com.tangem.core.analytics.paramsinterceptor.SendTransactionSignerInfoInterceptor
 import com.tangem.core.configtoggle.blockchain.ExcludedBlockchainsManager
@@ -34,6 +35,8 @@ interface ApplicationEntryPoint {
 
     fun getOneTimeEventFilter(): OneTimeEventFilter
 
+    fun getPendingAnalyticsEventsStore(): PendingAnalyticsEventsStore
+
     fun getTangemLoggingInitializer(): TangemLoggingInitializer
 
     fun getBlockchainExceptionHandler(): BlockchainExceptionHandler
@@ -11,6 +11,7 @@ import coil.ImageLoaderFactory
 import com.tangem.blockchain.common.ExceptionHandler
 import com.tangem.core.abtests.manager.ABTestsManager
 import com.tangem.core.analytics.Analytics
+import com.tangem.core.analytics.api.PendingAnalyticsEventsStore
 import com.tangem.core.analytics.filter.AppsFlyerEventFilter
 import com.tangem.core.analytics.filter.OneTimeEventFilter
 import com.tangem.core.configtoggle.blockchain.ExcludedBlockchainsManager
@@ -63,6 +64,9 @@ open class TangemApplication : Application(), ImageLoaderFactory, Configuration.
     private val oneTimeEventFilter: OneTimeEventFilter
         get() = entryPoint.getOneTimeEventFilter()
 
+    private val pendingAnalyticsEventsStore: PendingAnalyticsEventsStore
+        get() = entryPoint.getPendingAnalyticsEventsStore()
+
     private val tangemLoggingInitializer: TangemLoggingInitializer
         get() = entryPoint.getTangemLoggingInitializer()
 
@@ -194,5 +198,7 @@ open class TangemApplication : Application(), ImageLoaderFactory, Configuration.
         Analytics.addParamsInterceptor(interceptor = sendTransactionSignerInfoInterceptor)
 
         factory.build(Analytics, buildData)
+
+        Analytics.setPendingEventsStore(pendingAnalyticsEventsStore)
     }
 }
\ No newline at end of file
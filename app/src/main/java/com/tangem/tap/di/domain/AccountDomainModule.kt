@@ -82,6 +82,14 @@ internal object AccountDomainModule {
         return GetArchivedAccountsUseCase(crudRepository = accountsCRUDRepository)
     }
 
+    @Provides
+    @Singleton
+    fun provideHasPendingAccountsChangesUseCase(
+        accountsCRUDRepository: AccountsCRUDRepository,
+    ): HasPendingAccountsChangesUseCase {
+        return HasPendingAccountsChangesUseCase(crudRepository = accountsCRUDRepository)
+    }
+
     @Provides
     @Singleton
     fun provideGetUnoccupiedAccountIndexUseCase(
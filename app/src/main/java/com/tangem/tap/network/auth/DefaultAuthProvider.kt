@@ -8,12 +8,22 @@ import com.tangem.domain.common.wallets.UserWalletsListRepository
 import com.tangem.domain.models.wallet.UserWallet
 import com.tangem.utils.Provider
 import com.tangem.utils.ProviderSuspend
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.flow.map
 
 internal class DefaultAuthProvider(
     private val userWalletsListRepository: UserWalletsListRepository,
     private val environmentConfig: EnvironmentConfig,
 ) : AuthProvider {
 
+    override val authChanges: Flow<Unit> = userWalletsListRepository.selectedUserWallet
+        .map(::getAuthKey)
+        .distinctUntilChanged()
+        .map { }
+
+    override fun getAuthKeySync(): String? = getAuthKey(userWalletsListRepository.selectedUserWallet.value)
+
     override suspend fun getCardPublicKey(): String {
         val userWallet = getSelectedWallet()
 
@@ -68,6 +78,10 @@ internal class DefaultAuthProvider(
         }
     }
 
+    private fun getAuthKey(userWallet: UserWallet?): String? {
+        return (userWallet as? UserWallet.Cold)?.scanResponse?.card?.cardId
+    }
+
     private suspend fun getWallets(): List<UserWallet> {
         return userWalletsListRepository.userWalletsSync()
     }
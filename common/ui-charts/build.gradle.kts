@@ -8,6 +8,10 @@ android {
     namespace = "com.tangem.common.ui.charts"
 }
 
+tasks.withType<Test>().configureEach {
+    useJUnitPlatform()
+}
+
 dependencies {
     /** Project - Core */
     implementation(projects.core.ui)
@@ -24,4 +28,8 @@ dependencies {
     implementation(deps.compose.ui.tooling)
     implementation(deps.compose.ui.utils)
     implementation(deps.kotlin.immutable.collections)
+
+    /** Tests */
+    testRuntimeOnly(deps.test.junit5.engine)
+    testImplementation(projects.test.core)
 }
\ No newline at end of file
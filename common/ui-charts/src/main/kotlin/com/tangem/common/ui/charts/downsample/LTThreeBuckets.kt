@@ -1,7 +1,5 @@
 package com.tangem.common.ui.charts.downsample
 
-import kotlin.math.max
-
 /**
  * =========================================================
 
@@ -25,222 +23,94 @@ import kotlin.math.max
  */
 object LTThreeBuckets {
 
-    fun downsample(x: List<Double>, y: List<Double>, desiredBuckets: Int): Result {
+    /**
+     * Downsamples points ([x], [y]) to [desiredBuckets] + 2 points.
+     * Works over primitive arrays and allocates only the arrays of [Result].
+     */
+    fun downsample(x: DoubleArray, y: DoubleArray, desiredBuckets: Int): Result {
         require(x.size == y.size) { "X and Y must have the same size" }
         require(desiredBuckets > 0) { "Desired buckets must be greater than 0" }
 
-        val points = x.zip(y).mapIndexed { index, (x, y) -> Point(index, x, y) }
-        val results = mutableListOf<Point>()
-
-        points.onPassBucketize(desiredBuckets)
-            .sliding(size = 3, step = 1)
-            .map { buckets -> Triangle.of(buckets) }
-            .fastForEach { triangle ->
-                if (results.isEmpty()) {
-                    results.add(triangle.getFirst())
-                }
+        val middleSize = x.size - 2
+        val bucketSize = middleSize / desiredBuckets
+        val remainingElements = middleSize % desiredBuckets
 
-                results.add(triangle.getResult())
+        require(bucketSize != 0) {
+            "Can't produce $desiredBuckets buckets from an input series of ${middleSize + 2} elements"
+        }
 
-                if (results.size == desiredBuckets + 1) {
-                    results.add(triangle.getLast())
+        // When input size is not a multiple of desired buckets,
+        // remaining elements are equally distributed on the first buckets.
+        fun bucketSize(bucket: Int): Int = if (bucket <= remainingElements) bucketSize + 1 else bucketSize
+
+        val resultSize = desiredBuckets + 2
+        val indexesRes = IntArray(resultSize)
+
+        // First and last points are the only points of the first and the last buckets
+        indexesRes[0] = 0
+        indexesRes[resultSize - 1] = x.lastIndex
+
+        var leftIndex = 0
+        var bucketStart = 1
+
+        for (bucket in 1..desiredBuckets) {
+            val bucketEnd = bucketStart + bucketSize(bucket)
+
+            // Right bucket is represented by the center between its first and last points
+            val rightFirst = bucketEnd
+            val rightLast = if (bucket == desiredBuckets) x.lastIndex else bucketEnd + bucketSize(bucket + 1) - 1
+            val rightX = x[rightFirst] + (x[rightLast] - x[rightFirst]) / 2
+            val rightY = y[rightFirst] + (y[rightLast] - y[rightFirst]) / 2
+
+            var maxArea = -1.0
+            var maxIndex = bucketStart
+
+            for (index in bucketStart until bucketEnd) {
+                val area = triangleArea(
+                    ax = x[leftIndex],
+                    ay = y[leftIndex],
+                    bx = x[index],
+                    by = y[index],
+                    cx = rightX,
+                    cy = rightY,
+                )
+
+                if (area > maxArea) {
+                    maxArea = area
+                    maxIndex = index
                 }
             }
 
-        val xRes = ArrayList<Double>(points.size)
-        val yRes = ArrayList<Double>(points.size)
-        val indexesRes = ArrayList<Int>(points.size)
+            indexesRes[bucket] = maxIndex
 
-        results.fastForEach { result ->
-            xRes.add(result.x)
-            yRes.add(result.y)
-            indexesRes.add(requireNotNull(result.originalIndex))
+            leftIndex = bucketStart
+            bucketStart = bucketEnd
         }
 
         return Result(
             originalIndexes = indexesRes,
-            x = xRes,
-            y = yRes,
+            x = DoubleArray(resultSize) { x[indexesRes[it]] },
+            y = DoubleArray(resultSize) { y[indexesRes[it]] },
         )
     }
 
-    data class Result(
-        val originalIndexes: List<Int>,
-        val x: List<Double>,
-        val y: List<Double>,
-    )
-}
-
-private fun List<Point>.onPassBucketize(desiredBucketsCount: Int): List<Bucket> {
-    val middleSize = size - 2
-    val bucketSize = middleSize / desiredBucketsCount
-    val remainingElements = middleSize % desiredBucketsCount
-
-    require(bucketSize != 0) {
-        "Can't produce $desiredBucketsCount buckets from an input series of ${middleSize + 2} elements"
-    }
-
-    val buckets = mutableListOf<Bucket>()
-
-    // Add first point as the only point in the first bucket
-    buckets.add(Bucket.of(this[0]))
-
-    var rest = this.subList(1, this.lastIndex)
-
-    // Add middle buckets.
-    // When inputSize is not a multiple of desiredBuckets,
-    // remaining elements are equally distributed on the first buckets.
-    while (buckets.size < desiredBucketsCount + 1) {
-        val size = if (buckets.size <= remainingElements) bucketSize + 1 else bucketSize
-        buckets.add(Bucket.of(rest.subList(0, size)))
-        rest = rest.subList(size, rest.size)
-    }
-
-    // Add last point as the only point in the last bucket
-    buckets.add(Bucket.of(this.last()))
-
-    return buckets
-}
-
-private fun List<Bucket>.sliding(size: Int, step: Int): List<List<Bucket>> {
-    val window = max(size, step)
-    val buffer = ArrayDeque<Bucket>()
-    var totalIn = 0
-
-    val lists = mutableListOf<List<Bucket>>()
-
-    fastForEach { p ->
-        buffer.add(p)
-        ++totalIn
-        if (buffer.size == window) {
-            val batch = buffer.take(size)
-            lists.add(batch)
-
-            repeat(step) {
-                buffer.removeFirst()
-            }
-        }
-    }
-
-    if (buffer.isNotEmpty()) {
-        val totalOut = max(0, (totalIn + step - size - 1) / step) + 1
-        if (totalOut > lists.size) {
-            val batch = buffer.take(size)
-            lists.add(batch)
-        }
-    }
-
-    return lists
-}
+    @Suppress("LongParameterList")
+    private fun triangleArea(ax: Double, ay: Double, bx: Double, by: Double, cx: Double, cy: Double): Double {
+        val sum = ax * (by - cy) + bx * (cy - ay) + cx * (ay - by)
 
-private data class Point(
-    val originalIndex: Int? = null,
-    val x: Double,
-    val y: Double,
-)
-
-private data class Bucket(
-    val data: List<Point>,
-    val center: Point,
-    val result: Point,
-    val first: Point,
-    val last: Point,
-) {
-    companion object {
-        private fun centerBetweenPoints(a: Point, b: Point): Point {
-            val vector = Point(
-                x = b.x - a.x,
-                y = b.y - a.y,
-            )
-            val halfVector = Point(
-                x = vector.x / 2,
-                y = vector.y / 2,
-            )
-
-            return Point(
-                x = a.x + halfVector.x,
-                y = a.y + halfVector.y,
-            )
-        }
-
-        fun of(points: List<Point>): Bucket {
-            val first = points.first()
-            val last = points.last()
-
-            return Bucket(
-                data = points,
-                center = centerBetweenPoints(first, last),
-                result = first,
-                first = first,
-                last = last,
-            )
-        }
-
-        fun of(point: Point): Bucket {
-            return Bucket(
-                data = listOf(point),
-                center = point,
-                result = point,
-                first = point,
-                last = point,
-            )
-        }
-    }
-}
-
-private data class Triangle(
-    val left: Bucket,
-    val center: Bucket,
-    val right: Bucket,
-) {
-    fun getResult(): Point {
-        return center.data.map { Area.ofTriangle(left.result, it, right.center) }
-            .maxByOrNull { it.value }
-            ?.generator
-            ?: error("Can't obtain max area triangle")
+        return kotlin.math.abs(sum / 2)
     }
 
-    fun getFirst(): Point {
-        return left.first
-    }
-
-    fun getLast(): Point {
-        return right.last
-    }
-
-    companion object {
-        fun of(buckets: List<Bucket>): Triangle {
-            return Triangle(
-                left = buckets[0],
-                center = buckets[1],
-                right = buckets[2],
-            )
-        }
-    }
-}
-
-private data class Area(
-    val generator: Point,
-    val value: Double,
-) {
-    companion object {
-        fun ofTriangle(a: Point, b: Point, c: Point): Area {
-            val addends = listOf(
-                a.x * (b.y - c.y),
-                b.x * (c.y - a.y),
-                c.x * (a.y - b.y),
-            )
-            val sum = addends.sum()
-            val value = kotlin.math.abs(sum / 2)
-
-            return Area(b, value)
-        }
-    }
+    /**
+     * Downsampled points
+     *
+     * @property originalIndexes indexes of points in the source arrays
+     * @property x               x values
+     * @property y               y values
+     */
+    class Result(
+        val originalIndexes: IntArray,
+        val x: DoubleArray,
+        val y: DoubleArray,
+    )
 }
-
-private inline fun <T> List<T>.fastForEach(action: (T) -> Unit) {
-    for (index in indices) {
-        val item = get(index)
-        action(item)
-    }
-}
\ No newline at end of file
@@ -46,14 +46,14 @@ class PriceAndTimePointValuesConverter(
                 .downsample(normX, normY, MAX_POINTS - 2)
 
             MarketChartRawData(
-                originalIndexes = downsampled.originalIndexes.toImmutableList(),
-                x = downsampled.x.toImmutableList(),
-                y = downsampled.y.toImmutableList(),
+                originalIndexes = downsampled.originalIndexes.asList().toImmutableList(),
+                x = downsampled.x.asList().toImmutableList(),
+                y = downsampled.y.asList().toImmutableList(),
             )
         } else {
             MarketChartRawData(
-                x = normX.toImmutableList(),
-                y = normY.toImmutableList(),
+                x = normX.asList().toImmutableList(),
+                y = normY.asList().toImmutableList(),
             )
         }
     }
@@ -86,22 +86,22 @@ class PriceAndTimePointValuesConverter(
         return result
     }
 
-    private fun List<BigDecimal>.normalizeToDouble(min: BigDecimal, max: BigDecimal): List<Double> {
+    private fun List<BigDecimal>.normalizeToDouble(min: BigDecimal, max: BigDecimal): DoubleArray {
         if (min == max) {
-            return List(size) { 0.5 }
+            return DoubleArray(size) { 0.5 }
         }
 
-        return map { ((it - min) / (max - min)).toDouble() }
+        val length = max - min
+
+        return DoubleArray(size) { index -> ((this[index] - min) / length).toDouble() }
     }
 
-    private fun List<BigDecimal>.normalizeTime(min: BigDecimal, max: BigDecimal): List<Double> {
+    private fun List<BigDecimal>.normalizeTime(min: BigDecimal, max: BigDecimal): DoubleArray {
         if (min == max) {
-            return List(size) { 0.5 }
+            return DoubleArray(size) { 0.5 }
         }
 
-        return map {
-            (it / MINUTE_BIG).toDouble()
-        }
+        return DoubleArray(size) { index -> (this[index] / MINUTE_BIG).toDouble() }
     }
 
     private companion object {
@@ -0,0 +1,81 @@
+package com.tangem.common.ui.charts.downsample
+
+import com.google.common.truth.Truth
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+
+/** Expected indexes are produced by the previous implementation over lists of points */
+internal class LTThreeBucketsTest {
+
+    private val x = DoubleArray(size = 12) { it.toDouble() }
+    private val y = doubleArrayOf(0.0, 5.0, 2.0, 8.0, 3.0, 9.0, 1.0, 7.0, 4.0, 6.0, 2.0, 10.0)
+
+    @Test
+    fun `downsample picks points of max triangle areas`() {
+        // Act
+        val actual = LTThreeBuckets.downsample(x = x, y = y, desiredBuckets = 4)
+
+        // Assert
+        Truth.assertThat(actual.originalIndexes.asList()).containsExactly(0, 3, 6, 7, 10, 11).inOrder()
+        Truth.assertThat(actual.x.asList()).containsExactly(0.0, 3.0, 6.0, 7.0, 10.0, 11.0).inOrder()
+        Truth.assertThat(actual.y.asList()).containsExactly(0.0, 8.0, 1.0, 7.0, 2.0, 10.0).inOrder()
+    }
+
+    @Test
+    fun `downsample keeps all points if every bucket has one point`() {
+        // Act
+        val actual = LTThreeBuckets.downsample(x = x, y = y, desiredBuckets = x.size - 2)
+
+        // Assert
+        Truth.assertThat(actual.originalIndexes.asList()).containsExactlyElementsIn(x.indices).inOrder()
+        Truth.assertThat(actual.y.asList()).containsExactlyElementsIn(y.asList()).inOrder()
+    }
+
+    @Test
+    fun `downsample to less than 3 buckets`() {
+        // Act
+        val oneBucket = LTThreeBuckets.downsample(x = x, y = y, desiredBuckets = 1)
+        val twoBuckets = LTThreeBuckets.downsample(x = x, y = y, desiredBuckets = 2)
+
+        // Assert
+        Truth.assertThat(oneBucket.originalIndexes.asList()).containsExactly(0, 10, 11).inOrder()
+        Truth.assertThat(twoBuckets.originalIndexes.asList()).containsExactly(0, 5, 10, 11).inOrder()
+    }
+
+    @Test
+    fun `downsample points with duplicate x values`() {
+        // Arrange
+        val x = doubleArrayOf(0.0, 1.0, 1.0, 2.0, 2.0, 3.0, 3.0, 4.0, 5.0, 5.0)
+        val y = doubleArrayOf(1.0, 3.0, 3.0, 0.0, 4.0, 4.0, 2.0, 6.0, 1.0, 5.0)
+
+        // Act
+        val actual = LTThreeBuckets.downsample(x = x, y = y, desiredBuckets = 3)
+
+        // Assert
+        Truth.assertThat(actual.originalIndexes.asList()).containsExactly(0, 3, 6, 8, 9).inOrder()
+    }
+
+    @Test
+    fun `downsample picks the first point of equal areas`() {
+        // Arrange
+        val x = DoubleArray(size = 8) { it.toDouble() }
+        val y = DoubleArray(size = 8) { 2.0 }
+
+        // Act
+        val actual = LTThreeBuckets.downsample(x = x, y = y, desiredBuckets = 3)
+
+        // Assert
+        Truth.assertThat(actual.originalIndexes.asList()).containsExactly(0, 1, 3, 5, 7).inOrder()
+    }
+
+    @Test
+    fun `downsample throws if there are less points than buckets`() {
+        // Act & Assert
+        assertThrows<IllegalArgumentException> {
+            LTThreeBuckets.downsample(x = x, y = y, desiredBuckets = x.size - 1)
+        }
+        assertThrows<IllegalArgumentException> {
+            LTThreeBuckets.downsample(x = x, y = y, desiredBuckets = 0)
+        }
+    }
+}
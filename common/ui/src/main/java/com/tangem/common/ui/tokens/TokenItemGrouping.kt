@@ -1,29 +1,35 @@
 package com.tangem.common.ui.tokens
 
 import com.tangem.common.ui.R
+import com.tangem.core.ui.components.token.state.TokenItemState
 import com.tangem.core.ui.components.tokenlist.state.TokensListItemUM
 import com.tangem.core.ui.extensions.resourceReference
 import com.tangem.core.ui.extensions.wrappedList
 import com.tangem.domain.models.currency.CryptoCurrencyStatus
 import com.tangem.domain.models.tokenlist.TokenList
 import com.tangem.domain.models.tokenlist.TokenList.GroupedByNetwork.NetworkGroup
+import com.tangem.utils.converter.Converter
 
 object TokenItemGrouping {
 
-    fun TokenList.GroupedByNetwork.toGroupedItems(tokenConverter: TokenItemStateConverter): List<TokensListItemUM> {
+    fun TokenList.GroupedByNetwork.toGroupedItems(
+        tokenConverter: Converter<CryptoCurrencyStatus, TokenItemState>,
+    ): List<TokensListItemUM> {
         return groups.fold(initial = mutableListOf()) { acc, group ->
             acc.addGroup(tokenConverter, group)
         }
     }
 
-    fun TokenList.Ungrouped.toUngroupedItems(tokenConverter: TokenItemStateConverter): List<TokensListItemUM> {
+    fun TokenList.Ungrouped.toUngroupedItems(
+        tokenConverter: Converter<CryptoCurrencyStatus, TokenItemState>,
+    ): List<TokensListItemUM> {
         return currencies.fold(initial = mutableListOf()) { acc, token ->
             acc.addToken(tokenConverter, token)
         }
     }
 
     fun MutableList<TokensListItemUM>.addGroup(
-        tokenConverter: TokenItemStateConverter,
+        tokenConverter: Converter<CryptoCurrencyStatus, TokenItemState>,
         group: NetworkGroup,
     ): MutableList<TokensListItemUM> {
         val groupTitle = TokensListItemUM.GroupTitle(
@@ -41,7 +47,7 @@ object TokenItemGrouping {
     }
 
     fun MutableList<TokensListItemUM>.addToken(
-        tokenConverter: TokenItemStateConverter,
+        tokenConverter: Converter<CryptoCurrencyStatus, TokenItemState>,
         token: CryptoCurrencyStatus,
     ): MutableList<TokensListItemUM> {
         val tokenItemState = tokenConverter.convert(token)
@@ -7,12 +7,13 @@ import com.tangem.core.analytics.api.*
 import com.tangem.core.analytics.models.AnalyticsEvent
 import com.tangem.core.analytics.models.ExceptionAnalyticsEvent
 import com.tangem.core.analytics.models.OneTimePerSessionEvent
+import com.tangem.core.analytics.pipeline.AnalyticsEventRouter
+import com.tangem.core.analytics.pipeline.AnalyticsPipeline
+import com.tangem.core.analytics.pipeline.AnalyticsPipelineMetrics
 import com.tangem.utils.coroutines.FeatureCoroutineExceptionHandler
 import kotlinx.coroutines.*
-import kotlinx.coroutines.sync.Mutex
-import kotlinx.coroutines.sync.withLock
 import java.util.concurrent.ConcurrentHashMap
-import java.util.concurrent.Executors
+import java.util.concurrent.CopyOnWriteArraySet
 import java.util.concurrent.TimeUnit
 
 /**
@@ -25,20 +26,24 @@ interface GlobalAnalyticsEventHandler :
     ParamsInterceptorHolder,
     AnalyticsErrorHandler,
     AnalyticsExceptionHandler,
-    AnalyticsUserIdHandler
+    AnalyticsUserIdHandler,
+    PendingAnalyticsEventsStoreHolder
 
+/**
+ * Entry point of analytics events.
+ *
+ * Events are routed and dispatched to handlers by [AnalyticsPipeline] without blocking the caller.
+ */
 object Analytics : GlobalAnalyticsEventHandler {
 
-    private val analyticsScope: CoroutineScope by lazy { createScope() }
-
-    private val handlers = mutableMapOf<String, AnalyticsHandler>()
+    private val handlers = ConcurrentHashMap<String, AnalyticsHandler>()
     private val paramsInterceptors = ConcurrentHashMap<String, ParamsInterceptor>()
     private val throttledEventsState = ConcurrentHashMap<String, Long>()
-    private val analyticsFilters = mutableSetOf<AnalyticsEventFilter>()
-    private val analyticsMutex = Mutex()
+    private val analyticsFilters = CopyOnWriteArraySet<AnalyticsEventFilter>()
 
-    private val analyticsHandlers: List<AnalyticsHandler>
-        get() = handlers.values.toList()
+    private val pipeline: AnalyticsPipeline by lazy {
+        AnalyticsPipeline(scope = createScope(), router = Router)
+    }
 
     override fun addHandler(name: String, handler: AnalyticsHandler) {
         handlers[name] = handler
@@ -64,75 +69,43 @@ object Analytics : GlobalAnalyticsEventHandler {
         return paramsInterceptors.remove(interceptorId)
     }
 
+    override fun setPendingEventsStore(store: PendingAnalyticsEventsStore) {
+        pipeline.restore(store)
+    }
+
     override fun setUserId(userId: String) {
-        analyticsScope.launch {
-            val userIdHash = userId.hexToBytes()
+        val userIdHash by lazy {
+            userId.hexToBytes()
                 .calculateSha256()
                 .toHexString()
-
-            analyticsMutex.withLock {
-                analyticsHandlers.filterIsInstance<AnalyticsUserIdHandler>()
-                    .forEach { handler -> handler.setUserId(userIdHash) }
-            }
         }
+
+        pipeline.execute { handler -> (handler as? AnalyticsUserIdHandler)?.setUserId(userIdHash) }
     }
 
     override fun clearUserId() {
-        analyticsScope.launch {
-            analyticsMutex.withLock {
-                analyticsHandlers.filterIsInstance<AnalyticsUserIdHandler>()
-                    .forEach { handler -> handler.clearUserId() }
-            }
-        }
+        pipeline.execute { handler -> (handler as? AnalyticsUserIdHandler)?.clearUserId() }
     }
 
     override fun send(event: AnalyticsEvent) {
-        analyticsScope.launch {
-            if (event is OneTimePerSessionEvent && !shouldSendThrottledEvent(event)) {
-                return@launch
-            }
-            val eventWithParams = event.withParams(applyParamsInterceptors(event))
-            val eventFilter = analyticsFilters.firstOrNull { it.canBeAppliedTo(eventWithParams) }
-
-            analyticsMutex.withLock {
-                when {
-                    eventFilter == null -> analyticsHandlers.forEach { handler -> handler.send(eventWithParams) }
-                    eventFilter.canBeSent(eventWithParams) -> {
-                        analyticsHandlers
-                            .filter { handler -> eventFilter.canBeConsumedByHandler(handler, eventWithParams) }
-                            .forEach { handler -> handler.send(eventWithParams) }
-                    }
-                }
-            }
-        }
+        pipeline.send(event)
     }
 
     override fun sendErrorEvent(event: AnalyticsEvent) {
-        analyticsScope.launch {
-            val eventWithParams = event.withParams(applyParamsInterceptors(event))
-            analyticsMutex.withLock {
-                analyticsHandlers.filterIsInstance<AnalyticsErrorHandler>()
-                    .forEach { handler -> handler.sendErrorEvent(eventWithParams) }
-            }
-        }
+        pipeline.sendError(event)
     }
 
     override fun sendException(event: ExceptionAnalyticsEvent) {
-        analyticsScope.launch {
-            analyticsMutex.withLock {
-                analyticsHandlers.filterIsInstance<AnalyticsExceptionHandler>()
-                    .forEach { it.sendException(event) }
-            }
-        }
+        pipeline.execute { handler -> (handler as? AnalyticsExceptionHandler)?.sendException(event) }
     }
 
-    private suspend fun applyParamsInterceptors(event: AnalyticsEvent): MutableMap<String, String> {
+    fun getPipelineMetrics(): AnalyticsPipelineMetrics = pipeline.getMetrics()
+
+    private fun applyParamsInterceptors(event: AnalyticsEvent): MutableMap<String, String> {
         val interceptedParams = event.params.toMutableMap()
-        analyticsMutex.withLock {
-            paramsInterceptors.values
-                .filter { it.canBeAppliedTo(event) }
-                .forEach { it.intercept(interceptedParams) }
-        }
+        paramsInterceptors.values
+            .filter { it.canBeAppliedTo(event) }
+            .forEach { it.intercept(interceptedParams) }
         return interceptedParams
     }
 
@@ -151,10 +124,41 @@ object Analytics : GlobalAnalyticsEventHandler {
         }
     }
 
+    @OptIn(ExperimentalCoroutinesApi::class)
     private fun createScope(): CoroutineScope {
         val name = "Analytics"
-        val dispatcher = Executors.newFixedThreadPool(1).asCoroutineDispatcher()
+        val dispatcher = Dispatchers.IO.limitedParallelism(DISPATCHER_PARALLELISM)
         val exHandler = FeatureCoroutineExceptionHandler.create(name)
         return CoroutineScope(SupervisorJob() + dispatcher + CoroutineName(name) + exHandler)
     }
-}
\ No newline at end of file
+
+    private object Router : AnalyticsEventRouter {
+
+        override fun getHandlers(): Collection<AnalyticsHandler> = handlers.values.toList()
+
+        override suspend fun route(event: AnalyticsEvent): List<AnalyticsHandler> {
+            if (event is OneTimePerSessionEvent && !shouldSendThrottledEvent(event)) {
+                return emptyList()
+            }
+            val eventWithParams = event.withParams(applyParamsInterceptors(event))
+            val eventFilter = analyticsFilters.firstOrNull { it.canBeAppliedTo(eventWithParams) }
+
+            return when {
+                eventFilter == null -> handlers.values.toList()
+                eventFilter.canBeSent(eventWithParams) -> {
+                    handlers.values.filter { handler -> eventFilter.canBeConsumedByHandler(handler, eventWithParams) }
+                }
+                else -> emptyList()
+            }
+        }
+
+        override fun routeError(event: AnalyticsEvent): List<AnalyticsHandler> {
+            event.withParams(applyParamsInterceptors(event))
+
+            return handlers.values.filter { it is AnalyticsErrorHandler }
+        }
+    }
+
+    /** Number of threads for routing and dispatching. Every handler is still called sequentially */
+    private const val DISPATCHER_PARALLELISM = 4
+}
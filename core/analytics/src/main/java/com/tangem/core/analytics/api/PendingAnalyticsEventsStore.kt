@@ -0,0 +1,49 @@
+package com.tangem.core.analytics.api
+
+/**
+ * Persistent store of analytics events that are accepted, but not dispatched to all their handlers yet.
+ * Allows to deliver events that are lost because of process death on the next app start.
+ */
+interface PendingAnalyticsEventsStore {
+
+    suspend fun getAll(): List<PendingAnalyticsEvent>
+
+    /** Add [added] events and remove events with [removedIds] in one write */
+    suspend fun update(added: List<PendingAnalyticsEvent>, removedIds: Set<String>)
+}
+
+/**
+ * Analytics event that waits for dispatching
+ *
+ * @property id         unique id
+ * @property category   event category
+ * @property event      event name
+ * @property params     event params with applied interceptors
+ * @property handlerIds ids of handlers that consume event
+ * @property marker     marker type of event that is checked by handlers
+ */
+data class PendingAnalyticsEvent(
+    val id: String,
+    val category: String,
+    val event: String,
+    val params: Map<String, String>,
+    val handlerIds: Set<String>,
+    val marker: Marker = Marker.None,
+) {
+
+    /** Marker type of event, so handlers get restored event of the same marker type */
+    sealed interface Marker {
+
+        data object None : Marker
+
+        /** [com.tangem.core.analytics.models.AppsFlyerOnlyEvent] */
+        data object AppsFlyerOnly : Marker
+
+        /** [com.tangem.core.analytics.models.AppsFlyerIncludedEvent] */
+        data class AppsFlyerIncluded(val replacedEvent: String?) : Marker
+    }
+}
+
+interface PendingAnalyticsEventsStoreHolder {
+    fun setPendingEventsStore(store: PendingAnalyticsEventsStore)
+}
@@ -41,6 +41,7 @@ internal object AnalyticsModule {
         return Analytics // todo replace after refactoring calling Analytics in whole project
     }
 
+    @Singleton
     @Provides
     fun provideOneTimeEventFilter(analyticsRepository: AnalyticsRepository): OneTimeEventFilter {
         return OneTimeEventFilter(analyticsRepository)
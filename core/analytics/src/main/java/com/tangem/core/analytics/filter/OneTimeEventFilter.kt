@@ -5,26 +5,43 @@ import com.tangem.core.analytics.api.AnalyticsHandler
 import com.tangem.core.analytics.models.AnalyticsEvent
 import com.tangem.core.analytics.models.OneTimeAnalyticsEvent
 import com.tangem.domain.analytics.repository.AnalyticsRepository
-
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+
+/**
+ * Filter of [OneTimeAnalyticsEvent]s.
+ *
+ * Ids of sent events are loaded from [AnalyticsRepository] once and then are checked in memory, the repository is
+ * accessed only to save a new sent event.
+ */
 class OneTimeEventFilter(
     private val analyticsRepository: AnalyticsRepository,
 ) : AnalyticsEventFilter {
 
+    private val mutex = Mutex()
+    private var sentEventIds: MutableSet<String>? = null
+
     override fun canBeAppliedTo(event: AnalyticsEvent): Boolean = event is OneTimeAnalyticsEvent
 
     override suspend fun canBeSent(event: AnalyticsEvent): Boolean {
         if (event !is OneTimeAnalyticsEvent) return true
 
-        val isSent = analyticsRepository.checkIsEventSent(event.oneTimeEventId)
+        val isAdded = mutex.withLock {
+            val sentEventIds = sentEventIds ?: analyticsRepository.getSentEventIds().toHashSet().also {
+                sentEventIds = it
+            }
+
+            sentEventIds.add(event.oneTimeEventId)
+        }
 
-        if (!isSent) {
+        if (isAdded) {
             analyticsRepository.setIsEventSent(event.oneTimeEventId)
         }
 
-        return !isSent
+        return isAdded
     }
 
     override fun canBeConsumedByHandler(handler: AnalyticsHandler, event: AnalyticsEvent): Boolean {
         return canBeAppliedTo(event)
     }
-}
\ No newline at end of file
+}
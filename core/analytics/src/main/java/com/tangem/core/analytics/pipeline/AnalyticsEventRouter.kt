@@ -0,0 +1,17 @@
+package com.tangem.core.analytics.pipeline
+
+import com.tangem.core.analytics.api.AnalyticsHandler
+import com.tangem.core.analytics.models.AnalyticsEvent
+
+/** Router of analytics events to handlers */
+internal interface AnalyticsEventRouter {
+
+    /** Get all registered handlers */
+    fun getHandlers(): Collection<AnalyticsHandler>
+
+    /** Enrich [event] with params and get handlers that consume it. Empty list means that event is filtered out */
+    suspend fun route(event: AnalyticsEvent): List<AnalyticsHandler>
+
+    /** Enrich error [event] with params and get handlers that consume it */
+    fun routeError(event: AnalyticsEvent): List<AnalyticsHandler>
+}
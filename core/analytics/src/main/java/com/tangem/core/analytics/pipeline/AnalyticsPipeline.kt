@@ -0,0 +1,390 @@
+package com.tangem.core.analytics.pipeline
+
+import com.tangem.core.analytics.api.AnalyticsErrorHandler
+import com.tangem.core.analytics.api.AnalyticsHandler
+import com.tangem.core.analytics.api.PendingAnalyticsEvent
+import com.tangem.core.analytics.api.PendingAnalyticsEventsStore
+import com.tangem.core.analytics.models.AnalyticsEvent
+import com.tangem.core.analytics.models.AppsFlyerIncludedEvent
+import com.tangem.core.analytics.models.AppsFlyerOnlyEvent
+import com.tangem.utils.logging.TangemLogger
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.channels.ReceiveChannel
+import kotlinx.coroutines.channels.consumeEach
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.launch
+import java.util.UUID
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+import kotlin.time.Duration.Companion.milliseconds
+
+/**
+ * Pipeline of analytics events.
+ *
+ * Events are ingested without locks into the unlimited queue, that is consumed by a single coroutine in order of
+ * sending. Every handler has own queue that is dispatched in batches by own coroutine, so a slow handler doesn't
+ * delay other handlers.
+ *
+ * If [PendingAnalyticsEventsStore] is set, events are persisted until they are dispatched to all their handlers.
+ * Additions and removals are written together once per [PERSIST_DELAY_MILLIS], so events that are dispatched within
+ * this delay aren't written at all. Events that weren't dispatched because of process death are restored by [restore].
+ *
+ * @property scope             scope of pipeline coroutines
+ * @property router            router of events to handlers
+ * @property currentTimeMillis provider of the current time to measure dispatch latency
+ */
+@Suppress("TooGenericExceptionCaught")
+internal class AnalyticsPipeline(
+    private val scope: CoroutineScope,
+    private val router: AnalyticsEventRouter,
+    private val currentTimeMillis: () -> Long = System::currentTimeMillis,
+) {
+
+    private val ingestion = Channel<Ingested>(capacity = Channel.UNLIMITED)
+    private val handlerQueues = ConcurrentHashMap<String, HandlerQueue>()
+    private val pendingEventsWriter = PendingEventsWriter()
+
+    @Volatile
+    private var pendingEventsStore: PendingAnalyticsEventsStore? = null
+
+    private val queueDepth = AtomicInteger()
+    private val dispatchedEventsCount = AtomicLong()
+    private val totalDispatchLatencyMillis = AtomicLong()
+    private val maxDispatchLatencyMillis = AtomicLong()
+
+    init {
+        scope.launch {
+            for (first in ingestion) {
+                process(batch = ingestion.receiveBatch(first))
+            }
+        }
+    }
+
+    fun send(event: AnalyticsEvent) {
+        ingest(Ingested.Event(event = event, isError = false, ingestedAt = currentTimeMillis()))
+    }
+
+    fun sendError(event: AnalyticsEvent) {
+        ingest(Ingested.Event(event = event, isError = true, ingestedAt = currentTimeMillis()))
+    }
+
+    /** Execute [action] on every handler after all previously sent events */
+    fun execute(action: (AnalyticsHandler) -> Unit) {
+        ingestion.trySend(Ingested.Action(action))
+    }
+
+    /** Dispatch events that are persisted in [store] and persist new events in it */
+    fun restore(store: PendingAnalyticsEventsStore) {
+        scope.launch {
+            val events = try {
+                store.getAll()
+            } catch (e: Exception) {
+                TangemLogger.e("Unable to restore pending analytics events", e)
+                emptyList()
+            }
+
+            pendingEventsStore = store
+
+            if (events.isNotEmpty()) {
+                queueDepth.addAndGet(events.size)
+                ingestion.send(Ingested.Restored(events = events, ingestedAt = currentTimeMillis()))
+            }
+        }
+    }
+
+    fun getMetrics(): AnalyticsPipelineMetrics {
+        val dispatchedEventsCount = dispatchedEventsCount.get()
+
+        return AnalyticsPipelineMetrics(
+            queueDepth = queueDepth.get(),
+            dispatchedEventsCount = dispatchedEventsCount,
+            averageDispatchLatency = if (dispatchedEventsCount == 0L) {
+                0.milliseconds
+            } else {
+                (totalDispatchLatencyMillis.get() / dispatchedEventsCount).milliseconds
+            },
+            maxDispatchLatency = maxDispatchLatencyMillis.get().milliseconds,
+        )
+    }
+
+    private fun ingest(event: Ingested.Event) {
+        queueDepth.incrementAndGet()
+        ingestion.trySend(event)
+    }
+
+    private suspend fun process(batch: List<Ingested>) {
+        val store = pendingEventsStore
+        val tasks = mutableListOf<Pair<AnalyticsHandler, HandlerTask>>()
+        val newPendingEvents = mutableListOf<PendingAnalyticsEvent>()
+
+        batch.forEach { ingested ->
+            when (ingested) {
+                is Ingested.Event -> {
+                    val handlers = try {
+                        if (ingested.isError) router.routeError(ingested.event) else router.route(ingested.event)
+                    } catch (e: Exception) {
+                        TangemLogger.e("Unable to route analytics event: ${ingested.event.id}", e)
+                        emptyList()
+                    }
+
+                    val pendingEvent = if (store != null && !ingested.isError && handlers.isNotEmpty()) {
+                        ingested.event.toPendingEvent(handlers).also(newPendingEvents::add)
+                    } else {
+                        null
+                    }
+
+                    tasks += createDispatchTasks(
+                        event = ingested.event,
+                        isError = ingested.isError,
+                        pendingEventId = pendingEvent?.id,
+                        handlers = handlers,
+                        ingestedAt = ingested.ingestedAt,
+                    )
+                }
+                is Ingested.Restored -> {
+                    val handlersById = router.getHandlers().associateBy(AnalyticsHandler::id)
+
+                    ingested.events.forEach { pendingEvent ->
+                        tasks += createDispatchTasks(
+                            event = pendingEvent.toAnalyticsEvent(),
+                            isError = false,
+                            pendingEventId = pendingEvent.id,
+                            handlers = pendingEvent.handlerIds.mapNotNull(handlersById::get),
+                            ingestedAt = ingested.ingestedAt,
+                        )
+                    }
+                }
+                is Ingested.Action -> {
+                    router.getHandlers().forEach { handler -> tasks += handler to HandlerTask.Execute(ingested.action) }
+                }
+            }
+        }
+
+        if (newPendingEvents.isNotEmpty()) pendingEventsWriter.add(newPendingEvents)
+
+        tasks.forEach { (handler, task) ->
+            handlerQueues.computeIfAbsent(handler.id()) { HandlerQueue(handler) }.tasks.send(task)
+        }
+    }
+
+    private fun createDispatchTasks(
+        event: AnalyticsEvent,
+        isError: Boolean,
+        pendingEventId: String?,
+        handlers: List<AnalyticsHandler>,
+        ingestedAt: Long,
+    ): List<Pair<AnalyticsHandler, HandlerTask>> {
+        val task = HandlerTask.Dispatch(
+            event = event,
+            isError = isError,
+            pendingEventId = pendingEventId,
+            ingestedAt = ingestedAt,
+            remainingHandlers = AtomicInteger(handlers.size),
+        )
+
+        if (handlers.isEmpty()) {
+            onDispatched(task)
+            pendingEventId?.let { pendingEventsWriter.remove(setOf(it)) }
+        }
+
+        return handlers.map { it to task }
+    }
+
+    private fun onDispatched(task: HandlerTask.Dispatch) {
+        val latency = currentTimeMillis() - task.ingestedAt
+
+        queueDepth.decrementAndGet()
+        dispatchedEventsCount.incrementAndGet()
+        totalDispatchLatencyMillis.addAndGet(latency)
+        maxDispatchLatencyMillis.accumulateAndGet(latency, ::maxOf)
+    }
+
+    private fun AnalyticsEvent.toPendingEvent(handlers: List<AnalyticsHandler>): PendingAnalyticsEvent {
+        return PendingAnalyticsEvent(
+            id = UUID.randomUUID().toString(),
+            category = category,
+            event = event,
+            params = params,
+            handlerIds = handlers.mapTo(hashSetOf(), AnalyticsHandler::id),
+            marker = when (this) {
+                is AppsFlyerOnlyEvent -> PendingAnalyticsEvent.Marker.AppsFlyerOnly
+                is AppsFlyerIncludedEvent -> PendingAnalyticsEvent.Marker.AppsFlyerIncluded(appsFlyerReplacedEvent)
+                else -> PendingAnalyticsEvent.Marker.None
+            },
+        )
+    }
+
+    /** Restore event of the same marker type, because handlers check it */
+    private fun PendingAnalyticsEvent.toAnalyticsEvent(): AnalyticsEvent {
+        return when (val marker = marker) {
+            PendingAnalyticsEvent.Marker.None -> AnalyticsEvent(category = category, event = event, params = params)
+            PendingAnalyticsEvent.Marker.AppsFlyerOnly -> RestoredAppsFlyerOnlyEvent(category, event, params)
+            is PendingAnalyticsEvent.Marker.AppsFlyerIncluded -> RestoredAppsFlyerIncludedEvent(
+                category = category,
+                event = event,
+                params = params,
+                appsFlyerReplacedEvent = marker.replacedEvent,
+            )
+        }
+    }
+
+    private fun <T> ReceiveChannel<T>.receiveBatch(first: T): List<T> {
+        val batch = mutableListOf(first)
+
+        while (batch.size < MAX_BATCH_SIZE) {
+            batch += tryReceive().getOrNull() ?: break
+        }
+
+        return batch
+    }
+
+    /** Queue of [handler] that dispatches tasks in batches */
+    private inner class HandlerQueue(private val handler: AnalyticsHandler) {
+
+        val tasks = Channel<HandlerTask>(capacity = Channel.UNLIMITED)
+
+        init {
+            scope.launch {
+                for (first in tasks) {
+                    dispatch(batch = tasks.receiveBatch(first))
+                }
+            }
+        }
+
+        private suspend fun dispatch(batch: List<HandlerTask>) {
+            val dispatchedPendingEventIds = hashSetOf<String>()
+
+            batch.forEach { task ->
+                when (task) {
+                    is HandlerTask.Dispatch -> {
+                        try {
+                            if (task.isError) {
+                                (handler as? AnalyticsErrorHandler)?.sendErrorEvent(task.event)
+                            } else {
+                                handler.send(task.event)
+                            }
+                        } catch (e: Exception) {
+                            TangemLogger.e("Unable to send analytics event ${task.event.id} to ${handler.id()}", e)
+                        }
+
+                        if (task.remainingHandlers.decrementAndGet() == 0) {
+                            onDispatched(task)
+                            task.pendingEventId?.let(dispatchedPendingEventIds::add)
+                        }
+                    }
+                    is HandlerTask.Execute -> {
+                        try {
+                            task.action(handler)
+                        } catch (e: Exception) {
+                            TangemLogger.e("Unable to execute analytics action on ${handler.id()}", e)
+                        }
+                    }
+                }
+            }
+
+            if (dispatchedPendingEventIds.isNotEmpty()) pendingEventsWriter.remove(dispatchedPendingEventIds)
+        }
+    }
+
+    /**
+     * Writer of pending events. Collects added and dispatched events for [PERSIST_DELAY_MILLIS] and writes them to
+     * [pendingEventsStore] in one update. Events that are dispatched before the write are just dropped.
+     */
+    private inner class PendingEventsWriter {
+
+        private val lock = Any()
+        private val unsavedEvents = LinkedHashMap<String, PendingAnalyticsEvent>()
+        private val dispatchedEventIds = hashSetOf<String>()
+        private val writeRequests = Channel<Unit>(capacity = Channel.CONFLATED)
+
+        init {
+            scope.launch {
+                writeRequests.consumeEach {
+                    delay(PERSIST_DELAY_MILLIS)
+                    write()
+                }
+            }
+        }
+
+        fun add(events: List<PendingAnalyticsEvent>) {
+            synchronized(lock) {
+                events.forEach { unsavedEvents[it.id] = it }
+            }
+
+            writeRequests.trySend(Unit)
+        }
+
+        fun remove(ids: Set<String>) {
+            synchronized(lock) {
+                // events that aren't unsaved are already written or restored from the store
+                ids.forEach { id -> if (unsavedEvents.remove(id) == null) dispatchedEventIds += id }
+            }
+
+            writeRequests.trySend(Unit)
+        }
+
+        private suspend fun write() {
+            val store = pendingEventsStore ?: return
+
+            val (added, removedIds) = synchronized(lock) {
+                val added = unsavedEvents.values.toList()
+                val removedIds = dispatchedEventIds.toSet()
+
+                unsavedEvents.clear()
+                dispatchedEventIds.clear()
+
+                added to removedIds
+            }
+
+            if (added.isEmpty() && removedIds.isEmpty()) return
+
+            try {
+                store.update(added = added, removedIds = removedIds)
+            } catch (e: Exception) {
+                TangemLogger.e("Unable to persist analytics events", e)
+            }
+        }
+    }
+
+    private class RestoredAppsFlyerOnlyEvent(
+        category: String,
+        event: String,
+        params: Map<String, String>,
+    ) : AnalyticsEvent(category = category, event = event, params = params), AppsFlyerOnlyEvent
+
+    private class RestoredAppsFlyerIncludedEvent(
+        category: String,
+        event: String,
+        params: Map<String, String>,
+        override val appsFlyerReplacedEvent: String?,
+    ) : AnalyticsEvent(category = category, event = event, params = params), AppsFlyerIncludedEvent
+
+    private sealed interface Ingested {
+
+        class Event(val event: AnalyticsEvent, val isError: Boolean, val ingestedAt: Long) : Ingested
+
+        class Restored(val events: List<PendingAnalyticsEvent>, val ingestedAt: Long) : Ingested
+
+        class Action(val action: (AnalyticsHandler) -> Unit) : Ingested
+    }
+
+    private sealed interface HandlerTask {
+
+        class Dispatch(
+            val event: AnalyticsEvent,
+            val isError: Boolean,
+            val pendingEventId: String?,
+            val ingestedAt: Long,
+            val remainingHandlers: AtomicInteger,
+        ) : HandlerTask
+
+        class Execute(val action: (AnalyticsHandler) -> Unit) : HandlerTask
+    }
+
+    private companion object {
+        const val MAX_BATCH_SIZE = 50
+        const val PERSIST_DELAY_MILLIS = 1_000L
+    }
+}
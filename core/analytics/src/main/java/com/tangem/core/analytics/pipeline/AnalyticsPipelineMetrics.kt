@@ -0,0 +1,18 @@
+package com.tangem.core.analytics.pipeline
+
+import kotlin.time.Duration
+
+/**
+ * Metrics of analytics events pipeline
+ *
+ * @property queueDepth              number of events that are not dispatched to all their handlers yet
+ * @property dispatchedEventsCount   number of events that are dispatched to all their handlers
+ * @property averageDispatchLatency  average time from sending of event to its dispatching to all handlers
+ * @property maxDispatchLatency      max time from sending of event to its dispatching to all handlers
+ */
+data class AnalyticsPipelineMetrics(
+    val queueDepth: Int,
+    val dispatchedEventsCount: Long,
+    val averageDispatchLatency: Duration,
+    val maxDispatchLatency: Duration,
+)
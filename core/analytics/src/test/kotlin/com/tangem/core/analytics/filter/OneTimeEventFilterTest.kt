@@ -0,0 +1,38 @@
+package com.tangem.core.analytics.filter
+
+import com.google.common.truth.Truth
+import com.tangem.core.analytics.models.AnalyticsEvent
+import com.tangem.core.analytics.models.OneTimeAnalyticsEvent
+import com.tangem.domain.analytics.repository.AnalyticsRepository
+import io.mockk.coEvery
+import io.mockk.coVerify
+import io.mockk.mockk
+import kotlinx.coroutines.test.runTest
+import org.junit.jupiter.api.Test
+
+internal class OneTimeEventFilterTest {
+
+    private val analyticsRepository = mockk<AnalyticsRepository>(relaxUnitFun = true) {
+        coEvery { getSentEventIds() } returns setOf("Sent")
+    }
+
+    private val filter = OneTimeEventFilter(analyticsRepository)
+
+    @Test
+    fun `canBeSent loads sent events only once`() = runTest {
+        // Act
+        val sent = filter.canBeSent(OneTimeTestEvent(oneTimeEventId = "Sent"))
+        val first = filter.canBeSent(OneTimeTestEvent(oneTimeEventId = "New"))
+        val second = filter.canBeSent(OneTimeTestEvent(oneTimeEventId = "New"))
+
+        // Assert
+        Truth.assertThat(sent).isFalse()
+        Truth.assertThat(first).isTrue()
+        Truth.assertThat(second).isFalse()
+        coVerify(exactly = 1) { analyticsRepository.getSentEventIds() }
+        coVerify(exactly = 1) { analyticsRepository.setIsEventSent("New") }
+    }
+
+    private class OneTimeTestEvent(override val oneTimeEventId: String) :
+        AnalyticsEvent(category = "Test", event = "OneTime"), OneTimeAnalyticsEvent
+}
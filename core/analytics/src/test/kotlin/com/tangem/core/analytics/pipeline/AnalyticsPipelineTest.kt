@@ -0,0 +1,195 @@
+package com.tangem.core.analytics.pipeline
+
+import com.google.common.truth.Truth
+import com.tangem.core.analytics.api.AnalyticsHandler
+import com.tangem.core.analytics.api.PendingAnalyticsEvent
+import com.tangem.core.analytics.api.PendingAnalyticsEventsStore
+import com.tangem.core.analytics.models.AnalyticsEvent
+import com.tangem.core.analytics.models.AppsFlyerIncludedEvent
+import com.tangem.core.analytics.models.AppsFlyerOnlyEvent
+import kotlinx.coroutines.test.TestScope
+import kotlinx.coroutines.test.advanceUntilIdle
+import kotlinx.coroutines.test.runCurrent
+import kotlinx.coroutines.test.runTest
+import org.junit.jupiter.api.Test
+
+internal class AnalyticsPipelineTest {
+
+    private val firstHandler = RecordingHandler(id = "First")
+    private val secondHandler = RecordingHandler(id = "Second")
+
+    private val router = object : AnalyticsEventRouter {
+
+        override fun getHandlers(): Collection<AnalyticsHandler> = listOf(firstHandler, secondHandler)
+
+        override suspend fun route(event: AnalyticsEvent): List<AnalyticsHandler> {
+            return if (event.event == FILTERED_EVENT) listOf(firstHandler) else listOf(firstHandler, secondHandler)
+        }
+
+        override fun routeError(event: AnalyticsEvent): List<AnalyticsHandler> = emptyList()
+    }
+
+    @Test
+    fun `send dispatches events to routed handlers in order`() = runTest {
+        // Arrange
+        val pipeline = createPipeline()
+
+        // Act
+        pipeline.send(AnalyticsEvent(category = "Test", event = "First"))
+        pipeline.send(AnalyticsEvent(category = "Test", event = FILTERED_EVENT))
+        pipeline.send(AnalyticsEvent(category = "Test", event = "Third"))
+        runCurrent()
+
+        // Assert
+        Truth.assertThat(firstHandler.events).containsExactly("First", FILTERED_EVENT, "Third").inOrder()
+        Truth.assertThat(secondHandler.events).containsExactly("First", "Third").inOrder()
+        Truth.assertThat(pipeline.getMetrics().queueDepth).isEqualTo(0)
+        Truth.assertThat(pipeline.getMetrics().dispatchedEventsCount).isEqualTo(3)
+    }
+
+    @Test
+    fun `restore dispatches persisted events and removes them from store`() = runTest {
+        // Arrange
+        val pipeline = createPipeline()
+        val store = InMemoryPendingEventsStore(
+            events = listOf(
+                PendingAnalyticsEvent(
+                    id = "1",
+                    category = "Test",
+                    event = "Restored",
+                    params = emptyMap(),
+                    handlerIds = setOf(secondHandler.id()),
+                ),
+            ),
+        )
+
+        // Act
+        pipeline.restore(store)
+        advanceUntilIdle()
+
+        // Assert
+        Truth.assertThat(firstHandler.events).isEmpty()
+        Truth.assertThat(secondHandler.events).containsExactly("Restored")
+        Truth.assertThat(store.getAll()).isEmpty()
+    }
+
+    @Test
+    fun `restored events are removed from store in one update`() = runTest {
+        // Arrange
+        val pipeline = createPipeline()
+        val store = InMemoryPendingEventsStore(
+            events = List(size = 3) { index ->
+                PendingAnalyticsEvent(
+                    id = index.toString(),
+                    category = "Test",
+                    event = "Restored $index",
+                    params = emptyMap(),
+                    handlerIds = setOf(firstHandler.id(), secondHandler.id()),
+                )
+            },
+        )
+
+        // Act
+        pipeline.restore(store)
+        advanceUntilIdle()
+
+        // Assert
+        Truth.assertThat(store.updatesCount).isEqualTo(1)
+        Truth.assertThat(store.getAll()).isEmpty()
+    }
+
+    @Test
+    fun `events dispatched before persisting aren't written to store`() = runTest {
+        // Arrange
+        val pipeline = createPipeline()
+        val store = InMemoryPendingEventsStore(events = emptyList())
+        pipeline.restore(store)
+        runCurrent()
+
+        // Act
+        repeat(times = 3) { pipeline.send(AnalyticsEvent(category = "Test", event = "Event $it")) }
+        advanceUntilIdle()
+
+        // Assert
+        Truth.assertThat(secondHandler.events).hasSize(3)
+        Truth.assertThat(store.updatesCount).isEqualTo(0)
+        Truth.assertThat(store.getAll()).isEmpty()
+    }
+
+    @Test
+    fun `restored events keep marker types`() = runTest {
+        // Arrange
+        val pipeline = createPipeline()
+        val store = InMemoryPendingEventsStore(
+            events = listOf(
+                createPendingEvent(id = "1", marker = PendingAnalyticsEvent.Marker.AppsFlyerOnly),
+                createPendingEvent(id = "2", marker = PendingAnalyticsEvent.Marker.AppsFlyerIncluded("Replaced")),
+                createPendingEvent(id = "3", marker = PendingAnalyticsEvent.Marker.None),
+            ),
+        )
+
+        // Act
+        pipeline.restore(store)
+        advanceUntilIdle()
+
+        // Assert
+        val actual = firstHandler.receivedEvents
+        Truth.assertThat(actual).hasSize(3)
+        Truth.assertThat(actual[0]).isInstanceOf(AppsFlyerOnlyEvent::class.java)
+        Truth.assertThat((actual[1] as? AppsFlyerIncludedEvent)?.appsFlyerReplacedEvent).isEqualTo("Replaced")
+        Truth.assertThat(actual[2]).isNotInstanceOf(AppsFlyerOnlyEvent::class.java)
+        Truth.assertThat(actual[2]).isNotInstanceOf(AppsFlyerIncludedEvent::class.java)
+    }
+
+    private fun TestScope.createPipeline(): AnalyticsPipeline {
+        return AnalyticsPipeline(
+            scope = backgroundScope,
+            router = router,
+            currentTimeMillis = { testScheduler.currentTime },
+        )
+    }
+
+    private fun createPendingEvent(id: String, marker: PendingAnalyticsEvent.Marker): PendingAnalyticsEvent {
+        return PendingAnalyticsEvent(
+            id = id,
+            category = "Test",
+            event = "Restored $id",
+            params = emptyMap(),
+            handlerIds = setOf(firstHandler.id()),
+            marker = marker,
+        )
+    }
+
+    private class RecordingHandler(private val id: String) : AnalyticsHandler {
+
+        val receivedEvents = mutableListOf<AnalyticsEvent>()
+        val events: List<String>
+            get() = receivedEvents.map(AnalyticsEvent::event)
+
+        override fun id(): String = id
+
+        override fun send(event: AnalyticsEvent) {
+            receivedEvents += event
+        }
+    }
+
+    private class InMemoryPendingEventsStore(events: List<PendingAnalyticsEvent>) : PendingAnalyticsEventsStore {
+
+        private val events = events.toMutableList()
+
+        var updatesCount = 0
+            private set
+
+        override suspend fun getAll(): List<PendingAnalyticsEvent> = events.toList()
+
+        override suspend fun update(added: List<PendingAnalyticsEvent>, removedIds: Set<String>) {
+            events.removeAll { it.id in removedIds }
+            events += added
+            updatesCount++
+        }
+    }
+
+    private companion object {
+        const val FILTERED_EVENT = "Filtered"
+    }
+}
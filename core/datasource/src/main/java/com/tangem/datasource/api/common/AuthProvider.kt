@@ -3,12 +3,19 @@ package com.tangem.datasource.api.common
 import com.tangem.datasource.api.common.config.ApiEnvironment
 import com.tangem.utils.Provider
 import com.tangem.utils.ProviderSuspend
+import kotlinx.coroutines.flow.Flow
 
 /**
  * Provides auth for tangemTech API
  */
 interface AuthProvider {
 
+    /** Emits when auth data is changed, e.g. another wallet is selected */
+    val authChanges: Flow<Unit>
+
+    /** Key of the current auth data, e.g. id of the selected card. Doesn't suspend, so it's read on every request */
+    fun getAuthKeySync(): String?
+
     /**
      * Returns authToken for tangem tech api
      */
@@ -0,0 +1,150 @@
+package com.tangem.datasource.api.common
+
+import com.tangem.datasource.api.common.config.ApiEnvironmentConfig
+import com.tangem.utils.ProviderSuspend
+import com.tangem.utils.coroutines.AppCoroutineScope
+import com.tangem.utils.logging.TangemLogger
+import kotlinx.coroutines.flow.launchIn
+import kotlinx.coroutines.flow.onEach
+import kotlinx.coroutines.launch
+import java.io.IOException
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.TimeUnit
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Cache of resolved request headers of [ApiEnvironmentConfig].
+ *
+ * Interceptors read an immutable snapshot of headers without resolving [ProviderSuspend] on every request.
+ * Snapshot is keyed by [ApiEnvironmentConfig] and [AuthProvider.getAuthKeySync], so a request that is sent right after
+ * another wallet is selected never gets auth headers of the previous one. Environment switch picks another
+ * [ApiEnvironmentConfig], so it gets its own snapshot too.
+ *
+ * Snapshots are resolved in [appScope]: on [prewarm], when auth data is changed and in background after
+ * [SNAPSHOT_TTL_MILLIS]. If a request comes before its snapshot is resolved, the interceptor thread only waits for
+ * the resolution that is already running instead of resolving headers by itself.
+ *
+ * @property authProvider auth provider
+ * @property appScope     app coroutine scope
+ */
+@Singleton
+internal class RequestHeadersCache @Inject constructor(
+    private val authProvider: AuthProvider,
+    private val appScope: AppCoroutineScope,
+) {
+
+    private val snapshots = ConcurrentHashMap<SnapshotKey, Snapshot>()
+    private val resolutions = ConcurrentHashMap<SnapshotKey, CompletableFuture<Map<String, String>>>()
+    private val knownConfigs = ConcurrentHashMap.newKeySet<ApiEnvironmentConfig>()
+
+    init {
+        authProvider.authChanges
+            .onEach { onAuthChanged() }
+            .launchIn(appScope)
+    }
+
+    /** Resolve headers of [environmentConfig] in background, so the first request doesn't wait for them */
+    fun prewarm(environmentConfig: ApiEnvironmentConfig) {
+        if (environmentConfig.headers.isEmpty()) return
+
+        knownConfigs += environmentConfig
+
+        val key = createKey(environmentConfig)
+        if (key !in snapshots) resolveAsync(key)
+    }
+
+    /**
+     * Get headers of [environmentConfig].
+     * Waits for the resolution in background only if headers of the current auth data haven't been resolved yet.
+     */
+    fun getHeaders(environmentConfig: ApiEnvironmentConfig): Map<String, String> {
+        if (environmentConfig.headers.isEmpty()) return emptyMap()
+
+        knownConfigs += environmentConfig
+
+        val key = createKey(environmentConfig)
+        val snapshot = snapshots[key] ?: return awaitResolution(key)
+
+        if (System.currentTimeMillis() - snapshot.createdAt > SNAPSHOT_TTL_MILLIS) {
+            resolveAsync(key)
+        }
+
+        return snapshot.headers
+    }
+
+    /** Drop snapshots of the previous auth data and resolve snapshots of the current one */
+    private fun onAuthChanged() {
+        val authKey = authProvider.getAuthKeySync()
+
+        snapshots.keys.removeAll { it.authKey != authKey }
+
+        knownConfigs.forEach { config -> resolveAsync(SnapshotKey(environmentConfig = config, authKey = authKey)) }
+    }
+
+    private fun createKey(environmentConfig: ApiEnvironmentConfig): SnapshotKey {
+        return SnapshotKey(environmentConfig = environmentConfig, authKey = authProvider.getAuthKeySync())
+    }
+
+    @Suppress("TooGenericExceptionCaught")
+    private fun awaitResolution(key: SnapshotKey): Map<String, String> {
+        return try {
+            resolveAsync(key).get(RESOLUTION_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+        } catch (e: Exception) {
+            // OkHttp expects IOException from interceptors, others crash the dispatcher thread
+            throw IOException("Unable to resolve headers of ${key.environmentConfig.baseUrl}", e)
+        }
+    }
+
+    /** Resolve headers of [key] in [appScope]. Concurrent calls share the same resolution */
+    private fun resolveAsync(key: SnapshotKey): CompletableFuture<Map<String, String>> {
+        resolutions[key]?.let { return it }
+
+        val future = CompletableFuture<Map<String, String>>()
+        resolutions.putIfAbsent(key, future)?.let { return it }
+
+        appScope.launch {
+            runCatching { resolve(key) }
+                .onSuccess(future::complete)
+                .onFailure {
+                    TangemLogger.e("Unable to resolve headers of ${key.environmentConfig.baseUrl}", it)
+                    future.completeExceptionally(it)
+                }
+
+            resolutions.remove(key, future)
+        }
+
+        return future
+    }
+
+    private suspend fun resolve(key: SnapshotKey): Map<String, String> {
+        val headers = key.environmentConfig.headers.resolve()
+
+        // auth data can be changed while headers are resolved, then they don't belong to the key
+        if (authProvider.getAuthKeySync() == key.authKey) {
+            snapshots[key] = Snapshot(headers = headers, createdAt = System.currentTimeMillis())
+        }
+
+        return headers
+    }
+
+    private suspend fun Map<String, ProviderSuspend<String>>.resolve(): Map<String, String> {
+        return buildMap {
+            this@resolve.forEach { (name, valueProvider) ->
+                val value = valueProvider()
+
+                if (value.isNotBlank()) put(name, value)
+            }
+        }
+    }
+
+    private data class SnapshotKey(val environmentConfig: ApiEnvironmentConfig, val authKey: String?)
+
+    private class Snapshot(val headers: Map<String, String>, val createdAt: Long)
+
+    private companion object {
+        const val SNAPSHOT_TTL_MILLIS = 60_000L
+        const val RESOLUTION_TIMEOUT_SECONDS = 10L
+    }
+}
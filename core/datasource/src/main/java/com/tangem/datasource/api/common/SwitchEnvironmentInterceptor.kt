@@ -2,8 +2,6 @@ package com.tangem.datasource.api.common
 
 import com.tangem.datasource.api.common.config.ApiConfig
 import com.tangem.datasource.api.common.config.managers.ApiConfigsManager
-import com.tangem.utils.ProviderSuspend
-import kotlinx.coroutines.runBlocking
 import okhttp3.HttpUrl
 import okhttp3.HttpUrl.Companion.toHttpUrl
 import okhttp3.Interceptor
@@ -17,6 +15,7 @@ import okio.IOException
  * @property id                api config id [ApiConfig.ID]
  * @property baseUrls          base urls for all api config environments
  * @property apiConfigsManager api configs manager
+ * @property headersCache      cache of resolved request headers
  *
 [REDACTED_AUTHOR]
  */
@@ -24,6 +23,7 @@ internal class SwitchEnvironmentInterceptor(
     private val id: ApiConfig.ID,
     private val baseUrls: Set<String>,
     private val apiConfigsManager: ApiConfigsManager,
+    private val headersCache: RequestHeadersCache,
 ) : Interceptor {
 
     @Throws(IOException::class)
@@ -35,7 +35,7 @@ internal class SwitchEnvironmentInterceptor(
 
         request = builder
             .url(url = request.url.adjustBaseUrl(environmentConfig.baseUrl))
-            .addHeaders(headers = environmentConfig.headers)
+            .addHeaders(headers = headersCache.getHeaders(environmentConfig))
             .build()
 
         return chain.proceed(request)
@@ -50,14 +50,8 @@ internal class SwitchEnvironmentInterceptor(
             .toHttpUrl()
     }
 
-    private fun Request.Builder.addHeaders(headers: Map<String, ProviderSuspend<String>>): Request.Builder {
-        runBlocking {
-            headers.forEach { (name, valueProvider) ->
-                val value = valueProvider()
-
-                if (value.isNotBlank()) addHeader(name = name, value = value)
-            }
-        }
+    private fun Request.Builder.addHeaders(headers: Map<String, String>): Request.Builder {
+        headers.forEach { (name, value) -> addHeader(name = name, value = value) }
 
         return this
     }
@@ -0,0 +1,23 @@
+package com.tangem.datasource.api.common.adapter
+
+import com.squareup.moshi.JsonAdapter
+import com.squareup.moshi.JsonReader
+import com.squareup.moshi.JsonWriter
+
+/**
+ * Adapter of Kotlin object that is registered as a subtype of polymorphic type.
+ * Object has no properties, so it's written as an empty json object and any json value is read as [instance].
+ *
+ * @property instance object instance
+ */
+internal class ObjectJsonAdapter<T : Any>(private val instance: T) : JsonAdapter<T>() {
+
+    override fun fromJson(reader: JsonReader): T {
+        reader.skipValue()
+        return instance
+    }
+
+    override fun toJson(writer: JsonWriter, value: T?) {
+        writer.beginObject().endObject()
+    }
+}
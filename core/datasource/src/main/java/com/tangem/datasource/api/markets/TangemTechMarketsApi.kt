@@ -2,9 +2,11 @@ package com.tangem.datasource.api.markets
 
 import com.tangem.datasource.api.common.response.ApiResponse
 import com.tangem.datasource.api.markets.models.response.*
+import com.tangem.datasource.api.utils.CacheMaxAge
 import retrofit2.http.GET
 import retrofit2.http.Path
 import retrofit2.http.Query
+import java.util.concurrent.TimeUnit
 
 interface TangemTechMarketsApi {
 
@@ -28,6 +30,7 @@ interface TangemTechMarketsApi {
         @Query("language") language: String,
     ): ApiResponse<TokenMarketInfoResponse>
 
+    @CacheMaxAge(duration = 1, unit = TimeUnit.MINUTES)
     @GET("v1/coins/{coin_id}/history")
     suspend fun getCoinChart(
         @Path("coin_id") coinId: String,
@@ -38,6 +41,7 @@ interface TangemTechMarketsApi {
     @GET("v1/coins/{coin_id}/exchanges")
     suspend fun getCoinExchanges(@Path("coin_id") coinId: String): ApiResponse<TokenMarketExchangesResponse>
 
+    @CacheMaxAge(duration = 1, unit = TimeUnit.MINUTES)
     @GET("v1/coins/history_preview")
     suspend fun getCoinsListCharts(
         @Query("coin_ids") coinIds: String,
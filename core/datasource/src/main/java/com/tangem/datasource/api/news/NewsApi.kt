@@ -5,9 +5,11 @@ import com.tangem.datasource.api.news.models.response.NewsCategoriesResponse
 import com.tangem.datasource.api.news.models.response.NewsDetailsResponse
 import com.tangem.datasource.api.news.models.response.NewsListResponse
 import com.tangem.datasource.api.news.models.response.NewsTrendingResponse
+import com.tangem.datasource.api.utils.CacheMaxAge
 import retrofit2.http.GET
 import retrofit2.http.Path
 import retrofit2.http.Query
+import java.util.concurrent.TimeUnit
 
 interface NewsApi {
 
@@ -21,6 +23,7 @@ interface NewsApi {
         @Query("categoryIds") categoryIds: List<Int>? = null,
     ): ApiResponse<NewsListResponse>
 
+    @CacheMaxAge(duration = 5, unit = TimeUnit.MINUTES)
     @GET("$NEWS_PATH/{newsId}")
     suspend fun getNewsDetails(
         @Path("newsId") newsId: Int,
@@ -33,6 +36,7 @@ interface NewsApi {
         @Query("lang") language: String? = null,
     ): ApiResponse<NewsTrendingResponse>
 
+    @CacheMaxAge(duration = 1, unit = TimeUnit.HOURS)
     @GET("$NEWS_PATH/categories")
     suspend fun getCategories(): ApiResponse<NewsCategoriesResponse>
 
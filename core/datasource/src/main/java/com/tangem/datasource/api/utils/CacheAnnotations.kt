@@ -0,0 +1,16 @@
+package com.tangem.datasource.api.utils
+
+import java.util.concurrent.TimeUnit
+
+/**
+ * Allow to store response of request in HTTP cache for [duration].
+ * Works only for APIs built with HTTP cache enabled.
+ *
+ * @property duration duration
+ * @property unit     unit
+ *
+ * @see "RetrofitApiBuilder.applyCacheAnnotations"
+ */
+@Retention(AnnotationRetention.RUNTIME)
+@Target(AnnotationTarget.FUNCTION)
+internal annotation class CacheMaxAge(val duration: Int, val unit: TimeUnit)
@@ -30,4 +30,13 @@ internal object AppPreferencesStoreModule {
             dispatchers = dispatchers,
         )
     }
+
+    @Provides
+    @Singleton
+    fun providePreferencesShards(
+        @ApplicationContext appContext: Context,
+        appScope: AppCoroutineScope,
+    ): PreferencesShards {
+        return PreferencesDataStore.createShards(context = appContext, appScope = appScope)
+    }
 }
\ No newline at end of file
@@ -61,15 +61,19 @@ class MoshiModule {
                     .withSubtype(NFTCollection.Identifier.EVM::class.java, "evm")
                     .withSubtype(NFTCollection.Identifier.TON::class.java, "ton")
                     .withSubtype(NFTCollection.Identifier.Solana::class.java, "sol")
+                    .withSubtype(NFTCollection.Identifier.Unknown::class.java, "unknown")
                     .withDefaultValue(NFTCollection.Identifier.Unknown),
             )
+            .add(NFTCollection.Identifier.Unknown::class.java, ObjectJsonAdapter(NFTCollection.Identifier.Unknown))
             .add(
                 PolymorphicJsonAdapterFactory.of(NFTAsset.Identifier::class.java, "bc")
                     .withSubtype(NFTAsset.Identifier.EVM::class.java, "evm")
                     .withSubtype(NFTAsset.Identifier.TON::class.java, "ton")
                     .withSubtype(NFTAsset.Identifier.Solana::class.java, "sol")
+                    .withSubtype(NFTAsset.Identifier.Unknown::class.java, "unknown")
                     .withDefaultValue(NFTAsset.Identifier.Unknown),
             )
+            .add(NFTAsset.Identifier.Unknown::class.java, ObjectJsonAdapter(NFTAsset.Identifier.Unknown))
             .addLast(KotlinJsonAdapterFactory())
             .addStakeKitEnumFallbackAdapters()
             .build()
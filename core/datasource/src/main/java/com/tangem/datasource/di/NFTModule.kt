@@ -0,0 +1,28 @@
+package com.tangem.datasource.di
+
+import android.content.Context
+import androidx.room.Room
+import com.tangem.datasource.local.nft.db.NFTDatabase
+import dagger.Module
+import dagger.Provides
+import dagger.hilt.InstallIn
+import dagger.hilt.android.qualifiers.ApplicationContext
+import dagger.hilt.components.SingletonComponent
+import javax.inject.Singleton
+
+@Module
+@InstallIn(SingletonComponent::class)
+internal object NFTModule {
+
+    private const val NFT_DATABASE_NAME = "nft_database.db"
+
+    @Provides
+    @Singleton
+    fun provideNFTDatabase(@ApplicationContext context: Context): NFTDatabase {
+        return Room.databaseBuilder(
+            context = context,
+            klass = NFTDatabase::class.java,
+            name = NFT_DATABASE_NAME,
+        ).build()
+    }
+}
@@ -132,6 +132,7 @@ internal object NetworkModule {
                 readTimeoutSeconds = TIMEOUT_60_SECONDS,
             ),
             logsSaving = false,
+            httpCaching = true,
         )
     }
 
@@ -205,6 +206,7 @@ internal object NetworkModule {
         return retrofitApiBuilder.build(
             apiConfigId = ApiConfig.ID.News,
             applyTimeoutAnnotations = false,
+            httpCaching = true,
         )
     }
 
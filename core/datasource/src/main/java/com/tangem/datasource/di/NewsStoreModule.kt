@@ -1,5 +1,8 @@
 package com.tangem.datasource.di
 
+import android.content.Context
+import androidx.datastore.core.DataStoreFactory
+import androidx.datastore.dataStoreFile
 import com.tangem.datasource.local.datastore.RuntimeSharedStore
 import com.tangem.datasource.local.news.details.DefaultNewsDetailsStore
 import com.tangem.datasource.local.news.details.NewsDetailsStore
@@ -9,10 +12,15 @@ import com.tangem.datasource.local.news.trending.DefaultTrendingNewsStore
 import com.tangem.datasource.local.news.trending.TrendingNewsStore
 import com.tangem.datasource.local.news.viewed.DefaultNewsViewedStore
 import com.tangem.datasource.local.news.viewed.NewsViewedStore
+import com.tangem.datasource.utils.KotlinxDataStoreSerializer
+import com.tangem.domain.models.news.DetailedArticle
+import com.tangem.utils.coroutines.AppCoroutineScope
 import dagger.Module
 import dagger.Provides
 import dagger.hilt.InstallIn
+import dagger.hilt.android.qualifiers.ApplicationContext
 import dagger.hilt.components.SingletonComponent
+import kotlinx.serialization.builtins.ListSerializer
 import javax.inject.Singleton
 
 @Module
@@ -21,8 +29,21 @@ internal object NewsStoreModule {
 
     @Provides
     @Singleton
-    fun provideNewsDetailsStore(): NewsDetailsStore {
-        return DefaultNewsDetailsStore(store = RuntimeSharedStore())
+    fun provideNewsDetailsStore(
+        @ApplicationContext context: Context,
+        appScope: AppCoroutineScope,
+    ): NewsDetailsStore {
+        return DefaultNewsDetailsStore(
+            runtimeStore = RuntimeSharedStore(),
+            persistenceStore = DataStoreFactory.create(
+                serializer = KotlinxDataStoreSerializer(
+                    defaultValue = emptyList(),
+                    serializer = ListSerializer(DetailedArticle.serializer()),
+                ),
+                produceFile = { context.dataStoreFile(fileName = "news_details") },
+                scope = appScope,
+            ),
+        )
     }
 
     @Provides
@@ -3,12 +3,14 @@ package com.tangem.datasource.di
 import com.tangem.datasource.local.datastore.RuntimeDataStore
 import com.tangem.datasource.local.txhistory.DefaultTxHistoryItemsStore
 import com.tangem.datasource.local.txhistory.TxHistoryItemsStore
+import com.tangem.datasource.local.txhistory.db.TxHistoryDatabase
 import com.tangem.datasource.local.visa.DefaultTangemPayTxHistoryItemsStore
 import com.tangem.datasource.local.visa.TangemPayTxHistoryItemsStore
 import dagger.Module
 import dagger.Provides
 import dagger.hilt.InstallIn
 import dagger.hilt.components.SingletonComponent
+import kotlinx.serialization.json.Json
 import javax.inject.Singleton
 
 @Module
@@ -17,9 +19,10 @@ internal object TxHistoryItemsStoreModule {
 
     @Provides
     @Singleton
-    fun provideTxHistoryItemsStore(): TxHistoryItemsStore {
+    fun provideTxHistoryItemsStore(txHistoryDatabase: TxHistoryDatabase): TxHistoryItemsStore {
         return DefaultTxHistoryItemsStore(
-            dataStore = RuntimeDataStore(),
+            dao = txHistoryDatabase.txHistoryItemsDao(),
+            json = Json { ignoreUnknownKeys = true },
         )
     }
 
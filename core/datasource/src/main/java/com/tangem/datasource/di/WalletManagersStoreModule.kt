@@ -1,6 +1,5 @@
 package com.tangem.datasource.di
 
-import com.tangem.datasource.local.datastore.RuntimeDataStore
 import com.tangem.datasource.local.walletmanager.DefaultWalletManagersStore
 import com.tangem.datasource.local.walletmanager.WalletManagersStore
 import dagger.Module
@@ -16,8 +15,6 @@ internal object WalletManagersStoreModule {
     @Provides
     @Singleton
     fun provideWalletManagersStore(): WalletManagersStore {
-        return DefaultWalletManagersStore(
-            dataStore = RuntimeDataStore(),
-        )
+        return DefaultWalletManagersStore()
     }
 }
\ No newline at end of file
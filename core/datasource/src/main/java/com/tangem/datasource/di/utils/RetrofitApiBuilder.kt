@@ -5,6 +5,7 @@ import com.chuckerteam.chucker.api.ChuckerInterceptor
 import com.squareup.moshi.Moshi
 import com.tangem.core.analytics.api.AnalyticsErrorHandler
 import com.tangem.datasource.BuildConfig
+import com.tangem.datasource.api.common.RequestHeadersCache
 import com.tangem.datasource.api.common.SwitchEnvironmentInterceptor
 import com.tangem.datasource.api.common.config.ApiConfig
 import com.tangem.datasource.api.common.config.ApiConfigs
@@ -12,32 +13,41 @@ import com.tangem.datasource.api.common.config.ApiEnvironmentConfig
 import com.tangem.datasource.api.common.config.managers.ApiConfigsManager
 import com.tangem.datasource.api.common.createNetworkLoggingInterceptor
 import com.tangem.datasource.api.common.response.ApiResponseCallAdapterFactory
+import com.tangem.datasource.api.utils.CacheMaxAge
 import com.tangem.datasource.api.utils.ConnectTimeout
 import com.tangem.datasource.api.utils.ReadTimeout
 import com.tangem.datasource.api.utils.WriteTimeout
 import com.tangem.datasource.di.NetworkMoshi
 import com.tangem.datasource.local.logs.AppLogsStore
 import com.tangem.datasource.utils.NetworkLogsSaveInterceptor
+import com.tangem.datasource.utils.RequestHeader
 import com.tangem.datasource.utils.WireMockRedirectInterceptor
 import com.tangem.datasource.utils.addHeaders
 import dagger.hilt.android.qualifiers.ApplicationContext
+import okhttp3.Cache
+import okhttp3.CacheControl
+import okhttp3.Dispatcher
 import okhttp3.Interceptor
 import okhttp3.OkHttpClient
 import retrofit2.Invocation
 import retrofit2.Retrofit
 import retrofit2.converter.moshi.MoshiConverterFactory
+import java.io.File
 import java.util.concurrent.TimeUnit
 import javax.inject.Inject
 import javax.inject.Singleton
 
 /**
- * A builder class for creating Retrofit API instances
+ * A builder class for creating Retrofit API instances.
+ * All clients are derived from one root [OkHttpClient], so they share connection pool, dispatcher and HTTP cache.
+ * Limits of the shared dispatcher are raised, because all APIs of the same host are queued by it together.
  *
  * @property apiConfigsManager     manages API configurations for different environments
  * @property moshi                 moshi
  * @property analyticsErrorHandler handles analytics-related errors
  * @property context               application context
  * @property appLogsStore          application logs store
+ * @property headersCache          cache of resolved request headers
  *
 [REDACTED_AUTHOR]
  */
@@ -49,10 +59,26 @@ internal class RetrofitApiBuilder @Inject constructor(
     private val analyticsErrorHandler: AnalyticsErrorHandler,
     @ApplicationContext private val context: Context,
     private val appLogsStore: AppLogsStore,
+    private val headersCache: RequestHeadersCache,
 ) {
 
     private val configsBaseUrls: Map<ApiConfig.ID, Set<String>> = getConfigsBaseUrls()
 
+    private val httpCache: Cache by lazy {
+        Cache(directory = File(context.cacheDir, HTTP_CACHE_DIRECTORY), maxSize = HTTP_CACHE_MAX_SIZE_BYTES)
+    }
+
+    private val rootClient: OkHttpClient by lazy {
+        val dispatcher = Dispatcher().apply {
+            maxRequests = MAX_REQUESTS
+            maxRequestsPerHost = MAX_REQUESTS_PER_HOST
+        }
+
+        OkHttpClient.Builder()
+            .dispatcher(dispatcher)
+            .build()
+    }
+
     /**
      * Builds a Retrofit API instance for the specified API configuration ID
      *
@@ -60,6 +86,7 @@ internal class RetrofitApiBuilder @Inject constructor(
      * @param applyTimeoutAnnotations whether to apply timeout annotations to the requests. See [ReadTimeout], etc.
      * @param timeouts                optional timeouts for the requests
      * @param logsSaving              whether to enable logs saving
+     * @param httpCaching             whether to enable HTTP cache. See [CacheMaxAge]
      *
      * @return an instance [T] of the specified API interface
      */
@@ -68,15 +95,17 @@ internal class RetrofitApiBuilder @Inject constructor(
         applyTimeoutAnnotations: Boolean,
         timeouts: Timeouts? = null,
         logsSaving: Boolean = true,
+        httpCaching: Boolean = false,
     ): T {
         val environmentConfig = apiConfigsManager.getEnvironmentConfig(apiConfigId)
+        headersCache.prewarm(environmentConfig)
 
         return Retrofit.Builder()
             .addConverterFactory(MoshiConverterFactory.create(moshi))
             .addCallAdapterFactory(ApiResponseCallAdapterFactory.create(analyticsErrorHandler))
             .baseUrl(environmentConfig.baseUrl)
             .client(
-                OkHttpClient.Builder()
+                rootClient.newBuilder()
                     .applyApiConfig(apiConfigId = apiConfigId, environmentConfig = environmentConfig)
                     .applyWireMockRedirect()
                     .let {
@@ -86,6 +115,9 @@ internal class RetrofitApiBuilder @Inject constructor(
                     .let {
                         if (logsSaving) it.applyLogsSaving() else it
                     }
+                    .let {
+                        if (httpCaching) it.applyCacheAnnotations() else it
+                    }
                     .addLoggers(apiConfigId = apiConfigId, context = context)
                     .build(),
             )
@@ -119,12 +151,11 @@ internal class RetrofitApiBuilder @Inject constructor(
                     baseUrls = configsBaseUrls[apiConfigId]
                         ?: error("Base URLs for ApiConfig with id [$apiConfigId] not found"),
                     apiConfigsManager = apiConfigsManager,
+                    headersCache = headersCache,
                 ),
             )
         } else {
-            val headers = environmentConfig.headers
-
-            this.addHeaders(headers)
+            this.addHeaders(environmentConfig = environmentConfig, headersCache = headersCache)
         }
     }
 
@@ -177,6 +208,44 @@ internal class RetrofitApiBuilder @Inject constructor(
         )
     }
 
+    /**
+     * Enable shared HTTP cache and apply cache annotations [Interceptor].
+     * Responses of requests annotated with [CacheMaxAge] are stored for the specified duration.
+     * They vary by [VARY_HEADERS], so a response localized by header isn't served after the language is changed.
+     * Other responses are cached only if the server allows it.
+     */
+    private fun OkHttpClient.Builder.applyCacheAnnotations(): OkHttpClient.Builder {
+        return cache(httpCache).addNetworkInterceptor(
+            Interceptor { chain ->
+                val request = chain.request()
+                val response = chain.proceed(request)
+                val maxAge = request.tag(Invocation::class.java)?.method()?.getAnnotation(CacheMaxAge::class.java)
+
+                if (maxAge == null || !response.isSuccessful || response.cacheControl.noStore) {
+                    return@Interceptor response
+                }
+
+                val cacheControl = CacheControl.Builder()
+                    .maxAge(maxAge = maxAge.duration, timeUnit = maxAge.unit)
+                    .build()
+
+                val vary = response.headers.values(name = "Vary")
+                    .flatMap { it.split(',') }
+                    .map(String::trim)
+                    .plus(VARY_HEADERS)
+                    .filter(String::isNotEmpty)
+                    .distinctBy(String::lowercase)
+                    .joinToString()
+
+                response.newBuilder()
+                    .removeHeader(name = "Pragma")
+                    .header(name = "Cache-Control", value = cacheControl.toString())
+                    .header(name = "Vary", value = vary)
+                    .build()
+            },
+        )
+    }
+
     private fun OkHttpClient.Builder.applyLogsSaving(): OkHttpClient.Builder {
         return addInterceptor(
             interceptor = NetworkLogsSaveInterceptor(appLogsStore),
@@ -205,6 +274,16 @@ internal class RetrofitApiBuilder @Inject constructor(
     @Suppress("UseEmptyCounterpart")
     private companion object {
 
+        const val HTTP_CACHE_DIRECTORY = "http_cache"
+        const val HTTP_CACHE_MAX_SIZE_BYTES = 20L * 1024 * 1024
+
+        // default limits of OkHttp dispatcher are 64 and 5, they were applied to every API separately
+        const val MAX_REQUESTS = 128
+        const val MAX_REQUESTS_PER_HOST = 24
+
+        /** Request headers that cached responses depend on. See [RequestHeader.AppVersionPlatformHeaders] */
+        val VARY_HEADERS = listOf("language")
+
         val excludedApiForLogging: Set<ApiConfig.ID> = setOf(
             // ApiConfig.ID.StakeKit,
             ApiConfig.ID.MoonPay,
@@ -0,0 +1,82 @@
+package com.tangem.datasource.local.datastore
+
+import androidx.datastore.core.DataStore
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.NonCancellable
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import kotlinx.coroutines.withContext
+import java.util.concurrent.ConcurrentLinkedQueue
+
+/**
+ * [DataStore] that coalesces concurrent updates of [delegate].
+ *
+ * Every update is enqueued and the first updater that acquires the write lock applies all enqueued transforms in
+ * one [DataStore.updateData] call, so a burst of updates rewrites the file once instead of once per update.
+ * Transforms are applied in order of enqueueing, and every updater receives the data right after its own transform.
+ * Failure of a transform fails only its own update, failure of the write fails all updates of the batch.
+ * The batch is written even if its writer is cancelled, because it contains updates of other updaters.
+ *
+ * @property delegate data store that persists the data
+ */
+internal class CoalescingDataStore<T>(
+    private val delegate: DataStore<T>,
+) : DataStore<T> {
+
+    private val pendingUpdates = ConcurrentLinkedQueue<PendingUpdate<T>>()
+    private val writeMutex = Mutex()
+
+    override val data: Flow<T> = delegate.data
+
+    override suspend fun updateData(transform: suspend (t: T) -> T): T {
+        val update = PendingUpdate(transform)
+        pendingUpdates.add(update)
+
+        try {
+            writeMutex.withLock { writePendingUpdates() }
+        } catch (e: CancellationException) {
+            // update is dropped only if it wasn't taken by another writer yet
+            if (pendingUpdates.remove(update)) throw e
+        }
+
+        return update.result.await()
+    }
+
+    @Suppress("TooGenericExceptionCaught")
+    private suspend fun writePendingUpdates() {
+        val batch = generateSequence { pendingUpdates.poll() }.toList()
+        if (batch.isEmpty()) return
+
+        val results = arrayOfNulls<Result<T>>(batch.size)
+
+        try {
+            withContext(NonCancellable) {
+                delegate.updateData { current ->
+                    batch.foldIndexed(current) { index, data, update ->
+                        val result = try {
+                            Result.success(update.transform(data))
+                        } catch (e: Exception) {
+                            Result.failure(e)
+                        }
+
+                        results[index] = result
+                        result.getOrDefault(data)
+                    }
+                }
+            }
+        } catch (e: Throwable) {
+            batch.forEach { it.result.completeExceptionally(e) }
+            throw e
+        }
+
+        batch.forEachIndexed { index, update ->
+            results[index]?.fold(onSuccess = update.result::complete, onFailure = update.result::completeExceptionally)
+        }
+    }
+
+    private class PendingUpdate<T>(val transform: suspend (t: T) -> T) {
+        val result = CompletableDeferred<T>()
+    }
+}
@@ -1,81 +1,124 @@
 package com.tangem.datasource.local.datastore
 
 import com.tangem.datasource.local.datastore.core.StringKeyDataStore
+import kotlinx.collections.immutable.PersistentMap
+import kotlinx.collections.immutable.mutate
+import kotlinx.collections.immutable.persistentMapOf
 import kotlinx.coroutines.flow.*
-import java.util.concurrent.ConcurrentHashMap
 
+/**
+ * Runtime [StringKeyDataStore] based on a persistent map.
+ *
+ * Every update replaces the snapshot of the store with a new persistent map that shares unchanged entries with the
+ * previous one, so updates don't copy the whole store. Updates are applied under the lock together with
+ * notification of observers, so observers can't receive values out of order.
+ *
+ * Every observed key has own [MutableStateFlow], so [get] subscribers are notified only about changes of their keys.
+ * The flow is removed when its last subscriber is completed. Values are wrapped into [Entry], so storing a value that
+ * is equal to the current one notifies subscribers again, because callers use it to refresh their state.
+ * For the same reason every update creates a new [Snapshot], so [getAll] subscribers are notified about it too.
+ */
 internal class RuntimeDataStore<Data : Any> : StringKeyDataStore<Data> {
 
-    private val store: MutableSharedFlow<ConcurrentHashMap<String, Data>?> = MutableSharedFlow(replay = 1)
+    private val lock = Any()
 
-    init {
-        store.tryEmit(value = null)
-    }
+    /** Snapshot of the store. Null if nothing is stored yet or the store is cleared */
+    private val snapshot = MutableStateFlow<Snapshot<Data>?>(value = null)
+
+    /** Flows of observed keys. Guarded by [lock] */
+    private val keyFlows = HashMap<String, KeyFlow<Data>>()
 
-    override suspend fun isEmpty(): Boolean = store.firstOrNull().isNullOrEmpty()
+    override suspend fun isEmpty(): Boolean = snapshot.value?.map.isNullOrEmpty()
 
     override suspend fun contains(key: String): Boolean = getSyncOrNull(key) != null
 
     override fun get(key: String): Flow<Data> {
-        return store.mapNotNull { value ->
-            value?.get(key)
+        return flow {
+            val keyFlow = synchronized(lock) {
+                keyFlows.getOrPut(key) { KeyFlow(initial = snapshot.value?.map?.get(key)?.let(::Entry)) }
+                    .also { it.subscribersCount++ }
+            }
+
+            try {
+                emitAll(keyFlow.entry.mapNotNull { it?.value })
+            } finally {
+                synchronized(lock) {
+                    keyFlow.subscribersCount--
+
+                    if (keyFlow.subscribersCount == 0) keyFlows.remove(key)
+                }
+            }
         }
     }
 
     override fun getAll(): Flow<List<Data>> {
-        return store.map { value ->
-            value?.values?.toList().orEmpty()
-        }
+        return snapshot.map { value -> value?.values.orEmpty() }
     }
 
     override suspend fun getSyncOrNull(key: String): Data? {
-        return store.firstOrNull()?.get(key)
+        return snapshot.value?.map?.get(key)
     }
 
     override suspend fun getAllSyncOrNull(): List<Data>? {
-        return store.firstOrNull()?.values?.toList()
+        return snapshot.value?.values
     }
 
     override suspend fun store(key: String, value: Data) {
-        updateValue { storedValue ->
-            storedValue[key] = value
-
-            storedValue
-        }
+        update(changedKeys = listOf(key)) { it.put(key, value) }
     }
 
     override suspend fun store(values: Map<String, Data>) {
-        updateValue { storedValue ->
-            storedValue.putAll(values)
-
-            storedValue
-        }
+        update(changedKeys = values.keys) { it.putAll(values) }
     }
 
     override suspend fun remove(key: String) {
-        updateValue { storedValue ->
-            storedValue.remove(key)
-
-            storedValue
-        }
+        update(changedKeys = listOf(key)) { it.remove(key) }
     }
 
     override suspend fun remove(keys: Collection<String>) {
-        updateValue { value ->
-            ConcurrentHashMap(value.filterKeys { it !in keys })
+        update(changedKeys = keys) { map ->
+            map.mutate { it.keys.removeAll(keys.toSet()) }
         }
     }
 
     override suspend fun clear() {
-        store.emit(value = null)
+        synchronized(lock) {
+            snapshot.value = null
+            keyFlows.values.forEach { it.entry.value = null }
+        }
     }
 
-    private suspend inline fun updateValue(
-        update: (ConcurrentHashMap<String, Data>) -> ConcurrentHashMap<String, Data>,
+    private inline fun update(
+        changedKeys: Collection<String>,
+        transform: (PersistentMap<String, Data>) -> PersistentMap<String, Data>,
     ) {
-        val storedData = store.firstOrNull() ?: ConcurrentHashMap()
-        val updatedData = update(storedData)
+        synchronized(lock) {
+            val updated = transform(snapshot.value?.map ?: persistentMapOf())
+            snapshot.value = Snapshot(updated)
 
-        store.emit(updatedData)
+            if (keyFlows.isEmpty()) return
+
+            changedKeys.forEach { key ->
+                keyFlows[key]?.entry?.value = updated[key]?.let(::Entry)
+            }
+        }
+    }
+
+    /** Flow of observed key with the number of its subscribers. Guarded by [lock] */
+    private class KeyFlow<Data : Any>(initial: Entry<Data>?) {
+
+        val entry = MutableStateFlow(initial)
+
+        var subscribersCount = 0
     }
-}
\ No newline at end of file
+
+    /** Version of the store. It doesn't override equals, so [snapshot] emits every update */
+    private class Snapshot<Data : Any>(val map: PersistentMap<String, Data>) {
+
+        /** Values are copied to a list once per snapshot and shared by all [getAll] subscribers */
+        val values: List<Data> by lazy(LazyThreadSafetyMode.PUBLICATION) { map.values.toList() }
+    }
+
+    /** Stored value. It doesn't override equals, so [MutableStateFlow] emits every stored value */
+    private class Entry<Data : Any>(val value: Data)
+}
@@ -6,20 +6,27 @@ import com.tangem.utils.coroutines.AppCoroutineScope
 import com.tangem.utils.coroutines.CoroutineDispatcherProvider
 import com.tangem.utils.logging.TangemLogger
 import dagger.hilt.android.qualifiers.ApplicationContext
+import kotlinx.coroutines.channels.Channel
 import kotlinx.coroutines.launch
 import kotlinx.coroutines.sync.Mutex
 import kotlinx.coroutines.sync.withLock
 import kotlinx.coroutines.withContext
-import org.joda.time.DateTime
 import org.joda.time.format.DateTimeFormatterBuilder
 import java.io.*
+import java.util.concurrent.atomic.AtomicLong
 import java.util.zip.ZipEntry
 import java.util.zip.ZipOutputStream
 import javax.inject.Inject
 import javax.inject.Singleton
 
 /**
- * Store for saving app logs
+ * Store for saving app logs.
+ *
+ * Messages are queued into a bounded channel and written in batches by a single long-lived writer.
+ * If the queue is full, messages are dropped and the number of dropped messages is written to the log. Trimming is
+ * never dropped: the requested size is kept aside and applied by the writer after the current batch.
+ * Logs are split into [MAX_SEGMENTS] segment files: when the current segment exceeds its size, the segments are
+ * rotated and the oldest one is deleted. Segments are merged into a single [PERMITTED_FILE_NAME] before sharing.
  *
  * @property applicationContext application context
  * @param dispatchers           coroutine dispatcher provider
@@ -33,8 +40,24 @@ class AppLogsStore @Inject constructor(
     private val scope: AppCoroutineScope,
 ) {
 
-    private val mutex = Mutex()
-    private val zipMutex = Mutex()
+    private val commands = Channel<Command>(capacity = QUEUE_CAPACITY)
+    private val droppedMessages = AtomicLong()
+    private val totalDroppedMessages = AtomicLong()
+
+    /** Max size of logs requested by [deleteDeprecatedLogs] that isn't applied by the writer yet */
+    private val pendingTrimSize = AtomicLong(NO_PENDING_TRIM)
+
+    /** Guards renaming and deleting of segments */
+    private val segmentsLock = Any()
+
+    /** Guards [exportFile] and [logFileZip] */
+    private val exportMutex = Mutex()
+
+    @Volatile
+    private var maxSize: Long = DEFAULT_MAX_SIZE
+
+    /** Writer of the current segment. Used only by the writer coroutine */
+    private var writer: BufferedWriter? = null
 
     private val logFile by lazy {
         File(applicationContext.filesDir, PERMITTED_FILE_NAME)
@@ -44,6 +67,11 @@ class AppLogsStore @Inject constructor(
         File(applicationContext.filesDir, PERMITTED_FILE_NAME_ZIP)
     }
 
+    /** File with all segments merged. It has the permitted name, so it's placed in a separate directory */
+    private val exportFile by lazy {
+        File(File(applicationContext.filesDir, EXPORT_DIRECTORY_NAME), PERMITTED_FILE_NAME)
+    }
+
     private val formatter = DateTimeFormatterBuilder()
         .appendDayOfMonth(2)
         .appendLiteral('.')
@@ -58,15 +86,26 @@ class AppLogsStore @Inject constructor(
         .appendMillisOfSecond(3)
         .toFormatter()
 
-    /** Get log file */
-    fun getFile(): File? = if (logFile.exists()) logFile else null
+    /** Number of messages that were dropped because the queue was full */
+    val droppedMessagesCount: Long
+        get() = totalDroppedMessages.get()
 
+    init {
+        scope.launch(dispatchers.io) { processCommands() }
+    }
+
+    /** Get file with all log segments merged */
+    suspend fun getFile(): File? {
+        return exportMutex.withLock {
+            withContext(dispatchers.io) { mergeSegments() }
+        }
+    }
+
+    /** Get zip file with all log segments merged. Writing of logs isn't blocked while the segments are compressed */
     suspend fun getZipFile(): File? {
-        return zipMutex.withLock {
-            if (logFile.exists()) {
-                zip(filesToCompress = listOf(logFile), outputZipFile = logFileZip)
-            } else {
-                null
+        return exportMutex.withLock {
+            withContext(dispatchers.io) {
+                mergeSegments()?.let { file -> zip(fileToCompress = file, outputZipFile = logFileZip) }
             }
         }
     }
@@ -80,98 +119,225 @@ class AppLogsStore @Inject constructor(
      * otherwise destroy.
      */
     fun saveLogMessage(tag: String, message: String, throwable: Throwable? = null, shouldSanitize: Boolean = true) {
-        launchWithLock {
-            createFileIfNotExist()
-
-            writeMessage(tag = tag, shouldSanitize = shouldSanitize, throwable = throwable, message)
-        }
+        enqueue(
+            Command.Write(
+                timestamp = System.currentTimeMillis(),
+                tag = tag,
+                messages = listOf(message),
+                throwable = throwable,
+                shouldSanitize = shouldSanitize,
+            ),
+        )
     }
 
     /** Save log that consists from [messages] */
     fun saveLogMessage(tag: String, vararg messages: String) {
-        launchWithLock {
-            createFileIfNotExist()
+        enqueue(
+            Command.Write(
+                timestamp = System.currentTimeMillis(),
+                tag = tag,
+                messages = messages.toList(),
+                throwable = null,
+                shouldSanitize = true,
+            ),
+        )
+    }
 
-            writeMessage(tag = tag, shouldSanitize = true, throwable = null, messages = messages)
+    /** Delete the oldest log segments if total size of logs exceeds [maxSize] */
+    fun deleteDeprecatedLogs(maxSize: Int) {
+        pendingTrimSize.set(maxSize.toLong())
+
+        // if the queue is full, the writer is busy and applies the pending trim after the current batch anyway
+        commands.trySend(Command.Trim)
+    }
+
+    private fun enqueue(command: Command.Write) {
+        commands.trySend(command).onFailure {
+            droppedMessages.incrementAndGet()
+            totalDroppedMessages.incrementAndGet()
         }
     }
 
-    /** Delete deprecated logs if file size exceeds [maxSize] */
-    fun deleteDeprecatedLogs(maxSize: Int) {
-        launchWithLock {
-            if (logFile.exists() && logFile.length() > maxSize) {
-                logFile.delete()
+    private suspend fun processCommands() {
+        val batch = ArrayList<Command>(BATCH_SIZE)
+
+        for (command in commands) {
+            batch += command
+
+            while (batch.size < BATCH_SIZE) {
+                batch += commands.tryReceive().getOrNull() ?: break
             }
+
+            runCatching { execute(batch) }
+                .onFailure {
+                    closeWriter()
+                    TangemLogger.e("Error", it)
+                }
+
+            batch.clear()
         }
     }
 
-    private fun writeMessage(tag: String, shouldSanitize: Boolean, throwable: Throwable?, vararg messages: String) {
-        BufferedWriter(FileWriter(logFile, true)).use { writer ->
-            writer.append(formatter.print(DateTime.now()))
-            writer.append(": $tag ")
-            val processed = if (shouldSanitize && !BuildConfig.LOG_ENABLED) {
-                messages.map(LogsSanitizer::sanitize)
-            } else {
-                messages.toList()
-            }
-            processed.forEach(writer::append)
-            if (throwable != null) {
-                writer.newLine()
-                writer.append(throwable.stackTraceToString().trimEnd())
-            }
-            writer.newLine()
+    private fun execute(batch: List<Command>) {
+        batch.forEach { command ->
+            if (command is Command.Write) writeMessage(command)
+        }
+
+        val trimSize = pendingTrimSize.getAndSet(NO_PENDING_TRIM)
+        if (trimSize != NO_PENDING_TRIM) {
+            maxSize = trimSize
+            closeWriter()
+            deleteOldestSegments()
+        }
+
+        val dropped = droppedMessages.getAndSet(0)
+        if (dropped > 0) {
+            writeMessage(
+                Command.Write(
+                    timestamp = System.currentTimeMillis(),
+                    tag = TAG,
+                    messages = listOf("$dropped messages were dropped"),
+                    throwable = null,
+                    shouldSanitize = false,
+                ),
+            )
+        }
+
+        writer?.flush()
+
+        if (logFile.length() > maxSize / MAX_SEGMENTS) {
+            closeWriter()
+            rotateSegments()
         }
     }
 
-    private fun createFileIfNotExist() {
-        if (!logFile.exists()) {
-            runCatching { logFile.createNewFile() }
-                .onFailure { TangemLogger.e("Error", it) }
+    private fun writeMessage(command: Command.Write) {
+        val writer = writer ?: BufferedWriter(FileWriter(logFile, true)).also { writer = it }
+
+        writer.append(formatter.print(command.timestamp))
+        writer.append(": ${command.tag} ")
+        val processed = if (command.shouldSanitize && !BuildConfig.LOG_ENABLED) {
+            command.messages.map(LogsSanitizer::sanitize)
+        } else {
+            command.messages
         }
+        processed.forEach(writer::append)
+        if (command.throwable != null) {
+            writer.newLine()
+            writer.append(command.throwable.stackTraceToString().trimEnd())
+        }
+        writer.newLine()
+    }
+
+    private fun closeWriter() {
+        runCatching { writer?.close() }
+            .onFailure { TangemLogger.e("Error", it) }
+
+        writer = null
     }
 
-    private fun launchWithLock(callback: () -> Unit) {
-        scope.launch {
-            mutex.withLock {
-                runCatching { callback() }
-                    .onFailure { TangemLogger.e("Error", it) }
+    /** Shift segments: the current segment becomes the first one and the oldest segment is deleted */
+    private fun rotateSegments() {
+        synchronized(segmentsLock) {
+            getSegmentFile(index = MAX_SEGMENTS - 1).delete()
+
+            for (index in MAX_SEGMENTS - 2 downTo 0) {
+                val segment = getSegmentFile(index)
+
+                if (segment.exists()) segment.renameTo(getSegmentFile(index = index + 1))
             }
         }
     }
 
-    @Suppress("NestedBlockDepth")
-    private suspend fun zip(filesToCompress: List<File>, outputZipFile: File): File? {
-        return withContext(dispatchers.io) {
-            if (outputZipFile.exists() && !outputZipFile.delete()) {
-                return@withContext null
+    /** Delete the oldest segments while total size exceeds [maxSize] */
+    private fun deleteOldestSegments() {
+        synchronized(segmentsLock) {
+            val segments = (0 until MAX_SEGMENTS).map(::getSegmentFile).filter(File::exists)
+            var totalSize = segments.sumOf(File::length)
+
+            segments.asReversed().forEach { segment ->
+                if (totalSize <= maxSize) return
+
+                totalSize -= segment.length()
+                segment.delete()
             }
+        }
+    }
+
+    private fun getSegmentFile(index: Int): File {
+        return if (index == 0) {
+            logFile
+        } else {
+            File(applicationContext.filesDir, "$SEGMENT_FILE_PREFIX$index$SEGMENT_FILE_EXTENSION")
+        }
+    }
+
+    /** Merge segments from the oldest to the current one into [exportFile] */
+    private fun mergeSegments(): File? {
+        // streams are opened under the lock, so rotation can't rename the segments between listing and opening
+        val segments = synchronized(segmentsLock) {
+            (MAX_SEGMENTS - 1 downTo 0)
+                .map(::getSegmentFile)
+                .filter(File::exists)
+                .map { file -> FileInputStream(file) }
+        }
+
+        if (segments.isEmpty()) return null
+
+        val exportDirectory = exportFile.parentFile
+        if (exportDirectory != null && !exportDirectory.exists()) exportDirectory.mkdirs()
+
+        FileOutputStream(exportFile).use { outStream ->
+            segments.forEach { segment -> segment.use { inStream -> inStream.copyTo(outStream, BUFFER_SIZE) } }
+        }
 
-            val buffer = ByteArray(BUFFER_SIZE)
-
-            FileOutputStream(outputZipFile).use { fos ->
-                ZipOutputStream(fos).use { zos ->
-                    filesToCompress.forEach { file ->
-                        FileInputStream(file).use { inStream ->
-                            val ze = ZipEntry(file.name)
-                            zos.putNextEntry(ze)
-                            var len: Int
-                            while (inStream.read(buffer).also { len = it } > 0) {
-                                zos.write(buffer, 0, len)
-                            }
-                        }
-                    }
-                    zos.finish() // Ensures the zip output is finalized
+        return exportFile
+    }
+
+    private fun zip(fileToCompress: File, outputZipFile: File): File? {
+        if (outputZipFile.exists() && !outputZipFile.delete()) return null
+
+        FileOutputStream(outputZipFile).use { fos ->
+            ZipOutputStream(fos).use { zos ->
+                FileInputStream(fileToCompress).use { inStream ->
+                    zos.putNextEntry(ZipEntry(fileToCompress.name))
+                    inStream.copyTo(zos, BUFFER_SIZE)
                 }
+                zos.finish() // Ensures the zip output is finalized
             }
-            outputZipFile
         }
+
+        return outputZipFile
+    }
+
+    private sealed interface Command {
+
+        class Write(
+            val timestamp: Long,
+            val tag: String,
+            val messages: List<String>,
+            val throwable: Throwable?,
+            val shouldSanitize: Boolean,
+        ) : Command
+
+        /** Wakes up the writer to apply [pendingTrimSize] */
+        data object Trim : Command
     }
 
     private companion object {
-        const val BUFFER_SIZE = 1024
+        const val TAG = "AppLogsStore"
+        const val BUFFER_SIZE = 8192
+        const val QUEUE_CAPACITY = 4096
+        const val BATCH_SIZE = 256
+        const val MAX_SEGMENTS = 5
+        const val DEFAULT_MAX_SIZE = 25_000_000L
+        const val NO_PENDING_TRIM = -1L
 
         // the only name that we allow to send as email to company addresses
         const val PERMITTED_FILE_NAME = "log.txt"
         const val PERMITTED_FILE_NAME_ZIP = "log.zip"
+        const val SEGMENT_FILE_PREFIX = "log_"
+        const val SEGMENT_FILE_EXTENSION = ".txt"
+        const val EXPORT_DIRECTORY_NAME = "logs_export"
     }
-}
\ No newline at end of file
+}
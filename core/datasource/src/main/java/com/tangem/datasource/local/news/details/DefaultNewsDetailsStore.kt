@@ -1,37 +1,141 @@
 package com.tangem.datasource.local.news.details
 
+import androidx.datastore.core.DataStore
 import com.tangem.datasource.local.datastore.RuntimeSharedStore
 import com.tangem.domain.models.news.DetailedArticle
+import com.tangem.utils.logging.TangemLogger
 import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.emitAll
+import kotlinx.coroutines.flow.firstOrNull
+import kotlinx.coroutines.flow.flow
 import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
 
+/**
+ * [NewsDetailsStore] that keeps articles in memory and persists [maxPersistedArticles] most recently used of them,
+ * so details of the feed are available right after the app restart.
+ *
+ * Persisted articles are loaded into memory on the first access. Usage order is updated on every read and write of
+ * an article and is saved with the next write, when the least recently used articles are evicted from persistence.
+ *
+ * @property runtimeStore         runtime store of articles by id
+ * @property persistenceStore     persistence store of articles from the least to the most recently used
+ * @property maxPersistedArticles max number of persisted articles
+ */
 internal class DefaultNewsDetailsStore(
-    private val store: RuntimeSharedStore<Map<Int, DetailedArticle>>,
+    private val runtimeStore: RuntimeSharedStore<Map<Int, DetailedArticle>>,
+    private val persistenceStore: DataStore<List<DetailedArticle>>,
+    private val maxPersistedArticles: Int = MAX_PERSISTED_ARTICLES,
 ) : NewsDetailsStore {
 
+    /** Ids of articles from the least to the most recently used. Guarded by itself */
+    private val usageOrder = LinkedHashSet<Int>()
+
+    private val restoreMutex = Mutex()
+
+    @Volatile
+    private var isRestored = false
+
     override fun getAll(): Flow<List<DetailedArticle>> {
-        return store.get().map { it.values.toList() }
+        return flow {
+            restoreIfNeeded()
+            emitAll(runtimeStore.get())
+        }.map { it.values.toList() }
     }
 
     override suspend fun getSyncOrNull(id: Int): DetailedArticle? {
-        return store.getSyncOrNull()?.get(id)
+        return getSync(ids = listOf(id))[id]
+    }
+
+    override suspend fun getSync(ids: Collection<Int>): Map<Int, DetailedArticle> {
+        if (ids.isEmpty()) return emptyMap()
+
+        restoreIfNeeded()
+
+        val articles = runtimeStore.getSyncOrNull().orEmpty()
+        val found = ids.mapNotNull { id -> articles[id]?.let { id to it } }.toMap()
+
+        markUsed(found.keys)
+
+        return found
     }
 
     override suspend fun store(id: Int, article: DetailedArticle) {
-        store.update(emptyMap()) { current ->
-            current + (id to article)
-        }
+        store(articles = mapOf(id to article))
     }
 
     override suspend fun store(articles: Map<Int, DetailedArticle>) {
         if (articles.isEmpty()) return
 
-        store.update(emptyMap()) { current ->
-            current + articles
-        }
+        restoreIfNeeded()
+
+        runtimeStore.update(emptyMap()) { current -> current + articles }
+        markUsed(articles.keys)
+
+        persist()
     }
 
     override suspend fun clear() {
-        store.store(emptyMap())
+        restoreMutex.withLock { isRestored = true }
+
+        runtimeStore.store(emptyMap())
+        synchronized(usageOrder) { usageOrder.clear() }
+
+        persistenceStore.updateData { emptyList() }
+    }
+
+    private suspend fun restoreIfNeeded() {
+        if (isRestored) return
+
+        restoreMutex.withLock {
+            if (isRestored) return
+
+            val persistedArticles = readPersistedArticles()
+
+            if (persistedArticles.isNotEmpty()) {
+                synchronized(usageOrder) {
+                    persistedArticles.forEach { usageOrder.add(it.id) }
+                }
+
+                runtimeStore.update(emptyMap()) { current ->
+                    persistedArticles.associateBy(DetailedArticle::id) + current
+                }
+            }
+
+            isRestored = true
+        }
+    }
+
+    @Suppress("TooGenericExceptionCaught")
+    private suspend fun readPersistedArticles(): List<DetailedArticle> {
+        return try {
+            persistenceStore.data.firstOrNull().orEmpty()
+        } catch (e: Exception) {
+            TangemLogger.e("Unable to read persisted news details", e)
+            emptyList()
+        }
+    }
+
+    private fun markUsed(ids: Collection<Int>) {
+        if (ids.isEmpty()) return
+
+        synchronized(usageOrder) {
+            ids.forEach { id ->
+                usageOrder.remove(id)
+                usageOrder.add(id)
+            }
+        }
+    }
+
+    private suspend fun persist() {
+        val recentlyUsedIds = synchronized(usageOrder) { usageOrder.toList().takeLast(maxPersistedArticles) }
+        val articles = runtimeStore.getSyncOrNull().orEmpty()
+
+        persistenceStore.updateData { recentlyUsedIds.mapNotNull(articles::get) }
+    }
+
+    private companion object {
+        const val MAX_PERSISTED_ARTICLES = 100
     }
-}
\ No newline at end of file
+}
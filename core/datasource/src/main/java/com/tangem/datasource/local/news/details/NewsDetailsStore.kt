@@ -9,9 +9,12 @@ interface NewsDetailsStore {
 
     suspend fun getSyncOrNull(id: Int): DetailedArticle?
 
+    /** Get stored articles with [ids] in one pass. Articles that aren't stored are absent in the result */
+    suspend fun getSync(ids: Collection<Int>): Map<Int, DetailedArticle>
+
     suspend fun store(id: Int, article: DetailedArticle)
 
     suspend fun store(articles: Map<Int, DetailedArticle>)
 
     suspend fun clear()
-}
\ No newline at end of file
+}
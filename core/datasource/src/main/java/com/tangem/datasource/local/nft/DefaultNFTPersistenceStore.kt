@@ -1,56 +1,215 @@
 package com.tangem.datasource.local.nft
 
-import androidx.datastore.core.DataStore
+import com.squareup.moshi.JsonAdapter
+import com.squareup.moshi.JsonDataException
+import com.squareup.moshi.Moshi
 import com.tangem.blockchain.nft.models.NFTAsset
 import com.tangem.blockchain.nft.models.NFTCollection
-import com.tangem.datasource.local.nft.custom.NFTPriceId
+import com.tangem.datasource.local.nft.db.NFTDao
+import com.tangem.datasource.local.nft.db.entity.NFTAssetEntity
+import com.tangem.datasource.local.nft.db.entity.NFTCollectionEntity
+import com.tangem.datasource.local.nft.db.entity.NFTSalePriceEntity
+import com.tangem.utils.logging.TangemLogger
 import kotlinx.coroutines.flow.Flow
-import kotlinx.coroutines.flow.firstOrNull
+import kotlinx.coroutines.flow.combine
 import kotlinx.coroutines.flow.map
+import java.io.IOException
 
+/**
+ * [NFTPersistenceStore] that persists collections, assets and sale prices of network as separate rows of [NFTDao].
+ * So saving of collections or sale price rewrites only changed rows instead of the whole list.
+ * Collections and assets with unknown identifiers are stored with synthetic ids, see [SyntheticIds].
+ *
+ * @property dao          NFT DAO
+ * @property userWalletId user wallet id
+ * @property networkId    network id with derivation path
+ * @param moshi           moshi to serialize SDK models
+ */
 internal class DefaultNFTPersistenceStore(
-    private val collectionsPersistenceStore: DataStore<List<NFTCollection>>,
-    private val pricesPersistenceStore: DataStore<List<NFTPriceId>>,
+    private val dao: NFTDao,
+    private val userWalletId: String,
+    private val networkId: String,
+    moshi: Moshi,
 ) : NFTPersistenceStore {
 
-    override fun getCollections(): Flow<List<NFTCollection>?> = collectionsPersistenceStore.data
+    private val collectionAdapter: JsonAdapter<NFTCollection> = moshi.adapter(NFTCollection::class.java)
+    private val collectionIdAdapter: JsonAdapter<NFTCollection.Identifier> =
+        moshi.adapter(NFTCollection.Identifier::class.java)
+    private val assetAdapter: JsonAdapter<NFTAsset> = moshi.adapter(NFTAsset::class.java)
+    private val assetIdAdapter: JsonAdapter<NFTAsset.Identifier> = moshi.adapter(NFTAsset.Identifier::class.java)
+    private val salePriceAdapter: JsonAdapter<NFTAsset.SalePrice> = moshi.adapter(NFTAsset.SalePrice::class.java)
 
-    override suspend fun getCollectionsSync(): List<NFTCollection>? = collectionsPersistenceStore
-        .data
-        .firstOrNull()
+    override fun getCollections(): Flow<List<NFTCollection>?> = combine(
+        dao.observeCollections(userWalletId = userWalletId, networkId = networkId),
+        dao.observeAssets(userWalletId = userWalletId, networkId = networkId),
+        ::toCollections,
+    )
+
+    override suspend fun getCollectionsSync(): List<NFTCollection>? = toCollections(
+        collections = dao.getCollections(userWalletId = userWalletId, networkId = networkId),
+        assets = dao.getAssets(userWalletId = userWalletId, networkId = networkId),
+    )
 
     override fun getAsset(collectionId: NFTCollection.Identifier, assetId: NFTAsset.Identifier): Flow<NFTAsset?> =
-        collectionsPersistenceStore.data
-            .map { collection ->
-                collection
-                    .firstOrNull { it.identifier == collectionId }
-                    ?.getAsset(assetId)
-            }
+        dao.observeAsset(
+            userWalletId = userWalletId,
+            networkId = networkId,
+            collectionId = collectionIdAdapter.toJson(collectionId),
+            assetId = assetIdAdapter.toJson(assetId),
+        ).map { entity ->
+            entity?.let { decodeOrNull(assetAdapter, it.payload) }
+        }
 
-    override fun getSalePrice(assetId: NFTAsset.Identifier): Flow<NFTAsset.SalePrice?> = pricesPersistenceStore.data
-        .map { data -> data.associate { it.assetId to it.price }[assetId] }
+    override fun getSalePrice(assetId: NFTAsset.Identifier): Flow<NFTAsset.SalePrice?> = dao.observeSalePrice(
+        userWalletId = userWalletId,
+        networkId = networkId,
+        assetId = assetIdAdapter.toJson(assetId),
+    ).map { entity ->
+        entity?.let { decodeOrNull(salePriceAdapter, it.payload) }
+    }
 
-    override suspend fun getSalePricesSync(): Map<NFTAsset.Identifier, NFTAsset.SalePrice>? = pricesPersistenceStore
-        .data
-        .firstOrNull()
-        ?.associate { it.assetId to it.price }
+    override suspend fun getSalePricesSync(): Map<NFTAsset.Identifier, NFTAsset.SalePrice>? = dao
+        .getSalePrices(userWalletId = userWalletId, networkId = networkId)
+        .mapNotNull { entity ->
+            val assetId = decodeOrNull(assetIdAdapter, entity.assetId) ?: return@mapNotNull null
+            val price = decodeOrNull(salePriceAdapter, entity.payload) ?: return@mapNotNull null
+
+            assetId to price
+        }
+        .toMap()
 
     override suspend fun saveCollections(collections: List<NFTCollection>) {
-        collectionsPersistenceStore.updateData {
-            collections
+        val collectionIds = SyntheticIds()
+        val entities = collections.mapIndexed { index, collection ->
+            // assets are stored in their own table
+            val payload = collectionAdapter.toJson(collection.copy(assets = emptyList()))
+
+            NFTCollectionEntity(
+                userWalletId = userWalletId,
+                networkId = networkId,
+                collectionId = collection.identifier.toEntityId() ?: collectionIds.next(payload),
+                position = index,
+                payload = payload,
+            )
         }
+
+        dao.replaceCollections(
+            userWalletId = userWalletId,
+            networkId = networkId,
+            collections = entities,
+            assets = collections.zip(entities).flatMap { (collection, entity) ->
+                collection.assets.toEntities(collectionId = entity.collectionId)
+            },
+        )
     }
 
-    override suspend fun saveSalePrice(assetId: NFTAsset.Identifier, salePrice: NFTAsset.SalePrice) {
-        pricesPersistenceStore.updateData {
-            it.toMutableList() + NFTPriceId(assetId = assetId, price = salePrice)
+    override suspend fun saveAssets(collectionId: NFTCollection.Identifier, assets: List<NFTAsset>) {
+        val entityCollectionId = collectionId.toEntityId()
+
+        if (entityCollectionId == null) {
+            // unknown collections are told apart only by their content, so their assets are saved with collections
+            TangemLogger.w("Unable to save assets of unknown NFT collection of network $networkId separately")
+            return
         }
+
+        dao.replaceCollectionAssets(
+            userWalletId = userWalletId,
+            networkId = networkId,
+            collectionId = entityCollectionId,
+            assets = assets.toEntities(collectionId = entityCollectionId),
+        )
+    }
+
+    override suspend fun saveSalePrice(assetId: NFTAsset.Identifier, salePrice: NFTAsset.SalePrice) {
+        dao.upsertSalePrice(
+            NFTSalePriceEntity(
+                userWalletId = userWalletId,
+                networkId = networkId,
+                assetId = assetIdAdapter.toJson(assetId),
+                payload = salePriceAdapter.toJson(salePrice),
+            ),
+        )
     }
 
     override suspend fun clear() {
-        collectionsPersistenceStore.updateData { emptyList() }
-        pricesPersistenceStore.updateData { emptyList() }
+        dao.deleteAll(userWalletId = userWalletId, networkId = networkId)
+    }
+
+    private fun toCollections(
+        collections: List<NFTCollectionEntity>,
+        assets: List<NFTAssetEntity>,
+    ): List<NFTCollection> {
+        val collectionsAssets = assets.groupBy(
+            keySelector = NFTAssetEntity::collectionId,
+            valueTransform = { decodeOrNull(assetAdapter, it.payload) },
+        )
+
+        return collections.mapNotNull { entity ->
+            decodeOrNull(collectionAdapter, entity.payload)?.copy(
+                assets = collectionsAssets[entity.collectionId].orEmpty().filterNotNull(),
+            )
+        }
     }
 
-    private fun NFTCollection.getAsset(assetId: NFTAsset.Identifier) = assets.firstOrNull { it.identifier == assetId }
-}
\ No newline at end of file
+    /** Entity id of identifier or null if identifier is unknown, because all unknown identifiers are equal */
+    private fun NFTCollection.Identifier.toEntityId(): String? {
+        return if (this is NFTCollection.Identifier.Unknown) null else collectionIdAdapter.toJson(this)
+    }
+
+    private fun List<NFTAsset>.toEntities(collectionId: String): List<NFTAssetEntity> {
+        val assetIds = SyntheticIds()
+
+        return mapIndexed { index, asset ->
+            val payload = assetAdapter.toJson(asset)
+            val assetId = if (asset.identifier is NFTAsset.Identifier.Unknown) {
+                assetIds.next(payload)
+            } else {
+                assetIdAdapter.toJson(asset.identifier)
+            }
+
+            NFTAssetEntity(
+                userWalletId = userWalletId,
+                networkId = networkId,
+                collectionId = collectionId,
+                assetId = assetId,
+                position = index,
+                payload = payload,
+            )
+        }
+    }
+
+    private fun <T> decodeOrNull(adapter: JsonAdapter<T>, json: String): T? {
+        return try {
+            adapter.fromJson(json)
+        } catch (e: JsonDataException) {
+            TangemLogger.e("Unable to read NFT data of network $networkId", e)
+            null
+        } catch (e: IOException) {
+            TangemLogger.e("Unable to read NFT data of network $networkId", e)
+            null
+        }
+    }
+
+    /**
+     * Generator of stable ids of entities with unknown identifiers.
+     * Id is built from the hash of entity payload, entities with equal hashes are distinguished by their ordinal.
+     * So unchanged entities keep their ids between saves and aren't rewritten.
+     */
+    private class SyntheticIds {
+
+        private val ordinals = HashMap<String, Int>()
+
+        fun next(payload: String): String {
+            val hash = payload.hashCode().toUInt().toString(radix = 16)
+            val ordinal = ordinals.getOrDefault(hash, 0)
+            ordinals[hash] = ordinal + 1
+
+            return "$SYNTHETIC_ID_PREFIX$hash:$ordinal"
+        }
+    }
+
+    private companion object {
+        // serialized identifiers are json objects, so synthetic ids never clash with them
+        const val SYNTHETIC_ID_PREFIX = "unknown:"
+    }
+}
@@ -17,6 +17,9 @@ interface NFTPersistenceStore {
 
     suspend fun saveCollections(collections: List<NFTCollection>)
 
+    /** Replace assets of collection with [collectionId] without rewriting other collections */
+    suspend fun saveAssets(collectionId: NFTCollection.Identifier, assets: List<NFTAsset>)
+
     suspend fun saveSalePrice(assetId: NFTAsset.Identifier, salePrice: NFTAsset.SalePrice)
 
     suspend fun clear()
@@ -1,20 +1,17 @@
 package com.tangem.datasource.local.nft
 
 import android.content.Context
-import androidx.datastore.core.DataStore
-import androidx.datastore.core.DataStoreFactory
 import androidx.datastore.dataStoreFile
 import com.squareup.moshi.Moshi
-import com.tangem.blockchain.nft.models.NFTCollection
 import com.tangem.datasource.di.NetworkMoshi
-import com.tangem.datasource.local.nft.custom.NFTPriceId
-import com.tangem.datasource.utils.MoshiDataStoreSerializer
-import com.tangem.datasource.utils.listTypes
+import com.tangem.datasource.local.nft.db.NFTDatabase
 import com.tangem.utils.coroutines.AppCoroutineScope
+import com.tangem.utils.coroutines.CoroutineDispatcherProvider
 import com.tangem.domain.models.network.Network
 import com.tangem.domain.models.wallet.UserWalletId
 import dagger.hilt.android.qualifiers.ApplicationContext
-import java.lang.reflect.ParameterizedType
+import kotlinx.coroutines.launch
+import java.util.concurrent.ConcurrentHashMap
 import javax.inject.Inject
 import javax.inject.Singleton
 
@@ -22,45 +19,49 @@ import javax.inject.Singleton
 class NFTPersistenceStoreFactory @Inject constructor(
     @NetworkMoshi private val moshi: Moshi,
     @ApplicationContext private val context: Context,
+    private val nftDatabase: NFTDatabase,
     private val appScope: AppCoroutineScope,
+    private val dispatchers: CoroutineDispatcherProvider,
 ) {
 
+    /** Ids of stores whose legacy files are already deleted in the current process */
+    private val migratedStoreIds = ConcurrentHashMap.newKeySet<String>()
+
     fun provide(userWalletId: UserWalletId, network: Network): NFTPersistenceStore {
-        // simplify network identifier so that is correct for a file name
+        // simplify network identifier
         // e.g. eth_m4460000 or theopennetwork_m446070
         val networkStringId =
             network.id.formatted() + network.derivationPath.formatted()?.let { "_$it" }.orEmpty()
-        // simplify user wallet id so that is correct for a file name
+        // simplify user wallet id
         // e.g. 9a1a178f951a7115555568c09ebad8a882f3d96de25429f0017fe570931e208a
         val userWalletStringId = userWalletId.formatted()
+
+        deleteLegacyFiles(userWalletStringId = userWalletStringId, networkStringId = networkStringId)
+
         return DefaultNFTPersistenceStore(
-            collectionsPersistenceStore = createPersistenceStore(
-                // result file name example: nft_9a1a178f951a7115555568c09ebad8a882f3d96de25429f0017fe570931e208a_eth_m4460000_collections
-                // result file name example: nft_9a1a178f951a7115555568c09ebad8a882f3d96de25429f0017fe570931e208a_theopennetwork_m446070_collections
-                fileName = "nft_${userWalletStringId}_${networkStringId}_collections",
-                types = listTypes<NFTCollection>(),
-                defaultValue = emptyList(),
-            ),
-            pricesPersistenceStore = createPersistenceStore(
-                // result file name example: nft_9a1a178f951a7115555568c09ebad8a882f3d96de25429f0017fe570931e208a_eth_m4460000_prices
-                // result file name example: nft_9a1a178f951a7115555568c09ebad8a882f3d96de25429f0017fe570931e208a_theopennetwork_m446070_prices
-                fileName = "nft_${userWalletStringId}_${networkStringId}_prices",
-                types = listTypes<NFTPriceId>(),
-                defaultValue = emptyList(),
-            ),
+            dao = nftDatabase.nftDao(),
+            userWalletId = userWalletStringId,
+            networkId = networkStringId,
+            moshi = moshi,
         )
     }
 
-    private fun <T> createPersistenceStore(fileName: String, types: ParameterizedType, defaultValue: T): DataStore<T> =
-        DataStoreFactory.create(
-            serializer = MoshiDataStoreSerializer(
-                moshi = moshi,
-                types = types,
-                defaultValue = defaultValue,
-            ),
-            produceFile = { context.dataStoreFile(fileName = fileName) },
-            scope = appScope,
-        )
+    /**
+     * Collections and prices were stored in DataStore files before. Now they are stored in [NFTDatabase].
+     * Files are deleted once per store, because the store is provided on every access to NFT of network.
+     */
+    private fun deleteLegacyFiles(userWalletStringId: String, networkStringId: String) {
+        if (!migratedStoreIds.add("${userWalletStringId}_$networkStringId")) return
+
+        appScope.launch(dispatchers.io) {
+            listOf(
+                "nft_${userWalletStringId}_${networkStringId}_collections",
+                "nft_${userWalletStringId}_${networkStringId}_prices",
+            ).forEach { fileName ->
+                context.dataStoreFile(fileName = fileName).delete()
+            }
+        }
+    }
 
     private fun Network.ID.formatted(): String = rawId.value
         .filter(Char::isLetterOrDigit)
@@ -72,4 +73,4 @@ class NFTPersistenceStoreFactory @Inject constructor(
 
     private fun UserWalletId.formatted(): String = stringValue
         .lowercase()
-}
\ No newline at end of file
+}
@@ -0,0 +1,201 @@
+package com.tangem.datasource.local.nft.db
+
+import androidx.room.Dao
+import androidx.room.Delete
+import androidx.room.Insert
+import androidx.room.OnConflictStrategy
+import androidx.room.Query
+import androidx.room.Transaction
+import com.tangem.datasource.local.nft.db.entity.NFTAssetEntity
+import com.tangem.datasource.local.nft.db.entity.NFTCollectionEntity
+import com.tangem.datasource.local.nft.db.entity.NFTSalePriceEntity
+import kotlinx.coroutines.flow.Flow
+
+@Dao
+interface NFTDao {
+
+    @Query(
+        """
+        SELECT *
+        FROM nft_collection
+        WHERE user_wallet_id = :userWalletId
+          AND network_id = :networkId
+        ORDER BY position
+        """,
+    )
+    fun observeCollections(userWalletId: String, networkId: String): Flow<List<NFTCollectionEntity>>
+
+    @Query(
+        """
+        SELECT *
+        FROM nft_collection
+        WHERE user_wallet_id = :userWalletId
+          AND network_id = :networkId
+        ORDER BY position
+        """,
+    )
+    suspend fun getCollections(userWalletId: String, networkId: String): List<NFTCollectionEntity>
+
+    @Query(
+        """
+        SELECT *
+        FROM nft_asset
+        WHERE user_wallet_id = :userWalletId
+          AND network_id = :networkId
+        ORDER BY position
+        """,
+    )
+    fun observeAssets(userWalletId: String, networkId: String): Flow<List<NFTAssetEntity>>
+
+    @Query(
+        """
+        SELECT *
+        FROM nft_asset
+        WHERE user_wallet_id = :userWalletId
+          AND network_id = :networkId
+        ORDER BY position
+        """,
+    )
+    suspend fun getAssets(userWalletId: String, networkId: String): List<NFTAssetEntity>
+
+    @Query(
+        """
+        SELECT *
+        FROM nft_asset
+        WHERE user_wallet_id = :userWalletId
+          AND network_id = :networkId
+          AND collection_id = :collectionId
+        ORDER BY position
+        """,
+    )
+    suspend fun getCollectionAssets(userWalletId: String, networkId: String, collectionId: String): List<NFTAssetEntity>
+
+    @Query(
+        """
+        SELECT *
+        FROM nft_asset
+        WHERE user_wallet_id = :userWalletId
+          AND network_id = :networkId
+          AND collection_id = :collectionId
+          AND asset_id = :assetId
+        LIMIT 1
+        """,
+    )
+    fun observeAsset(
+        userWalletId: String,
+        networkId: String,
+        collectionId: String,
+        assetId: String,
+    ): Flow<NFTAssetEntity?>
+
+    @Query(
+        """
+        SELECT *
+        FROM nft_sale_price
+        WHERE user_wallet_id = :userWalletId
+          AND network_id = :networkId
+          AND asset_id = :assetId
+        LIMIT 1
+        """,
+    )
+    fun observeSalePrice(userWalletId: String, networkId: String, assetId: String): Flow<NFTSalePriceEntity?>
+
+    @Query(
+        """
+        SELECT *
+        FROM nft_sale_price
+        WHERE user_wallet_id = :userWalletId
+          AND network_id = :networkId
+        """,
+    )
+    suspend fun getSalePrices(userWalletId: String, networkId: String): List<NFTSalePriceEntity>
+
+    /**
+     * Replace all collections of network by [collections] and their assets by [assets].
+     * Only rows that are changed are written, rows that are missing in [collections] and [assets] are deleted.
+     */
+    @Transaction
+    suspend fun replaceCollections(
+        userWalletId: String,
+        networkId: String,
+        collections: List<NFTCollectionEntity>,
+        assets: List<NFTAssetEntity>,
+    ) {
+        val storedCollections = getCollections(userWalletId = userWalletId, networkId = networkId)
+        deleteCollections(storedCollections - collections.toSet())
+        insertCollections(collections - storedCollections.toSet())
+
+        val storedAssets = getAssets(userWalletId = userWalletId, networkId = networkId)
+        deleteAssets(storedAssets - assets.toSet())
+        insertAssets(assets - storedAssets.toSet())
+    }
+
+    /**
+     * Replace assets of collection with [collectionId] by [assets].
+     * Only rows that are changed are written, rows that are missing in [assets] are deleted.
+     */
+    @Transaction
+    suspend fun replaceCollectionAssets(
+        userWalletId: String,
+        networkId: String,
+        collectionId: String,
+        assets: List<NFTAssetEntity>,
+    ) {
+        val storedAssets = getCollectionAssets(
+            userWalletId = userWalletId,
+            networkId = networkId,
+            collectionId = collectionId,
+        )
+        deleteAssets(storedAssets - assets.toSet())
+        insertAssets(assets - storedAssets.toSet())
+    }
+
+    @Transaction
+    suspend fun deleteAll(userWalletId: String, networkId: String) {
+        deleteAllCollections(userWalletId = userWalletId, networkId = networkId)
+        deleteAllAssets(userWalletId = userWalletId, networkId = networkId)
+        deleteAllSalePrices(userWalletId = userWalletId, networkId = networkId)
+    }
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    suspend fun insertCollections(collections: List<NFTCollectionEntity>)
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    suspend fun insertAssets(assets: List<NFTAssetEntity>)
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    suspend fun upsertSalePrice(salePrice: NFTSalePriceEntity)
+
+    @Delete
+    suspend fun deleteCollections(collections: List<NFTCollectionEntity>)
+
+    @Delete
+    suspend fun deleteAssets(assets: List<NFTAssetEntity>)
+
+    @Query(
+        """
+        DELETE FROM nft_collection
+        WHERE user_wallet_id = :userWalletId
+          AND network_id = :networkId
+        """,
+    )
+    suspend fun deleteAllCollections(userWalletId: String, networkId: String)
+
+    @Query(
+        """
+        DELETE FROM nft_asset
+        WHERE user_wallet_id = :userWalletId
+          AND network_id = :networkId
+        """,
+    )
+    suspend fun deleteAllAssets(userWalletId: String, networkId: String)
+
+    @Query(
+        """
+        DELETE FROM nft_sale_price
+        WHERE user_wallet_id = :userWalletId
+          AND network_id = :networkId
+        """,
+    )
+    suspend fun deleteAllSalePrices(userWalletId: String, networkId: String)
+}
@@ -0,0 +1,20 @@
+package com.tangem.datasource.local.nft.db
+
+import androidx.room.Database
+import androidx.room.RoomDatabase
+import com.tangem.datasource.local.nft.db.entity.NFTAssetEntity
+import com.tangem.datasource.local.nft.db.entity.NFTCollectionEntity
+import com.tangem.datasource.local.nft.db.entity.NFTSalePriceEntity
+
+@Database(
+    version = 1,
+    entities = [
+        NFTCollectionEntity::class,
+        NFTAssetEntity::class,
+        NFTSalePriceEntity::class,
+    ],
+)
+abstract class NFTDatabase : RoomDatabase() {
+
+    abstract fun nftDao(): NFTDao
+}
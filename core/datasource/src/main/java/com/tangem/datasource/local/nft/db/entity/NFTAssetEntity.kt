@@ -0,0 +1,39 @@
+package com.tangem.datasource.local.nft.db.entity
+
+import androidx.room.ColumnInfo
+import androidx.room.Entity
+
+/**
+ * NFT asset of collection
+ *
+ * @property userWalletId user wallet id
+ * @property networkId    network id with derivation path
+ * @property collectionId identifier of asset collection serialized to json
+ * @property assetId      asset identifier serialized to json
+ * @property position     position of asset in collection
+ * @property payload      asset serialized to json
+ */
+@Entity(
+    tableName = "nft_asset",
+    primaryKeys = ["user_wallet_id", "network_id", "collection_id", "asset_id"],
+)
+data class NFTAssetEntity(
+
+    @ColumnInfo(name = "user_wallet_id")
+    val userWalletId: String,
+
+    @ColumnInfo(name = "network_id")
+    val networkId: String,
+
+    @ColumnInfo(name = "collection_id")
+    val collectionId: String,
+
+    @ColumnInfo(name = "asset_id")
+    val assetId: String,
+
+    @ColumnInfo(name = "position")
+    val position: Int,
+
+    @ColumnInfo(name = "payload")
+    val payload: String,
+)
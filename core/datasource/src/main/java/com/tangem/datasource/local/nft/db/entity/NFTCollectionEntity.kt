@@ -0,0 +1,35 @@
+package com.tangem.datasource.local.nft.db.entity
+
+import androidx.room.ColumnInfo
+import androidx.room.Entity
+
+/**
+ * NFT collection without assets
+ *
+ * @property userWalletId user wallet id
+ * @property networkId    network id with derivation path
+ * @property collectionId collection identifier serialized to json
+ * @property position     position of collection in the list of network collections
+ * @property payload      collection without assets serialized to json
+ */
+@Entity(
+    tableName = "nft_collection",
+    primaryKeys = ["user_wallet_id", "network_id", "collection_id"],
+)
+data class NFTCollectionEntity(
+
+    @ColumnInfo(name = "user_wallet_id")
+    val userWalletId: String,
+
+    @ColumnInfo(name = "network_id")
+    val networkId: String,
+
+    @ColumnInfo(name = "collection_id")
+    val collectionId: String,
+
+    @ColumnInfo(name = "position")
+    val position: Int,
+
+    @ColumnInfo(name = "payload")
+    val payload: String,
+)
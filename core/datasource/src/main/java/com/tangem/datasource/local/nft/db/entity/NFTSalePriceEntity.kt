@@ -0,0 +1,31 @@
+package com.tangem.datasource.local.nft.db.entity
+
+import androidx.room.ColumnInfo
+import androidx.room.Entity
+
+/**
+ * Sale price of NFT asset
+ *
+ * @property userWalletId user wallet id
+ * @property networkId    network id with derivation path
+ * @property assetId      asset identifier serialized to json
+ * @property payload      sale price serialized to json
+ */
+@Entity(
+    tableName = "nft_sale_price",
+    primaryKeys = ["user_wallet_id", "network_id", "asset_id"],
+)
+data class NFTSalePriceEntity(
+
+    @ColumnInfo(name = "user_wallet_id")
+    val userWalletId: String,
+
+    @ColumnInfo(name = "network_id")
+    val networkId: String,
+
+    @ColumnInfo(name = "asset_id")
+    val assetId: String,
+
+    @ColumnInfo(name = "payload")
+    val payload: String,
+)
@@ -4,14 +4,18 @@ import androidx.datastore.core.DataStore
 import androidx.datastore.preferences.core.MutablePreferences
 import androidx.datastore.preferences.core.Preferences
 import androidx.datastore.preferences.core.edit
+import com.squareup.moshi.JsonAdapter
 import com.squareup.moshi.Moshi
 import com.squareup.moshi.Types
 import com.tangem.utils.coroutines.CoroutineDispatcherProvider
+import java.util.concurrent.ConcurrentHashMap
 
 /**
  * Application preferences store.
  * AppPreferencesStore is wrapper around DataStore<Preferences> that supports json serialization and deserialization.
  *
+ * The last decoded object of every json key is cached, so unchanged json isn't parsed on every read.
+ *
  * @property moshi                Moshi instance. Property has 'public' modifier because it is used
  *                                  by Public-API inline function. Don't use it directly.
  * @property preferencesDataStore DataStore<Preferences> instance
@@ -24,6 +28,8 @@ class AppPreferencesStore(
     private val preferencesDataStore: DataStore<Preferences>,
 ) : DataStore<Preferences> by preferencesDataStore {
 
+    private val decodedObjects = ConcurrentHashMap<String, DecodedObject>()
+
     /**
      * Edit data according with transaction [transform].
      *
@@ -48,13 +54,13 @@ class AppPreferencesStore(
      *  */
     inline fun <reified T> MutablePreferences.getObject(key: Preferences.Key<String>): T? {
         val adapter = moshi.adapter(T::class.java)
-        return this[key]?.let(adapter::fromJson)
+        return this[key]?.let { decode(key, it, adapter) }
     }
 
     /** Get list of data [T] by string [key] */
     inline fun <reified T> MutablePreferences.getObjectList(key: Preferences.Key<String>): List<T>? {
         val adapter = moshi.adapter<List<T>>(Types.newParameterizedType(List::class.java, T::class.java))
-        return this[key]?.let(adapter::fromJson)
+        return this[key]?.let { decode(key, it, adapter) }
     }
 
     /** Get list of data [T] by string [key] or default */
@@ -63,7 +69,7 @@ class AppPreferencesStore(
         default: List<T>,
     ): List<T> {
         val adapter = moshi.adapter<List<T>>(Types.newParameterizedType(List::class.java, T::class.java))
-        return this[key]?.let(adapter::fromJson) ?: default
+        return this[key]?.let { decode(key, it, adapter) } ?: default
     }
 
     /** Get map with [String] key and value [V] by string [key] from [MutablePreferences] */
@@ -71,13 +77,39 @@ class AppPreferencesStore(
         val type = Types.newParameterizedType(Map::class.java, String::class.java, V::class.java)
         val adapter = moshi.adapter<Map<String, V>>(type)
 
-        return this[key]?.let(adapter::fromJson).orEmpty()
+        return this[key]?.let { decode(key, it, adapter) }.orEmpty()
     }
 
     /** Get set of data [T] by string [key] */
     inline fun <reified T> MutablePreferences.getObjectSet(key: Preferences.Key<String>): Set<T>? {
         val adapter = moshi.adapter<Set<T>>(Types.newParameterizedType(Set::class.java, T::class.java))
-        return this[key]?.let(adapter::fromJson)
+        return this[key]?.let { decode(key, it, adapter) }
+    }
+
+    /**
+     * Decode [json] of [key] by [adapter].
+     * Returns the cached object if the last decoded json of [key] is the same and is decoded by the same [adapter].
+     */
+    @PublishedApi
+    internal fun <T> decode(key: Preferences.Key<String>, json: String, adapter: JsonAdapter<T>): T? {
+        val cached = decodedObjects[key.name]
+
+        if (cached != null && cached.adapter === adapter && cached.json == json) {
+            @Suppress("UNCHECKED_CAST")
+            return cached.value as T?
+        }
+
+        return adapter.fromJson(json).also { value ->
+            decodedObjects[key.name] = DecodedObject(json = json, adapter = adapter, value = value)
+        }
+    }
+
+    /** Encode [value] of [key] by [adapter]. Encoded [value] is cached, so it isn't decoded on the next read */
+    @PublishedApi
+    internal fun <T> encode(key: Preferences.Key<String>, value: T, adapter: JsonAdapter<T>): String {
+        return adapter.toJson(value).also { json ->
+            decodedObjects[key.name] = DecodedObject(json = json, adapter = adapter, value = value)
+        }
     }
 
     /**
@@ -89,13 +121,13 @@ class AppPreferencesStore(
      * */
     inline fun <reified T> MutablePreferences.setObject(key: Preferences.Key<String>, value: T) {
         val adapter = moshi.adapter(T::class.java) // TODO: Support parameterized types
-        this[key] = adapter.toJson(value)
+        this[key] = encode(key, value, adapter)
     }
 
     /** Set list of data [T] by string [key] to [MutablePreferences] */
     inline fun <reified T> MutablePreferences.setObjectList(key: Preferences.Key<String>, value: List<T>) {
         val adapter = moshi.adapter<List<T>>(Types.newParameterizedType(List::class.java, T::class.java))
-        this[key] = adapter.toJson(value)
+        this[key] = encode(key, value, adapter)
     }
 
     /** Set map with [String] key and value [V] by string [key] to [MutablePreferences] */
@@ -103,12 +135,14 @@ class AppPreferencesStore(
         val type = Types.newParameterizedType(Map::class.java, String::class.java, V::class.java)
         val adapter = moshi.adapter<Map<String, V>>(type)
 
-        this[key] = adapter.toJson(value)
+        this[key] = encode(key, value, adapter)
     }
 
     /** Sets set of data [T] by string [key] to [MutablePreferences] */
     inline fun <reified T> MutablePreferences.setObjectSet(key: Preferences.Key<String>, value: Set<T>) {
         val adapter = moshi.adapter<Set<T>>(Types.newParameterizedType(Set::class.java, T::class.java))
-        this[key] = adapter.toJson(value)
+        this[key] = encode(key, value, adapter)
     }
-}
\ No newline at end of file
+
+    private class DecodedObject(val json: String, val adapter: JsonAdapter<*>, val value: Any?)
+}
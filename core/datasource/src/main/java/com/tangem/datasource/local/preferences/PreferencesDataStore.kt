@@ -9,9 +9,11 @@ import androidx.datastore.preferences.core.PreferenceDataStoreFactory
 import androidx.datastore.preferences.core.Preferences
 import androidx.datastore.preferences.core.emptyPreferences
 import androidx.datastore.preferences.preferencesDataStoreFile
+import com.tangem.datasource.local.datastore.CoalescingDataStore
 import com.tangem.datasource.local.preferences.PreferencesDataStore.INSTANCE
 import com.tangem.datasource.local.preferences.PreferencesKeys.APP_LOGS_KEY
 import com.tangem.datasource.local.preferences.utils.CleanupKeyMigration
+import com.tangem.datasource.local.preferences.utils.PreferencesKeysMigration
 import com.tangem.datasource.local.preferences.utils.SharedPreferencesKeyMigration
 import com.tangem.datasource.local.preferences.utils.SwapCurrencyIdMigration
 import com.tangem.utils.coroutines.AppCoroutineScope
@@ -21,6 +23,9 @@ import com.tangem.utils.logging.TangemLogger
  * Application preferences data store 'DataStore<Preferences>'.
  * Implements the singleton pattern [INSTANCE] under the hood.
  *
+ * Preferences of domains that are edited independently of the other preferences are stored in own files
+ * ([PreferencesShards]), so their edits don't rewrite the main file. Concurrent edits of every file are coalesced.
+ *
 [REDACTED_AUTHOR]
  */
 internal object PreferencesDataStore {
@@ -28,6 +33,9 @@ internal object PreferencesDataStore {
     private const val PREFERENCES_FILE_NAME = "TAP_PREFS"
     private const val LEGACY_TAP_PREFS_FILE_NAME = "tapPrefs"
     private const val LEGACY_DEFAULT_KEY_NAME = "key"
+    private const val BLOCKCHAIN_SDK_DATA_FILE_NAME = "blockchain_sdk_data_prefs"
+    private const val ETAGS_FILE_NAME = "etags_prefs"
+    private const val ETAG_KEY_PREFIX = "etag_"
 
     private var INSTANCE: DataStore<Preferences>? = null
 
@@ -35,13 +43,55 @@ internal object PreferencesDataStore {
         return INSTANCE ?: create(context, appScope).also { INSTANCE = it }
     }
 
+    /**
+     * Create [PreferencesShards].
+     * ETags are migrated from the main file at once. Blockchain SDK data keys are unknown in advance, so they are
+     * migrated lazily on the first read.
+     */
+    fun createShards(context: Context, appScope: AppCoroutineScope): PreferencesShards {
+        val mainDataStore = getInstance(context = context, appScope = appScope)
+
+        return PreferencesShards(
+            blockchainSdkData = create(
+                context = context,
+                appScope = appScope,
+                fileName = BLOCKCHAIN_SDK_DATA_FILE_NAME,
+                migrations = emptyList(),
+            ),
+            eTags = create(
+                context = context,
+                appScope = appScope,
+                fileName = ETAGS_FILE_NAME,
+                migrations = listOf(
+                    PreferencesKeysMigration(source = mainDataStore, predicate = { it.startsWith(ETAG_KEY_PREFIX) }),
+                ),
+            ),
+        )
+    }
+
     private fun create(context: Context, appScope: AppCoroutineScope): DataStore<Preferences> {
-        return PreferenceDataStoreFactory.create(
-            corruptionHandler = createCorruptionHandler(),
+        return create(
+            context = context,
+            appScope = appScope,
+            fileName = PREFERENCES_FILE_NAME,
             migrations = createMigrations(context = context),
+        )
+    }
+
+    private fun create(
+        context: Context,
+        appScope: AppCoroutineScope,
+        fileName: String,
+        migrations: List<DataMigration<Preferences>>,
+    ): DataStore<Preferences> {
+        val dataStore = PreferenceDataStoreFactory.create(
+            corruptionHandler = createCorruptionHandler(),
+            migrations = migrations,
             scope = appScope,
-            produceFile = { context.preferencesDataStoreFile(name = PREFERENCES_FILE_NAME) },
+            produceFile = { context.preferencesDataStoreFile(name = fileName) },
         )
+
+        return CoalescingDataStore(delegate = dataStore)
     }
 
     private fun createCorruptionHandler(): ReplaceFileCorruptionHandler<Preferences> {
@@ -0,0 +1,16 @@
+package com.tangem.datasource.local.preferences
+
+import androidx.datastore.core.DataStore
+import androidx.datastore.preferences.core.Preferences
+
+/**
+ * Preferences of domains that are stored separately from [AppPreferencesStore].
+ * Every shard has own file, so frequent edits of one domain don't rewrite preferences of other domains.
+ *
+ * @property blockchainSdkData data of blockchain SDK
+ * @property eTags             ETags of backend responses
+ */
+class PreferencesShards internal constructor(
+    val blockchainSdkData: DataStore<Preferences>,
+    val eTags: DataStore<Preferences>,
+)
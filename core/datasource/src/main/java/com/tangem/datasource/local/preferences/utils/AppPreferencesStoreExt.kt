@@ -16,7 +16,7 @@ inline fun <reified T> AppPreferencesStore.getObject(key: Preferences.Key<String
             data.map { preferences ->
                 preferences[key]?.let { value ->
                     try {
-                        adapter.fromJson(value)
+                        decode(key, value, adapter)
                     } catch (e: JsonDataException) {
                         null
                     }
@@ -39,7 +39,7 @@ inline fun <reified T> AppPreferencesStore.getObject(key: Preferences.Key<String
         emitAll(
             data.map { prefs ->
                 try {
-                    prefs[key]?.let(adapter::fromJson) ?: default
+                    prefs[key]?.let { decode(key, it, adapter) } ?: default
                 } catch (e: JsonDataException) {
                     default
                 }
@@ -61,7 +61,7 @@ suspend inline fun <reified T> AppPreferencesStore.getObjectSyncOrNull(key: Pref
             ?.get(key)
             ?.let { value ->
                 try {
-                    adapter.fromJson(value)
+                    decode(key, value, adapter)
                 } catch (e: JsonDataException) {
                     null
                 }
@@ -78,7 +78,7 @@ suspend inline fun <reified T> AppPreferencesStore.getObjectSyncOrDefault(
         ?.get(key)
         ?.let { value ->
             try {
-                adapter.fromJson(value)
+                decode(key, value, adapter)
             } catch (e: JsonDataException) {
                 default
             }
@@ -97,14 +97,14 @@ suspend inline fun <reified T> AppPreferencesStore.getObjectSyncOrDefault(
 suspend inline fun <reified T> AppPreferencesStore.storeObject(key: Preferences.Key<String>, value: T): Unit =
     withContext(dispatchers.io) {
         val adapter = moshi.adapter(T::class.java) // TODO: Support parameterized types
-        edit { it[key] = adapter.toJson(value) }
+        edit { it[key] = encode(key, value, adapter) }
     }
 
 /** Store list of data [value] by string [key] */
 suspend inline fun <reified T> AppPreferencesStore.storeObjectList(key: Preferences.Key<String>, value: List<T>) =
     withContext(dispatchers.io) {
         val adapter = moshi.adapter<List<T>>(Types.newParameterizedType(List::class.java, T::class.java))
-        edit { it[key] = adapter.toJson(value) }
+        edit { it[key] = encode(key, value, adapter) }
     }
 
 /** Get flow of list of data [T] by string [key]. If data is not found, it returns `null` */
@@ -113,7 +113,7 @@ inline fun <reified T> AppPreferencesStore.getObjectList(key: Preferences.Key<St
         val adapter = moshi.adapter<List<T>>(Types.newParameterizedType(List::class.java, T::class.java))
         emitAll(
             data.map {
-                it[key]?.let(adapter::fromJson)
+                it[key]?.let { json -> decode(key, json, adapter) }
             }.distinctUntilChanged(),
         )
     }
@@ -125,7 +125,7 @@ suspend inline fun <reified T> AppPreferencesStore.getObjectListSync(key: Prefer
         val adapter = moshi.adapter<List<T>>(Types.newParameterizedType(List::class.java, T::class.java))
         data.firstOrNull()
             ?.get(key)
-            ?.let(adapter::fromJson)
+            ?.let { decode(key, it, adapter) }
             .orEmpty()
     }
 
@@ -137,7 +137,7 @@ suspend inline fun <reified V> AppPreferencesStore.storeObjectMap(
     val type = Types.newParameterizedType(Map::class.java, String::class.java, V::class.java)
     val adapter = moshi.adapter<Map<String, V>>(type)
 
-    edit { it[key] = adapter.toJson(value) }
+    edit { it[key] = encode(key, value, adapter) }
 }
 
 /** Get map with [String] key and value [V] by string [key], or empty if data is not found */
@@ -148,7 +148,7 @@ suspend inline fun <reified V> AppPreferencesStore.getObjectMapSync(key: Prefere
 
         data.firstOrNull()
             ?.get(key)
-            ?.let(adapter::fromJson)
+            ?.let { decode(key, it, adapter) }
             .orEmpty()
     }
 
@@ -159,7 +159,7 @@ inline fun <reified V> AppPreferencesStore.getObjectMap(key: Preferences.Key<Str
         val adapter = moshi.adapter<Map<String, V>>(type)
 
         emitAll(
-            data.map { it[key]?.let(adapter::fromJson).orEmpty() },
+            data.map { it[key]?.let { json -> decode(key, json, adapter) }.orEmpty() },
         )
     }
 }
@@ -170,7 +170,7 @@ suspend inline fun <reified T> AppPreferencesStore.getObjectSetSync(key: Prefere
         val adapter = moshi.adapter<Set<T>>(Types.newParameterizedType(Set::class.java, T::class.java))
         data.firstOrNull()
             ?.get(key)
-            ?.let(adapter::fromJson)
+            ?.let { decode(key, it, adapter) }
             .orEmpty()
     }
 
@@ -180,7 +180,7 @@ inline fun <reified T> AppPreferencesStore.getObjectSet(key: Preferences.Key<Str
         val adapter = moshi.adapter<Set<T>>(Types.newParameterizedType(Set::class.java, T::class.java))
         emitAll(
             data.map {
-                it[key]?.let(adapter::fromJson).orEmpty()
+                it[key]?.let { json -> decode(key, json, adapter) }.orEmpty()
             },
         )
     }
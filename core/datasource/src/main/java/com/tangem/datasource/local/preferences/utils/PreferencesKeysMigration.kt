@@ -0,0 +1,49 @@
+package com.tangem.datasource.local.preferences.utils
+
+import androidx.datastore.core.DataMigration
+import androidx.datastore.core.DataStore
+import androidx.datastore.preferences.core.Preferences
+import androidx.datastore.preferences.core.edit
+import kotlinx.coroutines.flow.first
+
+/**
+ * Migration of keys that satisfy [predicate] from [source] to another DataStore<Preferences>.
+ * Keys that are already presented in the destination aren't overwritten. Migrated keys are removed from [source].
+ *
+ * @property source    source DataStore<Preferences>
+ * @property predicate predicate of key name
+ */
+internal class PreferencesKeysMigration(
+    private val source: DataStore<Preferences>,
+    private val predicate: (String) -> Boolean,
+) : DataMigration<Preferences> {
+
+    override suspend fun shouldMigrate(currentData: Preferences): Boolean {
+        return getKeysToMigrate(preferences = source.data.first()).isNotEmpty()
+    }
+
+    override suspend fun migrate(currentData: Preferences): Preferences {
+        val sourceData = source.data.first()
+        val currentKeys = currentData.asMap().keys
+
+        val mutablePreferences = currentData.toMutablePreferences()
+        sourceData.asMap()
+            .filterKeys { key -> predicate(key.name) && key !in currentKeys }
+            .forEach { (key, value) ->
+                @Suppress("UNCHECKED_CAST")
+                mutablePreferences[key as Preferences.Key<Any>] = value
+            }
+
+        return mutablePreferences.toPreferences()
+    }
+
+    override suspend fun cleanUp() {
+        source.edit { preferences ->
+            getKeysToMigrate(preferences = preferences).forEach { preferences.remove(it) }
+        }
+    }
+
+    private fun getKeysToMigrate(preferences: Preferences): List<Preferences.Key<*>> {
+        return preferences.asMap().keys.filter { predicate(it.name) }
+    }
+}
@@ -1,31 +1,121 @@
 package com.tangem.datasource.local.txhistory
 
-import com.tangem.datasource.local.datastore.core.StringKeyDataStore
-import com.tangem.datasource.local.datastore.core.StringKeyDataStoreDecorator
+import com.tangem.datasource.local.txhistory.db.entity.TxHistoryItemsDao
+import com.tangem.datasource.local.txhistory.db.entity.items.TxHistoryItemEntity
+import com.tangem.datasource.local.txhistory.db.entity.items.TxHistoryPageEntity
 import com.tangem.domain.models.network.TxInfo
+import com.tangem.domain.models.wallet.UserWalletId
 import com.tangem.domain.txhistory.models.Page
 import com.tangem.domain.txhistory.models.PaginationWrapper
-import com.tangem.utils.extensions.addOrReplace
+import com.tangem.utils.logging.TangemLogger
+import kotlinx.serialization.json.Json
 
+/**
+ * [TxHistoryItemsStore] that persists pages of transaction history in [TxHistoryItemsDao].
+ *
+ * Pages that follow [Page.Initial] are kept while the newest transaction of history is the same. If a new
+ * transaction appears, the following pages are dropped, because their content is shifted.
+ *
+ * @property dao  transaction history items DAO
+ * @property json json to serialize [TxInfo]
+ */
 internal class DefaultTxHistoryItemsStore(
-    dataStore: StringKeyDataStore<Set<PaginationWrapper<TxInfo>>>,
-) : TxHistoryItemsStore,
-    StringKeyDataStoreDecorator<TxHistoryItemsStore.Key, Set<PaginationWrapper<TxInfo>>>(dataStore) {
-
-    override fun provideStringKey(key: TxHistoryItemsStore.Key): String = key.toString()
+    private val dao: TxHistoryItemsDao,
+    private val json: Json,
+) : TxHistoryItemsStore {
 
     override suspend fun getSyncOrNull(key: TxHistoryItemsStore.Key, page: Page): PaginationWrapper<TxInfo>? {
-        val storedValue = getSyncOrNull(key)
+        val pageKey = page.toEntityKey()
+        val pageEntity = dao.getPage(
+            userWalletId = key.userWalletId.stringValue,
+            currencyId = key.currency.id.value,
+            page = pageKey,
+        ) ?: return null
+
+        val items = dao.getItems(
+            userWalletId = key.userWalletId.stringValue,
+            currencyId = key.currency.id.value,
+            page = pageKey,
+        )
+
+        return try {
+            PaginationWrapper(
+                currentPage = page,
+                nextPage = pageEntity.nextPage.toPage(),
+                items = items.map { json.decodeFromString(TxInfo.serializer(), it.payload) },
+            )
+        } catch (e: IllegalArgumentException) {
+            TangemLogger.e("Unable to read the transaction history page #$page", e)
+            null
+        }
+    }
 
-        return storedValue?.firstOrNull { it.currentPage == page }
+    override suspend fun remove(key: TxHistoryItemsStore.Key) {
+        dao.deleteAll(userWalletId = key.userWalletId.stringValue, currencyId = key.currency.id.value)
+    }
+
+    override suspend fun retain(userWalletIds: Set<UserWalletId>) {
+        dao.deleteAllExceptWallets(userWalletIds = userWalletIds.map(UserWalletId::stringValue))
     }
 
     override suspend fun store(key: TxHistoryItemsStore.Key, value: PaginationWrapper<TxInfo>) {
-        val oldValue = getSyncOrNull(key).orEmpty()
-        val newValue = oldValue.addOrReplace(value) {
-            it.currentPage == value.currentPage
+        val userWalletId = key.userWalletId.stringValue
+        val currencyId = key.currency.id.value
+        val pageKey = value.currentPage.toEntityKey()
+
+        if (value.currentPage is Page.Initial) {
+            val storedNewestTxHash = dao.getFirstTxHash(
+                userWalletId = userWalletId,
+                currencyId = currencyId,
+                page = pageKey,
+            )
+
+            if (storedNewestTxHash != value.items.firstOrNull()?.txHash) {
+                dao.deleteOtherPages(userWalletId = userWalletId, currencyId = currencyId, page = pageKey)
+            }
         }
 
-        store(key, newValue)
+        dao.replacePage(
+            page = TxHistoryPageEntity(
+                userWalletId = userWalletId,
+                currencyId = currencyId,
+                page = pageKey,
+                nextPage = value.nextPage.toEntityKey(),
+                updatedAt = System.currentTimeMillis(),
+            ),
+            items = value.items.mapIndexed { index, txInfo ->
+                TxHistoryItemEntity(
+                    userWalletId = userWalletId,
+                    currencyId = currencyId,
+                    page = pageKey,
+                    position = index,
+                    txHash = txInfo.txHash,
+                    timestamp = txInfo.timestampInMillis,
+                    payload = json.encodeToString(TxInfo.serializer(), txInfo),
+                )
+            },
+        )
+    }
+
+    private fun Page.toEntityKey(): String {
+        return when (this) {
+            Page.Initial -> INITIAL_PAGE_KEY
+            Page.LastPage -> LAST_PAGE_KEY
+            is Page.Next -> NEXT_PAGE_KEY_PREFIX + value
+        }
+    }
+
+    private fun String.toPage(): Page {
+        return when {
+            this == INITIAL_PAGE_KEY -> Page.Initial
+            this == LAST_PAGE_KEY -> Page.LastPage
+            else -> Page.Next(value = removePrefix(NEXT_PAGE_KEY_PREFIX))
+        }
+    }
+
+    private companion object {
+        const val INITIAL_PAGE_KEY = "initial"
+        const val LAST_PAGE_KEY = "last"
+        const val NEXT_PAGE_KEY_PREFIX = "next:"
     }
-}
\ No newline at end of file
+}
@@ -12,6 +12,9 @@ interface TxHistoryItemsStore {
 
     suspend fun remove(key: Key)
 
+    /** Remove history of all wallets except [userWalletIds] */
+    suspend fun retain(userWalletIds: Set<UserWalletId>)
+
     suspend fun store(key: Key, value: PaginationWrapper<TxInfo>)
 
     data class Key(
@@ -1,21 +1,32 @@
 package com.tangem.datasource.local.txhistory.db
 
+import androidx.room.AutoMigration
 import androidx.room.Database
 import androidx.room.RoomDatabase
 import com.tangem.datasource.local.txhistory.db.entity.ExpressHistoryDao
+import com.tangem.datasource.local.txhistory.db.entity.TxHistoryItemsDao
 import com.tangem.datasource.local.txhistory.db.entity.express.ExpressExchangeEntity
 import com.tangem.datasource.local.txhistory.db.entity.express.ExpressOnrampEntity
 import com.tangem.datasource.local.txhistory.db.entity.express.ExpressProviderEntity
+import com.tangem.datasource.local.txhistory.db.entity.items.TxHistoryItemEntity
+import com.tangem.datasource.local.txhistory.db.entity.items.TxHistoryPageEntity
 
 @Database(
-    version = 1,
+    version = 2,
     entities = [
         ExpressProviderEntity::class,
         ExpressExchangeEntity::class,
         ExpressOnrampEntity::class,
+        TxHistoryPageEntity::class,
+        TxHistoryItemEntity::class,
+    ],
+    autoMigrations = [
+        AutoMigration(from = 1, to = 2),
     ],
 )
 abstract class TxHistoryDatabase : RoomDatabase() {
 
     abstract fun expressHistoryDao(): ExpressHistoryDao
+
+    abstract fun txHistoryItemsDao(): TxHistoryItemsDao
 }
\ No newline at end of file
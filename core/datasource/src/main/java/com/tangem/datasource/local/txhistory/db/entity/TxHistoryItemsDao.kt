@@ -0,0 +1,147 @@
+package com.tangem.datasource.local.txhistory.db.entity
+
+import androidx.room.Dao
+import androidx.room.Insert
+import androidx.room.OnConflictStrategy
+import androidx.room.Query
+import androidx.room.Transaction
+import com.tangem.datasource.local.txhistory.db.entity.items.TxHistoryItemEntity
+import com.tangem.datasource.local.txhistory.db.entity.items.TxHistoryPageEntity
+
+@Dao
+interface TxHistoryItemsDao {
+
+    @Query(
+        """
+        SELECT *
+        FROM tx_history_page
+        WHERE user_wallet_id = :userWalletId
+          AND currency_id = :currencyId
+          AND page = :page
+        LIMIT 1
+        """,
+    )
+    suspend fun getPage(userWalletId: String, currencyId: String, page: String): TxHistoryPageEntity?
+
+    @Query(
+        """
+        SELECT *
+        FROM tx_history_item
+        WHERE user_wallet_id = :userWalletId
+          AND currency_id = :currencyId
+          AND page = :page
+        ORDER BY position
+        """,
+    )
+    suspend fun getItems(userWalletId: String, currencyId: String, page: String): List<TxHistoryItemEntity>
+
+    @Query(
+        """
+        SELECT tx_hash
+        FROM tx_history_item
+        WHERE user_wallet_id = :userWalletId
+          AND currency_id = :currencyId
+          AND page = :page
+        ORDER BY position
+        LIMIT 1
+        """,
+    )
+    suspend fun getFirstTxHash(userWalletId: String, currencyId: String, page: String): String?
+
+    @Transaction
+    suspend fun replacePage(page: TxHistoryPageEntity, items: List<TxHistoryItemEntity>) {
+        deleteItems(userWalletId = page.userWalletId, currencyId = page.currencyId, page = page.page)
+        upsertPage(page)
+        insertItems(items)
+    }
+
+    /** Delete all pages except [page]. Used when new transactions shift the content of the following pages */
+    @Transaction
+    suspend fun deleteOtherPages(userWalletId: String, currencyId: String, page: String) {
+        deleteItemsExceptPage(userWalletId = userWalletId, currencyId = currencyId, page = page)
+        deletePagesExceptPage(userWalletId = userWalletId, currencyId = currencyId, page = page)
+    }
+
+    @Transaction
+    suspend fun deleteAll(userWalletId: String, currencyId: String) {
+        deleteAllItems(userWalletId = userWalletId, currencyId = currencyId)
+        deleteAllPages(userWalletId = userWalletId, currencyId = currencyId)
+    }
+
+    /** Delete history of all wallets except [userWalletIds]. Used to drop history of deleted wallets */
+    @Transaction
+    suspend fun deleteAllExceptWallets(userWalletIds: List<String>) {
+        deleteItemsExceptWallets(userWalletIds)
+        deletePagesExceptWallets(userWalletIds)
+    }
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    suspend fun upsertPage(page: TxHistoryPageEntity)
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    suspend fun insertItems(items: List<TxHistoryItemEntity>)
+
+    @Query(
+        """
+        DELETE FROM tx_history_item
+        WHERE user_wallet_id = :userWalletId
+          AND currency_id = :currencyId
+          AND page = :page
+        """,
+    )
+    suspend fun deleteItems(userWalletId: String, currencyId: String, page: String)
+
+    @Query(
+        """
+        DELETE FROM tx_history_item
+        WHERE user_wallet_id = :userWalletId
+          AND currency_id = :currencyId
+          AND page != :page
+        """,
+    )
+    suspend fun deleteItemsExceptPage(userWalletId: String, currencyId: String, page: String)
+
+    @Query(
+        """
+        DELETE FROM tx_history_page
+        WHERE user_wallet_id = :userWalletId
+          AND currency_id = :currencyId
+          AND page != :page
+        """,
+    )
+    suspend fun deletePagesExceptPage(userWalletId: String, currencyId: String, page: String)
+
+    @Query(
+        """
+        DELETE FROM tx_history_item
+        WHERE user_wallet_id = :userWalletId
+          AND currency_id = :currencyId
+        """,
+    )
+    suspend fun deleteAllItems(userWalletId: String, currencyId: String)
+
+    @Query(
+        """
+        DELETE FROM tx_history_page
+        WHERE user_wallet_id = :userWalletId
+          AND currency_id = :currencyId
+        """,
+    )
+    suspend fun deleteAllPages(userWalletId: String, currencyId: String)
+
+    @Query(
+        """
+        DELETE FROM tx_history_item
+        WHERE user_wallet_id NOT IN (:userWalletIds)
+        """,
+    )
+    suspend fun deleteItemsExceptWallets(userWalletIds: List<String>)
+
+    @Query(
+        """
+        DELETE FROM tx_history_page
+        WHERE user_wallet_id NOT IN (:userWalletIds)
+        """,
+    )
+    suspend fun deletePagesExceptWallets(userWalletIds: List<String>)
+}
@@ -0,0 +1,48 @@
+package com.tangem.datasource.local.txhistory.db.entity.items
+
+import androidx.room.ColumnInfo
+import androidx.room.Entity
+import androidx.room.Index
+
+/**
+ * Transaction of page of transaction history
+ *
+ * @property userWalletId user wallet id
+ * @property currencyId   currency id
+ * @property page         key of page that contains transaction
+ * @property position     position of transaction in page
+ * @property txHash       transaction hash
+ * @property timestamp    transaction timestamp in millis
+ * @property payload      transaction serialized to json
+ */
+@Entity(
+    tableName = "tx_history_item",
+    primaryKeys = ["user_wallet_id", "currency_id", "page", "position"],
+    indices = [
+        Index(value = ["user_wallet_id", "currency_id", "timestamp"]),
+        Index(value = ["user_wallet_id", "currency_id", "tx_hash"]),
+    ],
+)
+data class TxHistoryItemEntity(
+
+    @ColumnInfo(name = "user_wallet_id")
+    val userWalletId: String,
+
+    @ColumnInfo(name = "currency_id")
+    val currencyId: String,
+
+    @ColumnInfo(name = "page")
+    val page: String,
+
+    @ColumnInfo(name = "position")
+    val position: Int,
+
+    @ColumnInfo(name = "tx_hash")
+    val txHash: String,
+
+    @ColumnInfo(name = "timestamp")
+    val timestamp: Long,
+
+    @ColumnInfo(name = "payload")
+    val payload: String,
+)
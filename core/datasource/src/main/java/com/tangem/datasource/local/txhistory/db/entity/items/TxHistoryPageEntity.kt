@@ -0,0 +1,35 @@
+package com.tangem.datasource.local.txhistory.db.entity.items
+
+import androidx.room.ColumnInfo
+import androidx.room.Entity
+
+/**
+ * Page of transaction history of currency
+ *
+ * @property userWalletId user wallet id
+ * @property currencyId   currency id
+ * @property page         key of page. See [TxHistoryItemEntity.page]
+ * @property nextPage     key of next page
+ * @property updatedAt    time of page loading in millis
+ */
+@Entity(
+    tableName = "tx_history_page",
+    primaryKeys = ["user_wallet_id", "currency_id", "page"],
+)
+data class TxHistoryPageEntity(
+
+    @ColumnInfo(name = "user_wallet_id")
+    val userWalletId: String,
+
+    @ColumnInfo(name = "currency_id")
+    val currencyId: String,
+
+    @ColumnInfo(name = "page")
+    val page: String,
+
+    @ColumnInfo(name = "next_page")
+    val nextPage: String,
+
+    @ColumnInfo(name = "updated_at")
+    val updatedAt: Long,
+)
@@ -2,23 +2,43 @@ package com.tangem.datasource.local.walletmanager
 
 import com.tangem.blockchain.common.Blockchain
 import com.tangem.blockchain.common.WalletManager
-import com.tangem.datasource.local.datastore.core.StringKeyDataStore
-import com.tangem.datasource.local.datastore.core.StringKeyDataStoreDecorator
 import com.tangem.domain.models.wallet.UserWalletId
-import com.tangem.utils.extensions.addOrReplace
-import com.tangem.utils.extensions.removeBy
+import kotlinx.coroutines.channels.BufferOverflow
 import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.MutableSharedFlow
+import kotlinx.coroutines.flow.filter
+import kotlinx.coroutines.flow.mapNotNull
+import kotlinx.coroutines.flow.onSubscription
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import java.util.concurrent.ConcurrentHashMap
+import kotlin.time.Duration
 
+/**
+ * [WalletManagersStore] that keeps wallet managers in concurrent maps by [UserWalletId] and [Key].
+ *
+ * Lookups are constant time, every update of a wallet manager is atomic. Creation of wallet manager is guarded by
+ * a mutex per [Key], that is removed as soon as the creation is finished.
+ *
+ * @property currentTimeMillis provider of the current time to track the last access of wallet managers
+ */
 internal class DefaultWalletManagersStore(
-    dataStore: StringKeyDataStore<List<WalletManager>>,
-) : WalletManagersStore, StringKeyDataStoreDecorator<UserWalletId, List<WalletManager>>(dataStore) {
+    private val currentTimeMillis: () -> Long = System::currentTimeMillis,
+) : WalletManagersStore {
 
-    override fun provideStringKey(key: UserWalletId): String {
-        return key.stringValue
-    }
+    private val walletManagers = ConcurrentHashMap<UserWalletId, ConcurrentHashMap<Key, Entry>>()
+    private val creationMutexes = ConcurrentHashMap<Key, Mutex>()
+
+    private val updates = MutableSharedFlow<UserWalletId>(
+        extraBufferCapacity = UPDATES_BUFFER_CAPACITY,
+        onBufferOverflow = BufferOverflow.DROP_OLDEST,
+    )
 
     override fun getAll(userWalletId: UserWalletId): Flow<List<WalletManager>> {
-        return get(key = userWalletId)
+        return updates
+            .onSubscription { emit(userWalletId) }
+            .filter { it == userWalletId }
+            .mapNotNull { walletManagers[userWalletId]?.values?.map(Entry::walletManager) }
     }
 
     override suspend fun getSyncOrNull(
@@ -26,36 +46,103 @@ internal class DefaultWalletManagersStore(
         blockchain: Blockchain,
         derivationPath: String?,
     ): WalletManager? {
-        val walletManagers = getSyncOrNull(userWalletId)
+        val key = Key(userWalletId = userWalletId, blockchain = blockchain, derivationPath = derivationPath)
+
+        return getEntry(key)?.walletManager
+    }
+
+    override suspend fun getOrCreate(
+        userWalletId: UserWalletId,
+        blockchain: Blockchain,
+        derivationPath: String?,
+        create: suspend () -> WalletManager?,
+    ): WalletManager? {
+        val key = Key(userWalletId = userWalletId, blockchain = blockchain, derivationPath = derivationPath)
+
+        getEntry(key)?.let { return it.walletManager }
 
-        return walletManagers?.singleOrNull { walletManager ->
-            walletManager.wallet.blockchain == blockchain &&
-                walletManager.wallet.publicKey.derivationPath?.rawPath == derivationPath
+        val mutex = creationMutexes.computeIfAbsent(key) { Mutex() }
+
+        return try {
+            mutex.withLock {
+                getEntry(key)?.walletManager ?: create()?.also { store(userWalletId, it) }
+            }
+        } finally {
+            creationMutexes.remove(key, mutex)
         }
     }
 
     override suspend fun getAllSync(userWalletId: UserWalletId): List<WalletManager> {
-        return getSyncOrNull(userWalletId).orEmpty()
+        return walletManagers[userWalletId]?.values?.map(Entry::walletManager).orEmpty()
     }
 
     override suspend fun store(userWalletId: UserWalletId, walletManager: WalletManager) {
-        val walletManagers = getSyncOrNull(userWalletId)
+        val key = Key(userWalletId = userWalletId, walletManager = walletManager)
 
-        val updatedWalletManagers = walletManagers
-            ?.addOrReplace(walletManager) {
-                it.wallet.blockchain == walletManager.wallet.blockchain &&
-                    it.wallet.publicKey.derivationPath == walletManager.wallet.publicKey.derivationPath
-            }
-            ?: listOf(walletManager)
+        walletManagers.computeIfAbsent(userWalletId) { ConcurrentHashMap() }[key] = Entry(
+            walletManager = walletManager,
+            lastAccessTime = currentTimeMillis(),
+        )
 
-        store(userWalletId, updatedWalletManagers)
+        updates.tryEmit(userWalletId)
     }
 
     override suspend fun remove(userWalletId: UserWalletId, predicate: (WalletManager) -> Boolean) {
-        val walletManagers = getSyncOrNull(userWalletId)?.toMutableList() ?: return
+        val isRemoved = walletManagers[userWalletId]?.values?.removeIf { predicate(it.walletManager) } ?: return
+
+        if (isRemoved) updates.tryEmit(userWalletId)
+    }
+
+    override fun evict(userWalletIds: Set<UserWalletId>) {
+        userWalletIds.forEach { userWalletId ->
+            if (walletManagers.remove(userWalletId) != null) updates.tryEmit(userWalletId)
+        }
+    }
+
+    override fun evictIdle(idleTimeout: Duration) {
+        val minAccessTime = currentTimeMillis() - idleTimeout.inWholeMilliseconds
+
+        walletManagers.forEach { (userWalletId, entries) ->
+            val isRemoved = entries.values.removeIf { it.lastAccessTime < minAccessTime }
+
+            if (isRemoved) updates.tryEmit(userWalletId)
+        }
+    }
+
+    override suspend fun clear() {
+        val userWalletIds = walletManagers.keys.toSet()
+
+        walletManagers.clear()
+        userWalletIds.forEach(updates::tryEmit)
+    }
+
+    private fun getEntry(key: Key): Entry? {
+        return walletManagers[key.userWalletId]?.get(key)?.also { it.lastAccessTime = currentTimeMillis() }
+    }
+
+    /**
+     * Key of wallet manager
+     *
+     * @property userWalletId   user wallet id
+     * @property blockchain     blockchain
+     * @property derivationPath raw derivation path
+     */
+    private data class Key(
+        val userWalletId: UserWalletId,
+        val blockchain: Blockchain,
+        val derivationPath: String?,
+    ) {
+
+        constructor(userWalletId: UserWalletId, walletManager: WalletManager) : this(
+            userWalletId = userWalletId,
+            blockchain = walletManager.wallet.blockchain,
+            derivationPath = walletManager.wallet.publicKey.derivationPath?.rawPath,
+        )
+    }
 
-        walletManagers.removeBy(predicate)
+    private class Entry(val walletManager: WalletManager, @Volatile var lastAccessTime: Long)
 
-        store(userWalletId, walletManagers)
+    private companion object {
+        const val UPDATES_BUFFER_CAPACITY = 64
     }
-}
\ No newline at end of file
+}
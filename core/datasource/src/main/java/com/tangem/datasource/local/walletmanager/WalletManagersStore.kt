@@ -4,6 +4,7 @@ import com.tangem.blockchain.common.Blockchain
 import com.tangem.blockchain.common.WalletManager
 import com.tangem.domain.models.wallet.UserWalletId
 import kotlinx.coroutines.flow.Flow
+import kotlin.time.Duration
 
 interface WalletManagersStore {
 
@@ -15,11 +16,28 @@ interface WalletManagersStore {
         derivationPath: String?,
     ): WalletManager?
 
+    /**
+     * Get stored wallet manager or create it by [create] and store.
+     * Concurrent calls with the same key are de-duplicated, so [create] is invoked only once per key.
+     */
+    suspend fun getOrCreate(
+        userWalletId: UserWalletId,
+        blockchain: Blockchain,
+        derivationPath: String?,
+        create: suspend () -> WalletManager?,
+    ): WalletManager?
+
     suspend fun getAllSync(userWalletId: UserWalletId): List<WalletManager>
 
     suspend fun store(userWalletId: UserWalletId, walletManager: WalletManager)
 
     suspend fun remove(userWalletId: UserWalletId, predicate: (WalletManager) -> Boolean)
 
+    /** Remove all wallet managers of [userWalletIds] */
+    fun evict(userWalletIds: Set<UserWalletId>)
+
+    /** Remove wallet managers that weren't accessed longer than [idleTimeout] */
+    fun evictIdle(idleTimeout: Duration)
+
     suspend fun clear()
-}
\ No newline at end of file
+}
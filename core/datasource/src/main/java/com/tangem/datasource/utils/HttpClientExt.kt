@@ -1,26 +1,27 @@
 package com.tangem.datasource.utils
 
-import com.tangem.utils.ProviderSuspend
-import kotlinx.coroutines.runBlocking
+import com.tangem.datasource.api.common.RequestHeadersCache
+import com.tangem.datasource.api.common.config.ApiEnvironmentConfig
 import okhttp3.Interceptor
 import okhttp3.OkHttpClient
 
-/** Extension for adding headers [requestHeaders] to every [OkHttpClient] request */
+/**
+ * Extension for adding headers of [environmentConfig] to every [OkHttpClient] request.
+ * Headers are taken from [headersCache], so they aren't resolved on every request.
+ */
 internal fun OkHttpClient.Builder.addHeaders(
-    requestHeaders: Map<String, ProviderSuspend<String>>,
+    environmentConfig: ApiEnvironmentConfig,
+    headersCache: RequestHeadersCache,
 ): OkHttpClient.Builder {
     return addInterceptor(
         Interceptor { chain ->
             val request = chain.request().newBuilder().apply {
-                runBlocking {
-                    requestHeaders.forEach { header ->
-                        val value = header.value.invoke()
-                        if (value.isNotBlank()) addHeader(name = header.key, value = value)
-                    }
+                headersCache.getHeaders(environmentConfig).forEach { (name, value) ->
+                    addHeader(name = name, value = value)
                 }
             }.build()
 
             chain.proceed(request)
         },
     )
-}
\ No newline at end of file
+}
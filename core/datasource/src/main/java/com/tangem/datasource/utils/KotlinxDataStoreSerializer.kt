@@ -2,16 +2,20 @@ package com.tangem.datasource.utils
 
 import androidx.datastore.core.CorruptionException
 import androidx.datastore.core.Serializer
+import kotlinx.serialization.ExperimentalSerializationApi
 import kotlinx.serialization.KSerializer
 import kotlinx.serialization.json.Json
 import kotlinx.serialization.json.JsonBuilder
+import kotlinx.serialization.json.decodeFromStream
+import kotlinx.serialization.json.encodeToStream
 import java.io.InputStream
 import java.io.OutputStream
 
 /**
- * Kotlinx Serialization serializer for [androidx.datastore.core.DataStore]
- *
+ * Kotlinx Serialization serializer for [androidx.datastore.core.DataStore].
+ * Data is read from and written to the streams directly, without building the whole JSON string in memory.
  */
+@OptIn(ExperimentalSerializationApi::class)
 class KotlinxDataStoreSerializer<T>(
     override val defaultValue: T,
     private val serializer: KSerializer<T>,
@@ -20,11 +24,8 @@ class KotlinxDataStoreSerializer<T>(
 
     override suspend fun readFrom(input: InputStream): T {
         return try {
-            input.bufferedReader().use { reader ->
-                json.decodeFromString(
-                    deserializer = serializer,
-                    string = reader.readText(),
-                )
+            input.buffered().use { stream ->
+                json.decodeFromStream(deserializer = serializer, stream = stream)
             }
         } catch (e: Exception) {
             throw CorruptionException("Failed to deserialize data", e)
@@ -32,13 +33,8 @@ class KotlinxDataStoreSerializer<T>(
     }
 
     override suspend fun writeTo(t: T, output: OutputStream) {
-        output.bufferedWriter().use { writer ->
-            writer.write(
-                json.encodeToString(
-                    serializer = serializer,
-                    value = t,
-                ),
-            )
+        output.buffered().use { stream ->
+            json.encodeToStream(serializer = serializer, value = t, stream = stream)
         }
     }
 
@@ -4,12 +4,16 @@ import androidx.datastore.core.CorruptionException
 import androidx.datastore.core.Serializer
 import com.squareup.moshi.JsonAdapter
 import com.squareup.moshi.Moshi
+import okio.buffer
+import okio.sink
+import okio.source
 import java.io.InputStream
 import java.io.OutputStream
 import java.lang.reflect.ParameterizedType
 
 /**
- * Moshi serializer [JsonAdapter] for [androidx.datastore.core.DataStore]
+ * Moshi serializer [JsonAdapter] for [androidx.datastore.core.DataStore].
+ * Data is read from and written to the streams directly, without building the whole JSON string in memory.
  *
  * @property defaultValue default value
  * @property adapter      moshi adapter
@@ -34,9 +38,9 @@ class MoshiDataStoreSerializer<T>(
     )
 
     override suspend fun readFrom(input: InputStream): T {
-        return input.bufferedReader().use { reader ->
+        return input.source().buffer().use { source ->
             try {
-                adapter.fromJson(reader.readText()) ?: defaultValue
+                adapter.fromJson(source) ?: defaultValue
             } catch (e: Exception) {
                 throw CorruptionException("Failed to deserialize data", e)
             }
@@ -44,8 +48,8 @@ class MoshiDataStoreSerializer<T>(
     }
 
     override suspend fun writeTo(t: T, output: OutputStream) {
-        output.bufferedWriter().use { write ->
-            write.write(adapter.toJson(t))
+        output.sink().buffer().use { sink ->
+            adapter.toJson(sink, t)
         }
     }
-}
\ No newline at end of file
+}
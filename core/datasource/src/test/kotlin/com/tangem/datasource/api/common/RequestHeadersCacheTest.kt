@@ -0,0 +1,203 @@
+package com.tangem.datasource.api.common
+
+import com.google.common.truth.Truth
+import com.tangem.datasource.api.common.config.ApiEnvironment
+import com.tangem.datasource.api.common.config.ApiEnvironmentConfig
+import com.tangem.utils.ProviderSuspend
+import com.tangem.utils.coroutines.AppCoroutineScope
+import io.mockk.every
+import io.mockk.mockk
+import kotlinx.coroutines.flow.MutableSharedFlow
+import kotlinx.coroutines.test.TestScope
+import kotlinx.coroutines.test.UnconfinedTestDispatcher
+import kotlinx.coroutines.test.runCurrent
+import kotlinx.coroutines.test.runTest
+import org.junit.jupiter.api.Test
+import kotlin.coroutines.CoroutineContext
+
+internal class RequestHeadersCacheTest {
+
+    private val authChangesFlow = MutableSharedFlow<Unit>()
+    private var selectedCardId: String? = "first"
+    private val authProvider = mockk<AuthProvider> {
+        every { authChanges } returns authChangesFlow
+        every { getAuthKeySync() } answers { selectedCardId }
+    }
+
+    @Test
+    fun `getHeaders resolves providers only once`() = runTest(UnconfinedTestDispatcher()) {
+        // Arrange
+        var resolvesCount = 0
+        val environmentConfig = createEnvironmentConfig(
+            headers = mapOf(
+                "card_id" to ProviderSuspend {
+                    resolvesCount++
+                    "card"
+                },
+                "empty" to ProviderSuspend { "" },
+            ),
+        )
+        val cache = createCache()
+
+        // Act
+        val first = cache.getHeaders(environmentConfig)
+        val second = cache.getHeaders(environmentConfig)
+
+        // Assert
+        val expected = mapOf("card_id" to "card")
+        Truth.assertThat(first).isEqualTo(expected)
+        Truth.assertThat(second).isEqualTo(expected)
+        Truth.assertThat(resolvesCount).isEqualTo(1)
+    }
+
+    @Test
+    fun `getHeaders returns new values after auth change`() = runTest(UnconfinedTestDispatcher()) {
+        // Arrange
+        val environmentConfig = createEnvironmentConfig(
+            headers = mapOf("card_id" to ProviderSuspend { selectedCardId.orEmpty() }),
+        )
+        val cache = createCache()
+        cache.getHeaders(environmentConfig)
+
+        // Act
+        selectedCardId = "second"
+        authChangesFlow.emit(Unit)
+        runCurrent()
+
+        val actual = cache.getHeaders(environmentConfig)
+
+        // Assert
+        Truth.assertThat(actual).isEqualTo(mapOf("card_id" to "second"))
+    }
+
+    @Test
+    fun `getHeaders returns headers of the new wallet before auth change is emitted`() =
+        runTest(UnconfinedTestDispatcher()) {
+            // Arrange
+            val environmentConfig = createEnvironmentConfig(
+                headers = mapOf("card_id" to ProviderSuspend { selectedCardId.orEmpty() }),
+            )
+            val cache = createCache()
+            cache.getHeaders(environmentConfig)
+
+            // Act
+            selectedCardId = "second"
+            val actual = cache.getHeaders(environmentConfig)
+
+            // Assert
+            Truth.assertThat(actual).isEqualTo(mapOf("card_id" to "second"))
+        }
+
+    @Test
+    fun `auth change prewarms headers of the new wallet`() = runTest(UnconfinedTestDispatcher()) {
+        // Arrange
+        var resolvesCount = 0
+        val environmentConfig = createEnvironmentConfig(
+            headers = mapOf(
+                "card_id" to ProviderSuspend {
+                    resolvesCount++
+                    selectedCardId.orEmpty()
+                },
+            ),
+        )
+        val cache = createCache()
+        cache.getHeaders(environmentConfig)
+
+        // Act
+        selectedCardId = "second"
+        authChangesFlow.emit(Unit)
+        runCurrent()
+
+        val actual = cache.getHeaders(environmentConfig)
+
+        // Assert
+        Truth.assertThat(actual).isEqualTo(mapOf("card_id" to "second"))
+        Truth.assertThat(resolvesCount).isEqualTo(2)
+    }
+
+    @Test
+    fun `getHeaders uses prewarmed headers`() = runTest(UnconfinedTestDispatcher()) {
+        // Arrange
+        var resolvesCount = 0
+        val environmentConfig = createEnvironmentConfig(
+            headers = mapOf(
+                "card_id" to ProviderSuspend {
+                    resolvesCount++
+                    "card"
+                },
+            ),
+        )
+        val cache = createCache()
+
+        // Act
+        cache.prewarm(environmentConfig)
+        val actual = cache.getHeaders(environmentConfig)
+
+        // Assert
+        Truth.assertThat(actual).isEqualTo(mapOf("card_id" to "card"))
+        Truth.assertThat(resolvesCount).isEqualTo(1)
+    }
+
+    @Test
+    fun `headers resolved while auth is changed aren't cached`() = runTest(UnconfinedTestDispatcher()) {
+        // Arrange
+        var resolvesCount = 0
+        val environmentConfig = createEnvironmentConfig(
+            headers = mapOf(
+                "card_id" to ProviderSuspend {
+                    resolvesCount++
+                    val cardId = selectedCardId.orEmpty()
+                    selectedCardId = "second"
+                    cardId
+                },
+            ),
+        )
+        val cache = createCache()
+        cache.getHeaders(environmentConfig)
+
+        // Act
+        selectedCardId = "first"
+        cache.getHeaders(environmentConfig)
+
+        // Assert
+        Truth.assertThat(resolvesCount).isEqualTo(2)
+    }
+
+    @Test
+    fun `getHeaders keeps separate snapshots for environments`() = runTest(UnconfinedTestDispatcher()) {
+        // Arrange
+        val prodConfig = createEnvironmentConfig(
+            environment = ApiEnvironment.PROD,
+            headers = mapOf("api-key" to ProviderSuspend { "prod" }),
+        )
+        val devConfig = createEnvironmentConfig(
+            environment = ApiEnvironment.DEV,
+            headers = mapOf("api-key" to ProviderSuspend { "dev" }),
+        )
+        val cache = createCache()
+
+        // Act
+        val prodHeaders = cache.getHeaders(prodConfig)
+        val devHeaders = cache.getHeaders(devConfig)
+
+        // Assert
+        Truth.assertThat(prodHeaders).isEqualTo(mapOf("api-key" to "prod"))
+        Truth.assertThat(devHeaders).isEqualTo(mapOf("api-key" to "dev"))
+    }
+
+    private fun TestScope.createCache(): RequestHeadersCache {
+        return RequestHeadersCache(
+            authProvider = authProvider,
+            appScope = TestScopeAppCoroutineScope(backgroundScope.coroutineContext),
+        )
+    }
+
+    private fun createEnvironmentConfig(
+        environment: ApiEnvironment = ApiEnvironment.PROD,
+        headers: Map<String, ProviderSuspend<String>>,
+    ): ApiEnvironmentConfig {
+        return ApiEnvironmentConfig(environment = environment, baseUrl = "https://example.com/", headers = headers)
+    }
+
+    private class TestScopeAppCoroutineScope(override val coroutineContext: CoroutineContext) : AppCoroutineScope
+}
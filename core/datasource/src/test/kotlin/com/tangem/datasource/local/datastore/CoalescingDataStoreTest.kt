@@ -0,0 +1,119 @@
+package com.tangem.datasource.local.datastore
+
+import androidx.datastore.core.DataStore
+import com.google.common.truth.Truth
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import kotlinx.coroutines.test.runTest
+import kotlinx.coroutines.withContext
+import org.junit.jupiter.api.Test
+
+internal class CoalescingDataStoreTest {
+
+    @Test
+    fun `concurrent updates are written in one batch`() = runTest {
+        // Arrange
+        val delegate = TestDataStore(suspendWrite = { delay(timeMillis = 10) })
+        val store = CoalescingDataStore(delegate)
+
+        // Act
+        repeat(times = 100) {
+            launch { store.updateData { it + 1 } }
+        }
+        testScheduler.advanceUntilIdle()
+
+        // Assert
+        Truth.assertThat(store.data.first()).isEqualTo(100)
+        // the first update is written alone, the others are enqueued while it is written
+        Truth.assertThat(delegate.writesCount).isEqualTo(2)
+    }
+
+    @Test
+    fun `every updater receives data after own transform`() = runTest {
+        // Arrange
+        val store = CoalescingDataStore(TestDataStore())
+
+        // Act
+        val results = List(size = 3) { async { store.updateData { it + 1 } } }.awaitAll()
+
+        // Assert
+        Truth.assertThat(results).containsExactly(1, 2, 3).inOrder()
+    }
+
+    @Test
+    fun `failed transform fails only own update`() = runTest {
+        // Arrange
+        val store = CoalescingDataStore(TestDataStore())
+
+        // Act
+        val failed = async { runCatching { store.updateData { error("Failed transform") } } }
+        val succeeded = async { store.updateData { it + 1 } }
+
+        // Assert
+        Truth.assertThat(failed.await().exceptionOrNull()).isInstanceOf(IllegalStateException::class.java)
+        Truth.assertThat(succeeded.await()).isEqualTo(1)
+        Truth.assertThat(store.data.first()).isEqualTo(1)
+    }
+
+    @Test
+    fun `concurrent edits are applied with fewer writes`() = runTest {
+        // Arrange
+        val plainStore = TestDataStore(blockingWrite = { Thread.sleep(WRITE_DURATION_MILLIS) })
+        val coalescingDelegate = TestDataStore(blockingWrite = { Thread.sleep(WRITE_DURATION_MILLIS) })
+        val coalescingStore = CoalescingDataStore(coalescingDelegate)
+
+        // Act
+        editConcurrently(plainStore)
+        editConcurrently(coalescingStore)
+
+        // Assert
+        Truth.assertThat(plainStore.data.first()).isEqualTo(EDITS_COUNT)
+        Truth.assertThat(coalescingStore.data.first()).isEqualTo(EDITS_COUNT)
+        Truth.assertThat(coalescingDelegate.writesCount).isLessThan(plainStore.writesCount)
+    }
+
+    private suspend fun editConcurrently(store: DataStore<Int>) = withContext(Dispatchers.Default) {
+        List(size = EDITS_COUNT) {
+            async { store.updateData { it + 1 } }
+        }.awaitAll()
+    }
+
+    /** Store that serializes writes like DataStore does */
+    private class TestDataStore(
+        private val suspendWrite: suspend () -> Unit = {},
+        private val blockingWrite: () -> Unit = {},
+    ) : DataStore<Int> {
+
+        private val state = MutableStateFlow(value = 0)
+        private val writeMutex = Mutex()
+
+        var writesCount = 0
+            private set
+
+        override val data: Flow<Int> = state
+
+        override suspend fun updateData(transform: suspend (t: Int) -> Int): Int = writeMutex.withLock {
+            val updated = transform(state.value)
+
+            suspendWrite()
+            blockingWrite()
+
+            writesCount++
+            state.value = updated
+            updated
+        }
+    }
+
+    private companion object {
+        const val EDITS_COUNT = 200
+        const val WRITE_DURATION_MILLIS = 1L
+    }
+}
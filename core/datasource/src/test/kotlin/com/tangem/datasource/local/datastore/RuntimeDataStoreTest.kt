@@ -0,0 +1,148 @@
+package com.tangem.datasource.local.datastore
+
+import com.google.common.truth.Truth
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.test.runTest
+import org.junit.jupiter.api.Test
+
+internal class RuntimeDataStoreTest {
+
+    private val store = RuntimeDataStore<String>()
+
+    @Test
+    fun `get emits only changes of observed key`() = runTest {
+        // Arrange
+        val emitted = mutableListOf<String>()
+        val job = launch(Dispatchers.Unconfined) {
+            store.get(key = "first").collect(emitted::add)
+        }
+
+        // Act
+        store.store(key = "first", value = "1")
+        store.store(key = "second", value = "2")
+        store.store(values = mapOf("second" to "3", "third" to "4"))
+        store.store(key = "first", value = "5")
+        job.cancel()
+
+        // Assert
+        Truth.assertThat(emitted).containsExactly("1", "5").inOrder()
+    }
+
+    @Test
+    fun `get emits equal value that is stored again`() = runTest {
+        // Arrange
+        val emitted = mutableListOf<String>()
+        val job = launch(Dispatchers.Unconfined) {
+            store.get(key = "first").collect(emitted::add)
+        }
+
+        // Act
+        store.store(key = "first", value = "1")
+        store.store(key = "first", value = "1")
+        job.cancel()
+
+        // Assert
+        Truth.assertThat(emitted).containsExactly("1", "1")
+    }
+
+    @Test
+    fun `get emits value that is stored after previous subscribers are completed`() = runTest {
+        // Arrange
+        store.store(key = "first", value = "1")
+        store.get(key = "first").first()
+        store.store(key = "first", value = "2")
+
+        // Act
+        val actual = store.get(key = "first").first()
+
+        // Assert
+        Truth.assertThat(actual).isEqualTo("2")
+    }
+
+    @Test
+    fun `getAll emits equal values that are stored again`() = runTest {
+        // Arrange
+        val emitted = mutableListOf<List<String>>()
+        store.store(key = "first", value = "1")
+        val job = launch(Dispatchers.Unconfined) {
+            store.getAll().collect(emitted::add)
+        }
+
+        // Act
+        store.store(key = "first", value = "1")
+        store.store(values = mapOf("first" to "1"))
+        job.cancel()
+
+        // Assert
+        Truth.assertThat(emitted).containsExactly(listOf("1"), listOf("1"), listOf("1"))
+    }
+
+    @Test
+    fun `get emits stored value on subscription`() = runTest {
+        // Arrange
+        store.store(key = "first", value = "1")
+
+        // Act
+        val actual = store.get(key = "first").first()
+
+        // Assert
+        Truth.assertThat(actual).isEqualTo("1")
+    }
+
+    @Test
+    fun `remove keys keeps other values`() = runTest {
+        // Arrange
+        store.store(values = mapOf("first" to "1", "second" to "2", "third" to "3"))
+
+        // Act
+        store.remove(keys = listOf("first", "third"))
+
+        // Assert
+        Truth.assertThat(store.getAllSyncOrNull()).containsExactly("2")
+        Truth.assertThat(store.getSyncOrNull(key = "first")).isNull()
+    }
+
+    @Test
+    fun `clear resets store`() = runTest {
+        // Arrange
+        store.store(key = "first", value = "1")
+
+        // Act
+        store.clear()
+
+        // Assert
+        Truth.assertThat(store.isEmpty()).isTrue()
+        Truth.assertThat(store.getAllSyncOrNull()).isNull()
+        Truth.assertThat(store.getAll().first()).isEmpty()
+    }
+
+    @Test
+    fun `every subscriber of 1k keys gets only updates of own key`() = runTest {
+        // Arrange
+        val keys = List(size = KEYS_COUNT) { "key$it" }
+        val notificationsCount = IntArray(size = SUBSCRIBERS_COUNT)
+        val jobs = List(size = SUBSCRIBERS_COUNT) { index ->
+            launch(Dispatchers.Unconfined) {
+                store.get(key = keys[index]).collect { notificationsCount[index]++ }
+            }
+        }
+
+        // Act
+        repeat(times = UPDATES_COUNT) { iteration ->
+            keys.forEach { key -> store.store(key = key, value = "$key-$iteration") }
+        }
+        jobs.forEach { it.cancel() }
+
+        // Assert
+        Truth.assertThat(notificationsCount.toSet()).containsExactly(UPDATES_COUNT)
+        Truth.assertThat(store.getAllSyncOrNull()).hasSize(KEYS_COUNT)
+    }
+
+    private companion object {
+        const val KEYS_COUNT = 1_000
+        const val SUBSCRIBERS_COUNT = 100
+        const val UPDATES_COUNT = 10
+    }
+}
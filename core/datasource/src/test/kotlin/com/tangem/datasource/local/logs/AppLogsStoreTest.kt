@@ -0,0 +1,198 @@
+package com.tangem.datasource.local.logs
+
+import android.content.Context
+import com.google.common.truth.Truth
+import com.tangem.utils.coroutines.AppCoroutineScope
+import com.tangem.utils.coroutines.TestingCoroutineDispatcherProvider
+import io.mockk.every
+import io.mockk.mockk
+import kotlinx.coroutines.test.StandardTestDispatcher
+import kotlinx.coroutines.test.TestScope
+import kotlinx.coroutines.test.runTest
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import java.io.File
+import java.util.zip.ZipFile
+import kotlin.coroutines.CoroutineContext
+
+internal class AppLogsStoreTest {
+
+    @TempDir
+    lateinit var filesDir: File
+
+    private val context: Context = mockk {
+        every { filesDir } answers { this@AppLogsStoreTest.filesDir }
+    }
+
+    @Test
+    fun `queued messages are written in order`() = runTest {
+        // Arrange
+        val store = createStore()
+
+        // Act
+        repeat(times = 300) { store.saveMessage(index = it) }
+        testScheduler.advanceUntilIdle()
+
+        // Assert
+        val actual = store.getFile()?.readMessages()
+        Truth.assertThat(actual).containsExactlyElementsIn(List(size = 300) { "message $it" }).inOrder()
+    }
+
+    @Test
+    fun `messages over the queue capacity are dropped and counted`() = runTest {
+        // Arrange
+        val store = createStore()
+
+        // Act
+        // the writer isn't started until the scheduler is advanced, so the queue is filled up
+        repeat(times = QUEUE_CAPACITY + 10) { store.saveMessage(index = it) }
+        testScheduler.advanceUntilIdle()
+
+        // Assert
+        Truth.assertThat(store.droppedMessagesCount).isEqualTo(10)
+
+        val actual = store.getFile()?.readMessages()
+        Truth.assertThat(actual).hasSize(QUEUE_CAPACITY + 1)
+        Truth.assertThat(actual).contains("10 messages were dropped")
+    }
+
+    @Test
+    fun `segments are rotated and merged into one file`() = runTest {
+        // Arrange
+        val store = createStore()
+        store.deleteDeprecatedLogs(maxSize = 2_000)
+        testScheduler.advanceUntilIdle()
+
+        // Act
+        repeat(times = 20) {
+            store.saveMessage(index = it)
+            testScheduler.advanceUntilIdle()
+        }
+
+        // Assert
+        Truth.assertThat(File(filesDir, "log_1.txt").exists()).isTrue()
+
+        val actual = store.getFile()
+        Truth.assertThat(actual?.name).isEqualTo("log.txt")
+        Truth.assertThat(actual?.readMessages()).containsExactlyElementsIn(List(size = 20) { "message $it" }).inOrder()
+    }
+
+    @Test
+    fun `the oldest segment is deleted by rotation`() = runTest {
+        // Arrange
+        val store = createStore()
+        store.deleteDeprecatedLogs(maxSize = 1_000)
+        testScheduler.advanceUntilIdle()
+
+        // Act
+        repeat(times = 100) {
+            store.saveMessage(index = it)
+            testScheduler.advanceUntilIdle()
+        }
+
+        // Assert
+        val actual = store.getFile()?.readMessages().orEmpty()
+        Truth.assertThat(actual).doesNotContain("message 0")
+        Truth.assertThat(actual.last()).isEqualTo("message 99")
+        Truth.assertThat(actual).isInOrder(compareBy<String> { it.substringAfter(' ').toInt() })
+    }
+
+    @Test
+    fun `trimming deletes the oldest segments`() = runTest {
+        // Arrange
+        val store = createStore()
+        store.deleteDeprecatedLogs(maxSize = 2_000)
+        testScheduler.advanceUntilIdle()
+        repeat(times = 40) {
+            store.saveMessage(index = it)
+            testScheduler.advanceUntilIdle()
+        }
+
+        // Act
+        store.deleteDeprecatedLogs(maxSize = 500)
+        testScheduler.advanceUntilIdle()
+
+        // Assert
+        val segmentsSize = filesDir
+            .listFiles { file -> file.isFile && file.name.startsWith("log") && file.extension == "txt" }
+            .orEmpty()
+            .sumOf(File::length)
+
+        Truth.assertThat(segmentsSize).isAtMost(500L)
+    }
+
+    @Test
+    fun `trimming is applied when the queue is full`() = runTest {
+        // Arrange
+        val store = createStore()
+        repeat(times = QUEUE_CAPACITY) { store.saveMessage(index = it) }
+
+        // Act
+        store.deleteDeprecatedLogs(maxSize = 1_000)
+        testScheduler.advanceUntilIdle()
+
+        // Assert
+        // the first batch is deleted by trimming, and then every batch is rotated to the next segment
+        val actual = store.getFile()?.readMessages().orEmpty()
+        Truth.assertThat(actual).doesNotContain("message 0")
+        Truth.assertThat(actual.last()).isEqualTo("message ${QUEUE_CAPACITY - 1}")
+        Truth.assertThat(store.droppedMessagesCount).isEqualTo(0)
+    }
+
+    @Test
+    fun `zip contains one merged log file`() = runTest {
+        // Arrange
+        val store = createStore()
+        store.deleteDeprecatedLogs(maxSize = 2_000)
+        testScheduler.advanceUntilIdle()
+        repeat(times = 20) {
+            store.saveMessage(index = it)
+            testScheduler.advanceUntilIdle()
+        }
+
+        // Act
+        val actual = store.getZipFile()
+
+        // Assert
+        Truth.assertThat(actual).isNotNull()
+        ZipFile(requireNotNull(actual)).use { zip ->
+            Truth.assertThat(zip.entries().toList().map { it.name }).containsExactly("log.txt")
+        }
+    }
+
+    @Test
+    fun `getFile returns null if there are no logs`() = runTest {
+        // Arrange
+        val store = createStore()
+
+        // Act
+        val actual = store.getFile()
+
+        // Assert
+        Truth.assertThat(actual).isNull()
+    }
+
+    private fun TestScope.createStore(): AppLogsStore {
+        return AppLogsStore(
+            applicationContext = context,
+            dispatchers = TestingCoroutineDispatcherProvider(io = StandardTestDispatcher(testScheduler)),
+            scope = TestAppScope(coroutineContext = backgroundScope.coroutineContext),
+        )
+    }
+
+    private fun AppLogsStore.saveMessage(index: Int) {
+        saveLogMessage(tag = TAG, message = "message $index", shouldSanitize = false)
+    }
+
+    /** Lines without timestamps and tags */
+    private fun File.readMessages(): List<String> {
+        return readLines().map { line -> line.substringAfter(": ").substringAfter(' ') }
+    }
+
+    private class TestAppScope(override val coroutineContext: CoroutineContext) : AppCoroutineScope
+
+    private companion object {
+        const val TAG = "Test"
+        const val QUEUE_CAPACITY = 4096
+    }
+}
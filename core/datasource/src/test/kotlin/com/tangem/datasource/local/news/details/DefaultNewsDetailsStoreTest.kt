@@ -0,0 +1,93 @@
+package com.tangem.datasource.local.news.details
+
+import androidx.datastore.core.DataStore
+import com.google.common.truth.Truth
+import com.tangem.datasource.local.datastore.RuntimeSharedStore
+import com.tangem.domain.models.news.DetailedArticle
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.test.runTest
+import org.junit.jupiter.api.Test
+
+internal class DefaultNewsDetailsStoreTest {
+
+    private val persistenceStore = TestDataStore()
+
+    @Test
+    fun `getSync returns only stored articles`() = runTest {
+        // Arrange
+        val store = createStore()
+        store.store(articles = mapOf(1 to createArticle(id = 1), 2 to createArticle(id = 2)))
+
+        // Act
+        val actual = store.getSync(ids = listOf(1, 3))
+
+        // Assert
+        Truth.assertThat(actual).containsExactly(1, createArticle(id = 1))
+    }
+
+    @Test
+    fun `store evicts least recently used articles from persistence`() = runTest {
+        // Arrange
+        val store = createStore()
+        store.store(articles = mapOf(1 to createArticle(id = 1), 2 to createArticle(id = 2)))
+        store.getSyncOrNull(id = 1)
+
+        // Act
+        store.store(id = 3, article = createArticle(id = 3))
+
+        // Assert
+        Truth.assertThat(persistenceStore.data.first().map(DetailedArticle::id)).containsExactly(1, 3).inOrder()
+    }
+
+    @Test
+    fun `persisted articles are restored on first access`() = runTest {
+        // Arrange
+        persistenceStore.updateData { listOf(createArticle(id = 1), createArticle(id = 2)) }
+        val store = createStore()
+
+        // Act
+        val actual = store.getAll().first()
+
+        // Assert
+        Truth.assertThat(actual.map(DetailedArticle::id)).containsExactly(1, 2)
+    }
+
+    private fun createStore() = DefaultNewsDetailsStore(
+        runtimeStore = RuntimeSharedStore(),
+        persistenceStore = persistenceStore,
+        maxPersistedArticles = 2,
+    )
+
+    private fun createArticle(id: Int) = DetailedArticle(
+        id = id,
+        createdAt = "2025-01-01T00:00:00Z",
+        score = 1f,
+        locale = "en",
+        isTrending = false,
+        categories = emptyList(),
+        relatedTokens = emptyList(),
+        title = "title $id",
+        newsUrl = "https://tangem.com/news/$id",
+        shortContent = "",
+        content = "",
+        relatedArticles = emptyList(),
+        isLiked = false,
+    )
+
+    private class TestDataStore : DataStore<List<DetailedArticle>> {
+
+        private val state = MutableStateFlow<List<DetailedArticle>>(emptyList())
+
+        override val data: Flow<List<DetailedArticle>> = state
+
+        override suspend fun updateData(
+            transform: suspend (t: List<DetailedArticle>) -> List<DetailedArticle>,
+        ): List<DetailedArticle> {
+            val updated = transform(state.value)
+            state.value = updated
+            return updated
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package com.tangem.datasource.local.nft.db
+
+import com.google.common.truth.Truth
+import com.tangem.datasource.local.nft.db.entity.NFTAssetEntity
+import com.tangem.datasource.local.nft.db.entity.NFTCollectionEntity
+import com.tangem.datasource.local.nft.db.entity.NFTSalePriceEntity
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.test.runTest
+import org.junit.jupiter.api.Test
+
+/** Tests of diffing in transactional methods of [NFTDao] */
+internal class NFTDaoTest {
+
+    private val dao = InMemoryNFTDao()
+
+    @Test
+    fun `replaceCollections writes only changed rows`() = runTest {
+        // Arrange
+        dao.replaceCollections(
+            userWalletId = USER_WALLET_ID,
+            networkId = NETWORK_ID,
+            collections = listOf(createCollection(id = "a", position = 0), createCollection(id = "b", position = 1)),
+            assets = listOf(createAsset(collectionId = "a", id = "1"), createAsset(collectionId = "b", id = "2")),
+        )
+        dao.clearWrites()
+
+        // Act
+        dao.replaceCollections(
+            userWalletId = USER_WALLET_ID,
+            networkId = NETWORK_ID,
+            collections = listOf(
+                createCollection(id = "a", position = 0),
+                createCollection(id = "b", position = 1, payload = "updated"),
+            ),
+            assets = listOf(createAsset(collectionId = "a", id = "1"), createAsset(collectionId = "b", id = "3")),
+        )
+
+        // Assert
+        Truth.assertThat(dao.insertedCollections)
+            .containsExactly(createCollection(id = "b", position = 1, payload = "updated"))
+        Truth.assertThat(dao.deletedCollections).containsExactly(createCollection(id = "b", position = 1))
+        Truth.assertThat(dao.insertedAssets).containsExactly(createAsset(collectionId = "b", id = "3"))
+        Truth.assertThat(dao.deletedAssets).containsExactly(createAsset(collectionId = "b", id = "2"))
+    }
+
+    @Test
+    fun `replaceCollections deletes missing collections and their assets`() = runTest {
+        // Arrange
+        dao.replaceCollections(
+            userWalletId = USER_WALLET_ID,
+            networkId = NETWORK_ID,
+            collections = listOf(createCollection(id = "a", position = 0), createCollection(id = "b", position = 1)),
+            assets = listOf(createAsset(collectionId = "a", id = "1"), createAsset(collectionId = "b", id = "2")),
+        )
+
+        // Act
+        dao.replaceCollections(
+            userWalletId = USER_WALLET_ID,
+            networkId = NETWORK_ID,
+            collections = listOf(createCollection(id = "a", position = 0)),
+            assets = listOf(createAsset(collectionId = "a", id = "1")),
+        )
+
+        // Assert
+        Truth.assertThat(dao.getCollections(USER_WALLET_ID, NETWORK_ID))
+            .containsExactly(createCollection(id = "a", position = 0))
+        Truth.assertThat(dao.getAssets(USER_WALLET_ID, NETWORK_ID))
+            .containsExactly(createAsset(collectionId = "a", id = "1"))
+    }
+
+    @Test
+    fun `replaceCollections doesn't touch collections of other networks`() = runTest {
+        // Arrange
+        val otherNetworkCollection = createCollection(id = "a", position = 0).copy(networkId = "other")
+        dao.insertCollections(listOf(otherNetworkCollection))
+
+        // Act
+        dao.replaceCollections(
+            userWalletId = USER_WALLET_ID,
+            networkId = NETWORK_ID,
+            collections = emptyList(),
+            assets = emptyList(),
+        )
+
+        // Assert
+        Truth.assertThat(dao.getCollections(USER_WALLET_ID, "other")).containsExactly(otherNetworkCollection)
+    }
+
+    @Test
+    fun `replaceCollectionAssets replaces only assets of the collection`() = runTest {
+        // Arrange
+        dao.replaceCollections(
+            userWalletId = USER_WALLET_ID,
+            networkId = NETWORK_ID,
+            collections = listOf(createCollection(id = "a", position = 0), createCollection(id = "b", position = 1)),
+            assets = listOf(
+                createAsset(collectionId = "a", id = "1"),
+                createAsset(collectionId = "a", id = "2"),
+                createAsset(collectionId = "b", id = "3"),
+            ),
+        )
+        dao.clearWrites()
+
+        // Act
+        dao.replaceCollectionAssets(
+            userWalletId = USER_WALLET_ID,
+            networkId = NETWORK_ID,
+            collectionId = "a",
+            assets = listOf(createAsset(collectionId = "a", id = "2"), createAsset(collectionId = "a", id = "4")),
+        )
+
+        // Assert
+        Truth.assertThat(dao.insertedAssets).containsExactly(createAsset(collectionId = "a", id = "4"))
+        Truth.assertThat(dao.deletedAssets).containsExactly(createAsset(collectionId = "a", id = "1"))
+        Truth.assertThat(dao.getAssets(USER_WALLET_ID, NETWORK_ID)).containsExactly(
+            createAsset(collectionId = "a", id = "2"),
+            createAsset(collectionId = "b", id = "3"),
+            createAsset(collectionId = "a", id = "4"),
+        )
+    }
+
+    @Test
+    fun `replaceCollectionAssets writes nothing if assets are the same`() = runTest {
+        // Arrange
+        val assets = listOf(createAsset(collectionId = "a", id = "1"))
+        dao.replaceCollectionAssets(USER_WALLET_ID, NETWORK_ID, collectionId = "a", assets = assets)
+        dao.clearWrites()
+
+        // Act
+        dao.replaceCollectionAssets(USER_WALLET_ID, NETWORK_ID, collectionId = "a", assets = assets)
+
+        // Assert
+        Truth.assertThat(dao.insertedAssets).isEmpty()
+        Truth.assertThat(dao.deletedAssets).isEmpty()
+    }
+
+    private fun createCollection(id: String, position: Int, payload: String = "collection $id"): NFTCollectionEntity {
+        return NFTCollectionEntity(
+            userWalletId = USER_WALLET_ID,
+            networkId = NETWORK_ID,
+            collectionId = id,
+            position = position,
+            payload = payload,
+        )
+    }
+
+    private fun createAsset(collectionId: String, id: String): NFTAssetEntity {
+        return NFTAssetEntity(
+            userWalletId = USER_WALLET_ID,
+            networkId = NETWORK_ID,
+            collectionId = collectionId,
+            assetId = id,
+            position = 0,
+            payload = "asset $id",
+        )
+    }
+
+    /** In-memory [NFTDao] that records writes. Transactional methods are inherited from the interface */
+    private class InMemoryNFTDao : NFTDao {
+
+        private val collections = MutableStateFlow(emptyList<NFTCollectionEntity>())
+        private val assets = MutableStateFlow(emptyList<NFTAssetEntity>())
+        private val salePrices = MutableStateFlow(emptyList<NFTSalePriceEntity>())
+
+        val insertedCollections = mutableListOf<NFTCollectionEntity>()
+        val deletedCollections = mutableListOf<NFTCollectionEntity>()
+        val insertedAssets = mutableListOf<NFTAssetEntity>()
+        val deletedAssets = mutableListOf<NFTAssetEntity>()
+
+        fun clearWrites() {
+            insertedCollections.clear()
+            deletedCollections.clear()
+            insertedAssets.clear()
+            deletedAssets.clear()
+        }
+
+        override fun observeCollections(userWalletId: String, networkId: String): Flow<List<NFTCollectionEntity>> {
+            return collections.map { it.filterBy(userWalletId, networkId) }
+        }
+
+        override suspend fun getCollections(userWalletId: String, networkId: String): List<NFTCollectionEntity> {
+            return collections.value.filterBy(userWalletId, networkId)
+        }
+
+        override fun observeAssets(userWalletId: String, networkId: String): Flow<List<NFTAssetEntity>> {
+            return assets.map { it.filterBy(userWalletId, networkId) }
+        }
+
+        override suspend fun getAssets(userWalletId: String, networkId: String): List<NFTAssetEntity> {
+            return assets.value.filterBy(userWalletId, networkId)
+        }
+
+        override suspend fun getCollectionAssets(
+            userWalletId: String,
+            networkId: String,
+            collectionId: String,
+        ): List<NFTAssetEntity> {
+            return getAssets(userWalletId, networkId).filter { it.collectionId == collectionId }
+        }
+
+        override fun observeAsset(
+            userWalletId: String,
+            networkId: String,
+            collectionId: String,
+            assetId: String,
+        ): Flow<NFTAssetEntity?> {
+            return observeAssets(userWalletId, networkId).map { assets ->
+                assets.firstOrNull { it.collectionId == collectionId && it.assetId == assetId }
+            }
+        }
+
+        override fun observeSalePrice(
+            userWalletId: String,
+            networkId: String,
+            assetId: String,
+        ): Flow<NFTSalePriceEntity?> {
+            return salePrices.map { prices ->
+                prices.filterBy(userWalletId, networkId).firstOrNull { it.assetId == assetId }
+            }
+        }
+
+        override suspend fun getSalePrices(userWalletId: String, networkId: String): List<NFTSalePriceEntity> {
+            return salePrices.value.filterBy(userWalletId, networkId)
+        }
+
+        override suspend fun insertCollections(collections: List<NFTCollectionEntity>) {
+            insertedCollections += collections
+            this.collections.value = this.collections.value.filterNot { stored ->
+                collections.any { it.hasSameKey(stored) }
+            } + collections
+        }
+
+        override suspend fun insertAssets(assets: List<NFTAssetEntity>) {
+            insertedAssets += assets
+            this.assets.value = this.assets.value.filterNot { stored -> assets.any { it.hasSameKey(stored) } } + assets
+        }
+
+        override suspend fun upsertSalePrice(salePrice: NFTSalePriceEntity) {
+            salePrices.value = salePrices.value.filterNot {
+                it.userWalletId == salePrice.userWalletId &&
+                    it.networkId == salePrice.networkId &&
+                    it.assetId == salePrice.assetId
+            } + salePrice
+        }
+
+        override suspend fun deleteCollections(collections: List<NFTCollectionEntity>) {
+            deletedCollections += collections
+            this.collections.value = this.collections.value.filterNot { stored ->
+                collections.any { it.hasSameKey(stored) }
+            }
+        }
+
+        override suspend fun deleteAssets(assets: List<NFTAssetEntity>) {
+            deletedAssets += assets
+            this.assets.value = this.assets.value.filterNot { stored -> assets.any { it.hasSameKey(stored) } }
+        }
+
+        override suspend fun deleteAllCollections(userWalletId: String, networkId: String) {
+            deleteCollections(getCollections(userWalletId, networkId))
+        }
+
+        override suspend fun deleteAllAssets(userWalletId: String, networkId: String) {
+            deleteAssets(getAssets(userWalletId, networkId))
+        }
+
+        override suspend fun deleteAllSalePrices(userWalletId: String, networkId: String) {
+            salePrices.value = salePrices.value.filterNot {
+                it.userWalletId == userWalletId && it.networkId == networkId
+            }
+        }
+
+        @JvmName("filterCollectionsBy")
+        private fun List<NFTCollectionEntity>.filterBy(userWalletId: String, networkId: String) =
+            filter { it.userWalletId == userWalletId && it.networkId == networkId }.sortedBy { it.position }
+
+        @JvmName("filterAssetsBy")
+        private fun List<NFTAssetEntity>.filterBy(userWalletId: String, networkId: String) =
+            filter { it.userWalletId == userWalletId && it.networkId == networkId }.sortedBy { it.position }
+
+        @JvmName("filterSalePricesBy")
+        private fun List<NFTSalePriceEntity>.filterBy(userWalletId: String, networkId: String) =
+            filter { it.userWalletId == userWalletId && it.networkId == networkId }
+
+        private fun NFTCollectionEntity.hasSameKey(other: NFTCollectionEntity): Boolean {
+            return userWalletId == other.userWalletId &&
+                networkId == other.networkId &&
+                collectionId == other.collectionId
+        }
+
+        private fun NFTAssetEntity.hasSameKey(other: NFTAssetEntity): Boolean {
+            return userWalletId == other.userWalletId &&
+                networkId == other.networkId &&
+                collectionId == other.collectionId &&
+                assetId == other.assetId
+        }
+    }
+
+    private companion object {
+        const val USER_WALLET_ID = "011"
+        const val NETWORK_ID = "eth_m4460000"
+    }
+}
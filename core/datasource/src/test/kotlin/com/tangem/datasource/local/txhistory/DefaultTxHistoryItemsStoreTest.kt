@@ -0,0 +1,211 @@
+package com.tangem.datasource.local.txhistory
+
+import com.google.common.truth.Truth
+import com.tangem.datasource.local.txhistory.db.entity.TxHistoryItemsDao
+import com.tangem.datasource.local.txhistory.db.entity.items.TxHistoryItemEntity
+import com.tangem.datasource.local.txhistory.db.entity.items.TxHistoryPageEntity
+import com.tangem.domain.models.currency.CryptoCurrency
+import com.tangem.domain.models.network.TxInfo
+import com.tangem.domain.models.wallet.UserWalletId
+import com.tangem.domain.txhistory.models.Page
+import com.tangem.domain.txhistory.models.PaginationWrapper
+import io.mockk.every
+import io.mockk.mockk
+import kotlinx.coroutines.test.runTest
+import kotlinx.serialization.json.Json
+import org.junit.jupiter.api.Test
+import java.math.BigDecimal
+
+internal class DefaultTxHistoryItemsStoreTest {
+
+    private val dao = FakeTxHistoryItemsDao()
+    private val store = DefaultTxHistoryItemsStore(dao = dao, json = Json { ignoreUnknownKeys = true })
+
+    private val key = TxHistoryItemsStore.Key(
+        userWalletId = UserWalletId("011"),
+        currency = mockk<CryptoCurrency> {
+            every { id } returns mockk { every { value } returns "coin⟨ETH⟩ethereum" }
+        },
+    )
+
+    @Test
+    fun `stored pages are read with their page keys`() = runTest {
+        // Arrange
+        val initialPage = createPage(page = Page.Initial, nextPage = Page.Next("cursor:1"), "b", "a")
+        val nextPage = createPage(page = Page.Next("cursor:1"), nextPage = Page.LastPage, "c")
+
+        // Act
+        store.store(key = key, value = initialPage)
+        store.store(key = key, value = nextPage)
+
+        // Assert
+        Truth.assertThat(store.getSyncOrNull(key = key, page = Page.Initial)).isEqualTo(initialPage)
+        Truth.assertThat(store.getSyncOrNull(key = key, page = Page.Next("cursor:1"))).isEqualTo(nextPage)
+    }
+
+    @Test
+    fun `missing page isn't read`() = runTest {
+        // Act
+        val actual = store.getSyncOrNull(key = key, page = Page.Initial)
+
+        // Assert
+        Truth.assertThat(actual).isNull()
+    }
+
+    @Test
+    fun `following pages are dropped if the newest transaction is changed`() = runTest {
+        // Arrange
+        store.store(key = key, value = createPage(page = Page.Initial, nextPage = Page.Next("1"), "b", "a"))
+        store.store(key = key, value = createPage(page = Page.Next("1"), nextPage = Page.LastPage, "c"))
+
+        // Act
+        val updatedPage = createPage(page = Page.Initial, nextPage = Page.Next("1"), "new", "b")
+        store.store(key = key, value = updatedPage)
+
+        // Assert
+        Truth.assertThat(store.getSyncOrNull(key = key, page = Page.Initial)).isEqualTo(updatedPage)
+        Truth.assertThat(store.getSyncOrNull(key = key, page = Page.Next("1"))).isNull()
+    }
+
+    @Test
+    fun `following pages are kept if the newest transaction is the same`() = runTest {
+        // Arrange
+        store.store(key = key, value = createPage(page = Page.Initial, nextPage = Page.Next("1"), "b", "a"))
+        val nextPage = createPage(page = Page.Next("1"), nextPage = Page.LastPage, "c")
+        store.store(key = key, value = nextPage)
+
+        // Act
+        store.store(key = key, value = createPage(page = Page.Initial, nextPage = Page.Next("1"), "b", "a"))
+
+        // Assert
+        Truth.assertThat(store.getSyncOrNull(key = key, page = Page.Next("1"))).isEqualTo(nextPage)
+    }
+
+    @Test
+    fun `remove deletes all pages`() = runTest {
+        // Arrange
+        store.store(key = key, value = createPage(page = Page.Initial, nextPage = Page.Next("1"), "b", "a"))
+        store.store(key = key, value = createPage(page = Page.Next("1"), nextPage = Page.LastPage, "c"))
+
+        // Act
+        store.remove(key)
+
+        // Assert
+        Truth.assertThat(store.getSyncOrNull(key = key, page = Page.Initial)).isNull()
+        Truth.assertThat(store.getSyncOrNull(key = key, page = Page.Next("1"))).isNull()
+    }
+
+    @Test
+    fun `retain deletes pages of other wallets`() = runTest {
+        // Arrange
+        val otherWalletKey = key.copy(userWalletId = UserWalletId("022"))
+        val page = createPage(page = Page.Initial, nextPage = Page.LastPage, "a")
+        store.store(key = key, value = page)
+        store.store(key = otherWalletKey, value = page)
+
+        // Act
+        store.retain(userWalletIds = setOf(key.userWalletId))
+
+        // Assert
+        Truth.assertThat(store.getSyncOrNull(key = key, page = Page.Initial)).isEqualTo(page)
+        Truth.assertThat(store.getSyncOrNull(key = otherWalletKey, page = Page.Initial)).isNull()
+    }
+
+    private fun createPage(page: Page, nextPage: Page, vararg txHashes: String): PaginationWrapper<TxInfo> {
+        return PaginationWrapper(
+            currentPage = page,
+            nextPage = nextPage,
+            items = txHashes.mapIndexed { index, txHash ->
+                createTxInfo(txHash = txHash, timestamp = START_TIME - index)
+            },
+        )
+    }
+
+    private fun createTxInfo(txHash: String, timestamp: Long): TxInfo {
+        return TxInfo(
+            txHash = txHash,
+            timestampInMillis = timestamp,
+            isOutgoing = false,
+            destinationType = TxInfo.DestinationType.Single(addressType = TxInfo.AddressType.User("0x1")),
+            sourceType = TxInfo.SourceType.Single("0x2"),
+            interactionAddressType = null,
+            status = TxInfo.TransactionStatus.Confirmed,
+            type = TxInfo.TransactionType.Transfer,
+            amount = BigDecimal.ONE,
+        )
+    }
+
+    /** In-memory [TxHistoryItemsDao]. Transactional methods are inherited from the interface */
+    private class FakeTxHistoryItemsDao : TxHistoryItemsDao {
+
+        private val pages = mutableListOf<TxHistoryPageEntity>()
+        private val items = mutableListOf<TxHistoryItemEntity>()
+
+        override suspend fun getPage(userWalletId: String, currencyId: String, page: String): TxHistoryPageEntity? {
+            return pages.firstOrNull { it.matches(userWalletId, currencyId) && it.page == page }
+        }
+
+        override suspend fun getItems(
+            userWalletId: String,
+            currencyId: String,
+            page: String,
+        ): List<TxHistoryItemEntity> {
+            return items
+                .filter { it.matches(userWalletId, currencyId) && it.page == page }
+                .sortedBy(TxHistoryItemEntity::position)
+        }
+
+        override suspend fun getFirstTxHash(userWalletId: String, currencyId: String, page: String): String? {
+            return getItems(userWalletId, currencyId, page).firstOrNull()?.txHash
+        }
+
+        override suspend fun upsertPage(page: TxHistoryPageEntity) {
+            pages.removeAll { it.matches(page.userWalletId, page.currencyId) && it.page == page.page }
+            pages += page
+        }
+
+        override suspend fun insertItems(items: List<TxHistoryItemEntity>) {
+            this.items += items
+        }
+
+        override suspend fun deleteItems(userWalletId: String, currencyId: String, page: String) {
+            items.removeAll { it.matches(userWalletId, currencyId) && it.page == page }
+        }
+
+        override suspend fun deleteItemsExceptPage(userWalletId: String, currencyId: String, page: String) {
+            items.removeAll { it.matches(userWalletId, currencyId) && it.page != page }
+        }
+
+        override suspend fun deletePagesExceptPage(userWalletId: String, currencyId: String, page: String) {
+            pages.removeAll { it.matches(userWalletId, currencyId) && it.page != page }
+        }
+
+        override suspend fun deleteAllItems(userWalletId: String, currencyId: String) {
+            items.removeAll { it.matches(userWalletId, currencyId) }
+        }
+
+        override suspend fun deleteAllPages(userWalletId: String, currencyId: String) {
+            pages.removeAll { it.matches(userWalletId, currencyId) }
+        }
+
+        override suspend fun deleteItemsExceptWallets(userWalletIds: List<String>) {
+            items.removeAll { it.userWalletId !in userWalletIds }
+        }
+
+        override suspend fun deletePagesExceptWallets(userWalletIds: List<String>) {
+            pages.removeAll { it.userWalletId !in userWalletIds }
+        }
+
+        private fun TxHistoryPageEntity.matches(userWalletId: String, currencyId: String): Boolean {
+            return this.userWalletId == userWalletId && this.currencyId == currencyId
+        }
+
+        private fun TxHistoryItemEntity.matches(userWalletId: String, currencyId: String): Boolean {
+            return this.userWalletId == userWalletId && this.currencyId == currencyId
+        }
+    }
+
+    private companion object {
+        const val START_TIME = 1_700_000_000_000L
+    }
+}
@@ -0,0 +1,82 @@
+package com.tangem.datasource.local.walletmanager
+
+import com.google.common.truth.Truth
+import com.tangem.blockchain.common.Blockchain
+import com.tangem.blockchain.common.WalletManager
+import com.tangem.domain.models.wallet.UserWalletId
+import io.mockk.every
+import io.mockk.mockk
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.test.runTest
+import org.junit.jupiter.api.Test
+import kotlin.time.Duration.Companion.milliseconds
+
+internal class DefaultWalletManagersStoreTest {
+
+    private var currentTime = 0L
+    private val store = DefaultWalletManagersStore(currentTimeMillis = { currentTime })
+
+    private val userWalletId = UserWalletId("011")
+    private val walletManager = mockk<WalletManager> {
+        every { wallet.blockchain } returns Blockchain.Ethereum
+        every { wallet.publicKey.derivationPath?.rawPath } returns DERIVATION_PATH
+    }
+
+    @Test
+    fun `getOrCreate creates wallet manager only once for concurrent calls`() = runTest {
+        // Arrange
+        var creationsCount = 0
+
+        // Act
+        val actual = List(size = 3) {
+            async {
+                store.getOrCreate(userWalletId, Blockchain.Ethereum, DERIVATION_PATH) {
+                    creationsCount++
+                    delay(timeMillis = 100)
+                    walletManager
+                }
+            }
+        }.awaitAll()
+
+        // Assert
+        Truth.assertThat(actual).containsExactly(walletManager, walletManager, walletManager)
+        Truth.assertThat(creationsCount).isEqualTo(1)
+    }
+
+    @Test
+    fun `evict removes wallet managers of wallets`() = runTest {
+        // Arrange
+        store.store(userWalletId, walletManager)
+
+        // Act
+        store.evict(setOf(userWalletId))
+
+        // Assert
+        Truth.assertThat(store.getAllSync(userWalletId)).isEmpty()
+    }
+
+    @Test
+    fun `evictIdle removes only idle wallet managers`() = runTest {
+        // Arrange
+        store.store(userWalletId, walletManager)
+        currentTime = 100
+
+        // Act
+        store.evictIdle(idleTimeout = 200.milliseconds)
+        val afterTimeout = store.getSyncOrNull(userWalletId, Blockchain.Ethereum, DERIVATION_PATH)
+
+        currentTime = 400
+        store.evictIdle(idleTimeout = 200.milliseconds)
+        val afterIdleTimeout = store.getSyncOrNull(userWalletId, Blockchain.Ethereum, DERIVATION_PATH)
+
+        // Assert
+        Truth.assertThat(afterTimeout).isEqualTo(walletManager)
+        Truth.assertThat(afterIdleTimeout).isNull()
+    }
+
+    private companion object {
+        const val DERIVATION_PATH = "m/44'/60'/0'/0/0"
+    }
+}
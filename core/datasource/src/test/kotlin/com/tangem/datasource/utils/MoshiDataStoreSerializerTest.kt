@@ -0,0 +1,56 @@
+package com.tangem.datasource.utils
+
+import androidx.datastore.core.CorruptionException
+import com.google.common.truth.Truth.assertThat
+import com.squareup.moshi.Moshi
+import kotlinx.coroutines.test.runTest
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MoshiDataStoreSerializerTest {
+
+    private val serializer = MoshiDataStoreSerializer(
+        moshi = Moshi.Builder().build(),
+        types = mapWithStringKeyTypes<String>(),
+        defaultValue = emptyMap<String, String>(),
+    )
+
+    @Test
+    fun `should write and read the same value`() = runTest {
+        val value = (0 until 1_000).associate { "key_$it" to "value_$it" }
+        val output = ByteArrayOutputStream()
+
+        serializer.writeTo(t = value, output = output)
+        val actual = serializer.readFrom(input = ByteArrayInputStream(output.toByteArray()))
+
+        assertThat(actual).isEqualTo(value)
+    }
+
+    @Test
+    fun `should write json`() = runTest {
+        val output = ByteArrayOutputStream()
+
+        serializer.writeTo(t = mapOf("key" to "value"), output = output)
+
+        assertThat(output.toString(Charsets.UTF_8.name())).isEqualTo("""{"key":"value"}""")
+    }
+
+    @Test
+    fun `should return default value for null json`() = runTest {
+        val actual = serializer.readFrom(input = ByteArrayInputStream("null".toByteArray()))
+
+        assertThat(actual).isEqualTo(emptyMap<String, String>())
+    }
+
+    @Test
+    fun `should throw corruption exception for malformed json`() = runTest {
+        val actual = runCatching {
+            serializer.readFrom(input = ByteArrayInputStream("""{"key":""".toByteArray()))
+        }
+
+        assertThat(actual.exceptionOrNull()).isInstanceOf(CorruptionException::class.java)
+    }
+}
@@ -0,0 +1,18 @@
+package com.tangem.pagination
+
+import kotlin.time.Duration
+
+/**
+ * Metrics of [BatchListSource].
+ */
+fun interface BatchListMetrics {
+
+    /**
+     * Called when the first batch is shown after [BatchAction.Reload].
+     *
+     * @param timeToFirstBatch time passed since [BatchAction.Reload].
+     * @param isCached true if the batch is taken from [com.tangem.pagination.cache.BatchListCache],
+     * false if the batch is fetched.
+     */
+    fun onFirstBatchShown(timeToFirstBatch: Duration, isCached: Boolean)
+}
@@ -1,10 +1,14 @@
 package com.tangem.pagination
 
+import com.tangem.pagination.cache.BatchListCache
 import com.tangem.pagination.exception.OperationWIthTheSameIdInProgress
 import com.tangem.pagination.fetcher.BatchFetcher
 import kotlinx.coroutines.*
 import kotlinx.coroutines.channels.BufferOverflow
 import kotlinx.coroutines.flow.*
+import java.util.concurrent.atomic.AtomicInteger
+import kotlin.time.TimeMark
+import kotlin.time.TimeSource
 
 /**
  * Source for paginated data. The starting point for pagination.
@@ -27,17 +31,31 @@ interface BatchListSource<TKey, TData, TUpdate> {
  * @param context Context for batching.
  * @param generateNewKey Function to generate a new key for a batch.
  * @param batchFetcher Function to fetch a batch of data.
+ * @param prefetchBatches Number of batches that are loaded ahead of [BatchAction.LoadMore] requests.
+ * @param cache Cache of the first batches that are shown on [BatchAction.Reload] while the first batch is loading.
+ * @param metrics Metrics of the source.
  *
  * @return New instance of [BatchListSource].
  */
-@Suppress("FunctionNaming")
+@Suppress("FunctionNaming", "LongParameterList")
 fun <TKey, TData, TRequestParams : Any> BatchListSource(
     fetchDispatcher: CoroutineDispatcher = Dispatchers.IO,
     context: BatchingContext<TKey, TRequestParams, Nothing>,
     generateNewKey: suspend (List<TKey>) -> TKey,
     batchFetcher: BatchFetcher<TRequestParams, TData>,
-): BatchListSource<TKey, TData, Nothing> =
-    DefaultBatchListSource(fetchDispatcher, context, generateNewKey, batchFetcher, null)
+    prefetchBatches: Int = 0,
+    cache: BatchListCache<TRequestParams, TData>? = null,
+    metrics: BatchListMetrics? = null,
+): BatchListSource<TKey, TData, Nothing> = DefaultBatchListSource(
+    fetchDispatcher = fetchDispatcher,
+    context = context,
+    generateNewKey = generateNewKey,
+    batchFetcher = batchFetcher,
+    updateFetcher = null,
+    prefetchBatches = prefetchBatches,
+    cache = cache,
+    metrics = metrics,
+)
 
 /**
  * Creates a new [BatchListSource] with the provided configuration.
@@ -47,26 +65,43 @@ fun <TKey, TData, TRequestParams : Any> BatchListSource(
  * @param generateNewKey Function to generate a new key for a batch.
  * @param batchFetcher Function to fetch a batch of data.
  * @param updateFetcher Function to fetch updates for batches.
+ * @param prefetchBatches Number of batches that are loaded ahead of [BatchAction.LoadMore] requests.
+ * @param cache Cache of the first batches that are shown on [BatchAction.Reload] while the first batch is loading.
+ * @param metrics Metrics of the source.
  *
  * @return New instance of [BatchListSource].
  */
-@Suppress("FunctionNaming")
+@Suppress("FunctionNaming", "LongParameterList")
 fun <TKey, TData, TRequestParams : Any, TUpdate> BatchListSource(
     fetchDispatcher: CoroutineDispatcher = Dispatchers.IO,
     context: BatchingContext<TKey, TRequestParams, TUpdate>,
     generateNewKey: suspend (List<TKey>) -> TKey,
     batchFetcher: BatchFetcher<TRequestParams, TData>,
     updateFetcher: BatchUpdateFetcher<TKey, TData, TUpdate>,
-): BatchListSource<TKey, TData, TUpdate> =
-    DefaultBatchListSource(fetchDispatcher, context, generateNewKey, batchFetcher, updateFetcher)
-
-@Suppress("LargeClass")
+    prefetchBatches: Int = 0,
+    cache: BatchListCache<TRequestParams, TData>? = null,
+    metrics: BatchListMetrics? = null,
+): BatchListSource<TKey, TData, TUpdate> = DefaultBatchListSource(
+    fetchDispatcher = fetchDispatcher,
+    context = context,
+    generateNewKey = generateNewKey,
+    batchFetcher = batchFetcher,
+    updateFetcher = updateFetcher,
+    prefetchBatches = prefetchBatches,
+    cache = cache,
+    metrics = metrics,
+)
+
+@Suppress("LargeClass", "LongParameterList")
 private class DefaultBatchListSource<TKey, TData, TRequestParams : Any, TUpdate>(
     private val fetchDispatcher: CoroutineDispatcher,
     private val context: BatchingContext<TKey, TRequestParams, TUpdate>,
     private val generateNewKey: suspend (List<TKey>) -> TKey,
     private val batchFetcher: BatchFetcher<TRequestParams, TData>,
     private val updateFetcher: BatchUpdateFetcher<TKey, TData, TUpdate>? = null,
+    private val prefetchBatches: Int = 0,
+    private val cache: BatchListCache<TRequestParams, TData>? = null,
+    private val metrics: BatchListMetrics? = null,
 ) : BatchListSource<TKey, TData, TUpdate> {
 
     override val state = MutableStateFlow(BatchListState<TKey, TData>(emptyList(), PaginationStatus.None, null))
@@ -86,6 +121,16 @@ private class DefaultBatchListSource<TKey, TData, TRequestParams : Any, TUpdate>
     private var reloadActionJob: Job? = null
     private var loadMoreActionJob: Job? = null
 
+    // Request params of the last Reload or LoadMore action, used to check if prefetched batches can be consumed
+    private var requestParams: TRequestParams? = null
+
+    // Number of batches that are loaded (or loading) ahead of LoadMore actions
+    private val prefetchedBatches = AtomicInteger(0)
+
+    // Request params of the first batches that can be cached. Null if pagination continued with other params
+    @Volatile
+    private var cacheableRequestParams: TRequestParams? = null
+
     init {
         scope.launch {
             try {
@@ -119,19 +164,35 @@ private class DefaultBatchListSource<TKey, TData, TRequestParams : Any, TUpdate>
                     data = emptyList(),
                     status = PaginationStatus.InitialLoading,
                 )
+                requestParams = action.requestParams
+                prefetchedBatches.set(0)
 
                 reloadActionJob = scope.launchFetch {
                     reloadTask(action)
                 }
+
+                if (prefetchBatches > 0) {
+                    loadMoreActionJob = scope.launchFetch {
+                        reloadActionJob?.join()
+                        prefetchTask()
+                    }
+                }
             }
             is BatchAction.LoadMore -> {
+                if (consumePrefetchedBatch(action)) {
+                    return
+                }
+
                 if (loadMoreActionJob?.isActive == true) {
                     return
                 }
 
+                action.requestParams?.let { requestParams = it }
+
                 loadMoreActionJob = scope.launchFetch {
                     reloadActionJob?.join()
                     loadMoreTask(action)
+                    prefetchTask()
                 }
             }
             is BatchAction.UpdateBatches -> {
@@ -227,6 +288,11 @@ private class DefaultBatchListSource<TKey, TData, TRequestParams : Any, TUpdate>
     }
 
     private suspend fun reloadTask(action: BatchAction.Reload<TRequestParams>) {
+        val reloadTimeMark = TimeSource.Monotonic.markNow()
+
+        cacheableRequestParams = action.requestParams
+        showCachedBatches(action.requestParams, reloadTimeMark)
+
         val res = runCatching {
             batchFetcher.fetchFirst(action.requestParams)
         }.getOrElse {
@@ -269,6 +335,84 @@ private class DefaultBatchListSource<TKey, TData, TRequestParams : Any, TUpdate>
         }
 
         lastRequestResult.value = res
+
+        if (res is BatchFetchResult.Success) {
+            metrics?.onFirstBatchShown(timeToFirstBatch = reloadTimeMark.elapsedNow(), isCached = false)
+            cacheFirstBatches()
+        }
+    }
+
+    private suspend fun showCachedBatches(requestParams: TRequestParams, reloadTimeMark: TimeMark) {
+        if (cache == null) return
+
+        val cachedData = runCatching { cache.get(requestParams) }.getOrNull()
+
+        currentCoroutineContext().ensureActive()
+
+        if (cachedData.isNullOrEmpty()) return
+
+        val batches = cachedData.fold(emptyList<Batch<TKey, TData>>()) { batches, data ->
+            batches + Batch(key = generateNewKey(batches.map { it.key }), data = data)
+        }
+
+        // Cached batches are replaced by the first fetched batch
+        state.value = BatchListState(data = batches, status = PaginationStatus.InitialLoading)
+
+        metrics?.onFirstBatchShown(timeToFirstBatch = reloadTimeMark.elapsedNow(), isCached = true)
+    }
+
+    private suspend fun cacheFirstBatches() {
+        if (cache == null) return
+
+        val requestParams = cacheableRequestParams ?: return
+        val batches = state.value.data
+
+        if (batches.isEmpty() || batches.size > cache.batchesCount) return
+
+        runCatching { cache.put(requestParams, batches.map(Batch<TKey, TData>::data)) }
+    }
+
+    /**
+     * Consumes the batch that was loaded ahead by [prefetchTask] instead of loading a new one.
+     *
+     * @return true if prefetched batch is consumed and [action] shouldn't be processed further.
+     */
+    private fun consumePrefetchedBatch(action: BatchAction.LoadMore<TRequestParams>): Boolean {
+        if (prefetchBatches == 0) return false
+
+        if (action.requestParams != null && action.requestParams != requestParams) {
+            prefetchedBatches.set(0)
+            return false
+        }
+
+        val prefetched = prefetchedBatches.getAndUpdate { (it - 1).coerceAtLeast(0) }
+        if (prefetched == 0) return false
+
+        if (loadMoreActionJob?.isActive != true) {
+            loadMoreActionJob = scope.launchFetch {
+                prefetchTask()
+            }
+        }
+
+        return true
+    }
+
+    /**
+     * Loads batches until [prefetchBatches] of them are loaded ahead of [BatchAction.LoadMore] actions.
+     */
+    private suspend fun prefetchTask() {
+        while (prefetchedBatches.get() < prefetchBatches) {
+            val status = state.value.status
+            if (status !is PaginationStatus.Paginating || status.lastResult !is BatchFetchResult.Success) return
+
+            prefetchedBatches.incrementAndGet()
+            loadMoreTask(BatchAction.LoadMore(requestParams = null))
+
+            if (lastRequestResult.value !is BatchFetchResult.Success) {
+                prefetchedBatches.updateAndGet { (it - 1).coerceAtLeast(0) }
+                return
+            }
+        }
     }
 
     private suspend fun loadMoreTask(action: BatchAction.LoadMore<TRequestParams>) {
@@ -285,11 +429,21 @@ private class DefaultBatchListSource<TKey, TData, TRequestParams : Any, TUpdate>
 
         val lastResult = lastRequestResult.value ?: return
 
+        if (action.requestParams != null && action.requestParams != cacheableRequestParams) {
+            cacheableRequestParams = null
+        }
+
         state.update { it.copy(status = PaginationStatus.NextBatchLoading) }
 
         val res = runCatching {
             batchFetcher.fetchNext(action.requestParams, lastResult)
-        }.getOrElse { BatchFetchResult.Error(it) }
+        }.getOrElse {
+            currentCoroutineContext().ensureActive()
+            BatchFetchResult.Error(it)
+        }
+
+        // Prefetching can be cancelled by Reload, its result mustn't get into the state of the new request
+        currentCoroutineContext().ensureActive()
 
         lastRequestResult.value = res
 
@@ -321,6 +475,10 @@ private class DefaultBatchListSource<TKey, TData, TRequestParams : Any, TUpdate>
                 }
             }
         }
+
+        if (res is BatchFetchResult.Success) {
+            cacheFirstBatches()
+        }
     }
 
     private suspend fun updateBatchesTask(action: BatchAction.UpdateBatches<TKey, TUpdate>) {
@@ -420,6 +578,9 @@ private class DefaultBatchListSource<TKey, TData, TRequestParams : Any, TUpdate>
         reloadActionJob?.cancel()
         reloadActionJob = null
         lastRequestResult.value = null
+        requestParams = null
+        prefetchedBatches.set(0)
+        cacheableRequestParams = null
         state.value = BatchListState(emptyList(), PaginationStatus.None)
     }
 
@@ -0,0 +1,29 @@
+package com.tangem.pagination.cache
+
+import com.tangem.pagination.BatchAction
+import com.tangem.pagination.BatchListSource
+
+/**
+ * Persistent cache of the first batches of [BatchListSource].
+ * Cached batches are shown on [BatchAction.Reload] while the first batch is loading.
+ *
+ * @param TRequestParams type of the request params. Used as a key of cached batches.
+ * @param TData type of the data in the batch.
+ *
+ * @property batchesCount number of the first batches to cache.
+ */
+interface BatchListCache<TRequestParams : Any, TData> {
+
+    val batchesCount: Int
+
+    /**
+     * Returns the cached first batches for [requestParams] or null if there are no cached batches.
+     */
+    suspend fun get(requestParams: TRequestParams): List<TData>?
+
+    /**
+     * Saves the first batches loaded for [requestParams].
+     * The size of [batches] doesn't exceed [batchesCount].
+     */
+    suspend fun put(requestParams: TRequestParams, batches: List<TData>)
+}
@@ -0,0 +1,199 @@
+package com.tangem.pagination
+
+import com.google.common.truth.Truth
+import com.tangem.pagination.cache.BatchListCache
+import com.tangem.pagination.fetcher.BatchFetcher
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.receiveAsFlow
+import kotlinx.coroutines.test.StandardTestDispatcher
+import kotlinx.coroutines.test.TestScope
+import kotlinx.coroutines.test.advanceTimeBy
+import kotlinx.coroutines.test.advanceUntilIdle
+import kotlinx.coroutines.test.runCurrent
+import kotlinx.coroutines.test.runTest
+import org.junit.jupiter.api.Test
+
+internal class BatchListSourceTest {
+
+    private val actions = Channel<BatchAction<Int, String, Nothing>>(capacity = Channel.UNLIMITED)
+    private val fetcher = FakeBatchFetcher()
+    private val cache = FakeBatchListCache()
+    private val shownFirstBatches = mutableListOf<Boolean>()
+
+    @Test
+    fun `reload loads batches ahead`() = runTest {
+        // Arrange
+        val source = createSource(prefetchBatches = 2)
+
+        // Act
+        actions.send(BatchAction.Reload(requestParams = "a"))
+        advanceUntilIdle()
+
+        // Assert
+        Truth.assertThat(source.data()).containsExactly("a-0", "a-1", "a-2").inOrder()
+        Truth.assertThat(source.state.value.status).isInstanceOf(PaginationStatus.Paginating::class.java)
+    }
+
+    @Test
+    fun `load more consumes prefetched batches and keeps loading ahead`() = runTest {
+        // Arrange
+        val source = createSource(prefetchBatches = 1)
+        actions.send(BatchAction.Reload(requestParams = "a"))
+        advanceUntilIdle()
+
+        // Act
+        actions.send(BatchAction.LoadMore())
+        runCurrent()
+        // the second action comes while the next batch is loading ahead, so it's served by that batch
+        actions.send(BatchAction.LoadMore())
+        advanceUntilIdle()
+
+        // Assert
+        Truth.assertThat(source.data()).containsExactly("a-0", "a-1", "a-2", "a-3").inOrder()
+        Truth.assertThat(fetcher.nextRequestParams).containsExactly(null, null, null)
+    }
+
+    @Test
+    fun `load more with other params isn't served by prefetched batch`() = runTest {
+        // Arrange
+        val source = createSource(prefetchBatches = 1)
+        actions.send(BatchAction.Reload(requestParams = "a"))
+        advanceUntilIdle()
+
+        // Act
+        actions.send(BatchAction.LoadMore(requestParams = "b"))
+        advanceUntilIdle()
+
+        // Assert
+        Truth.assertThat(source.data()).containsExactly("a-0", "a-1", "b-2", "b-3").inOrder()
+        Truth.assertThat(fetcher.nextRequestParams).containsExactly(null, "b", null).inOrder()
+    }
+
+    @Test
+    fun `reload cancels prefetching of the previous request`() = runTest {
+        // Arrange
+        val source = createSource(prefetchBatches = 1)
+        actions.send(BatchAction.Reload(requestParams = "a"))
+        // the first batch is loaded, the next one is prefetching
+        advanceTimeBy(FETCH_DELAY + 1)
+        Truth.assertThat(source.state.value.status).isEqualTo(PaginationStatus.NextBatchLoading)
+
+        // Act
+        actions.send(BatchAction.Reload(requestParams = "b"))
+        runCurrent()
+        val reloadingState = source.state.value
+        advanceUntilIdle()
+
+        // Assert
+        Truth.assertThat(reloadingState.status).isEqualTo(PaginationStatus.InitialLoading)
+        Truth.assertThat(reloadingState.data).isEmpty()
+        Truth.assertThat(source.data()).containsExactly("b-0", "b-1").inOrder()
+    }
+
+    @Test
+    fun `cached batches are shown on reload and replaced by fetched batch`() = runTest {
+        // Arrange
+        cache.batches["a"] = listOf("cached-0", "cached-1")
+        val source = createSource()
+
+        // Act
+        actions.send(BatchAction.Reload(requestParams = "a"))
+        runCurrent()
+        val cachedState = source.state.value
+        advanceUntilIdle()
+
+        // Assert
+        Truth.assertThat(cachedState.data.map(Batch<Int, String>::data)).containsExactly("cached-0", "cached-1")
+        Truth.assertThat(cachedState.status).isEqualTo(PaginationStatus.InitialLoading)
+        Truth.assertThat(source.data()).containsExactly("a-0")
+        Truth.assertThat(cache.batches["a"]).containsExactly("a-0")
+        Truth.assertThat(shownFirstBatches).containsExactly(true, false).inOrder()
+    }
+
+    @Test
+    fun `batches loaded with other params aren't cached`() = runTest {
+        // Arrange
+        val source = createSource()
+        actions.send(BatchAction.Reload(requestParams = "a"))
+        advanceUntilIdle()
+
+        // Act
+        actions.send(BatchAction.LoadMore(requestParams = "b"))
+        advanceUntilIdle()
+
+        // Assert
+        Truth.assertThat(source.data()).containsExactly("a-0", "b-1").inOrder()
+        Truth.assertThat(cache.batches["a"]).containsExactly("a-0")
+        Truth.assertThat(cache.batches).doesNotContainKey("b")
+    }
+
+    private fun TestScope.createSource(prefetchBatches: Int = 0): BatchListSource<Int, String, Nothing> {
+        return BatchListSource(
+            fetchDispatcher = StandardTestDispatcher(testScheduler),
+            context = BatchingContext(actionsFlow = actions.receiveAsFlow(), coroutineScope = backgroundScope),
+            generateNewKey = { keys -> keys.size },
+            batchFetcher = fetcher,
+            prefetchBatches = prefetchBatches,
+            cache = cache,
+            metrics = { _, isCached -> shownFirstBatches += isCached },
+        )
+    }
+
+    private fun BatchListSource<Int, String, Nothing>.data(): List<String> {
+        return state.value.data.map(Batch<Int, String>::data)
+    }
+
+    /** Returns "<params>-<index of the batch>" after [FETCH_DELAY] */
+    private class FakeBatchFetcher : BatchFetcher<String, String> {
+
+        val nextRequestParams = mutableListOf<String?>()
+
+        private var params: String? = null
+        private var batchIndex = 0
+
+        override suspend fun fetchFirst(requestParams: String): BatchFetchResult<String> {
+            delay(FETCH_DELAY)
+
+            params = requestParams
+            batchIndex = 0
+
+            return createResult()
+        }
+
+        override suspend fun fetchNext(
+            overrideRequestParams: String?,
+            lastResult: BatchFetchResult<String>,
+        ): BatchFetchResult<String> {
+            nextRequestParams += overrideRequestParams
+
+            delay(FETCH_DELAY)
+
+            overrideRequestParams?.let { params = it }
+            batchIndex++
+
+            return createResult()
+        }
+
+        private fun createResult(): BatchFetchResult<String> {
+            return BatchFetchResult.Success(data = "$params-$batchIndex", empty = false, last = false)
+        }
+    }
+
+    private class FakeBatchListCache : BatchListCache<String, String> {
+
+        val batches = mutableMapOf<String, List<String>>()
+
+        override val batchesCount: Int = 1
+
+        override suspend fun get(requestParams: String): List<String>? = batches[requestParams]
+
+        override suspend fun put(requestParams: String, batches: List<String>) {
+            this.batches[requestParams] = batches
+        }
+    }
+
+    private companion object {
+        const val FETCH_DELAY = 1_000L
+    }
+}
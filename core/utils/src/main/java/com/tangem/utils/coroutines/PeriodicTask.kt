@@ -15,6 +15,10 @@ class PeriodicTask<T>(
 
     private var isActive: AtomicBoolean = AtomicBoolean(false)
 
+    /** Task is running and isn't cancelled */
+    val isRunning: Boolean
+        get() = isActive.get()
+
     suspend fun runTaskWithDelay() {
         isActive.set(true)
         if (initialDelay > 0L) {
@@ -2,6 +2,8 @@ package com.tangem.data.account.fetcher
 
 import com.tangem.data.account.store.AccountsResponseStore
 import com.tangem.data.account.store.AccountsResponseStoreFactory
+import com.tangem.data.account.store.PendingWalletAccountsPush
+import com.tangem.data.account.store.WalletAccountsOutboxStore
 import com.tangem.data.account.tokens.DefaultMainAccountTokensMigration
 import com.tangem.data.account.utils.DefaultWalletAccountsResponseFactory
 import com.tangem.data.account.utils.assignTokens
@@ -12,6 +14,7 @@ import com.tangem.data.common.cache.etag.ETagsStore
 import com.tangem.data.common.currency.UserTokensSaver
 import com.tangem.data.common.tokens.UserTokensBackwardCompatibility
 import com.tangem.datasource.api.common.response.ApiResponse
+import com.tangem.datasource.api.common.response.ApiResponseError
 import com.tangem.datasource.api.common.response.ApiResponseError.HttpException.Code
 import com.tangem.datasource.api.common.response.ETAG_HEADER
 import com.tangem.datasource.api.common.response.isNetworkError
@@ -19,11 +22,12 @@ import com.tangem.datasource.api.tangemTech.TangemTechApi
 import com.tangem.datasource.api.tangemTech.models.UserTokensResponse
 import com.tangem.datasource.api.tangemTech.models.account.GetWalletAccountsResponse
 import com.tangem.datasource.api.tangemTech.models.account.SaveWalletAccountsResponse
-import com.tangem.datasource.api.tangemTech.models.account.WalletAccountDTO
 import com.tangem.datasource.api.tangemTech.models.account.toUserTokensResponse
 import com.tangem.datasource.api.tangemTech.models.orDefault
 import com.tangem.datasource.utils.getSyncOrNull
+import com.tangem.domain.common.wallets.UserWalletsListRepository
 import com.tangem.domain.models.wallet.UserWalletId
+import com.tangem.utils.coroutines.AppCoroutineScope
 import com.tangem.utils.coroutines.CoroutineDispatcherProvider
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.filterNotNull
@@ -41,6 +45,9 @@ import javax.inject.Singleton
  * @property defaultWalletAccountsResponseFactory creates [GetWalletAccountsResponse] from [UserTokensResponse]
  * @property eTagsStore                      store for ETags to manage caching
  * @property dispatchers                     dispatchers
+ * @property walletAccountsOutboxStore       store of pushes that aren't sent yet
+ * @property userWalletsListRepository       user wallets list repository to drop pushes of deleted wallets
+ * @property appScope                        scope of pushes
  *
 [REDACTED_AUTHOR]
  */
@@ -55,10 +62,21 @@ internal class DefaultWalletAccountsFetcher @Inject constructor(
     private val eTagsStore: ETagsStore,
     private val dispatchers: CoroutineDispatcherProvider,
     private val mainAccountTokensMigration: DefaultMainAccountTokensMigration,
+    walletAccountsOutboxStore: WalletAccountsOutboxStore,
+    userWalletsListRepository: UserWalletsListRepository,
+    appScope: AppCoroutineScope,
 ) : WalletAccountsFetcher, WalletAccountsSaver {
 
     private val userTokensBackwardCompatibility = UserTokensBackwardCompatibility()
 
+    private val pushOutbox = WalletAccountsPushOutbox(
+        store = walletAccountsOutboxStore,
+        scope = appScope,
+        userWalletsListRepository = userWalletsListRepository,
+        send = ::sendPendingPush,
+        onDropped = ::onPushDropped,
+    )
+
     override suspend fun fetch(userWalletId: UserWalletId): GetWalletAccountsResponse {
         val savedAccountsResponse = getAccountsResponseStore(userWalletId = userWalletId).getSyncOrNull()
         val fetchResult = fetchWalletAccounts(userWalletId, savedAccountsResponse)
@@ -107,33 +125,108 @@ internal class DefaultWalletAccountsFetcher @Inject constructor(
         }
     }
 
-    override suspend fun push(
-        userWalletId: UserWalletId,
-        accounts: List<WalletAccountDTO>,
-    ): GetWalletAccountsResponse? {
-        return push(userWalletId = userWalletId, body = SaveWalletAccountsResponse(accounts = accounts))
+    override suspend fun push(userWalletId: UserWalletId, response: GetWalletAccountsResponse) {
+        pushOutbox.enqueue(
+            userWalletId = userWalletId,
+            accounts = response.accounts,
+            base = getSaved(userWalletId)?.accounts,
+        )
+
+        // local change is stored before the send, so it doesn't overwrite the result of the send
+        store(userWalletId = userWalletId, response = response)
+
+        pushOutbox.flush(userWalletId)
+    }
+
+    override fun hasPendingChanges(userWalletId: UserWalletId): Flow<Boolean> {
+        return pushOutbox.hasPendingChanges(userWalletId)
     }
 
-    override suspend fun push(
+    /** Push [body] immediately, bypassing [pushOutbox]. It's used to recover accounts during fetching */
+    private suspend fun pushInternal(
         userWalletId: UserWalletId,
         body: SaveWalletAccountsResponse,
+        eTag: String,
     ): GetWalletAccountsResponse? {
-        return pushInternal(userWalletId = userWalletId, body = body)
+        return try {
+            sendWalletAccounts(userWalletId = userWalletId, body = body, eTag = eTag)
+        } catch (e: ApiResponseError) {
+            if (e.isNetworkError(code = Code.PRECONDITION_FAILED)) throw e
+
+            null
+        }
     }
 
-    private suspend fun pushInternal(
+    /**
+     * Send [push] with the saved ETag. If there is no ETag or the remote accounts were changed since it was received,
+     * the remote accounts are fetched and merged with [push], and the merged accounts are sent with the fresh ETag.
+     */
+    private suspend fun sendPendingPush(
+        userWalletId: UserWalletId,
+        push: PendingWalletAccountsPush,
+    ): GetWalletAccountsResponse {
+        val savedETag = getETag(userWalletId)
+
+        val response = if (savedETag == null) {
+            sendMergedPush(userWalletId = userWalletId, push = push)
+        } else {
+            try {
+                sendWalletAccounts(
+                    userWalletId = userWalletId,
+                    body = SaveWalletAccountsResponse(accounts = push.accounts),
+                    eTag = savedETag,
+                )
+            } catch (e: ApiResponseError) {
+                if (!e.isNetworkError(code = Code.PRECONDITION_FAILED)) throw e
+
+                sendMergedPush(userWalletId = userWalletId, push = push)
+            }
+        }
+
+        // push can be retried in background, so nobody else stores its result
+        store(userWalletId = userWalletId, response = response)
+
+        return response
+    }
+
+    /** Clear ETag, so the next fetch replaces the local accounts by the remote ones instead of keeping them */
+    private suspend fun onPushDropped(userWalletId: UserWalletId) {
+        eTagsStore.clear(userWalletId, ETagsStore.Key.WalletAccounts)
+    }
+
+    private suspend fun sendMergedPush(
+        userWalletId: UserWalletId,
+        push: PendingWalletAccountsPush,
+    ): GetWalletAccountsResponse {
+        val remoteResponse = fetchRemoteWalletAccounts(userWalletId)
+
+        val mergedAccounts = WalletAccountsMerger.merge(
+            base = push.base,
+            local = push.accounts,
+            remote = remoteResponse.accounts,
+        )
+
+        val eTag = getETag(userWalletId)
+            ?: error("Failed to retrieve ETag after fetching wallet accounts for wallet $userWalletId")
+
+        return sendWalletAccounts(
+            userWalletId = userWalletId,
+            body = SaveWalletAccountsResponse(accounts = mergedAccounts),
+            eTag = eTag,
+        )
+    }
+
+    private suspend fun sendWalletAccounts(
         userWalletId: UserWalletId,
         body: SaveWalletAccountsResponse,
-        eTag: String? = null,
-    ): GetWalletAccountsResponse? {
+        eTag: String,
+    ): GetWalletAccountsResponse {
         return safeApiCall(
             call = {
-                val resolvedETag = eTag ?: getETagForPush(userWalletId)
-
                 val apiResponse = withContext(dispatchers.io) {
                     tangemTechApi.saveWalletAccounts(
                         walletId = userWalletId.stringValue,
-                        eTag = resolvedETag,
+                        eTag = eTag,
                         body = body,
                     )
                 }
@@ -142,27 +235,24 @@ internal class DefaultWalletAccountsFetcher @Inject constructor(
 
                 apiResponse.bind().enrichByAccountId()
             },
-            onError = { error ->
-                if (error.isNetworkError(code = Code.PRECONDITION_FAILED)) {
-                    throw error
-                }
-
-                null
-            },
+            onError = { throw it },
         )
     }
 
-    private suspend fun getETagForPush(userWalletId: UserWalletId): String {
-        var savedETag = getETag(userWalletId)
-
-        if (savedETag == null) {
-            fetch(userWalletId)
+    /** Fetch the remote accounts ignoring the cache to get the actual accounts and ETag */
+    private suspend fun fetchRemoteWalletAccounts(userWalletId: UserWalletId): GetWalletAccountsResponse {
+        return safeApiCall(
+            call = {
+                val apiResponse = withContext(dispatchers.io) {
+                    tangemTechApi.getWalletAccounts(walletId = userWalletId.stringValue, eTag = null)
+                }
 
-            savedETag = getETag(userWalletId)
-                ?: error("Failed to retrieve ETag after fetching wallet accounts for wallet $userWalletId")
-        }
+                saveETag(userWalletId, apiResponse)
 
-        return savedETag
+                apiResponse.bind().enrichByAccountId()
+            },
+            onError = { throw it },
+        )
     }
 
     private suspend fun fetchWalletAccounts(
@@ -224,13 +314,16 @@ internal class DefaultWalletAccountsFetcher @Inject constructor(
             },
         )
 
+        // accounts are derived from the fetched ones, not from the saved ones
+        pushOutbox.enqueue(
+            userWalletId = userWalletId,
+            accounts = response.accounts,
+            base = accountsResponse.accounts,
+        )
+
         store(userWalletId = userWalletId, response = response)
 
-        val isFailed = push(userWalletId = userWalletId, accounts = response.accounts) == null
-        if (isFailed) {
-            // Clear ETags if push failed to avoid different state in the cache and API
-            eTagsStore.clear(userWalletId, ETagsStore.Key.WalletAccounts)
-        }
+        pushOutbox.flush(userWalletId)
 
         userTokensSaver.push(userWalletId = userWalletId, response = response.toUserTokensResponse())
 
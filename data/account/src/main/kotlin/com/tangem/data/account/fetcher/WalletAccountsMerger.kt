@@ -0,0 +1,45 @@
+package com.tangem.data.account.fetcher
+
+import com.tangem.datasource.api.tangemTech.models.account.WalletAccountDTO
+
+/**
+ * Three-way merge of wallet accounts by account id.
+ *
+ * Account that is changed only locally or only remotely takes the changed version. Account that is changed on both
+ * sides takes the local version, because it is the latest user intent. Deletions are applied by the same rule:
+ * an account that is deleted on one side and unchanged on the other one is deleted.
+ * Order of accounts is local, remote accounts that are absent locally are appended in remote order.
+ */
+internal object WalletAccountsMerger {
+
+    /**
+     * Merge [local] and [remote] accounts that are derived from [base].
+     * If [base] is unknown, accounts of both sides are kept and local versions win.
+     */
+    fun merge(
+        base: List<WalletAccountDTO>?,
+        local: List<WalletAccountDTO>,
+        remote: List<WalletAccountDTO>,
+    ): List<WalletAccountDTO> {
+        val baseById = base?.associateBy(WalletAccountDTO::id)
+        val localById = local.associateBy(WalletAccountDTO::id)
+        val remoteById = remote.associateBy(WalletAccountDTO::id)
+
+        val orderedIds = LinkedHashSet<String>(local.size + remote.size).apply {
+            local.mapTo(this, WalletAccountDTO::id)
+            remote.mapTo(this, WalletAccountDTO::id)
+        }
+
+        return orderedIds.mapNotNull { id ->
+            val localAccount = localById[id]
+            val remoteAccount = remoteById[id]
+
+            when {
+                baseById == null -> localAccount ?: remoteAccount
+                localAccount == baseById[id] -> remoteAccount
+                remoteAccount == baseById[id] -> localAccount
+                else -> localAccount ?: remoteAccount
+            }
+        }
+    }
+}
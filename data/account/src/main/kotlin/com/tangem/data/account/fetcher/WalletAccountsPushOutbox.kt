@@ -0,0 +1,204 @@
+package com.tangem.data.account.fetcher
+
+import com.tangem.data.account.store.PendingWalletAccountsPush
+import com.tangem.data.account.store.WalletAccountsOutboxStore
+import com.tangem.datasource.api.common.response.ApiResponseError
+import com.tangem.datasource.api.common.response.ApiResponseError.HttpException.Code
+import com.tangem.datasource.api.tangemTech.models.account.GetWalletAccountsResponse
+import com.tangem.datasource.api.tangemTech.models.account.WalletAccountDTO
+import com.tangem.domain.common.wallets.UserWalletsListRepository
+import com.tangem.domain.models.wallet.UserWallet
+import com.tangem.domain.models.wallet.UserWalletId
+import com.tangem.utils.logging.TangemLogger
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.channels.consumeEach
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.flow.filterNotNull
+import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.flow.launchIn
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.flow.onEach
+import kotlinx.coroutines.launch
+import java.util.concurrent.ConcurrentHashMap
+import kotlin.time.Duration
+import kotlin.time.Duration.Companion.minutes
+import kotlin.time.Duration.Companion.seconds
+
+/**
+ * Persistent write-behind outbox of wallet accounts pushes.
+ *
+ * Every push is persisted in [store] and sent in background. Pushes of the same wallet are sent one by one and
+ * coalesced: only the latest accounts are sent. If the send fails because of network, the change is kept and retried
+ * with exponential back-off, also after process restart. Pushes of deleted wallets are dropped as soon as they
+ * disappear from [UserWalletsListRepository.userWallets].
+ *
+ * @property store      store of pending pushes
+ * @property scope      scope of sends
+ * @property send       sends pending push and returns the actual accounts. Throws on failure
+ * @property onDropped  called if push is rejected and dropped, so the remote accounts differ from the local ones
+ * @property retryDelay delay before retry by number of attempt
+ *
+ * @param userWalletsListRepository user wallets list repository
+ */
+@Suppress("TooGenericExceptionCaught")
+internal class WalletAccountsPushOutbox(
+    private val store: WalletAccountsOutboxStore,
+    private val scope: CoroutineScope,
+    userWalletsListRepository: UserWalletsListRepository,
+    private val send: suspend (UserWalletId, PendingWalletAccountsPush) -> GetWalletAccountsResponse,
+    private val onDropped: suspend (UserWalletId) -> Unit,
+    private val retryDelay: (attempt: Int) -> Duration = { attempt -> getDefaultRetryDelay(attempt) },
+) {
+
+    private val senders = ConcurrentHashMap<String, Sender>()
+
+    init {
+        userWalletsListRepository.userWallets
+            .filterNotNull()
+            .onEach { userWallets -> retain(userWallets.mapTo(hashSetOf(), UserWallet::walletId)) }
+            .launchIn(scope)
+    }
+
+    /** Flow of flag that [userWalletId] has changes that aren't pushed yet */
+    fun hasPendingChanges(userWalletId: UserWalletId): Flow<Boolean> {
+        return store.data
+            .map { pushes -> userWalletId.stringValue in pushes }
+            .distinctUntilChanged()
+    }
+
+    /** Persist push of [accounts] of [userWalletId] that were changed from [base]. It isn't sent until [flush] */
+    suspend fun enqueue(userWalletId: UserWalletId, accounts: List<WalletAccountDTO>, base: List<WalletAccountDTO>?) {
+        val key = userWalletId.stringValue
+
+        store.updateData { pushes ->
+            val prevPush = pushes[key]
+
+            // base of the first coalesced change is kept, because the following changes are derived from it
+            val push = PendingWalletAccountsPush(
+                accounts = accounts,
+                base = if (prevPush != null) prevPush.base else base,
+                version = (prevPush?.version ?: 0L) + 1,
+            )
+
+            pushes + (key to push)
+        }
+    }
+
+    /** Send pending push of [userWalletId] in background */
+    fun flush(userWalletId: UserWalletId) {
+        senders.computeIfAbsent(userWalletId.stringValue) { Sender(userWalletId) }.signals.trySend(Unit)
+    }
+
+    /** Drop pushes of wallets that aren't in [userWalletIds] and send pushes that aren't sent before restart */
+    private suspend fun retain(userWalletIds: Set<UserWalletId>) {
+        val keys = userWalletIds.mapTo(hashSetOf(), UserWalletId::stringValue)
+
+        senders.keys.filterNot(keys::contains).forEach { key -> senders.remove(key)?.cancel() }
+
+        val pendingPushes = try {
+            store.updateData { pushes -> pushes.filterKeys(keys::contains) }
+        } catch (e: Exception) {
+            TangemLogger.e("Unable to restore pending wallet accounts pushes", e)
+            return
+        }
+
+        pendingPushes.keys.filterNot(senders::containsKey).forEach { key -> flush(UserWalletId(key)) }
+    }
+
+    /** Send pending push of [userWalletId]. Returns true if it failed and should be retried */
+    private suspend fun sendPending(userWalletId: UserWalletId): Boolean {
+        val key = userWalletId.stringValue
+        val push = store.data.first()[key] ?: return false
+
+        try {
+            send(userWalletId, push)
+        } catch (e: CancellationException) {
+            throw e
+        } catch (e: Exception) {
+            if (e.isRetriable()) return true
+
+            TangemLogger.e("Wallet accounts push is rejected", e)
+            remove(key = key, version = push.version)
+            onDropped(userWalletId)
+
+            return false
+        }
+
+        remove(key = key, version = push.version)
+
+        return false
+    }
+
+    private suspend fun remove(key: String, version: Long) {
+        try {
+            store.updateData { pushes ->
+                // push is replaced by newer one that is sent by the next flush
+                if (pushes[key]?.version == version) pushes - key else pushes
+            }
+        } catch (e: Exception) {
+            TangemLogger.e("Unable to remove wallet accounts push", e)
+        }
+    }
+
+    private fun Exception.isRetriable(): Boolean {
+        return when (this) {
+            is ApiResponseError.NetworkException,
+            is ApiResponseError.TimeoutException,
+            -> true
+            is ApiResponseError.HttpException -> {
+                isServerError() || code == Code.TOO_MANY_REQUESTS || code == Code.REQUEST_TIMEOUT
+            }
+            else -> false
+        }
+    }
+
+    /**
+     * Sender of pushes of [userWalletId]. Signals of [flush] are conflated, because every send takes the latest push
+     */
+    private inner class Sender(private val userWalletId: UserWalletId) {
+
+        val signals = Channel<Unit>(capacity = Channel.CONFLATED)
+
+        private val job = scope.launch {
+            signals.consumeEach {
+                var attempt = 0
+
+                while (sendPendingSafely()) {
+                    delay(retryDelay(attempt++))
+                }
+            }
+        }
+
+        fun cancel() {
+            job.cancel()
+        }
+
+        private suspend fun sendPendingSafely(): Boolean {
+            return try {
+                sendPending(userWalletId)
+            } catch (e: CancellationException) {
+                throw e
+            } catch (e: Exception) {
+                TangemLogger.e("Unable to send wallet accounts push", e)
+                false
+            }
+        }
+    }
+
+    private companion object {
+
+        val INITIAL_RETRY_DELAY = 5.seconds
+        val MAX_RETRY_DELAY = 5.minutes
+        const val MAX_RETRY_DELAY_SHIFT = 10
+
+        fun getDefaultRetryDelay(attempt: Int): Duration {
+            return (INITIAL_RETRY_DELAY * (1 shl attempt.coerceAtMost(MAX_RETRY_DELAY_SHIFT))).coerceAtMost(
+                MAX_RETRY_DELAY,
+            )
+        }
+    }
+}
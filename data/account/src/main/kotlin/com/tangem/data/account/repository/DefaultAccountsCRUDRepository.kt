@@ -141,16 +141,18 @@ internal class DefaultAccountsCRUDRepository(
     }
 
     override suspend fun saveAccounts(accountList: AccountList) {
-        val converter = convertersContainer.createCryptoPortfolioConverter(userWalletId = accountList.userWalletId)
-
-        val accountDTOs = converter.convertListBack(
-            input = accountList.accounts.filterIsInstance<Account.CryptoPortfolio>(),
+        val converter = convertersContainer.createWalletAccountsResponseConverter(
+            userWalletId = accountList.userWalletId,
         )
 
-        val syncedResponse = walletAccountsSaver.push(userWalletId = accountList.userWalletId, accounts = accountDTOs)
-            ?: error("Failed to push accounts for wallet: ${accountList.userWalletId}")
+        walletAccountsSaver.push(
+            userWalletId = accountList.userWalletId,
+            response = converter.convert(accountList),
+        )
+    }
 
-        walletAccountsSaver.store(userWalletId = accountList.userWalletId, response = syncedResponse)
+    override fun hasPendingChanges(userWalletId: UserWalletId): Flow<Boolean> {
+        return walletAccountsSaver.hasPendingChanges(userWalletId)
     }
 
     override suspend fun saveAccount(account: Account.CryptoPortfolio) {
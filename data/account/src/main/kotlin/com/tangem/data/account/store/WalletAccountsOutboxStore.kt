@@ -0,0 +1,24 @@
+package com.tangem.data.account.store
+
+import androidx.datastore.core.DataStore
+import com.squareup.moshi.Json
+import com.squareup.moshi.JsonClass
+import com.tangem.datasource.api.tangemTech.models.account.WalletAccountDTO
+
+/** Store of wallet accounts changes that aren't pushed yet, by user wallet id */
+typealias WalletAccountsOutboxStore = DataStore<Map<String, PendingWalletAccountsPush>>
+
+/**
+ * Wallet accounts change that isn't pushed yet
+ *
+ * @property accounts accounts to push
+ * @property base     accounts from [AccountsResponseStore] before the first coalesced change.
+ *                    It is used to merge [accounts] with the remote accounts on ETag conflict
+ * @property version  version of the change. Every coalesced change increments it
+ */
+@JsonClass(generateAdapter = true)
+data class PendingWalletAccountsPush(
+    @Json(name = "accounts") val accounts: List<WalletAccountDTO>,
+    @Json(name = "base") val base: List<WalletAccountDTO>?,
+    @Json(name = "version") val version: Long,
+)
@@ -2,11 +2,14 @@ package com.tangem.data.account.fetcher
 
 import arrow.core.right
 import com.google.common.truth.Truth
+import com.tangem.common.test.TestAppCoroutineScope
+import com.tangem.common.test.datastore.MockStateDataStore
 import com.tangem.data.account.converter.createGetWalletAccountsResponse
 import com.tangem.data.account.converter.createWalletAccountDTO
 import com.tangem.data.account.fetcher.DefaultWalletAccountsFetcher.FetchResult
 import com.tangem.data.account.store.AccountsResponseStore
 import com.tangem.data.account.store.AccountsResponseStoreFactory
+import com.tangem.data.account.store.PendingWalletAccountsPush
 import com.tangem.data.account.tokens.DefaultMainAccountTokensMigration
 import com.tangem.data.account.utils.DefaultWalletAccountsResponseFactory
 import com.tangem.data.common.cache.etag.ETagsStore
@@ -19,11 +22,16 @@ import com.tangem.datasource.api.tangemTech.models.UserTokensResponse
 import com.tangem.datasource.api.tangemTech.models.account.GetWalletAccountsResponse
 import com.tangem.datasource.api.tangemTech.models.account.SaveWalletAccountsResponse
 import com.tangem.datasource.api.tangemTech.models.account.toUserTokensResponse
+import com.tangem.domain.common.wallets.UserWalletsListRepository
 import com.tangem.domain.models.wallet.UserWalletId
 import com.tangem.test.core.getEmittedValues
 import com.tangem.utils.coroutines.TestingCoroutineDispatcherProvider
 import io.mockk.*
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.cancelChildren
 import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.runBlocking
 import kotlinx.coroutines.test.runTest
 import org.junit.jupiter.api.*
 
@@ -45,6 +53,11 @@ class DefaultWalletAccountsFetcherTest {
     private val fetchWalletAccountsErrorHandler: FetchWalletAccountsErrorHandler = mockk()
     private val defaultWalletAccountsResponseFactory: DefaultWalletAccountsResponseFactory = mockk()
     private val eTagsStore: ETagsStore = mockk(relaxUnitFun = true)
+    private val walletAccountsOutboxStore = MockStateDataStore<Map<String, PendingWalletAccountsPush>>(emptyMap())
+    private val userWalletsListRepository: UserWalletsListRepository = mockk {
+        every { userWallets } returns MutableStateFlow(value = null)
+    }
+    private val appScope = TestAppCoroutineScope(coroutineContext = SupervisorJob() + Dispatchers.Unconfined)
 
     private val fetcher: DefaultWalletAccountsFetcher = DefaultWalletAccountsFetcher(
         tangemTechApi = tangemTechApi,
@@ -55,6 +68,9 @@ class DefaultWalletAccountsFetcherTest {
         eTagsStore = eTagsStore,
         dispatchers = TestingCoroutineDispatcherProvider(),
         mainAccountTokensMigration = tokensMigration,
+        walletAccountsOutboxStore = walletAccountsOutboxStore,
+        userWalletsListRepository = userWalletsListRepository,
+        appScope = appScope,
     )
 
     private val userWalletId = UserWalletId("011")
@@ -79,6 +95,10 @@ class DefaultWalletAccountsFetcherTest {
         )
 
         accountsResponseStoreFlow.value = null
+
+        // drop pushes that are retried after failures
+        appScope.coroutineContext.cancelChildren()
+        runBlocking { walletAccountsOutboxStore.updateData { emptyMap() } }
     }
 
     @Nested
@@ -257,7 +277,7 @@ class DefaultWalletAccountsFetcherTest {
         }
 
         @Test
-        fun `GIVEN response with empty accounts and push request is failed THEN eTag will be cleared`() = runTest {
+        fun `GIVEN response with empty accounts and push request is rejected THEN eTag will be cleared`() = runTest {
             // Arrange
             val savedAccountsResponse = GetWalletAccountsResponse(
                 wallet = GetWalletAccountsResponse.Wallet(
@@ -300,7 +320,13 @@ class DefaultWalletAccountsFetcherTest {
 
             coEvery { accountsResponseStore.updateData(any()) } returns savedAccountsResponse
 
-            val saveResponse = ApiResponse.Error(ApiResponseError.TimeoutException())
+            val saveResponse = ApiResponse.Error(
+                ApiResponseError.HttpException(
+                    code = ApiResponseError.HttpException.Code.BAD_REQUEST,
+                    message = null,
+                    errorBody = null,
+                ),
+            )
             coEvery {
                 tangemTechApi.saveWalletAccounts(
                     walletId = userWalletId.stringValue,
@@ -421,11 +447,14 @@ class DefaultWalletAccountsFetcherTest {
                 )
             } returns ApiResponse.Success(data = getResponse)
 
+            coEvery { accountsResponseStore.updateData(any()) } returns getResponse
+
             // Act
-            fetcher.push(userWalletId, saveResponse)
+            fetcher.push(userWalletId, getResponse)
 
             // Assert
-            coVerify {
+            coVerifyOrder {
+                accountsResponseStore.updateData(any())
                 tangemTechApi.saveWalletAccounts(
                     walletId = userWalletId.stringValue,
                     eTag = eTag,
@@ -435,18 +464,60 @@ class DefaultWalletAccountsFetcherTest {
         }
 
         @Test
-        fun `push should throw error when saveWalletAccounts returns PRECONDITION_FAILED`() = runTest {
+        fun `push should merge accounts when saveWalletAccounts returns PRECONDITION_FAILED`() = runTest {
             // Arrange
-            val accounts = listOf(
-                createWalletAccountDTO(userWalletId = userWalletId, tokens = null),
-            )
-            val response = SaveWalletAccountsResponse(accounts)
-            val apiError = ApiResponseError.HttpException(
-                code = ApiResponseError.HttpException.Code.PRECONDITION_FAILED,
-                message = null,
-                errorBody = null,
+            val localAccount = createWalletAccountDTO(userWalletId = userWalletId, tokens = null)
+            val remoteAccount = createWalletAccountDTO(
+                userWalletId = userWalletId,
+                accountId = "remote",
+                derivationIndex = 1,
+                tokens = null,
             )
-            val saveApiResponse = ApiResponse.Error(apiError)
+            val remoteResponse = createGetWalletAccountsResponse(userWalletId, tokens = null)
+                .copy(accounts = listOf(remoteAccount))
+            val mergedBody = SaveWalletAccountsResponse(listOf(localAccount, remoteAccount))
+            val mergedResponse = remoteResponse.copy(accounts = mergedBody.accounts)
+            val newETag = "newEtag"
+
+            coEvery {
+                tangemTechApi.saveWalletAccounts(
+                    walletId = userWalletId.stringValue,
+                    eTag = eTag,
+                    body = SaveWalletAccountsResponse(listOf(localAccount)),
+                )
+            } returns ApiResponse.Error(preconditionFailedError) as ApiResponse<GetWalletAccountsResponse>
+            coEvery {
+                tangemTechApi.getWalletAccounts(walletId = userWalletId.stringValue, eTag = null)
+            } returns ApiResponse.Success(data = remoteResponse, headers = mapOf(ETAG_HEADER to listOf(newETag)))
+            coEvery {
+                tangemTechApi.saveWalletAccounts(walletId = userWalletId.stringValue, eTag = eTag, body = mergedBody)
+            } returns ApiResponse.Success(data = mergedResponse)
+            coEvery { accountsResponseStore.updateData(any()) } returns mergedResponse
+
+            // Act
+            fetcher.push(userWalletId, remoteResponse.copy(accounts = listOf(localAccount)))
+
+            // Assert
+            Truth.assertThat(getEmittedValues(fetcher.hasPendingChanges(userWalletId))).containsExactly(false)
+
+            coVerifyOrder {
+                tangemTechApi.saveWalletAccounts(
+                    walletId = userWalletId.stringValue,
+                    eTag = eTag,
+                    body = SaveWalletAccountsResponse(listOf(localAccount)),
+                )
+                tangemTechApi.getWalletAccounts(walletId = userWalletId.stringValue, eTag = null)
+                eTagsStore.store(userWalletId = userWalletId, key = ETagsStore.Key.WalletAccounts, value = newETag)
+                tangemTechApi.saveWalletAccounts(walletId = userWalletId.stringValue, eTag = eTag, body = mergedBody)
+            }
+        }
+
+        @Test
+        fun `push should be dropped when merged accounts are rejected with PRECONDITION_FAILED`() = runTest {
+            // Arrange
+            val localResponse = createGetWalletAccountsResponse(userWalletId, tokens = null)
+            val response = SaveWalletAccountsResponse(localResponse.accounts)
+            val saveApiResponse = ApiResponse.Error(preconditionFailedError)
             coEvery {
                 tangemTechApi.saveWalletAccounts(
                     walletId = userWalletId.stringValue,
@@ -454,13 +525,46 @@ class DefaultWalletAccountsFetcherTest {
                     body = response,
                 )
             } returns saveApiResponse as ApiResponse<GetWalletAccountsResponse>
+            coEvery {
+                tangemTechApi.getWalletAccounts(walletId = userWalletId.stringValue, eTag = null)
+            } returns ApiResponse.Success(data = createGetWalletAccountsResponse(userWalletId, tokens = null))
+            coEvery { accountsResponseStore.updateData(any()) } returns localResponse
 
             // Act
-            val actual = runCatching { fetcher.push(userWalletId, response) }.exceptionOrNull()!!
+            fetcher.push(userWalletId, localResponse)
 
             // Assert
-            Truth.assertThat(actual).isEqualTo(apiError)
+            Truth.assertThat(getEmittedValues(fetcher.hasPendingChanges(userWalletId))).containsExactly(false)
+            coVerify { eTagsStore.clear(userWalletId, ETagsStore.Key.WalletAccounts) }
         }
+
+        @Test
+        fun `push should keep pending changes when saveWalletAccounts fails because of network`() = runTest {
+            // Arrange
+            val localResponse = createGetWalletAccountsResponse(userWalletId, tokens = null)
+            val response = SaveWalletAccountsResponse(localResponse.accounts)
+            coEvery {
+                tangemTechApi.saveWalletAccounts(
+                    walletId = userWalletId.stringValue,
+                    eTag = eTag,
+                    body = response,
+                )
+            } returns ApiResponse.Error(ApiResponseError.NetworkException()) as ApiResponse<GetWalletAccountsResponse>
+            coEvery { accountsResponseStore.updateData(any()) } returns localResponse
+
+            // Act
+            fetcher.push(userWalletId, localResponse)
+
+            // Assert
+            coVerify { accountsResponseStore.updateData(any()) }
+            Truth.assertThat(getEmittedValues(fetcher.hasPendingChanges(userWalletId))).containsExactly(true)
+        }
+
+        private val preconditionFailedError = ApiResponseError.HttpException(
+            code = ApiResponseError.HttpException.Code.PRECONDITION_FAILED,
+            message = null,
+            errorBody = null,
+        )
     }
 
     private fun createToken(
@@ -0,0 +1,113 @@
+package com.tangem.data.account.fetcher
+
+import com.google.common.truth.Truth
+import com.tangem.datasource.api.tangemTech.models.account.WalletAccountDTO
+import org.junit.jupiter.api.Test
+
+class WalletAccountsMergerTest {
+
+    @Test
+    fun `merge should take remote change of account that is unchanged locally`() {
+        // Arrange
+        val base = listOf(createAccount(id = "1"))
+        val remote = listOf(createAccount(id = "1", name = "Remote"))
+
+        // Act
+        val actual = WalletAccountsMerger.merge(base = base, local = base, remote = remote)
+
+        // Assert
+        Truth.assertThat(actual).containsExactlyElementsIn(remote).inOrder()
+    }
+
+    @Test
+    fun `merge should take local change of account that is unchanged remotely`() {
+        // Arrange
+        val base = listOf(createAccount(id = "1"))
+        val local = listOf(createAccount(id = "1", name = "Local"))
+
+        // Act
+        val actual = WalletAccountsMerger.merge(base = base, local = local, remote = base)
+
+        // Assert
+        Truth.assertThat(actual).containsExactlyElementsIn(local).inOrder()
+    }
+
+    @Test
+    fun `merge should prefer local change of account that is changed on both sides`() {
+        // Arrange
+        val base = listOf(createAccount(id = "1"))
+        val local = listOf(createAccount(id = "1", name = "Local"))
+        val remote = listOf(createAccount(id = "1", name = "Remote"))
+
+        // Act
+        val actual = WalletAccountsMerger.merge(base = base, local = local, remote = remote)
+
+        // Assert
+        Truth.assertThat(actual).containsExactlyElementsIn(local).inOrder()
+    }
+
+    @Test
+    fun `merge should keep accounts added on both sides in local order`() {
+        // Arrange
+        val base = listOf(createAccount(id = "1"))
+        val local = base + createAccount(id = "2")
+        val remote = base + createAccount(id = "3")
+
+        // Act
+        val actual = WalletAccountsMerger.merge(base = base, local = local, remote = remote)
+
+        // Assert
+        val expected = listOf(createAccount(id = "1"), createAccount(id = "2"), createAccount(id = "3"))
+        Truth.assertThat(actual).containsExactlyElementsIn(expected).inOrder()
+    }
+
+    @Test
+    fun `merge should apply deletion of account that is unchanged on other side`() {
+        // Arrange
+        val base = listOf(createAccount(id = "1"), createAccount(id = "2"), createAccount(id = "3"))
+        val local = listOf(createAccount(id = "1"), createAccount(id = "3"))
+        val remote = listOf(createAccount(id = "1"), createAccount(id = "2"))
+
+        // Act
+        val actual = WalletAccountsMerger.merge(base = base, local = local, remote = remote)
+
+        // Assert
+        Truth.assertThat(actual).containsExactly(createAccount(id = "1"))
+    }
+
+    @Test
+    fun `merge should keep account that is deleted locally and changed remotely`() {
+        // Arrange
+        val base = listOf(createAccount(id = "1"), createAccount(id = "2"))
+        val local = listOf(createAccount(id = "1"))
+        val remote = listOf(createAccount(id = "1"), createAccount(id = "2", name = "Remote"))
+
+        // Act
+        val actual = WalletAccountsMerger.merge(base = base, local = local, remote = remote)
+
+        // Assert
+        Truth.assertThat(actual).containsExactlyElementsIn(remote).inOrder()
+    }
+
+    @Test
+    fun `merge should keep accounts of both sides if base is unknown`() {
+        // Arrange
+        val local = listOf(createAccount(id = "1", name = "Local"), createAccount(id = "2"))
+        val remote = listOf(createAccount(id = "1", name = "Remote"), createAccount(id = "3"))
+
+        // Act
+        val actual = WalletAccountsMerger.merge(base = null, local = local, remote = remote)
+
+        // Assert
+        val expected = local + createAccount(id = "3")
+        Truth.assertThat(actual).containsExactlyElementsIn(expected).inOrder()
+    }
+
+    private fun createAccount(id: String, name: String? = null) = WalletAccountDTO(
+        id = id,
+        name = name,
+        derivationIndex = id.toInt(),
+        icon = "icon",
+        iconColor = "color",
+    )
+}
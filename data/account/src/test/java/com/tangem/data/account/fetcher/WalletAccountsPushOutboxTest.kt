@@ -0,0 +1,179 @@
+package com.tangem.data.account.fetcher
+
+import com.google.common.truth.Truth
+import com.tangem.common.test.datastore.MockStateDataStore
+import com.tangem.data.account.converter.createGetWalletAccountsResponse
+import com.tangem.data.account.store.PendingWalletAccountsPush
+import com.tangem.datasource.api.common.response.ApiResponseError
+import com.tangem.datasource.api.tangemTech.models.account.GetWalletAccountsResponse
+import com.tangem.datasource.api.tangemTech.models.account.WalletAccountDTO
+import com.tangem.domain.common.wallets.UserWalletsListRepository
+import com.tangem.domain.models.wallet.UserWallet
+import com.tangem.domain.models.wallet.UserWalletId
+import io.mockk.every
+import io.mockk.mockk
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.test.TestScope
+import kotlinx.coroutines.test.advanceTimeBy
+import kotlinx.coroutines.test.runCurrent
+import kotlinx.coroutines.test.runTest
+import org.junit.jupiter.api.Test
+import kotlin.time.Duration.Companion.seconds
+
+class WalletAccountsPushOutboxTest {
+
+    private val userWalletId = UserWalletId("011")
+    private val response = createGetWalletAccountsResponse(userWalletId)
+    private val store = MockStateDataStore<Map<String, PendingWalletAccountsPush>>(emptyMap())
+    private val userWalletsFlow = MutableStateFlow<List<UserWallet>?>(null)
+    private val userWalletsListRepository = mockk<UserWalletsListRepository> {
+        every { userWallets } returns userWalletsFlow
+    }
+    private val sentPushes = mutableListOf<PendingWalletAccountsPush>()
+    private val droppedWalletIds = mutableListOf<UserWalletId>()
+
+    @Test
+    fun `pushes that are enqueued during send are coalesced into one send`() = runTest {
+        // Arrange
+        val firstSendGate = CompletableDeferred<Unit>()
+        val outbox = createOutbox {
+            if (sentPushes.size == 1) firstSendGate.await()
+            response
+        }
+
+        // Act
+        outbox.enqueue(userWalletId, accounts = createAccounts(count = 1), base = null)
+        outbox.flush(userWalletId)
+        runCurrent()
+
+        (2..4).forEach { count ->
+            outbox.enqueue(userWalletId, accounts = createAccounts(count), base = null)
+            outbox.flush(userWalletId)
+        }
+        firstSendGate.complete(Unit)
+        runCurrent()
+
+        // Assert
+        Truth.assertThat(sentPushes.map { it.accounts.size }).containsExactly(1, 4).inOrder()
+        Truth.assertThat(store.data.first()).isEmpty()
+    }
+
+    @Test
+    fun `push that failed because of network is kept and retried`() = runTest {
+        // Arrange
+        var isOnline = false
+        val outbox = createOutbox {
+            if (!isOnline) throw ApiResponseError.NetworkException()
+            response
+        }
+
+        // Act
+        outbox.enqueue(userWalletId, accounts = createAccounts(count = 1), base = null)
+        outbox.flush(userWalletId)
+        runCurrent()
+        val hasPendingChangesOffline = outbox.hasPendingChanges(userWalletId).first()
+
+        isOnline = true
+        advanceTimeBy(RETRY_DELAY)
+        runCurrent()
+
+        // Assert
+        Truth.assertThat(hasPendingChangesOffline).isTrue()
+        Truth.assertThat(outbox.hasPendingChanges(userWalletId).first()).isFalse()
+        Truth.assertThat(sentPushes).hasSize(2)
+    }
+
+    @Test
+    fun `push that isn't sent before restart is restored and sent`() = runTest {
+        // Arrange
+        val pendingPush = PendingWalletAccountsPush(accounts = createAccounts(count = 2), base = null, version = 1)
+        store.updateData { mapOf(userWalletId.stringValue to pendingPush) }
+
+        // Act
+        createOutbox { response }
+        userWalletsFlow.value = listOf(createUserWallet(userWalletId))
+        runCurrent()
+
+        // Assert
+        Truth.assertThat(sentPushes).containsExactly(pendingPush)
+        Truth.assertThat(store.data.first()).isEmpty()
+    }
+
+    @Test
+    fun `push that is rejected by server is dropped`() = runTest {
+        // Arrange
+        val error = ApiResponseError.HttpException(
+            code = ApiResponseError.HttpException.Code.BAD_REQUEST,
+            message = null,
+            errorBody = null,
+        )
+        val outbox = createOutbox { throw error }
+
+        // Act
+        outbox.enqueue(userWalletId, accounts = createAccounts(count = 1), base = null)
+        outbox.flush(userWalletId)
+        runCurrent()
+
+        // Assert
+        Truth.assertThat(store.data.first()).isEmpty()
+        Truth.assertThat(droppedWalletIds).containsExactly(userWalletId)
+    }
+
+    @Test
+    fun `pushes and retries of deleted wallet are dropped`() = runTest {
+        // Arrange
+        val outbox = createOutbox { throw ApiResponseError.NetworkException() }
+        userWalletsFlow.value = listOf(createUserWallet(userWalletId))
+        outbox.enqueue(userWalletId, accounts = createAccounts(count = 1), base = null)
+        outbox.flush(userWalletId)
+        runCurrent()
+
+        // Act
+        userWalletsFlow.value = emptyList()
+        runCurrent()
+        advanceTimeBy(RETRY_DELAY)
+        runCurrent()
+
+        // Assert
+        Truth.assertThat(sentPushes).hasSize(1)
+        Truth.assertThat(store.data.first()).isEmpty()
+    }
+
+    private fun TestScope.createOutbox(
+        send: suspend (PendingWalletAccountsPush) -> GetWalletAccountsResponse,
+    ): WalletAccountsPushOutbox {
+        return WalletAccountsPushOutbox(
+            store = store,
+            scope = backgroundScope,
+            userWalletsListRepository = userWalletsListRepository,
+            send = { _, push ->
+                sentPushes += push
+                send(push)
+            },
+            onDropped = { droppedWalletIds += it },
+            retryDelay = { RETRY_DELAY },
+        )
+    }
+
+    private fun createUserWallet(userWalletId: UserWalletId): UserWallet = mockk<UserWallet.Hot> {
+        every { walletId } returns userWalletId
+    }
+
+    private fun createAccounts(count: Int): List<WalletAccountDTO> {
+        return List(count) { index ->
+            WalletAccountDTO(
+                id = index.toString(),
+                name = null,
+                derivationIndex = index,
+                icon = "icon",
+                iconColor = "color",
+            )
+        }
+    }
+
+    private companion object {
+        val RETRY_DELAY = 5.seconds
+    }
+}
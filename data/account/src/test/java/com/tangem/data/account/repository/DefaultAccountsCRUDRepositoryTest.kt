@@ -99,6 +99,7 @@ class DefaultAccountsCRUDRepositoryTest {
             archivedAccountsStoreFactory,
             accountListConverter,
             cryptoPortfolioConverter,
+            walletAccountsSaver,
         )
     }
 
@@ -583,52 +584,43 @@ class DefaultAccountsCRUDRepositoryTest {
     inner class SaveAccounts {
 
         @Test
-        fun `saveAccounts should call API and update store`() = runTest {
+        fun `saveAccounts should push accounts and return without waiting for API`() = runTest {
             // Arrange
             val accountList = AccountList.empty(userWalletId = userWalletId)
-            val accounts = accountList.accounts.filterIsInstance<CryptoPortfolio>()
-
             val accountsResponse = createGetWalletAccountsResponse(userWalletId)
-            accountsResponseStoreFlow.value = accountsResponse
 
-            val converter = mockk<CryptoPortfolioConverter> {
-                every { this@mockk.convertListBack(accounts) } returns accountsResponse.accounts
+            val converter = mockk<GetWalletAccountsResponseConverter> {
+                every { this@mockk.convert(accountList) } returns accountsResponse
             }
 
-            every { convertersContainer.createCryptoPortfolioConverter(userWalletId) } returns converter
-            coEvery { walletAccountsSaver.push(userWalletId, accountsResponse.accounts) } returns accountsResponse
+            every { convertersContainer.createWalletAccountsResponseConverter(userWalletId) } returns converter
 
             // Act
             repository.saveAccounts(accountList)
 
             // Assert
-            Truth.assertThat(accountsResponseStoreFlow.value).isEqualTo(accountsResponse)
-
             coVerifyOrder {
-                convertersContainer.createCryptoPortfolioConverter(userWalletId)
-                converter.convertListBack(accounts)
-                walletAccountsSaver.push(userWalletId, accountsResponse.accounts)
+                convertersContainer.createWalletAccountsResponseConverter(userWalletId)
+                converter.convert(accountList)
+                walletAccountsSaver.push(userWalletId, accountsResponse)
             }
         }
 
         @Test
-        fun `saveAccounts if API request is failed`() = runTest {
+        fun `saveAccounts if push isn't persisted`() = runTest {
             // Arrange
             val accountList = AccountList.empty(userWalletId = userWalletId)
-            val accounts = accountList.accounts.filterIsInstance<CryptoPortfolio>()
-
             val accountsResponse = createGetWalletAccountsResponse(userWalletId)
-            accountsResponseStoreFlow.value = accountsResponse
 
-            val converter = mockk<CryptoPortfolioConverter> {
-                every { this@mockk.convertListBack(accounts) } returns accountsResponse.accounts
+            val converter = mockk<GetWalletAccountsResponseConverter> {
+                every { this@mockk.convert(accountList) } returns accountsResponse
             }
 
-            every { convertersContainer.createCryptoPortfolioConverter(userWalletId) } returns converter
+            every { convertersContainer.createWalletAccountsResponseConverter(userWalletId) } returns converter
 
             val exception = Exception("Test error")
 
-            coEvery { walletAccountsSaver.push(userWalletId, accountsResponse.accounts) } throws exception
+            coEvery { walletAccountsSaver.push(userWalletId, accountsResponse) } throws exception
 
             // Act
             val actual = runCatching { repository.saveAccounts(accountList) }.exceptionOrNull()!!
@@ -636,11 +628,6 @@ class DefaultAccountsCRUDRepositoryTest {
             // Assert
             Truth.assertThat(actual).isInstanceOf(exception::class.java)
             Truth.assertThat(actual).hasMessageThat().isEqualTo(exception.message)
-
-            coVerifyOrder {
-                convertersContainer.createCryptoPortfolioConverter(userWalletId)
-                converter.convertListBack(accounts)
-            }
         }
     }
 
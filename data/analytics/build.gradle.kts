@@ -2,6 +2,7 @@ plugins {
     alias(deps.plugins.android.library)
     alias(deps.plugins.kotlin.android)
     alias(deps.plugins.kotlin.kapt)
+    alias(deps.plugins.ksp)
     id("configuration")
 }
 
@@ -17,6 +18,7 @@ dependencies {
     implementation(projects.domain.wallets.models)
 
     /** Project - Analytics */
+    implementation(projects.core.analytics)
     implementation(projects.core.analytics.models)
     implementation(projects.core.utils)
 
@@ -33,4 +35,7 @@ dependencies {
 
     /** Other */
     implementation(deps.kotlin.coroutines)
+    implementation(deps.moshi)
+    implementation(deps.moshi.kotlin)
+    ksp(deps.moshi.kotlin.codegen)
 }
\ No newline at end of file
@@ -19,6 +19,10 @@ internal class DefaultAnalyticsRepository(
         return eventId in sentEvents
     }
 
+    override suspend fun getSentEventIds(): Set<String> {
+        return appPreferencesStore.getObjectListSync<String>(PreferencesKeys.SENT_ONE_TIME_EVENTS_KEY).toSet()
+    }
+
     override suspend fun setIsEventSent(eventId: String) {
         appPreferencesStore.editData { mutablePreferences ->
             val sentEvents = mutablePreferences.getObjectList<String>(PreferencesKeys.SENT_ONE_TIME_EVENTS_KEY)
@@ -1,12 +1,25 @@
 package com.tangem.data.analytics.di
 
+import android.content.Context
+import androidx.datastore.core.DataStoreFactory
+import androidx.datastore.dataStoreFile
+import com.squareup.moshi.Moshi
+import com.tangem.core.analytics.api.PendingAnalyticsEventsStore
 import com.tangem.data.analytics.DefaultAnalyticsRepository
+import com.tangem.data.analytics.store.DefaultPendingAnalyticsEventsStore
+import com.tangem.data.analytics.store.PendingAnalyticsEventDTO
+import com.tangem.datasource.di.NetworkMoshi
 import com.tangem.datasource.local.preferences.AppPreferencesStore
+import com.tangem.datasource.utils.MoshiDataStoreSerializer
+import com.tangem.datasource.utils.listTypes
 import com.tangem.domain.analytics.repository.AnalyticsRepository
+import com.tangem.utils.coroutines.AppCoroutineScope
 import dagger.Module
 import dagger.Provides
 import dagger.hilt.InstallIn
+import dagger.hilt.android.qualifiers.ApplicationContext
 import dagger.hilt.components.SingletonComponent
+import javax.inject.Singleton
 
 @Module
 @InstallIn(SingletonComponent::class)
@@ -16,4 +29,24 @@ internal object AnalyticsDataModule {
     fun provideAnalyticsRepository(appPreferencesStore: AppPreferencesStore): AnalyticsRepository {
         return DefaultAnalyticsRepository(appPreferencesStore)
     }
-}
\ No newline at end of file
+
+    @Provides
+    @Singleton
+    fun providePendingAnalyticsEventsStore(
+        @NetworkMoshi moshi: Moshi,
+        @ApplicationContext context: Context,
+        appScope: AppCoroutineScope,
+    ): PendingAnalyticsEventsStore {
+        return DefaultPendingAnalyticsEventsStore(
+            dataStore = DataStoreFactory.create(
+                serializer = MoshiDataStoreSerializer(
+                    moshi = moshi,
+                    types = listTypes<PendingAnalyticsEventDTO>(),
+                    defaultValue = emptyList(),
+                ),
+                produceFile = { context.dataStoreFile(fileName = "pending_analytics_events") },
+                scope = appScope,
+            ),
+        )
+    }
+}
@@ -0,0 +1,66 @@
+package com.tangem.data.analytics.store
+
+import androidx.datastore.core.DataStore
+import com.tangem.core.analytics.api.PendingAnalyticsEvent
+import com.tangem.core.analytics.api.PendingAnalyticsEventsStore
+import kotlinx.coroutines.flow.firstOrNull
+
+/**
+ * [PendingAnalyticsEventsStore] that persists events in [dataStore].
+ * Only the last [MAX_EVENTS_COUNT] events are kept, so the file doesn't grow if handlers are unavailable.
+ *
+ * @property dataStore data store of pending events
+ */
+internal class DefaultPendingAnalyticsEventsStore(
+    private val dataStore: DataStore<List<PendingAnalyticsEventDTO>>,
+) : PendingAnalyticsEventsStore {
+
+    override suspend fun getAll(): List<PendingAnalyticsEvent> {
+        return dataStore.data.firstOrNull().orEmpty().map { it.toDomain() }
+    }
+
+    override suspend fun update(added: List<PendingAnalyticsEvent>, removedIds: Set<String>) {
+        dataStore.updateData { stored ->
+            val remaining = if (removedIds.isEmpty()) stored else stored.filterNot { it.id in removedIds }
+
+            (remaining + added.map { it.toDTO() }).takeLast(MAX_EVENTS_COUNT)
+        }
+    }
+
+    private fun PendingAnalyticsEventDTO.toDomain(): PendingAnalyticsEvent {
+        return PendingAnalyticsEvent(
+            id = id,
+            category = category,
+            event = event,
+            params = params,
+            handlerIds = handlerIds,
+            marker = when (marker) {
+                PendingAnalyticsEventDTO.Marker.APPS_FLYER_ONLY -> PendingAnalyticsEvent.Marker.AppsFlyerOnly
+                PendingAnalyticsEventDTO.Marker.APPS_FLYER_INCLUDED -> {
+                    PendingAnalyticsEvent.Marker.AppsFlyerIncluded(replacedEvent = appsFlyerReplacedEvent)
+                }
+                null -> PendingAnalyticsEvent.Marker.None
+            },
+        )
+    }
+
+    private fun PendingAnalyticsEvent.toDTO(): PendingAnalyticsEventDTO {
+        return PendingAnalyticsEventDTO(
+            id = id,
+            category = category,
+            event = event,
+            params = params,
+            handlerIds = handlerIds,
+            marker = when (marker) {
+                PendingAnalyticsEvent.Marker.None -> null
+                PendingAnalyticsEvent.Marker.AppsFlyerOnly -> PendingAnalyticsEventDTO.Marker.APPS_FLYER_ONLY
+                is PendingAnalyticsEvent.Marker.AppsFlyerIncluded -> PendingAnalyticsEventDTO.Marker.APPS_FLYER_INCLUDED
+            },
+            appsFlyerReplacedEvent = (marker as? PendingAnalyticsEvent.Marker.AppsFlyerIncluded)?.replacedEvent,
+        )
+    }
+
+    private companion object {
+        const val MAX_EVENTS_COUNT = 500
+    }
+}
@@ -0,0 +1,26 @@
+package com.tangem.data.analytics.store
+
+import com.squareup.moshi.JsonClass
+
+/**
+ * Persisted [com.tangem.core.analytics.api.PendingAnalyticsEvent]
+ *
+ * @property marker                 marker type of event, null if event has no marker type
+ * @property appsFlyerReplacedEvent event name that is sent to AppsFlyer instead of [event]
+ */
+@JsonClass(generateAdapter = true)
+internal data class PendingAnalyticsEventDTO(
+    val id: String,
+    val category: String,
+    val event: String,
+    val params: Map<String, String>,
+    val handlerIds: Set<String>,
+    val marker: Marker? = null,
+    val appsFlyerReplacedEvent: String? = null,
+) {
+
+    enum class Marker {
+        APPS_FLYER_ONLY,
+        APPS_FLYER_INCLUDED,
+    }
+}
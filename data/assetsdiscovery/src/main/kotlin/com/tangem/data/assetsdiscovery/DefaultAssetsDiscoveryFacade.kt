@@ -5,10 +5,12 @@ import com.tangem.blockchain.common.address.AddressType
 import com.tangem.blockchainsdk.BlockchainSDKFactory
 import com.tangem.blockchainsdk.utils.toBlockchain
 import com.tangem.crypto.hdWallet.DerivationPath
+import com.tangem.data.walletmanager.DerivedAddressesCache
 import com.tangem.data.walletmanager.extensions.makePublicKey
 import com.tangem.domain.assetsdiscovery.AssetsDiscoveryFacade
 import com.tangem.domain.common.wallets.UserWalletsListRepository
 import com.tangem.domain.common.wallets.getSyncStrict
+import com.tangem.domain.models.MobileWallet
 import com.tangem.domain.models.network.Network
 import com.tangem.domain.models.wallet.UserWallet
 import com.tangem.domain.models.wallet.UserWalletId
@@ -22,6 +24,7 @@ internal class DefaultAssetsDiscoveryFacade @Inject constructor(
     private val blockchainSDKFactory: BlockchainSDKFactory,
     private val userWalletsListRepository: UserWalletsListRepository,
     private val dispatchers: CoroutineDispatcherProvider,
+    private val derivedAddressesCache: DerivedAddressesCache,
 ) : AssetsDiscoveryFacade {
 
     override suspend fun getAssetsDiscoveryService(
@@ -49,6 +52,19 @@ internal class DefaultAssetsDiscoveryFacade @Inject constructor(
         val selectedWallet = hotWallet.wallets.orEmpty().firstOrNull { it.curve == curve }
             ?: return null
 
+        val key = DerivedAddressesCache.Key(
+            seedKey = selectedWallet.publicKey,
+            curve = selectedWallet.curve,
+            derivationPath = derivationPath,
+            blockchain = blockchain,
+        )
+
+        return derivedAddressesCache.getOrDerive(userWalletId = hotWallet.walletId, key = key) {
+            deriveAddress(selectedWallet = selectedWallet, blockchain = blockchain, derivationPath = derivationPath)
+        }
+    }
+
+    private fun deriveAddress(selectedWallet: MobileWallet, blockchain: Blockchain, derivationPath: String?): String? {
         val path = derivationPath?.let { DerivationPath(rawPath = it) }
 
         val publicKey = if (path != null) {
@@ -7,6 +7,7 @@ import com.tangem.data.assetsdiscovery.repository.DefaultAssetsDiscoveryReposito
 import com.tangem.data.assetsdiscovery.store.AssetsDiscoveryStoreFactory
 import com.tangem.data.common.currency.ResponseCryptoCurrenciesFactory
 import com.tangem.data.common.network.NetworkFactory
+import com.tangem.data.walletmanager.DerivedAddressesCache
 import com.tangem.datasource.api.tangemTech.TangemTechApi
 import com.tangem.datasource.local.preferences.AppPreferencesStore
 import com.tangem.domain.assetsdiscovery.AssetsDiscoveryFacade
@@ -29,10 +30,12 @@ internal object AssetsDiscoveryDataModule {
         blockchainSDKFactory: BlockchainSDKFactory,
         userWalletsListRepository: UserWalletsListRepository,
         dispatchers: CoroutineDispatcherProvider,
+        derivedAddressesCache: DerivedAddressesCache,
     ): AssetsDiscoveryFacade = DefaultAssetsDiscoveryFacade(
         blockchainSDKFactory = blockchainSDKFactory,
         userWalletsListRepository = userWalletsListRepository,
         dispatchers = dispatchers,
+        derivedAddressesCache = derivedAddressesCache,
     )
 
     @Provides
@@ -1,9 +1,8 @@
 package com.tangem.data.common.account
 
 import com.tangem.datasource.api.tangemTech.models.account.GetWalletAccountsResponse
-import com.tangem.datasource.api.tangemTech.models.account.SaveWalletAccountsResponse
-import com.tangem.datasource.api.tangemTech.models.account.WalletAccountDTO
 import com.tangem.domain.models.wallet.UserWalletId
+import kotlinx.coroutines.flow.Flow
 
 /**
  * Saver for wallet accounts
@@ -20,11 +19,12 @@ interface WalletAccountsSaver {
         transform: (GetWalletAccountsResponse?) -> GetWalletAccountsResponse?,
     )
 
-    /** Push wallet accounts [body] by [userWalletId] */
-    @Throws
-    suspend fun push(userWalletId: UserWalletId, body: SaveWalletAccountsResponse): GetWalletAccountsResponse?
+    /**
+     * Store wallet accounts [response] by [userWalletId] and push its accounts in background.
+     * Returns once the push is persisted. Failed push is retried, see [hasPendingChanges]
+     */
+    suspend fun push(userWalletId: UserWalletId, response: GetWalletAccountsResponse)
 
-    /** Push wallet accounts [accounts] by [userWalletId] */
-    @Throws
-    suspend fun push(userWalletId: UserWalletId, accounts: List<WalletAccountDTO>): GetWalletAccountsResponse?
+    /** Flow of flag that wallet accounts of [userWalletId] have changes that aren't pushed yet */
+    fun hasPendingChanges(userWalletId: UserWalletId): Flow<Boolean>
 }
\ No newline at end of file
@@ -1,8 +1,9 @@
 package com.tangem.data.common.cache.etag
 
+import androidx.datastore.core.DataStore
 import androidx.datastore.preferences.core.Preferences
+import androidx.datastore.preferences.core.edit
 import androidx.datastore.preferences.core.stringPreferencesKey
-import com.tangem.datasource.local.preferences.AppPreferencesStore
 import com.tangem.datasource.local.preferences.utils.getSyncOrNull
 import com.tangem.datasource.local.preferences.utils.store
 import com.tangem.domain.models.wallet.UserWalletId
@@ -11,16 +12,16 @@ import com.tangem.utils.logging.TangemLogger
 /**
  * Default implementation of the [ETagsStore] interface for managing ETag values
  *
- * @property appPreferencesStore the preferences store used for saving and retrieving ETag values
+ * @property dataStore the preferences store used for saving and retrieving ETag values
  */
 internal class DefaultETagsStore(
-    private val appPreferencesStore: AppPreferencesStore,
+    private val dataStore: DataStore<Preferences>,
 ) : ETagsStore {
 
     override suspend fun getSyncOrNull(userWalletId: UserWalletId, key: ETagsStore.Key): String? {
         val storeKey = getAccountsETagKey(userWalletId = userWalletId, key = key)
 
-        return appPreferencesStore.getSyncOrNull(key = storeKey)
+        return dataStore.getSyncOrNull(key = storeKey)
     }
 
     override suspend fun store(userWalletId: UserWalletId, key: ETagsStore.Key, value: String) {
@@ -31,12 +32,12 @@ internal class DefaultETagsStore(
 
         val storeKey = getAccountsETagKey(userWalletId = userWalletId, key = key)
 
-        appPreferencesStore.store(key = storeKey, value = value)
+        dataStore.store(key = storeKey, value = value)
     }
 
     override suspend fun clear(userWalletId: UserWalletId, key: ETagsStore.Key) {
         val storeKey = getAccountsETagKey(userWalletId = userWalletId, key = key)
-        appPreferencesStore.editData { it.remove(storeKey) }
+        dataStore.edit { it.remove(storeKey) }
     }
 
     private fun getAccountsETagKey(userWalletId: UserWalletId, key: ETagsStore.Key): Preferences.Key<String> {
@@ -12,7 +12,7 @@ import com.tangem.data.common.wallet.DefaultWalletServerBinder
 import com.tangem.data.common.wallet.WalletServerBinder
 import com.tangem.datasource.api.tangemTech.TangemTechApi
 import com.tangem.datasource.local.appsflyer.AppsFlyerStore
-import com.tangem.datasource.local.preferences.AppPreferencesStore
+import com.tangem.datasource.local.preferences.PreferencesShards
 import com.tangem.domain.common.wallets.UserWalletsListRepository
 import com.tangem.utils.coroutines.AppCoroutineScope
 import com.tangem.domain.demo.models.DemoConfig
@@ -91,8 +91,8 @@ internal object DataCommonModule {
 
     @Provides
     @Singleton
-    fun provideETagsStore(appPreferencesStore: AppPreferencesStore): ETagsStore {
-        return DefaultETagsStore(appPreferencesStore = appPreferencesStore)
+    fun provideETagsStore(preferencesShards: PreferencesShards): ETagsStore {
+        return DefaultETagsStore(dataStore = preferencesShards.eTags)
     }
 
     @Provides
@@ -3,9 +3,8 @@ package com.tangem.data.common.quote
 import androidx.annotation.VisibleForTesting
 import arrow.core.Either
 import arrow.core.raise.Raise
-import arrow.core.raise.catch
+import arrow.core.raise.either
 import arrow.core.raise.ensure
-import arrow.core.raise.ensureNotNull
 import com.tangem.data.common.api.safeApiCallWithTimeout
 import com.tangem.data.common.quote.DefaultQuotesFetcher.Companion.tenSecInMillis
 import com.tangem.data.common.quote.QuotesFetcher.Error
@@ -16,8 +15,13 @@ import com.tangem.datasource.api.tangemTech.models.QuotesResponse
 import com.tangem.domain.core.utils.eitherOn
 import com.tangem.utils.coroutines.CoroutineDispatcherProvider
 import com.tangem.utils.logging.TangemLogger
-import kotlinx.coroutines.sync.Mutex
-import kotlinx.coroutines.sync.withLock
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.currentCoroutineContext
+import kotlinx.coroutines.ensureActive
 import kotlinx.coroutines.withContext
 import org.joda.time.DateTime
 import java.util.concurrent.ConcurrentHashMap
@@ -26,6 +30,12 @@ import kotlin.time.Duration.Companion.seconds
 /**
  * Default implementation of [QuotesFetcher]
  *
+ * Quotes are cached per fiat currency in hash maps by crypto currency id.
+ * Only absent or expired quotes are requested, concurrent requests of the same quote share one pending result,
+ * so overlapping requests of different screens don't produce duplicate API calls. If the call that requests a quote
+ * is cancelled, the quote is requested again by one of the calls that wait for it.
+ * Requested ids are split into chunks of [MAX_CHUNK_SIZE] to respect URL length limits.
+ *
  * @property tangemTechApi Tangem tech API
  * @property dispatchers   dispatchers
  *
@@ -36,20 +46,18 @@ internal class DefaultQuotesFetcher(
     private val dispatchers: CoroutineDispatcherProvider,
 ) : QuotesFetcher {
 
-    /** Mutex for synchronization of the [getFetchMutex] method */
-    private val getFetchMethodMutex = Mutex()
-
     /**
-     * Map for tracking active [fetch] methods.
-     * The key is the parameters of the [fetch] method, and the value is [Mutex].
+     * Pending results of requested quotes by fiat currency id and crypto currency id.
+     * Result is completed by null if quote is saved to the cache, or by [Error] otherwise.
+     * It's cancelled if the call that requests the quote is cancelled.
      */
-    private val fetchMutexMap = ConcurrentHashMap<RequestParams, Mutex>()
+    private val inFlightRequests = ConcurrentHashMap<QuoteKey, CompletableDeferred<Error?>>()
 
     /**
-     * Cache that stores a list of quotes for a certain fiat currency.
+     * Cache that stores quotes by crypto currency id for a certain fiat currency.
      * Quotes are considered expired if they are in the cache for more than [tenSecInMillis] seconds.
      */
-    private val quotesCache = ConcurrentHashMap<String, Set<QuoteMetadata>>()
+    private val quotesCache = ConcurrentHashMap<String, ConcurrentHashMap<String, QuoteMetadata>>()
 
     override suspend fun fetch(
         fiatCurrencyId: String,
@@ -60,14 +68,8 @@ internal class DefaultQuotesFetcher(
 
         if (validatedParams.currenciesIds.isEmpty()) return@eitherOn emptyQuotesResponse
 
-        val mutex = getFetchMutex(params = validatedParams)
-
-        return@eitherOn fetch(params = validatedParams, mutex = mutex)
+        return@eitherOn fetch(params = validatedParams)
     }
-        .onLeft {
-            val params = RequestParams(fiatCurrencyId, currenciesIds, fields)
-            fetchMutexMap.remove(params)
-        }
 
     private fun Raise<Error>.validateParams(
         fiatCurrencyId: String,
@@ -83,91 +85,113 @@ internal class DefaultQuotesFetcher(
         return RequestParams(fiatCurrencyId = fiatCurrencyId, currenciesIds = filterCurrenciesIds, fields = fields)
     }
 
-    /**
-     * The method for determining the [Mutex], which will be used by the [fetch] method.
-     *
-     * @param params request params
-     *
-     * @return if at the moment the method of [fetch] is already executed for an adjacent set of parameters
-
-     */
-    private suspend fun Raise<Error>.getFetchMutex(params: RequestParams): Mutex {
-        return getFetchMethodMutex.withLock {
-            val similarJobsMutexes = fetchMutexMap.filterKeys { metadata ->
-                metadata.fiatCurrencyId == params.fiatCurrencyId &&
-                    params.currenciesIds.any { it in metadata.currenciesIds }
-            }
-
-            val storedMutex = similarJobsMutexes.firstNotNullOfOrNull { it.value }
-
-            when {
-                storedMutex == null || !storedMutex.isLocked -> Mutex()
-                storedMutex.isLocked -> storedMutex
-                else -> raise(Error.CacheOperationError)
-            }
-                .also { fetchMutexMap[params] = it }
-        }
-    }
-
     /**
      * Fetch quotes by [params].
      *
-     * It works in the scope of the transferred [mutex].
-     * If at the moment [Mutex] is busy, then it is working on fetching related data, then the current request will
-     * wait for its execution.
+     * Quotes that are absent in the cache or expired are requested by the current call, if they aren't already
+     * requested by another call. Otherwise, the current call waits for the pending result of another call.
+     * If another call is cancelled, its quotes are requested by the current call.
      *
      * @return [QuotesResponse]
      */
-    private suspend fun Raise<Error>.fetch(params: RequestParams, mutex: Mutex): QuotesResponse {
+    private suspend fun Raise<Error>.fetch(params: RequestParams): QuotesResponse {
         val (fiatCurrencyId, currenciesIds) = params
+        val quotes = quotesCache.computeIfAbsent(fiatCurrencyId) { ConcurrentHashMap() }
 
-        return mutex.withLock {
-            val quotes = quotesCache[fiatCurrencyId].orEmpty()
+        val ownRequests = mutableMapOf<String, CompletableDeferred<Error?>>()
+        val foreignRequests = mutableMapOf<String, CompletableDeferred<Error?>>()
 
-            val expiredOrAbsentIds = currenciesIds.filterExpiredOrAbsent(quotes)
+        currenciesIds.forEach { currencyId ->
+            if (quotes[currencyId]?.isExpired == false) return@forEach
 
-            // We will fetch quotes only for those quotes that are absent in cache or expired
-            if (expiredOrAbsentIds.isNotEmpty()) {
-                val response = requestQuotes(
-                    fiatCurrencyId = fiatCurrencyId,
-                    currenciesIds = expiredOrAbsentIds.toSet(),
-                    fields = params.fields,
-                )
+            val request = CompletableDeferred<Error?>()
+            val pendingRequest = inFlightRequests.putIfAbsent(QuoteKey(fiatCurrencyId, currencyId), request)
 
-                saveQuotes(fiatCurrencyId = fiatCurrencyId, response = response)
+            if (pendingRequest == null) {
+                ownRequests[currencyId] = request
+            } else {
+                foreignRequests[currencyId] = pendingRequest
             }
+        }
 
-            fetchMutexMap.remove(params)
-
-            getCachedResult(fiatCurrencyId = fiatCurrencyId, currenciesIds = currenciesIds)
+        if (ownRequests.isNotEmpty()) {
+            requestAndSaveQuotes(fiatCurrencyId = fiatCurrencyId, requests = ownRequests, fields = params.fields)
         }
-    }
 
-    private fun Set<String>.filterExpiredOrAbsent(quotes: Set<QuoteMetadata>?): List<String> {
-        return filter { id ->
-            val quote = quotes?.firstOrNull { it.cryptoCurrencyId == id && !it.isExpired }
+        val abandonedIds = hashSetOf<String>()
+
+        (ownRequests + foreignRequests).forEach { (currencyId, request) ->
+            val error = try {
+                request.await()
+            } catch (e: CancellationException) {
+                // the request is cancelled by its owner, so it is repeated if the current coroutine is still active
+                currentCoroutineContext().ensureActive()
+                abandonedIds += currencyId
+                null
+            }
 
-            quote == null
+            error?.let { raise(it) }
         }
-    }
 
-    private fun Raise<Error>.getCachedResult(fiatCurrencyId: String, currenciesIds: Set<String>): QuotesResponse {
-        val storedQuotes = quotesCache[fiatCurrencyId]
+        if (abandonedIds.isNotEmpty()) fetch(params = params.copy(currenciesIds = abandonedIds))
+
+        return getCachedResult(quotes = quotes, currenciesIds = currenciesIds)
+    }
 
-        ensureNotNull(storedQuotes) {
-            raise(Error.CacheOperationError)
+    /** Request quotes of [requests] keys by chunks in parallel and complete [requests] by results */
+    private suspend fun requestAndSaveQuotes(
+        fiatCurrencyId: String,
+        requests: Map<String, CompletableDeferred<Error?>>,
+        fields: Set<Field>,
+    ) {
+        try {
+            coroutineScope {
+                requests.keys.chunked(MAX_CHUNK_SIZE)
+                    .map { chunk ->
+                        async {
+                            val error = either {
+                                requestQuotes(
+                                    fiatCurrencyId = fiatCurrencyId,
+                                    currenciesIds = chunk.toSet(),
+                                    fields = fields,
+                                )
+                            }
+                                .onRight { saveQuotes(fiatCurrencyId = fiatCurrencyId, response = it) }
+                                .leftOrNull()
+
+                            chunk.forEach { completeRequest(fiatCurrencyId, it, requests.getValue(it), error) }
+                        }
+                    }
+                    .awaitAll()
+            }
+        } finally {
+            // Requests of the cancelled call are released before cancellation, so their waiters can take them over
+            requests.forEach { (currencyId, request) ->
+                inFlightRequests.remove(QuoteKey(fiatCurrencyId, currencyId), request)
+                request.cancel()
+            }
         }
+    }
 
-        val quotes = catch(
-            block = {
-                currenciesIds.associateWith { currencyId ->
-                    storedQuotes.first { it.cryptoCurrencyId == currencyId }.value
-                }
+    private fun completeRequest(
+        fiatCurrencyId: String,
+        currencyId: String,
+        request: CompletableDeferred<Error?>,
+        error: Error?,
+    ) {
+        inFlightRequests.remove(QuoteKey(fiatCurrencyId, currencyId), request)
+        request.complete(error)
+    }
+
+    private fun Raise<Error>.getCachedResult(
+        quotes: Map<String, QuoteMetadata>,
+        currenciesIds: Set<String>,
+    ): QuotesResponse {
+        return QuotesResponse(
+            quotes = currenciesIds.associateWith { currencyId ->
+                quotes[currencyId]?.value ?: raise(Error.CacheOperationError)
             },
-            catch = { raise(Error.CacheOperationError) },
         )
-
-        return QuotesResponse(quotes = quotes)
     }
 
     private suspend fun Raise<Error>.requestQuotes(
@@ -202,21 +226,12 @@ internal class DefaultQuotesFetcher(
     }
 
     private fun saveQuotes(fiatCurrencyId: String, response: QuotesResponse) {
-        val newQuotes = response.quotes.mapTo(destination = hashSetOf()) { (currencyId, quote) ->
-            QuoteMetadata(
-                cryptoCurrencyId = currencyId,
-                timestamp = DateTime.now().millis,
-                value = quote,
-            )
-        }
+        val timestamp = DateTime.now().millis
+        val quotes = quotesCache.computeIfAbsent(fiatCurrencyId) { ConcurrentHashMap() }
 
-        val storedQuotes = quotesCache[fiatCurrencyId].orEmpty()
-
-        val storedUniqueQuotes = storedQuotes.filterNot { stored ->
-            newQuotes.any { stored.cryptoCurrencyId == it.cryptoCurrencyId }
+        response.quotes.forEach { (currencyId, quote) ->
+            quotes[currencyId] = QuoteMetadata(cryptoCurrencyId = currencyId, timestamp = timestamp, value = quote)
         }
-
-        quotesCache[fiatCurrencyId] = (storedUniqueQuotes + newQuotes).toSet()
     }
 
     data class RequestParams(
@@ -235,12 +250,16 @@ internal class DefaultQuotesFetcher(
             get() = DateTime.now().millis - timestamp > tenSecInMillis
     }
 
+    private data class QuoteKey(val fiatCurrencyId: String, val cryptoCurrencyId: String)
+
     @VisibleForTesting(otherwise = VisibleForTesting.NONE)
-    fun getCachedQuotes() = quotesCache
+    fun getCachedQuotes(): ConcurrentHashMap<String, Set<QuoteMetadata>> {
+        return quotesCache.mapValuesTo(ConcurrentHashMap()) { (_, quotes) -> quotes.values.toSet() }
+    }
 
     @VisibleForTesting(otherwise = VisibleForTesting.NONE)
     fun setCachedQuotes(fiatCurrencyId: String, quotes: Set<QuoteMetadata>) {
-        quotesCache[fiatCurrencyId] = quotes
+        quotesCache[fiatCurrencyId] = quotes.associateByTo(ConcurrentHashMap(), QuoteMetadata::cryptoCurrencyId)
     }
 
     @VisibleForTesting(otherwise = VisibleForTesting.NONE)
@@ -251,5 +270,8 @@ internal class DefaultQuotesFetcher(
     private companion object {
         val emptyQuotesResponse = QuotesResponse(quotes = emptyMap())
         val tenSecInMillis = 10.seconds.inWholeMilliseconds
+
+        /** Max number of currencies ids in one request, so the request URL doesn't exceed length limits */
+        const val MAX_CHUNK_SIZE = 100
     }
-}
\ No newline at end of file
+}
@@ -11,8 +11,11 @@ import com.tangem.datasource.api.tangemTech.TangemTechApi
 import com.tangem.datasource.api.tangemTech.models.QuotesResponse
 import com.tangem.utils.coroutines.TestingCoroutineDispatcherProvider
 import io.mockk.*
+import kotlinx.coroutines.CompletableDeferred
 import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitCancellation
 import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.test.runCurrent
 import kotlinx.coroutines.test.runTest
 import org.joda.time.DateTime
 import org.junit.jupiter.api.BeforeEach
@@ -477,5 +480,84 @@ internal class DefaultQuotesFetcherTest {
         }
     }
 
+    @Test
+    fun `parallel fetch of the same currency shares one request`() = runTest {
+        // Arrange
+        val apiQuote = MockQuoteResponseFactory.createSinglePrice(BigDecimal.ONE)
+        val responseGate = CompletableDeferred<Unit>()
+
+        coEvery {
+            tangemTechApi.getQuotes(currencyId = "usd", coinIds = "ethereum", fields = "price")
+        } coAnswers {
+            responseGate.await()
+            ApiResponse.Success(data = QuotesResponse(quotes = mapOf("ethereum" to apiQuote)))
+        }
+
+        // Act
+        val requests = List(size = 2) {
+            async {
+                fetcher.fetch(fiatCurrencyId = "usd", currenciesIds = setOf("ethereum"), fields = setOf(Field.PRICE))
+            }
+        }
+        runCurrent()
+        responseGate.complete(Unit)
+        val actual = requests.awaitAll()
+
+        // Assert
+        val expected = QuotesResponse(quotes = mapOf("ethereum" to apiQuote)).right()
+        Truth.assertThat(actual).containsExactly(expected, expected)
+
+        coVerify(exactly = 1) { tangemTechApi.getQuotes(currencyId = "usd", coinIds = "ethereum", fields = "price") }
+    }
+
+    @Test
+    fun `waiter requests quote itself if owner of the request is cancelled`() = runTest {
+        // Arrange
+        val apiQuote = MockQuoteResponseFactory.createSinglePrice(BigDecimal.ONE)
+        var requestsCount = 0
+
+        coEvery {
+            tangemTechApi.getQuotes(currencyId = "usd", coinIds = "ethereum", fields = "price")
+        } coAnswers {
+            if (++requestsCount == 1) awaitCancellation()
+            ApiResponse.Success(data = QuotesResponse(quotes = mapOf("ethereum" to apiQuote)))
+        }
+
+        val requests = List(size = 2) {
+            async {
+                fetcher.fetch(fiatCurrencyId = "usd", currenciesIds = setOf("ethereum"), fields = setOf(Field.PRICE))
+            }
+        }
+        runCurrent()
+
+        // Act
+        requests.first().cancel()
+        val actual = requests.last().await()
+
+        // Assert
+        Truth.assertThat(actual).isEqualTo(QuotesResponse(quotes = mapOf("ethereum" to apiQuote)).right())
+
+        coVerify(exactly = 2) { tangemTechApi.getQuotes(currencyId = "usd", coinIds = "ethereum", fields = "price") }
+    }
+
+    @Test
+    fun `fetch splits currencies ids into chunks`() = runTest {
+        // Arrange
+        val currenciesIds = List(size = 150) { "currency$it" }.toSet()
+
+        coEvery {
+            tangemTechApi.getQuotes(currencyId = "usd", coinIds = any(), fields = "price")
+        } returns ApiResponse.Success(data = QuotesResponse(quotes = emptyMap()))
+
+        // Act
+        val actual = fetcher.fetch(fiatCurrencyId = "usd", currenciesIds = currenciesIds, fields = setOf(Field.PRICE))
+
+        // Assert
+        val expected = QuotesResponse(quotes = currenciesIds.associateWith { QuotesResponse.Quote.EMPTY }).right()
+        Truth.assertThat(actual).isEqualTo(expected)
+
+        coVerify(exactly = 2) { tangemTechApi.getQuotes(currencyId = "usd", coinIds = any(), fields = "price") }
+    }
+
     private fun Iterable<QuoteMetadata>?.toResponseQuotes() = this!!.associate { it.cryptoCurrencyId to it.value }
 }
\ No newline at end of file
@@ -98,7 +98,7 @@ internal class DefaultFeedbackRepository(
         }
     }
 
-    override fun getLogFile(): File? = appLogsStore.getFile()
+    override suspend fun getLogFile(): File? = appLogsStore.getFile()
 
     override suspend fun getZipLogFile(): File? = appLogsStore.getZipFile()
 
@@ -66,6 +66,7 @@ internal class DefaultManageTokensRepository(
             generateNewKey = { it.size.inc() },
             batchFetcher = createFetcher(batchSize, loadUserTokensFromRemote),
             updateFetcher = manageTokensUpdateFetcher,
+            prefetchBatches = 1,
         ).toBatchFlow()
     }
 
@@ -13,6 +13,10 @@ android {
     namespace = "com.tangem.data.markets"
 }
 
+tasks.withType<Test>().configureEach {
+    useJUnitPlatform()
+}
+
 dependencies {
     /** Libs */
     implementation(projects.libs.crypto)
@@ -49,4 +53,10 @@ dependencies {
     ksp(deps.moshi.kotlin.codegen)
     kaptForObfuscatingVariants(deps.retrofit.response.type.keeper)
     // endregion
+
+    // region Tests
+    testRuntimeOnly(deps.test.junit5.engine)
+    testImplementation(projects.common.test)
+    testImplementation(projects.test.core)
+    // endregion
 }
@@ -13,6 +13,8 @@ import com.tangem.data.common.network.NetworkFactory
 import com.tangem.data.common.quote.QuotesFetcher
 import com.tangem.data.common.utils.retryOnError
 import com.tangem.data.markets.analytics.MarketsDataAnalyticsEvent
+import com.tangem.data.markets.cache.TokenChartCache
+import com.tangem.data.markets.cache.TokenMarketListCache
 import com.tangem.data.markets.converters.*
 import com.tangem.datasource.api.common.response.ApiResponseError
 import com.tangem.datasource.api.common.response.getOrThrow
@@ -29,6 +31,7 @@ import com.tangem.domain.models.wallet.UserWalletId
 import com.tangem.pagination.*
 import com.tangem.pagination.fetcher.LimitOffsetBatchFetcher
 import com.tangem.utils.coroutines.CoroutineDispatcherProvider
+import com.tangem.utils.logging.TangemLogger
 import kotlinx.coroutines.withContext
 import java.util.concurrent.atomic.AtomicInteger
 import java.util.concurrent.atomic.AtomicLong
@@ -43,6 +46,8 @@ internal class DefaultMarketsTokenRepository(
     private val cacheRegistry: CacheRegistry,
     private val tokenExchangesStore: RuntimeStateStore<List<TokenMarketExchangesResponse.Exchange>>,
     private val networkFactory: NetworkFactory,
+    private val tokenChartCache: TokenChartCache,
+    private val tokenListCache: TokenMarketListCache,
     excludedBlockchains: ExcludedBlockchains,
 ) : MarketsTokenRepository {
 
@@ -126,6 +131,14 @@ internal class DefaultMarketsTokenRepository(
             generateNewKey = { atomicInteger.getAndIncrement() },
             batchFetcher = createTokenMarketsFetcher(firstBatchSize = firstBatchSize, nextBatchSize = nextBatchSize),
             updateFetcher = tokenMarketsUpdateFetcher,
+            prefetchBatches = 1,
+            cache = tokenListCache,
+            metrics = { timeToFirstBatch, isCached ->
+                TangemLogger.i(
+                    "Markets token list first batch is shown in $timeToFirstBatch " +
+                        if (isCached) "from cache" else "from network",
+                )
+            },
         ).toBatchFlow()
     }
 
@@ -136,6 +149,48 @@ internal class DefaultMarketsTokenRepository(
         tokenSymbol: String,
     ) = withContext(dispatcherProvider.io) {
         val mappedTokenId = getTokenIdIfL2Network(tokenId.value)
+        val key = TokenChartCache.Key(
+            type = TokenChartCache.Key.Type.CHART,
+            coinId = mappedTokenId,
+            fiat = fiatCurrencyCode,
+            interval = interval,
+        )
+
+        tokenChartCache.getOrFetch(key) {
+            fetchChart(
+                fiatCurrencyCode = fiatCurrencyCode,
+                interval = interval,
+                mappedTokenId = mappedTokenId,
+                tokenSymbol = tokenSymbol,
+            )
+        }
+    }
+
+    override suspend fun getChartPreview(
+        fiatCurrencyCode: String,
+        interval: PriceChangeInterval,
+        tokenId: CryptoCurrency.RawID,
+        tokenSymbol: String,
+    ) = withContext(dispatcherProvider.io) {
+        val mappedTokenId = getTokenIdIfL2Network(tokenId.value)
+        val key = TokenChartCache.Key(
+            type = TokenChartCache.Key.Type.PREVIEW,
+            coinId = mappedTokenId,
+            fiat = fiatCurrencyCode,
+            interval = interval,
+        )
+
+        tokenChartCache.getOrFetch(key) {
+            fetchChartPreview(fiatCurrencyCode = fiatCurrencyCode, interval = interval, mappedTokenId = mappedTokenId)
+        }
+    }
+
+    private suspend fun fetchChart(
+        fiatCurrencyCode: String,
+        interval: PriceChangeInterval,
+        mappedTokenId: String,
+        tokenSymbol: String,
+    ): TokenChart {
         val response = marketsApi.getCoinChart(
             currency = fiatCurrencyCode,
             coinId = mappedTokenId,
@@ -149,7 +204,7 @@ internal class DefaultMarketsTokenRepository(
             response.getOrThrow()
         }
 
-        return@withContext TokenChartConverter.convert(
+        return TokenChartConverter.convert(
             interval = interval,
             value = result,
 
@@ -165,14 +220,11 @@ internal class DefaultMarketsTokenRepository(
         )
     }
 
-    override suspend fun getChartPreview(
+    private suspend fun fetchChartPreview(
         fiatCurrencyCode: String,
         interval: PriceChangeInterval,
-        tokenId: CryptoCurrency.RawID,
-        tokenSymbol: String,
-    ) = withContext(dispatcherProvider.io) {
-        val mappedTokenId = getTokenIdIfL2Network(tokenId.value)
-
+        mappedTokenId: String,
+    ): TokenChart {
         val chart = catchListErrorAndSendEvent {
             marketsApi.getCoinsListCharts(
                 coinIds = mappedTokenId,
@@ -182,7 +234,8 @@ internal class DefaultMarketsTokenRepository(
                 "No chart preview data for the token $mappedTokenId",
             )
         }
-        return@withContext TokenChartConverter.convert(
+
+        return TokenChartConverter.convert(
             interval = interval,
             value = chart,
 
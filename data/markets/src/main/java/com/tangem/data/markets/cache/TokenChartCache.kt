@@ -0,0 +1,181 @@
+package com.tangem.data.markets.cache
+
+import androidx.datastore.core.DataStore
+import com.tangem.domain.markets.PriceChangeInterval
+import com.tangem.domain.markets.TokenChart
+import com.tangem.utils.coroutines.AppCoroutineScope
+import com.tangem.utils.logging.TangemLogger
+import kotlinx.coroutines.flow.firstOrNull
+import kotlinx.coroutines.launch
+import java.util.concurrent.ConcurrentHashMap
+import kotlin.time.Duration
+import kotlin.time.Duration.Companion.hours
+import kotlin.time.Duration.Companion.minutes
+
+/**
+ * Two-tier stale-while-revalidate cache of token charts: in-memory LRU and persistent [DataStore].
+ *
+ * Fresh chart is returned without fetching. Stale chart is returned immediately and refreshed in background.
+ * Chart is fetched in place if it isn't cached or it's older than max stale age, e.g. it's restored from disk days
+ * later. Freshness and max stale age depend on [PriceChangeInterval], see [getTtl] and [getMaxStaleAge].
+ *
+ * @property persistenceStore  persistence store
+ * @property appScope          app coroutine scope for background refreshes and writes
+ * @property maxMemoryEntries  max number of charts in memory
+ * @property maxDiskEntries    max number of persisted charts
+ * @property currentTimeMillis provider of the current time
+ */
+internal class TokenChartCache(
+    private val persistenceStore: DataStore<TokenChartsDTO>,
+    private val appScope: AppCoroutineScope,
+    private val maxMemoryEntries: Int = DEFAULT_MAX_MEMORY_ENTRIES,
+    private val maxDiskEntries: Int = DEFAULT_MAX_DISK_ENTRIES,
+    private val currentTimeMillis: () -> Long = System::currentTimeMillis,
+) {
+
+    private val memoryCache = object : LinkedHashMap<Key, Entry>(maxMemoryEntries, LOAD_FACTOR, true) {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<Key, Entry>?): Boolean {
+            return size > maxMemoryEntries
+        }
+    }
+
+    private val refreshingKeys = ConcurrentHashMap.newKeySet<Key>()
+
+    /**
+     * Get chart by [key]. Uses [fetch] to load the chart if it isn't cached or is too old, and to refresh stale chart
+     */
+    suspend fun getOrFetch(key: Key, fetch: suspend () -> TokenChart): TokenChart {
+        val entry = getFromMemory(key) ?: getFromDisk(key)
+
+        if (entry == null || entry.getAge() > getMaxStaleAge(key.interval).inWholeMilliseconds) {
+            return fetch().also { store(key = key, chart = it) }
+        }
+
+        if (entry.getAge() > getTtl(key.interval).inWholeMilliseconds) {
+            refreshAsync(key = key, fetch = fetch)
+        }
+
+        return entry.chart
+    }
+
+    private fun Entry.getAge(): Long = currentTimeMillis() - updatedAt
+
+    private fun getFromMemory(key: Key): Entry? {
+        return synchronized(memoryCache) { memoryCache[key] }
+    }
+
+    private suspend fun getFromDisk(key: Key): Entry? {
+        val dto = persistenceStore.data.firstOrNull()?.charts?.get(key.value) ?: return null
+
+        if (dto.timestamps.size != dto.prices.size) return null
+
+        val entry = Entry(
+            chart = TokenChart(interval = key.interval, priceY = dto.prices, timeStamps = dto.timestamps),
+            updatedAt = dto.updatedAt,
+        )
+
+        synchronized(memoryCache) { memoryCache.putIfAbsent(key, entry) }
+
+        return entry
+    }
+
+    private fun refreshAsync(key: Key, fetch: suspend () -> TokenChart) {
+        if (!refreshingKeys.add(key)) return
+
+        appScope.launch {
+            runCatching { fetch() }
+                .onSuccess { store(key = key, chart = it) }
+                .onFailure { TangemLogger.e("Unable to refresh chart [${key.value}]", it) }
+
+            refreshingKeys.remove(key)
+        }
+    }
+
+    private fun store(key: Key, chart: TokenChart) {
+        val entry = Entry(chart = chart, updatedAt = currentTimeMillis())
+
+        synchronized(memoryCache) { memoryCache[key] = entry }
+
+        appScope.launch {
+            runCatching {
+                persistenceStore.updateData { stored ->
+                    val dto = TokenChartDTO(
+                        timestamps = chart.timeStamps,
+                        prices = chart.priceY,
+                        updatedAt = entry.updatedAt,
+                    )
+
+                    val charts = (stored.charts + (key.value to dto))
+                        .entries
+                        .sortedByDescending { it.value.updatedAt }
+                        .take(maxDiskEntries)
+                        .associate { it.key to it.value }
+
+                    stored.copy(charts = charts)
+                }
+            }
+                .onFailure { TangemLogger.e("Unable to persist chart [${key.value}]", it) }
+        }
+    }
+
+    private fun getTtl(interval: PriceChangeInterval): Duration {
+        return when (interval) {
+            PriceChangeInterval.H24 -> 1.minutes
+            PriceChangeInterval.WEEK -> 5.minutes
+            PriceChangeInterval.MONTH -> 15.minutes
+            PriceChangeInterval.MONTH3,
+            PriceChangeInterval.MONTH6,
+            -> 30.minutes
+            PriceChangeInterval.YEAR -> 1.hours
+            PriceChangeInterval.ALL_TIME -> 6.hours
+        }
+    }
+
+    /** Max age of chart that can be shown while it's refreshed. Older chart doesn't represent the current price */
+    private fun getMaxStaleAge(interval: PriceChangeInterval): Duration {
+        return when (interval) {
+            PriceChangeInterval.H24 -> 15.minutes
+            PriceChangeInterval.WEEK -> 1.hours
+            PriceChangeInterval.MONTH -> 3.hours
+            PriceChangeInterval.MONTH3,
+            PriceChangeInterval.MONTH6,
+            -> 6.hours
+            PriceChangeInterval.YEAR -> 12.hours
+            PriceChangeInterval.ALL_TIME -> 24.hours
+        }
+    }
+
+    /**
+     * Key of cached chart
+     *
+     * @property type     chart type
+     * @property coinId   coin id
+     * @property fiat     fiat currency code
+     * @property interval chart interval
+     */
+    data class Key(
+        val type: Type,
+        val coinId: String,
+        val fiat: String,
+        val interval: PriceChangeInterval,
+    ) {
+
+        val value: String = "${type.name}_${coinId}_${fiat}_${interval.name}"
+
+        enum class Type {
+            /** Full chart of token details */
+            CHART,
+
+            /** Chart preview of token list */
+            PREVIEW,
+        }
+    }
+
+    private class Entry(val chart: TokenChart, val updatedAt: Long)
+
+    private companion object {
+        const val DEFAULT_MAX_MEMORY_ENTRIES = 32
+        const val DEFAULT_MAX_DISK_ENTRIES = 64
+        const val LOAD_FACTOR = 0.75f
+    }
+}
@@ -0,0 +1,28 @@
+package com.tangem.data.markets.cache
+
+import com.squareup.moshi.JsonClass
+import java.math.BigDecimal
+
+/**
+ * Persisted token charts
+ *
+ * @property charts charts by [TokenChartCache.Key.value]
+ */
+@JsonClass(generateAdapter = true)
+internal data class TokenChartsDTO(
+    val charts: Map<String, TokenChartDTO> = emptyMap(),
+)
+
+/**
+ * Persisted token chart. Points are stored as parallel lists to keep the file compact
+ *
+ * @property timestamps timestamps of points
+ * @property prices     prices of points
+ * @property updatedAt  time of the last fetch in milliseconds
+ */
+@JsonClass(generateAdapter = true)
+internal data class TokenChartDTO(
+    val timestamps: List<Long>,
+    val prices: List<BigDecimal>,
+    val updatedAt: Long,
+)
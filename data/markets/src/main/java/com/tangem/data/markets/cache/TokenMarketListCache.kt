@@ -0,0 +1,141 @@
+package com.tangem.data.markets.cache
+
+import androidx.datastore.core.DataStore
+import com.tangem.domain.markets.TokenMarket
+import com.tangem.domain.markets.TokenMarketListConfig
+import com.tangem.domain.markets.TokenQuotesShort
+import com.tangem.domain.models.currency.CryptoCurrency
+import com.tangem.pagination.cache.BatchListCache
+import com.tangem.utils.coroutines.AppCoroutineScope
+import com.tangem.utils.logging.TangemLogger
+import kotlinx.coroutines.flow.firstOrNull
+import kotlinx.coroutines.launch
+import kotlin.time.Duration.Companion.hours
+
+/**
+ * Persistent cache of the first batches of token market lists. Search results aren't cached.
+ *
+ * Charts aren't cached, they are loaded by batch updates as usual. Lists older than [maxAgeMillis] aren't returned,
+ * so outdated prices aren't shown after a long time offline.
+ *
+ * @property persistenceStore  persistence store
+ * @property appScope          app coroutine scope for writes
+ * @property batchesCount      number of the first batches to cache
+ * @property maxLists          max number of persisted lists
+ * @property maxAgeMillis      max age of returned list
+ * @property currentTimeMillis provider of the current time
+ */
+internal class TokenMarketListCache(
+    private val persistenceStore: DataStore<TokenMarketListsDTO>,
+    private val appScope: AppCoroutineScope,
+    override val batchesCount: Int = DEFAULT_BATCHES_COUNT,
+    private val maxLists: Int = DEFAULT_MAX_LISTS,
+    private val maxAgeMillis: Long = DEFAULT_MAX_AGE.inWholeMilliseconds,
+    private val currentTimeMillis: () -> Long = System::currentTimeMillis,
+) : BatchListCache<TokenMarketListConfig, List<TokenMarket>> {
+
+    override suspend fun get(requestParams: TokenMarketListConfig): List<List<TokenMarket>>? {
+        val key = requestParams.toKey() ?: return null
+        val list = persistenceStore.data.firstOrNull()?.lists?.get(key) ?: return null
+
+        if (currentTimeMillis() - list.updatedAt > maxAgeMillis) return null
+
+        return list.batches.map { batch ->
+            batch.map { it.toDomain() ?: return null }
+        }
+    }
+
+    override suspend fun put(requestParams: TokenMarketListConfig, batches: List<List<TokenMarket>>) {
+        val key = requestParams.toKey() ?: return
+        val dto = TokenMarketListDTO(
+            batches = batches.map { batch -> batch.map { it.toDTO() } },
+            updatedAt = currentTimeMillis(),
+        )
+
+        appScope.launch {
+            runCatching {
+                persistenceStore.updateData { stored ->
+                    val lists = (stored.lists + (key to dto))
+                        .entries
+                        .sortedByDescending { it.value.updatedAt }
+                        .take(maxLists)
+                        .associate { it.key to it.value }
+
+                    stored.copy(lists = lists)
+                }
+            }
+                .onFailure { TangemLogger.e("Unable to persist token market list [$key]", it) }
+        }
+    }
+
+    private fun TokenMarketListConfig.toKey(): String? {
+        if (!searchText.isNullOrBlank()) return null
+
+        return "${fiatPriceCurrency}_${priceChangeInterval.name}_${order.name}_$shouldNetworks"
+    }
+
+    private fun TokenMarket.toDTO(): TokenMarketDTO = TokenMarketDTO(
+        id = id.value,
+        name = name,
+        symbol = symbol,
+        marketRating = marketRating,
+        marketCap = marketCap,
+        isUnderMarketCapLimit = isUnderMarketCapLimit,
+        imageUrlThumb = imageUrlThumb,
+        currentPrice = tokenQuotesShort.currentPrice,
+        h24ChangePercent = tokenQuotesShort.h24ChangePercent,
+        weekChangePercent = tokenQuotesShort.weekChangePercent,
+        monthChangePercent = tokenQuotesShort.monthChangePercent,
+        yieldRate = yieldRate,
+        updateTimestamp = updateTimestamp,
+        networks = networks?.map { network ->
+            TokenMarketDTO.NetworkDTO(
+                networkId = network.networkId,
+                contractAddress = network.contractAddress,
+                decimalCount = network.decimalCount,
+            )
+        },
+    )
+
+    private fun TokenMarketDTO.toDomain(): TokenMarket? {
+        // image host isn't exposed by TokenMarket, so it's restored from the persisted image url
+        val thumbImagePath = "$THUMB_IMAGE_PATH$id.png"
+        if (!imageUrlThumb.endsWith(thumbImagePath)) return null
+
+        return toDomain(imageHost = imageUrlThumb.removeSuffix(thumbImagePath))
+    }
+
+    private fun TokenMarketDTO.toDomain(imageHost: String): TokenMarket = TokenMarket(
+        id = CryptoCurrency.RawID(id),
+        name = name,
+        symbol = symbol,
+        marketRating = marketRating,
+        marketCap = marketCap,
+        isUnderMarketCapLimit = isUnderMarketCapLimit,
+        imageHost = imageHost,
+        tokenQuotesShort = TokenQuotesShort(
+            currentPrice = currentPrice,
+            h24ChangePercent = h24ChangePercent,
+            weekChangePercent = weekChangePercent,
+            monthChangePercent = monthChangePercent,
+        ),
+        tokenCharts = TokenMarket.Charts(h24 = null, week = null, month = null),
+        yieldRate = yieldRate,
+        updateTimestamp = updateTimestamp,
+        networks = networks?.map { network ->
+            TokenMarket.Network(
+                networkId = network.networkId,
+                contractAddress = network.contractAddress,
+                decimalCount = network.decimalCount,
+            )
+        },
+    )
+
+    private companion object {
+        const val DEFAULT_BATCHES_COUNT = 1
+        const val DEFAULT_MAX_LISTS = 8
+        const val THUMB_IMAGE_PATH = "thumb/"
+
+        val DEFAULT_MAX_AGE = 6.hours
+    }
+}
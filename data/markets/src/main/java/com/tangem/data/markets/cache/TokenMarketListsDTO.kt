@@ -0,0 +1,57 @@
+package com.tangem.data.markets.cache
+
+import com.squareup.moshi.JsonClass
+import java.math.BigDecimal
+
+/**
+ * Persisted first batches of token market lists
+ *
+ * @property lists lists by key of [com.tangem.domain.markets.TokenMarketListConfig]
+ */
+@JsonClass(generateAdapter = true)
+internal data class TokenMarketListsDTO(
+    val lists: Map<String, TokenMarketListDTO> = emptyMap(),
+)
+
+/**
+ * Persisted first batches of token market list
+ *
+ * @property batches   batches of tokens
+ * @property updatedAt time of the last fetch in milliseconds
+ */
+@JsonClass(generateAdapter = true)
+internal data class TokenMarketListDTO(
+    val batches: List<List<TokenMarketDTO>>,
+    val updatedAt: Long,
+)
+
+/**
+ * Persisted [com.tangem.domain.markets.TokenMarket] without charts
+ *
+ * @property imageUrlThumb url of thumb image, image host is restored from it
+ */
+@JsonClass(generateAdapter = true)
+internal data class TokenMarketDTO(
+    val id: String,
+    val name: String,
+    val symbol: String,
+    val marketRating: Int?,
+    val marketCap: BigDecimal?,
+    val isUnderMarketCapLimit: Boolean,
+    val imageUrlThumb: String,
+    val currentPrice: BigDecimal,
+    val h24ChangePercent: BigDecimal?,
+    val weekChangePercent: BigDecimal?,
+    val monthChangePercent: BigDecimal?,
+    val yieldRate: BigDecimal?,
+    val updateTimestamp: Long?,
+    val networks: List<NetworkDTO>?,
+) {
+
+    @JsonClass(generateAdapter = true)
+    data class NetworkDTO(
+        val networkId: String,
+        val contractAddress: String?,
+        val decimalCount: Int?,
+    )
+}
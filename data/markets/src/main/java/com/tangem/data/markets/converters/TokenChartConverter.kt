@@ -3,6 +3,7 @@ package com.tangem.data.markets.converters
 import com.tangem.datasource.api.markets.models.response.TokenMarketChartResponse
 import com.tangem.domain.markets.PriceChangeInterval
 import com.tangem.domain.markets.TokenChart
+import java.math.BigDecimal
 
 internal object TokenChartConverter {
 
@@ -11,16 +12,24 @@ internal object TokenChartConverter {
         value: TokenMarketChartResponse,
         onNullPresented: () -> Unit = {},
     ): TokenChart {
-        val points = value.prices.mapNotNull { p -> p.value?.let { p.key to it } }.toMap()
+        val prices = ArrayList<BigDecimal>(value.prices.size)
+        val timeStamps = ArrayList<Long>(value.prices.size)
 
-        if (points.size < points.values.size) {
+        value.prices.forEach { (timeStamp, price) ->
+            if (price != null) {
+                prices.add(price)
+                timeStamps.add(timeStamp)
+            }
+        }
+
+        if (prices.size < value.prices.size) {
             onNullPresented()
         }
 
         return TokenChart(
             interval = interval,
-            priceY = points.values.toList(),
-            timeStamps = points.keys.toList(),
+            priceY = prices,
+            timeStamps = timeStamps,
         )
     }
 }
\ No newline at end of file
@@ -1,19 +1,32 @@
 package com.tangem.data.markets.di
 
+import android.content.Context
+import androidx.datastore.core.DataStoreFactory
+import androidx.datastore.dataStoreFile
+import com.squareup.moshi.Moshi
+import com.squareup.moshi.adapter
 import com.tangem.blockchainsdk.utils.ExcludedBlockchains
 import com.tangem.core.analytics.api.AnalyticsEventHandler
 import com.tangem.data.common.cache.CacheRegistry
 import com.tangem.data.common.network.NetworkFactory
 import com.tangem.data.common.quote.QuotesFetcher
 import com.tangem.data.markets.DefaultMarketsTokenRepository
+import com.tangem.data.markets.cache.TokenChartCache
+import com.tangem.data.markets.cache.TokenChartsDTO
+import com.tangem.data.markets.cache.TokenMarketListCache
+import com.tangem.data.markets.cache.TokenMarketListsDTO
 import com.tangem.datasource.api.markets.TangemTechMarketsApi
+import com.tangem.datasource.di.NetworkMoshi
 import com.tangem.datasource.local.datastore.RuntimeStateStore
+import com.tangem.datasource.utils.MoshiDataStoreSerializer
 import com.tangem.domain.common.wallets.UserWalletsListRepository
 import com.tangem.domain.markets.repositories.MarketsTokenRepository
+import com.tangem.utils.coroutines.AppCoroutineScope
 import com.tangem.utils.coroutines.CoroutineDispatcherProvider
 import dagger.Module
 import dagger.Provides
 import dagger.hilt.InstallIn
+import dagger.hilt.android.qualifiers.ApplicationContext
 import dagger.hilt.components.SingletonComponent
 import javax.inject.Singleton
 
@@ -32,6 +45,8 @@ internal object MarketsDataModule {
         cacheRegistry: CacheRegistry,
         excludedBlockchains: ExcludedBlockchains,
         networkFactory: NetworkFactory,
+        tokenChartCache: TokenChartCache,
+        tokenListCache: TokenMarketListCache,
     ): MarketsTokenRepository {
         return DefaultMarketsTokenRepository(
             marketsApi = marketsApi,
@@ -43,6 +58,50 @@ internal object MarketsDataModule {
             tokenExchangesStore = RuntimeStateStore(defaultValue = emptyList()),
             excludedBlockchains = excludedBlockchains,
             networkFactory = networkFactory,
+            tokenChartCache = tokenChartCache,
+            tokenListCache = tokenListCache,
         )
     }
-}
\ No newline at end of file
+
+    @OptIn(ExperimentalStdlibApi::class)
+    @Provides
+    @Singleton
+    fun provideTokenChartCache(
+        @NetworkMoshi moshi: Moshi,
+        @ApplicationContext context: Context,
+        appScope: AppCoroutineScope,
+    ): TokenChartCache {
+        return TokenChartCache(
+            persistenceStore = DataStoreFactory.create(
+                serializer = MoshiDataStoreSerializer(
+                    defaultValue = TokenChartsDTO(),
+                    adapter = moshi.adapter<TokenChartsDTO>(),
+                ),
+                produceFile = { context.dataStoreFile(fileName = "token_charts") },
+                scope = appScope,
+            ),
+            appScope = appScope,
+        )
+    }
+
+    @OptIn(ExperimentalStdlibApi::class)
+    @Provides
+    @Singleton
+    fun provideTokenMarketListCache(
+        @NetworkMoshi moshi: Moshi,
+        @ApplicationContext context: Context,
+        appScope: AppCoroutineScope,
+    ): TokenMarketListCache {
+        return TokenMarketListCache(
+            persistenceStore = DataStoreFactory.create(
+                serializer = MoshiDataStoreSerializer(
+                    defaultValue = TokenMarketListsDTO(),
+                    adapter = moshi.adapter<TokenMarketListsDTO>(),
+                ),
+                produceFile = { context.dataStoreFile(fileName = "token_market_lists") },
+                scope = appScope,
+            ),
+            appScope = appScope,
+        )
+    }
+}
@@ -0,0 +1,176 @@
+package com.tangem.data.markets.cache
+
+import com.google.common.truth.Truth
+import com.tangem.common.test.TestAppCoroutineScope
+import com.tangem.common.test.datastore.MockStateDataStore
+import com.tangem.domain.markets.PriceChangeInterval
+import com.tangem.domain.markets.TokenChart
+import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.test.TestScope
+import kotlinx.coroutines.test.runTest
+import org.junit.jupiter.api.Test
+import java.math.BigDecimal
+import kotlin.time.Duration.Companion.days
+import kotlin.time.Duration.Companion.minutes
+
+internal class TokenChartCacheTest {
+
+    private val persistenceStore = MockStateDataStore(default = TokenChartsDTO())
+    private var now = START_TIME
+    private var fetchesCount = 0
+
+    @Test
+    fun `getOrFetch fetches missing chart and returns it from memory later`() = runTest {
+        // Arrange
+        val cache = createCache()
+
+        // Act
+        val first = cache.getOrFetch(key = BTC_KEY, fetch = fetchChart(price = 1))
+        val second = cache.getOrFetch(key = BTC_KEY, fetch = fetchChart(price = 2))
+
+        // Assert
+        Truth.assertThat(first).isEqualTo(createChart(price = 1))
+        Truth.assertThat(second).isEqualTo(createChart(price = 1))
+        Truth.assertThat(fetchesCount).isEqualTo(1)
+    }
+
+    @Test
+    fun `getOrFetch returns fresh chart from disk`() = runTest {
+        // Arrange
+        persistenceStore.updateData {
+            TokenChartsDTO(charts = mapOf(BTC_KEY.value to createChartDTO(price = 1, updatedAt = now)))
+        }
+        val cache = createCache()
+
+        // Act
+        val actual = cache.getOrFetch(key = BTC_KEY, fetch = fetchChart(price = 2))
+
+        // Assert
+        Truth.assertThat(actual).isEqualTo(createChart(price = 1))
+        Truth.assertThat(fetchesCount).isEqualTo(0)
+    }
+
+    @Test
+    fun `getOrFetch persists fetched chart`() = runTest {
+        // Arrange
+        val cache = createCache()
+
+        // Act
+        cache.getOrFetch(key = BTC_KEY, fetch = fetchChart(price = 1))
+        testScheduler.advanceUntilIdle()
+
+        // Assert
+        val actual = persistenceStore.data.first().charts[BTC_KEY.value]
+        Truth.assertThat(actual).isEqualTo(createChartDTO(price = 1, updatedAt = START_TIME))
+    }
+
+    @Test
+    fun `getOrFetch returns stale chart and refreshes it in background`() = runTest {
+        // Arrange
+        val cache = createCache()
+        cache.getOrFetch(key = BTC_KEY, fetch = fetchChart(price = 1))
+
+        // Act
+        now += 5.minutes.inWholeMilliseconds
+        val stale = cache.getOrFetch(key = BTC_KEY, fetch = fetchChart(price = 2))
+        testScheduler.advanceUntilIdle()
+        val refreshed = cache.getOrFetch(key = BTC_KEY, fetch = fetchChart(price = 3))
+
+        // Assert
+        Truth.assertThat(stale).isEqualTo(createChart(price = 1))
+        Truth.assertThat(refreshed).isEqualTo(createChart(price = 2))
+        Truth.assertThat(fetchesCount).isEqualTo(2)
+    }
+
+    @Test
+    fun `getOrFetch fetches in place chart that is older than max stale age`() = runTest {
+        // Arrange
+        persistenceStore.updateData {
+            TokenChartsDTO(charts = mapOf(BTC_KEY.value to createChartDTO(price = 1, updatedAt = now)))
+        }
+        val cache = createCache()
+
+        // Act
+        now += 2.days.inWholeMilliseconds
+        val actual = cache.getOrFetch(key = BTC_KEY, fetch = fetchChart(price = 2))
+
+        // Assert
+        Truth.assertThat(actual).isEqualTo(createChart(price = 2))
+        Truth.assertThat(fetchesCount).isEqualTo(1)
+    }
+
+    @Test
+    fun `memory cache evicts least recently used chart`() = runTest {
+        // Arrange
+        val cache = createCache(maxMemoryEntries = 2, maxDiskEntries = 0)
+        cache.getOrFetch(key = BTC_KEY, fetch = fetchChart(price = 1))
+        cache.getOrFetch(key = ETH_KEY, fetch = fetchChart(price = 2))
+        cache.getOrFetch(key = BTC_KEY, fetch = fetchChart(price = 3))
+
+        // Act
+        cache.getOrFetch(key = SOL_KEY, fetch = fetchChart(price = 4))
+
+        // Assert
+        Truth.assertThat(cache.getOrFetch(key = BTC_KEY, fetch = fetchChart(price = 5))).isEqualTo(createChart(1))
+        Truth.assertThat(cache.getOrFetch(key = ETH_KEY, fetch = fetchChart(price = 6))).isEqualTo(createChart(6))
+    }
+
+    @Test
+    fun `disk cache keeps the most recently updated charts`() = runTest {
+        // Arrange
+        val cache = createCache(maxDiskEntries = 2)
+
+        // Act
+        listOf(BTC_KEY, ETH_KEY, SOL_KEY).forEachIndexed { index, key ->
+            now += 1.minutes.inWholeMilliseconds
+            cache.getOrFetch(key = key, fetch = fetchChart(price = index))
+            testScheduler.advanceUntilIdle()
+        }
+
+        // Assert
+        val actual = persistenceStore.data.first().charts.keys
+        Truth.assertThat(actual).containsExactly(ETH_KEY.value, SOL_KEY.value)
+    }
+
+    private fun TestScope.createCache(maxMemoryEntries: Int = 32, maxDiskEntries: Int = 64): TokenChartCache {
+        return TokenChartCache(
+            persistenceStore = persistenceStore,
+            appScope = TestAppCoroutineScope(this),
+            maxMemoryEntries = maxMemoryEntries,
+            maxDiskEntries = maxDiskEntries,
+            currentTimeMillis = { now },
+        )
+    }
+
+    private fun fetchChart(price: Int): suspend () -> TokenChart = {
+        fetchesCount++
+        createChart(price)
+    }
+
+    private fun createChart(price: Int): TokenChart {
+        return TokenChart(
+            interval = PriceChangeInterval.H24,
+            priceY = listOf(BigDecimal(price)),
+            timeStamps = listOf(START_TIME),
+        )
+    }
+
+    private fun createChartDTO(price: Int, updatedAt: Long): TokenChartDTO {
+        return TokenChartDTO(timestamps = listOf(START_TIME), prices = listOf(BigDecimal(price)), updatedAt = updatedAt)
+    }
+
+    private companion object {
+        const val START_TIME = 1_700_000_000_000L
+
+        val BTC_KEY = createKey(coinId = "bitcoin")
+        val ETH_KEY = createKey(coinId = "ethereum")
+        val SOL_KEY = createKey(coinId = "solana")
+
+        fun createKey(coinId: String) = TokenChartCache.Key(
+            type = TokenChartCache.Key.Type.CHART,
+            coinId = coinId,
+            fiat = "USD",
+            interval = PriceChangeInterval.H24,
+        )
+    }
+}
@@ -0,0 +1,108 @@
+package com.tangem.data.markets.cache
+
+import com.google.common.truth.Truth
+import com.tangem.common.test.TestAppCoroutineScope
+import com.tangem.common.test.datastore.MockStateDataStore
+import com.tangem.domain.markets.TokenMarket
+import com.tangem.domain.markets.TokenMarketListConfig
+import com.tangem.domain.markets.TokenQuotesShort
+import com.tangem.domain.models.currency.CryptoCurrency
+import kotlinx.coroutines.test.TestScope
+import kotlinx.coroutines.test.runTest
+import org.junit.jupiter.api.Test
+import java.math.BigDecimal
+import kotlin.time.Duration.Companion.hours
+
+internal class TokenMarketListCacheTest {
+
+    private val persistenceStore = MockStateDataStore(default = TokenMarketListsDTO())
+    private var now = START_TIME
+
+    @Test
+    fun `get returns persisted batches with the same images`() = runTest {
+        // Arrange
+        val cache = createCache()
+        val batches = listOf(listOf(createToken(id = "bitcoin"), createToken(id = "ethereum")))
+        cache.put(requestParams = CONFIG, batches = batches)
+        testScheduler.advanceUntilIdle()
+
+        // Act
+        val actual = cache.get(requestParams = CONFIG)
+
+        // Assert
+        Truth.assertThat(actual).isEqualTo(batches)
+        Truth.assertThat(actual?.first()?.first()?.imageUrlLarge).isEqualTo("${IMAGE_HOST}large/bitcoin.png")
+    }
+
+    @Test
+    fun `get returns null for list that is older than max age`() = runTest {
+        // Arrange
+        val cache = createCache()
+        cache.put(requestParams = CONFIG, batches = listOf(listOf(createToken(id = "bitcoin"))))
+        testScheduler.advanceUntilIdle()
+
+        // Act
+        now += 7.hours.inWholeMilliseconds
+        val actual = cache.get(requestParams = CONFIG)
+
+        // Assert
+        Truth.assertThat(actual).isNull()
+    }
+
+    @Test
+    fun `search results aren't cached`() = runTest {
+        // Arrange
+        val cache = createCache()
+        val config = CONFIG.copy(searchText = "bit")
+
+        // Act
+        cache.put(requestParams = config, batches = listOf(listOf(createToken(id = "bitcoin"))))
+        testScheduler.advanceUntilIdle()
+
+        // Assert
+        Truth.assertThat(cache.get(requestParams = config)).isNull()
+        Truth.assertThat(cache.get(requestParams = CONFIG)).isNull()
+    }
+
+    private fun TestScope.createCache(): TokenMarketListCache {
+        return TokenMarketListCache(
+            persistenceStore = persistenceStore,
+            appScope = TestAppCoroutineScope(this),
+            currentTimeMillis = { now },
+        )
+    }
+
+    private fun createToken(id: String): TokenMarket {
+        return TokenMarket(
+            id = CryptoCurrency.RawID(id),
+            name = id,
+            symbol = id.take(n = 3).uppercase(),
+            marketRating = 1,
+            marketCap = BigDecimal.TEN,
+            isUnderMarketCapLimit = false,
+            tokenQuotesShort = TokenQuotesShort(
+                currentPrice = BigDecimal.ONE,
+                h24ChangePercent = null,
+                weekChangePercent = null,
+                monthChangePercent = null,
+            ),
+            tokenCharts = TokenMarket.Charts(h24 = null, week = null, month = null),
+            yieldRate = null,
+            updateTimestamp = null,
+            networks = null,
+            imageHost = IMAGE_HOST,
+        )
+    }
+
+    private companion object {
+        const val START_TIME = 1_700_000_000_000L
+        const val IMAGE_HOST = "https://s3.example.com/coins/"
+
+        val CONFIG = TokenMarketListConfig(
+            fiatPriceCurrency = "USD",
+            searchText = null,
+            priceChangeInterval = TokenMarketListConfig.Interval.H24,
+            order = TokenMarketListConfig.Order.ByRating,
+        )
+    }
+}
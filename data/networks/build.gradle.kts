@@ -45,6 +45,7 @@ dependencies {
 
     // region Other libraries
     implementation(deps.androidx.datastore)
+    implementation(deps.kotlin.immutable.collections)
     implementation(deps.moshi)
     // endregion
 
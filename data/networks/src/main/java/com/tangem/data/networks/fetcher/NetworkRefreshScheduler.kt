@@ -0,0 +1,145 @@
+package com.tangem.data.networks.fetcher
+
+import com.tangem.domain.models.network.Network
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.asStateFlow
+import kotlinx.coroutines.flow.update
+import java.util.TreeSet
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Scheduler of network status refreshes.
+ * Limits the number of simultaneous refreshes globally and per provider, and starts queued refreshes by [Priority].
+ *
+ * Blockchain providers are configured per blockchain, so refreshes of networks with the same [Network.rawId]
+ * (e.g. different derivation paths) share the per-provider limit.
+ *
+ * @property maxRefreshes            max number of simultaneous refreshes
+ * @property maxRefreshesPerProvider max number of simultaneous refreshes of one provider
+ */
+@Singleton
+internal class NetworkRefreshScheduler(
+    private val maxRefreshes: Int,
+    private val maxRefreshesPerProvider: Int,
+) {
+
+    @Inject
+    constructor() : this(
+        maxRefreshes = DEFAULT_MAX_REFRESHES,
+        maxRefreshesPerProvider = DEFAULT_MAX_REFRESHES_PER_PROVIDER,
+    )
+
+    private val lock = Any()
+    private val queue = TreeSet(compareBy<Ticket>({ it.priority.ordinal }, { it.order }))
+    private val inFlightByProvider = mutableMapOf<String, Int>()
+    private var inFlight = 0
+    private var order = 0L
+
+    private val _metrics = MutableStateFlow(Metrics())
+
+    /** Metrics of scheduled refreshes to tune the limits */
+    val metrics: StateFlow<Metrics> = _metrics.asStateFlow()
+
+    /**
+     * Run refresh [block] of [network] when limits allow it.
+     * Refreshes with higher [priority] are started first, refreshes with the same priority are started in FIFO order.
+     */
+    suspend fun <T> schedule(network: Network, priority: Priority, block: suspend () -> T): T {
+        val ticket = enqueue(network = network, priority = priority)
+
+        try {
+            ticket.permit.await()
+
+            val startTime = System.currentTimeMillis()
+
+            return try {
+                block()
+            } finally {
+                val latency = System.currentTimeMillis() - startTime
+
+                _metrics.update { it.copy(latencies = it.latencies + (network.id to latency)) }
+            }
+        } finally {
+            release(ticket)
+        }
+    }
+
+    private fun enqueue(network: Network, priority: Priority): Ticket {
+        val ticket = synchronized(lock) {
+            Ticket(provider = network.rawId, priority = priority, order = order++).also(queue::add)
+        }
+
+        dispatch()
+
+        return ticket
+    }
+
+    private fun release(ticket: Ticket) {
+        synchronized(lock) {
+            if (!queue.remove(ticket)) {
+                inFlight -= 1
+                inFlightByProvider.compute(ticket.provider) { _, count -> count?.minus(1)?.takeIf { it > 0 } }
+            }
+        }
+
+        dispatch()
+    }
+
+    private fun dispatch() {
+        val granted = mutableListOf<Ticket>()
+
+        synchronized(lock) {
+            val iterator = queue.iterator()
+
+            while (inFlight < maxRefreshes && iterator.hasNext()) {
+                val ticket = iterator.next()
+                val providerInFlight = inFlightByProvider[ticket.provider] ?: 0
+
+                if (providerInFlight >= maxRefreshesPerProvider) continue
+
+                iterator.remove()
+                inFlight += 1
+                inFlightByProvider[ticket.provider] = providerInFlight + 1
+                granted += ticket
+            }
+
+            _metrics.update { it.copy(queueDepth = queue.size, inFlight = inFlight) }
+        }
+
+        granted.forEach { it.permit.complete(Unit) }
+    }
+
+    /** Priority of network refresh. Refreshes are started in the order of declaration */
+    enum class Priority {
+        /** Network holds non-zero balances */
+        HIGH,
+
+        /** Other networks */
+        NORMAL,
+    }
+
+    /**
+     * Metrics of the scheduler
+     *
+     * @property queueDepth number of refreshes that are waiting for the limits
+     * @property inFlight   number of running refreshes
+     * @property latencies  duration of the last refresh of every network in milliseconds
+     */
+    data class Metrics(
+        val queueDepth: Int = 0,
+        val inFlight: Int = 0,
+        val latencies: Map<Network.ID, Long> = emptyMap(),
+    )
+
+    private class Ticket(val provider: String, val priority: Priority, val order: Long) {
+        val permit = CompletableDeferred<Unit>()
+    }
+
+    private companion object {
+        const val DEFAULT_MAX_REFRESHES = 8
+        const val DEFAULT_MAX_REFRESHES_PER_PROVIDER = 2
+    }
+}
@@ -3,6 +3,7 @@ package com.tangem.data.networks.multi
 import arrow.core.raise.catch
 import arrow.core.raise.ensure
 import com.tangem.data.networks.fetcher.CommonNetworkStatusFetcher
+import com.tangem.data.networks.fetcher.NetworkRefreshScheduler
 import com.tangem.data.networks.store.NetworksStatusesStore
 import com.tangem.data.networks.store.setSourceAsCache
 import com.tangem.data.networks.store.setSourceAsOnlyCache
@@ -11,6 +12,8 @@ import com.tangem.domain.common.tokens.CardCryptoCurrencyFactory
 import com.tangem.domain.core.utils.eitherOn
 import com.tangem.domain.models.currency.CryptoCurrency
 import com.tangem.domain.models.network.Network
+import com.tangem.domain.models.network.NetworkStatus
+import com.tangem.domain.models.wallet.UserWalletId
 import com.tangem.domain.networks.multi.MultiNetworkStatusFetcher
 import com.tangem.utils.coroutines.CoroutineDispatcherProvider
 import com.tangem.utils.logging.TangemLogger
@@ -25,6 +28,7 @@ import javax.inject.Inject
  * @property networksStatusesStore      networks statuses store
  * @property cardCryptoCurrencyFactory  card crypto currency factory
  * @property commonNetworkStatusFetcher common network status fetcher
+ * @property networkRefreshScheduler    scheduler that limits simultaneous refreshes
  * @property dispatchers                dispatchers
  *
 [REDACTED_AUTHOR]
@@ -34,6 +38,7 @@ internal class DefaultMultiNetworkStatusFetcher @Inject constructor(
     private val cardCryptoCurrencyFactory: CardCryptoCurrencyFactory,
     private val commonNetworkStatusFetcher: CommonNetworkStatusFetcher,
     private val dynamicAddressesInitializer: DynamicAddressesInitializer,
+    private val networkRefreshScheduler: NetworkRefreshScheduler,
     private val dispatchers: CoroutineDispatcherProvider,
 ) : MultiNetworkStatusFetcher {
 
@@ -60,16 +65,21 @@ internal class DefaultMultiNetworkStatusFetcher @Inject constructor(
             },
         )
 
+        // every fetch stores its status as soon as it's finished, so statuses are streamed into the store
         val result = coroutineScope {
             params.networks
-                .map { network ->
+                .map { network -> network to getRefreshPriority(params.userWalletId, network) }
+                .sortedBy { (_, priority) -> priority }
+                .map { (network, priority) ->
                     async {
-                        commonNetworkStatusFetcher.fetch(
-                            userWalletId = params.userWalletId,
-                            network = network,
-                            networkCurrencies = networksCurrencies[network].orEmpty().toSet(),
-                            xpub = xpubByNetwork[network],
-                        )
+                        networkRefreshScheduler.schedule(network = network, priority = priority) {
+                            commonNetworkStatusFetcher.fetch(
+                                userWalletId = params.userWalletId,
+                                network = network,
+                                networkCurrencies = networksCurrencies[network].orEmpty().toSet(),
+                                xpub = xpubByNetwork[network],
+                            )
+                        }
                     }
                 }
                 .awaitAll()
@@ -82,6 +92,20 @@ internal class DefaultMultiNetworkStatusFetcher @Inject constructor(
         }
     }
 
+    private suspend fun getRefreshPriority(
+        userWalletId: UserWalletId,
+        network: Network,
+    ): NetworkRefreshScheduler.Priority {
+        val status = networksStatusesStore.getSyncOrNull(userWalletId = userWalletId, network = network)
+        val amounts = (status?.value as? NetworkStatus.Verified)?.amounts.orEmpty()
+
+        val hasBalance = amounts.values.any { amount ->
+            amount is NetworkStatus.Amount.Loaded && amount.value.signum() != 0
+        }
+
+        return if (hasBalance) NetworkRefreshScheduler.Priority.HIGH else NetworkRefreshScheduler.Priority.NORMAL
+    }
+
     private suspend fun createNetworksCurrenciesMap(
         params: MultiNetworkStatusFetcher.Params,
     ): Map<Network, List<CryptoCurrency>> {
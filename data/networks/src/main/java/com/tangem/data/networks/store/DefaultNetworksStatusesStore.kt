@@ -6,6 +6,7 @@ import com.tangem.blockchainsdk.utils.toBlockchain
 import com.tangem.data.networks.converters.NetworkStatusDataModelConverter
 import com.tangem.data.networks.converters.SimpleNetworkStatusConverter
 import com.tangem.data.networks.models.SimpleNetworkStatus
+import com.tangem.data.networks.store.SimpleNetworkStatusIndex.Companion.toIndex
 import com.tangem.datasource.local.datastore.RuntimeSharedStore
 import com.tangem.datasource.local.network.entity.NetworkStatusDM
 import com.tangem.domain.models.StatusSource
@@ -13,19 +14,24 @@ import com.tangem.domain.models.network.Network
 import com.tangem.domain.models.network.NetworkStatus
 import com.tangem.domain.models.wallet.UserWalletId
 import com.tangem.utils.coroutines.AppCoroutineScope
-import com.tangem.utils.extensions.addOrReplace
 import com.tangem.utils.logging.TangemLogger
 import kotlinx.coroutines.coroutineScope
 import kotlinx.coroutines.delay
 import kotlinx.coroutines.flow.*
 import kotlinx.coroutines.launch
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
 import java.io.File
 
 internal typealias WalletIdWithSimpleStatus = Map<String, Set<SimpleNetworkStatus>>
 internal typealias WalletIdWithStatusDM = Map<String, Set<NetworkStatusDM>>
 
 /**
- * Default implementation of [NetworksStatusesStore]
+ * Default implementation of [NetworksStatusesStore].
+ *
+ * Runtime statuses of every wallet are kept in [SimpleNetworkStatusIndex] to get O(1) lookups by [Network.ID].
+ * Persistence writes are coalesced: statuses stored while the previous write is in progress are saved by one
+ * [DataStore.updateData] call, so a refresh of many networks doesn't rewrite the whole file for each network.
  *
  * @param context                 context
  * @param scope                   app coroutine scope
@@ -39,6 +45,10 @@ internal class DefaultNetworksStatusesStore(
     private val persistenceDataStore: DataStore<WalletIdWithStatusDM>,
 ) : NetworksStatusesStore {
 
+    private val pendingStatuses = mutableMapOf<PersistenceKey, NetworkStatusDM>()
+    private val pendingStatusesMutex = Mutex()
+    private val persistenceWriteMutex = Mutex()
+
     init {
         scope.launch {
             try {
@@ -55,7 +65,7 @@ internal class DefaultNetworksStatusesStore(
 
             runtimeStore.store(
                 value = cachedStatuses.mapValues { (_, statuses) ->
-                    SimpleNetworkStatusConverter.convertSet(statuses)
+                    SimpleNetworkStatusIndex.EMPTY.put(values = SimpleNetworkStatusConverter.convertList(statuses))
                 },
             )
         }
@@ -68,7 +78,7 @@ internal class DefaultNetworksStatusesStore(
     }
 
     override suspend fun getSyncOrNull(userWalletId: UserWalletId, network: Network): SimpleNetworkStatus? {
-        return runtimeStore.getSyncOrNull()?.get(userWalletId.stringValue)?.firstOrNull { it.id == network.id }
+        return runtimeStore.getSyncOrNull()?.get(userWalletId.stringValue)?.toIndex()?.get(network.id)
     }
 
     override suspend fun updateStatusSource(
@@ -109,16 +119,21 @@ internal class DefaultNetworksStatusesStore(
     }
 
     override suspend fun clear(userWalletId: UserWalletId, networks: Set<Network>) {
-        persistenceDataStore.updateData { storedStatuses ->
-            storedStatuses.toMutableMap().apply {
-                val updatedValues = this[userWalletId.stringValue].orEmpty().filterNot {
-                    networks.any { network ->
-                        it.networkId.value == network.toBlockchain().id &&
-                            it.derivationPath.value == network.derivationPath.value
+        // pending statuses must not overwrite the cleared ones
+        flushPendingStatuses()
+
+        persistenceWriteMutex.withLock {
+            persistenceDataStore.updateData { storedStatuses ->
+                storedStatuses.toMutableMap().apply {
+                    val updatedValues = this[userWalletId.stringValue].orEmpty().filterNot {
+                        networks.any { network ->
+                            it.networkId.value == network.toBlockchain().id &&
+                                it.derivationPath.value == network.derivationPath.value
+                        }
                     }
-                }
 
-                this[userWalletId.stringValue] = updatedValues.toSet()
+                    this[userWalletId.stringValue] = updatedValues.toSet()
+                }
             }
         }
     }
@@ -134,34 +149,26 @@ internal class DefaultNetworksStatusesStore(
         update: (SimpleNetworkStatus) -> SimpleNetworkStatus,
     ) {
         runtimeStore.update(default = emptyMap()) { stored ->
-            stored.toMutableMap().apply {
-                val storedStatuses = this[userWalletId.stringValue].orEmpty()
-
-                val statuses = networks.mapNotNullTo(hashSetOf()) { network ->
-                    val status = storedStatuses.firstOrNull { it.id == network.id }
-                        ?: ifNotFound(network.id)
-                        ?: return@mapNotNullTo null
-
-                    update(status)
-                }
+            val storedStatuses = stored[userWalletId.stringValue].toIndex()
 
-                val updatedStatuses = storedStatuses.addOrReplace(statuses) { old, new -> old.id == new.id }
+            val statuses = networks.mapNotNull { network ->
+                val status = storedStatuses[network.id]
+                    ?: ifNotFound(network.id)
+                    ?: return@mapNotNull null
 
-                put(key = userWalletId.stringValue, value = updatedStatuses)
+                update(status)
             }
+
+            stored + (userWalletId.stringValue to storedStatuses.put(values = statuses))
         }
     }
 
     private suspend fun storeInRuntime(userWalletId: UserWalletId, status: NetworkStatus) {
         runtimeStore.update(default = emptyMap()) { stored ->
-            stored.toMutableMap().apply {
-                val simpleStatus = SimpleNetworkStatus(status = status)
-
-                val updatedStatuses = this[userWalletId.stringValue].orEmpty()
-                    .addOrReplace(simpleStatus) { it.id == simpleStatus.id }
+            val updatedStatuses = stored[userWalletId.stringValue].toIndex()
+                .put(value = SimpleNetworkStatus(status = status))
 
-                put(key = userWalletId.stringValue, value = updatedStatuses)
-            }
+            stored + (userWalletId.stringValue to updatedStatuses)
         }
     }
 
@@ -169,16 +176,57 @@ internal class DefaultNetworksStatusesStore(
         // Converter will return null if the network status is not supported
         val statusDM = NetworkStatusDataModelConverter.convert(value = status) ?: return
 
-        persistenceDataStore.updateData { storedStatuses ->
-            storedStatuses.toMutableMap().apply {
-                val updatedValues = this[userWalletId.stringValue].orEmpty().addOrReplace(statusDM) {
-                    it.networkId == statusDM.networkId && it.derivationPath == statusDM.derivationPath
-                }
+        pendingStatusesMutex.withLock {
+            pendingStatuses[PersistenceKey(userWalletId = userWalletId.stringValue, statusDM = statusDM)] = statusDM
+        }
+
+        flushPendingStatuses()
+    }
 
-                this[userWalletId.stringValue] = updatedValues
+    /**
+     * Write all pending statuses by one [DataStore.updateData] call.
+     * If pending statuses were already written by a concurrent call, it does nothing.
+     */
+    private suspend fun flushPendingStatuses() {
+        persistenceWriteMutex.withLock {
+            val batch = pendingStatusesMutex.withLock {
+                pendingStatuses.toMap().also { pendingStatuses.clear() }
+            }
+
+            if (batch.isEmpty()) return
+
+            persistenceDataStore.updateData { storedStatuses ->
+                storedStatuses.toMutableMap().apply {
+                    batch.entries
+                        .groupBy(keySelector = { it.key.userWalletId }, valueTransform = { it.value })
+                        .forEach { (userWalletId, statuses) ->
+                            val updatedValues = this[userWalletId].orEmpty()
+                                .associateByTo(mutableMapOf(), ::toNetworkKey)
+                                .apply { statuses.forEach { put(toNetworkKey(it), it) } }
+
+                            this[userWalletId] = updatedValues.values.toSet()
+                        }
+                }
             }
         }
     }
+
+    private fun toNetworkKey(statusDM: NetworkStatusDM): Pair<NetworkStatusDM.ID, NetworkStatusDM.DerivationPath> {
+        return statusDM.networkId to statusDM.derivationPath
+    }
+
+    private data class PersistenceKey(
+        val userWalletId: String,
+        val networkId: NetworkStatusDM.ID,
+        val derivationPath: NetworkStatusDM.DerivationPath,
+    ) {
+
+        constructor(userWalletId: String, statusDM: NetworkStatusDM) : this(
+            userWalletId = userWalletId,
+            networkId = statusDM.networkId,
+            derivationPath = statusDM.derivationPath,
+        )
+    }
 }
 
 @Suppress("MagicNumber")
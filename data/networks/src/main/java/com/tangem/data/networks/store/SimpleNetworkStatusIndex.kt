@@ -0,0 +1,56 @@
+package com.tangem.data.networks.store
+
+import com.tangem.data.networks.models.SimpleNetworkStatus
+import com.tangem.domain.models.network.Network
+import kotlinx.collections.immutable.PersistentMap
+import kotlinx.collections.immutable.mutate
+import kotlinx.collections.immutable.persistentMapOf
+
+/**
+ * Immutable set of [SimpleNetworkStatus]es indexed by [Network.ID].
+ * Lookups are O(1) and updates share the structure with the previous version instead of copying the whole set.
+ *
+ * @property statuses statuses by network id
+ */
+internal class SimpleNetworkStatusIndex private constructor(
+    private val statuses: PersistentMap<Network.ID, SimpleNetworkStatus>,
+) : AbstractSet<SimpleNetworkStatus>() {
+
+    override val size: Int
+        get() = statuses.size
+
+    override fun iterator(): Iterator<SimpleNetworkStatus> = statuses.values.iterator()
+
+    override fun contains(element: SimpleNetworkStatus): Boolean = statuses[element.id] == element
+
+    /** Get status by network [id] */
+    operator fun get(id: Network.ID): SimpleNetworkStatus? = statuses[id]
+
+    /** Add or replace [values] by their ids */
+    fun put(values: Collection<SimpleNetworkStatus>): SimpleNetworkStatusIndex {
+        if (values.isEmpty()) return this
+
+        val updated = statuses.mutate { map ->
+            values.forEach { status -> map[status.id] = status }
+        }
+
+        return if (updated === statuses) this else SimpleNetworkStatusIndex(updated)
+    }
+
+    /** Add or replace [value] by its id */
+    fun put(value: SimpleNetworkStatus): SimpleNetworkStatusIndex = put(values = listOf(value))
+
+    companion object {
+
+        val EMPTY = SimpleNetworkStatusIndex(statuses = persistentMapOf())
+
+        /** Convert set of statuses to [SimpleNetworkStatusIndex]. Index is returned as is */
+        fun Set<SimpleNetworkStatus>?.toIndex(): SimpleNetworkStatusIndex {
+            return when (this) {
+                null -> EMPTY
+                is SimpleNetworkStatusIndex -> this
+                else -> EMPTY.put(values = this)
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.tangem.data.networks.fetcher
+
+import com.google.common.truth.Truth
+import com.tangem.common.test.domain.token.MockCryptoCurrencyFactory
+import com.tangem.domain.models.network.Network
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.test.runCurrent
+import kotlinx.coroutines.test.runTest
+import org.junit.jupiter.api.Test
+
+internal class NetworkRefreshSchedulerTest {
+
+    private val cryptoCurrencyFactory = MockCryptoCurrencyFactory()
+
+    @Test
+    fun `schedule limits simultaneous refreshes globally`() = runTest {
+        // Arrange
+        val scheduler = NetworkRefreshScheduler(maxRefreshes = 2, maxRefreshesPerProvider = 2)
+        val networks = listOf(
+            cryptoCurrencyFactory.ethereum.network,
+            cryptoCurrencyFactory.cardano.network,
+            cryptoCurrencyFactory.stellar.network,
+        )
+        val gate = CompletableDeferred<Unit>()
+        val started = mutableListOf<Network>()
+
+        // Act
+        networks.forEach { network ->
+            launch {
+                scheduler.schedule(network = network, priority = NetworkRefreshScheduler.Priority.NORMAL) {
+                    started += network
+                    gate.await()
+                }
+            }
+        }
+        runCurrent()
+
+        // Assert
+        Truth.assertThat(started).isEqualTo(networks.take(2))
+        Truth.assertThat(scheduler.metrics.value.queueDepth).isEqualTo(1)
+        Truth.assertThat(scheduler.metrics.value.inFlight).isEqualTo(2)
+
+        gate.complete(Unit)
+        runCurrent()
+
+        Truth.assertThat(started).isEqualTo(networks)
+        Truth.assertThat(scheduler.metrics.value.queueDepth).isEqualTo(0)
+        Truth.assertThat(scheduler.metrics.value.inFlight).isEqualTo(0)
+        Truth.assertThat(scheduler.metrics.value.latencies.keys).isEqualTo(networks.map(Network::id).toSet())
+    }
+
+    @Test
+    fun `schedule limits simultaneous refreshes per provider`() = runTest {
+        // Arrange
+        val scheduler = NetworkRefreshScheduler(maxRefreshes = 2, maxRefreshesPerProvider = 1)
+        val ethereum = cryptoCurrencyFactory.ethereum.network
+        val cardano = cryptoCurrencyFactory.cardano.network
+        val gate = CompletableDeferred<Unit>()
+        val started = mutableListOf<Network>()
+
+        // Act
+        listOf(ethereum, ethereum, cardano).forEach { network ->
+            launch {
+                scheduler.schedule(network = network, priority = NetworkRefreshScheduler.Priority.NORMAL) {
+                    started += network
+                    gate.await()
+                }
+            }
+        }
+        runCurrent()
+
+        // Assert
+        Truth.assertThat(started).isEqualTo(listOf(ethereum, cardano))
+    }
+
+    @Test
+    fun `schedule starts refreshes with high priority first`() = runTest {
+        // Arrange
+        val scheduler = NetworkRefreshScheduler(maxRefreshes = 1, maxRefreshesPerProvider = 1)
+        val ethereum = cryptoCurrencyFactory.ethereum.network
+        val cardano = cryptoCurrencyFactory.cardano.network
+        val stellar = cryptoCurrencyFactory.stellar.network
+        val gate = CompletableDeferred<Unit>()
+        val started = mutableListOf<Network>()
+
+        // Act
+        listOf(
+            ethereum to NetworkRefreshScheduler.Priority.NORMAL,
+            cardano to NetworkRefreshScheduler.Priority.NORMAL,
+            stellar to NetworkRefreshScheduler.Priority.HIGH,
+        ).forEach { (network, priority) ->
+            launch {
+                scheduler.schedule(network = network, priority = priority) {
+                    started += network
+                    gate.await()
+                }
+            }
+        }
+        runCurrent()
+        gate.complete(Unit)
+        runCurrent()
+
+        // Assert
+        Truth.assertThat(started).isEqualTo(listOf(ethereum, stellar, cardano))
+    }
+}
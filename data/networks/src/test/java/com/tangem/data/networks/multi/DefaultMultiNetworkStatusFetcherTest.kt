@@ -6,6 +6,7 @@ import com.tangem.common.test.domain.token.MockCryptoCurrencyFactory
 import com.tangem.data.dynamicaddresses.DynamicAddressesInitializer
 import com.tangem.domain.common.tokens.CardCryptoCurrencyFactory
 import com.tangem.data.networks.fetcher.CommonNetworkStatusFetcher
+import com.tangem.data.networks.fetcher.NetworkRefreshScheduler
 import com.tangem.data.networks.store.NetworksStatusesStore
 import com.tangem.data.networks.store.setSourceAsCache
 import com.tangem.data.networks.store.setSourceAsOnlyCache
@@ -35,6 +36,7 @@ internal class DefaultMultiNetworkStatusFetcherTest {
         cardCryptoCurrencyFactory = cardCryptoCurrencyFactory,
         commonNetworkStatusFetcher = commonNetworkStatusFetcher,
         dynamicAddressesInitializer = dynamicAddressesInitializer,
+        networkRefreshScheduler = NetworkRefreshScheduler(),
         dispatchers = TestingCoroutineDispatcherProvider(),
     )
 
@@ -43,6 +45,7 @@ internal class DefaultMultiNetworkStatusFetcherTest {
         clearMocks(networksStatusesStore, cardCryptoCurrencyFactory, commonNetworkStatusFetcher, dynamicAddressesInitializer)
         // No dynamic addresses restore by default
         coEvery { dynamicAddressesInitializer.getXpubs(any(), any()) } returns emptyMap()
+        coEvery { networksStatusesStore.getSyncOrNull(any(), any()) } returns null
     }
 
     @Test
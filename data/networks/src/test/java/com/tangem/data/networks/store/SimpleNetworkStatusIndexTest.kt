@@ -0,0 +1,61 @@
+package com.tangem.data.networks.store
+
+import com.google.common.truth.Truth
+import com.tangem.common.test.domain.network.MockNetworkStatusFactory
+import com.tangem.common.test.domain.token.MockCryptoCurrencyFactory
+import com.tangem.data.networks.store.SimpleNetworkStatusIndex.Companion.toIndex
+import com.tangem.data.networks.toSimple
+import com.tangem.domain.models.StatusSource
+import org.junit.Test
+
+internal class SimpleNetworkStatusIndexTest {
+
+    private val ethereumNetwork = MockCryptoCurrencyFactory().ethereum.network
+    private val cardanoNetwork = MockCryptoCurrencyFactory().cardano.network
+
+    private val ethereumStatus = MockNetworkStatusFactory.createVerified(ethereumNetwork).toSimple()
+    private val cardanoStatus = MockNetworkStatusFactory.createNoAccount(cardanoNetwork).toSimple()
+
+    @Test
+    fun `index is equal to set with the same statuses`() {
+        val actual = setOf(ethereumStatus, cardanoStatus).toIndex()
+
+        Truth.assertThat(actual).isEqualTo(setOf(ethereumStatus, cardanoStatus))
+        Truth.assertThat(setOf(ethereumStatus, cardanoStatus)).isEqualTo(actual)
+    }
+
+    @Test
+    fun `get returns status by network id`() {
+        val index = setOf(ethereumStatus, cardanoStatus).toIndex()
+
+        Truth.assertThat(index[ethereumNetwork.id]).isEqualTo(ethereumStatus)
+        Truth.assertThat(index[cardanoNetwork.id]).isEqualTo(cardanoStatus)
+    }
+
+    @Test
+    fun `put replaces status with the same network id`() {
+        val index = setOf(ethereumStatus, cardanoStatus).toIndex()
+        val updatedStatus = ethereumStatus.copy(value = ethereumStatus.value.copySealed(source = StatusSource.CACHE))
+
+        val actual = index.put(value = updatedStatus)
+
+        Truth.assertThat(actual).isEqualTo(setOf(updatedStatus, cardanoStatus))
+        Truth.assertThat(index).isEqualTo(setOf(ethereumStatus, cardanoStatus))
+    }
+
+    @Test
+    fun `put returns the same instance if nothing is changed`() {
+        val index = setOf(ethereumStatus).toIndex()
+
+        val actual = index.put(value = ethereumStatus)
+
+        Truth.assertThat(actual).isSameInstanceAs(index)
+    }
+
+    @Test
+    fun `toIndex returns the same instance for index`() {
+        val index = setOf(ethereumStatus).toIndex()
+
+        Truth.assertThat(index.toIndex()).isSameInstanceAs(index)
+    }
+}
@@ -48,6 +48,12 @@ internal class DefaultNewsRepository(
     private val newsErrorResolver: NewsErrorResolver,
 ) : NewsRepository {
 
+    private val newsDetailsLoader = NewsDetailsLoader(
+        newsApi = newsApi,
+        newsDetailsStore = newsDetailsStore,
+        newsLikedStore = newsLikedStore,
+    )
+
     private val language: String
         get() = SupportedLanguages.getCurrentSupportedLanguageCode()
 
@@ -56,7 +62,7 @@ internal class DefaultNewsRepository(
             fetchDispatcher = dispatchers.io,
             context = context,
             generateNewKey = { keys -> keys.lastOrNull()?.inc() ?: INITIAL_BATCH_KEY },
-            batchFetcher = createBatchFetcher(batchSize),
+            batchFetcher = createBatchFetcher(batchSize = batchSize, scope = context.coroutineScope),
         ).toBatchFlow()
 
         return updateViewedStatusForNewsBatch(newsBatchFlow, context.coroutineScope)
@@ -172,56 +178,27 @@ internal class DefaultNewsRepository(
 
     private suspend fun fetchDetailedArticlesInternal(
         newsIds: Collection<Int>,
-        language: String?,
+        language: String,
     ): Either<Map<Int, Throwable>, Unit> = Either.catch {
         withContext(dispatchers.io) {
-            if (newsIds.isEmpty()) return@withContext Unit.right()
-
-            val uniqueIds = newsIds.distinct()
-            val idsToFetch = buildList {
-                for (id in uniqueIds) {
-                    val cached = newsDetailsStore.getSyncOrNull(id)
-                    if (cached == null) add(id)
-                }
-            }
-
-            if (idsToFetch.isEmpty()) return@withContext Unit.right()
-
-            val fetchedArticles = supervisorScope {
-                idsToFetch.map { newsId ->
-                    async {
-                        Either.catch {
-                            newsApi.getNewsDetails(newsId = newsId, language = language)
-                                .getOrThrow()
-                                .toDomainDetailedArticle(
-                                    isLiked = isNewsLiked(newsId),
-                                )
-                        }.mapLeft {
-                            newsId to it
-                        }
-                    }
-                }.awaitAll()
-            }
-
-            fetchedArticles
-                .filterIsInstance<Either.Right<DetailedArticle>>()
-                .map { it.value }
-                .let { articles ->
-                    if (articles.isNotEmpty()) {
-                        newsDetailsStore.store(
-                            articles = articles.associateBy(DetailedArticle::id),
-                        )
-                    }
-                }
-
-            val errors = fetchedArticles
-                .filterIsInstance<Either.Left<Pair<Int, Throwable>>>()
-                .associate { it.value.first to it.value.second }
+            val errors = newsDetailsLoader.load(newsIds = newsIds, language = language)
 
             if (errors.isEmpty()) Unit.right() else errors.left()
         }
     }.mapLeft { t -> mapOf(GLOBAL_ERROR_ID to t) }.flatten()
 
+    /** Prefetch details of the first articles of the loaded batch, because they are about to become visible */
+    private fun prefetchDetailedArticles(articles: List<ShortArticle>, scope: CoroutineScope) {
+        if (articles.isEmpty()) return
+
+        val currentLanguage = language
+        scope.launch(dispatchers.io) {
+            runSuspendCatching {
+                newsDetailsLoader.prefetch(newsIds = articles.map(ShortArticle::id), language = currentLanguage)
+            }.onFailure { TangemLogger.w("Failed to prefetch news details", it) }
+        }
+    }
+
     private suspend fun fetchAndStoreTrendingNews(limit: Int, language: String?) {
         return withContext(dispatchers.io) {
             when (val apiResponse = newsApi.getTrendingNews(limit = limit, language = language)) {
@@ -253,11 +230,15 @@ internal class DefaultNewsRepository(
         }
     }
 
-    private fun createBatchFetcher(batchSize: Int): BatchFetcher<NewsListConfig, List<ShortArticle>> {
+    private fun createBatchFetcher(
+        batchSize: Int,
+        scope: CoroutineScope,
+    ): BatchFetcher<NewsListConfig, List<ShortArticle>> {
         return NewsBatchFetcher(
             newsApi = newsApi,
             batchSize = batchSize,
             newsViewedStore = newsViewedStore,
+            scope = scope,
         )
     }
 
@@ -265,6 +246,7 @@ internal class DefaultNewsRepository(
         private val newsApi: NewsApi,
         private val batchSize: Int,
         private val newsViewedStore: NewsViewedStore,
+        private val scope: CoroutineScope,
     ) : BatchFetcher<NewsListConfig, List<ShortArticle>> {
 
         private var state: NewsPaginationState? = null
@@ -342,6 +324,8 @@ internal class DefaultNewsRepository(
                 article.copy(viewed = isViewed)
             }
 
+            prefetchDetailedArticles(articles = items, scope = scope)
+
             val batchResult = BatchFetchResult.Success(
                 data = items,
                 empty = items.isEmpty(),
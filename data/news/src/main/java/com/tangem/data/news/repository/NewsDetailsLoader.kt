@@ -0,0 +1,109 @@
+package com.tangem.data.news.repository
+
+import arrow.core.Either
+import com.tangem.datasource.api.common.response.getOrThrow
+import com.tangem.datasource.api.news.NewsApi
+import com.tangem.datasource.local.news.details.NewsDetailsStore
+import com.tangem.datasource.local.news.liked.NewsLikedStore
+import com.tangem.domain.models.news.DetailedArticle
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.currentCoroutineContext
+import kotlinx.coroutines.ensureActive
+import kotlinx.coroutines.sync.Semaphore
+import kotlinx.coroutines.sync.withPermit
+import java.util.concurrent.ConcurrentHashMap
+
+private typealias FetchResult = Either<Throwable, DetailedArticle>
+
+/**
+ * Loader of news details.
+ *
+ * Cached articles and liked flags are looked up once per [load]. Articles that aren't cached in the requested
+ * language are fetched with at most [MAX_CONCURRENT_REQUESTS] parallel requests, and concurrent loads of the same
+ * article share one request, so prefetching and opening of an article don't duplicate each other.
+ *
+ * @property newsApi          news API
+ * @property newsDetailsStore news details store
+ * @property newsLikedStore   news liked store
+ */
+internal class NewsDetailsLoader(
+    private val newsApi: NewsApi,
+    private val newsDetailsStore: NewsDetailsStore,
+    private val newsLikedStore: NewsLikedStore,
+) {
+
+    private val requestsSemaphore = Semaphore(permits = MAX_CONCURRENT_REQUESTS)
+    private val inFlightRequests = ConcurrentHashMap<RequestKey, CompletableDeferred<FetchResult>>()
+
+    /** Load and store details of [newsIds] in [language]. Returns errors of articles that weren't loaded */
+    suspend fun load(newsIds: Collection<Int>, language: String): Map<Int, Throwable> {
+        val uniqueIds = newsIds.distinct()
+        if (uniqueIds.isEmpty()) return emptyMap()
+
+        val cachedArticles = newsDetailsStore.getSync(uniqueIds)
+        val idsToFetch = uniqueIds.filter { id -> cachedArticles[id]?.locale != language }
+        if (idsToFetch.isEmpty()) return emptyMap()
+
+        val likedFlags = newsLikedStore.getSync()
+
+        val results = coroutineScope {
+            idsToFetch.map { id ->
+                async {
+                    id to fetch(key = RequestKey(newsId = id, language = language), isLiked = likedFlags[id] == true)
+                }
+            }.awaitAll()
+        }
+
+        val articles = results.mapNotNull { (_, result) -> result.getOrNull() }
+        if (articles.isNotEmpty()) {
+            newsDetailsStore.store(articles = articles.associateBy(DetailedArticle::id))
+        }
+
+        return results.mapNotNull { (id, result) -> result.leftOrNull()?.let { id to it } }.toMap()
+    }
+
+    /** Load details of the first [PREFETCH_ARTICLES_COUNT] articles of [newsIds], because they are about to be shown */
+    suspend fun prefetch(newsIds: List<Int>, language: String): Map<Int, Throwable> {
+        return load(newsIds = newsIds.take(PREFETCH_ARTICLES_COUNT), language = language)
+    }
+
+    private suspend fun fetch(key: RequestKey, isLiked: Boolean): FetchResult {
+        val request = CompletableDeferred<FetchResult>()
+        val inFlightRequest = inFlightRequests.putIfAbsent(key, request)
+
+        if (inFlightRequest != null) {
+            return try {
+                inFlightRequest.await()
+            } catch (e: CancellationException) {
+                // the request is cancelled by its owner, so it is repeated if the current coroutine is still active
+                currentCoroutineContext().ensureActive()
+                fetch(key = key, isLiked = isLiked)
+            }
+        }
+
+        return try {
+            requestsSemaphore.withPermit {
+                Either.catch {
+                    newsApi.getNewsDetails(newsId = key.newsId, language = key.language)
+                        .getOrThrow()
+                        .toDomainDetailedArticle(isLiked = isLiked)
+                }
+            }.also(request::complete)
+        } finally {
+            // the request is released before cancellation, so its waiters don't get it again
+            inFlightRequests.remove(key, request)
+            request.cancel()
+        }
+    }
+
+    private data class RequestKey(val newsId: Int, val language: String)
+
+    private companion object {
+        const val MAX_CONCURRENT_REQUESTS = 4
+        const val PREFETCH_ARTICLES_COUNT = 3
+    }
+}
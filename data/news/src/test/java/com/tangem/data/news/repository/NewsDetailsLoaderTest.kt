@@ -0,0 +1,139 @@
+package com.tangem.data.news.repository
+
+import com.google.common.truth.Truth
+import com.tangem.datasource.api.common.response.ApiResponse
+import com.tangem.datasource.api.news.NewsApi
+import com.tangem.datasource.api.news.models.response.NewsDetailsResponse
+import com.tangem.datasource.local.news.details.NewsDetailsStore
+import com.tangem.datasource.local.news.liked.NewsLikedStore
+import io.mockk.coEvery
+import io.mockk.coVerify
+import io.mockk.mockk
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.awaitCancellation
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.test.currentTime
+import kotlinx.coroutines.test.runCurrent
+import kotlinx.coroutines.test.runTest
+import org.junit.jupiter.api.Test
+
+internal class NewsDetailsLoaderTest {
+
+    private val newsApi = mockk<NewsApi>()
+    private val newsDetailsStore = mockk<NewsDetailsStore>(relaxUnitFun = true) {
+        coEvery { getSync(any()) } returns emptyMap()
+    }
+    private val newsLikedStore = mockk<NewsLikedStore> {
+        coEvery { getSync() } returns emptyMap()
+    }
+
+    private val loader = NewsDetailsLoader(
+        newsApi = newsApi,
+        newsDetailsStore = newsDetailsStore,
+        newsLikedStore = newsLikedStore,
+    )
+
+    @Test
+    fun `concurrent loads of the same article share one request`() = runTest {
+        // Arrange
+        coEvery { newsApi.getNewsDetails(newsId = any(), language = LANGUAGE) } coAnswers {
+            delay(REQUEST_DELAY)
+            ApiResponse.Success(data = createResponse(id = firstArg()))
+        }
+
+        // Act
+        val errors = List(size = 2) {
+            async { loader.load(newsIds = listOf(1), language = LANGUAGE) }
+        }.awaitAll()
+
+        // Assert
+        Truth.assertThat(errors).containsExactly(emptyMap<Int, Throwable>(), emptyMap<Int, Throwable>())
+        coVerify(exactly = 1) { newsApi.getNewsDetails(newsId = 1, language = LANGUAGE) }
+    }
+
+    @Test
+    fun `parallel requests are limited`() = runTest {
+        // Arrange
+        var activeRequestsCount = 0
+        var maxActiveRequestsCount = 0
+
+        coEvery { newsApi.getNewsDetails(newsId = any(), language = LANGUAGE) } coAnswers {
+            activeRequestsCount++
+            maxActiveRequestsCount = maxOf(maxActiveRequestsCount, activeRequestsCount)
+            delay(REQUEST_DELAY)
+            activeRequestsCount--
+            ApiResponse.Success(data = createResponse(id = firstArg()))
+        }
+
+        // Act
+        loader.load(newsIds = (1..10).toList(), language = LANGUAGE)
+
+        // Assert
+        Truth.assertThat(maxActiveRequestsCount).isEqualTo(4)
+        Truth.assertThat(currentTime).isEqualTo(3 * REQUEST_DELAY)
+        coVerify(exactly = 10) { newsApi.getNewsDetails(newsId = any(), language = LANGUAGE) }
+    }
+
+    @Test
+    fun `waiter requests article itself if owner of the request is cancelled`() = runTest {
+        // Arrange
+        var requestsCount = 0
+
+        coEvery { newsApi.getNewsDetails(newsId = any(), language = LANGUAGE) } coAnswers {
+            if (++requestsCount == 1) awaitCancellation()
+            ApiResponse.Success(data = createResponse(id = firstArg()))
+        }
+
+        val owner = async { loader.load(newsIds = listOf(1), language = LANGUAGE) }
+        runCurrent()
+        val waiter = async { loader.load(newsIds = listOf(1), language = LANGUAGE) }
+        runCurrent()
+
+        // Act
+        owner.cancel()
+        val errors = waiter.await()
+
+        // Assert
+        Truth.assertThat(errors).isEmpty()
+        coVerify(exactly = 2) { newsApi.getNewsDetails(newsId = 1, language = LANGUAGE) }
+        coVerify(exactly = 1) { newsDetailsStore.store(articles = match { it.keys == setOf(1) }) }
+    }
+
+    @Test
+    fun `prefetch loads only the first articles`() = runTest {
+        // Arrange
+        coEvery { newsApi.getNewsDetails(newsId = any(), language = LANGUAGE) } coAnswers {
+            ApiResponse.Success(data = createResponse(id = firstArg()))
+        }
+
+        // Act
+        loader.prefetch(newsIds = listOf(5, 4, 3, 2, 1), language = LANGUAGE)
+
+        // Assert
+        coVerify(exactly = 3) { newsApi.getNewsDetails(newsId = any(), language = LANGUAGE) }
+        coVerify(exactly = 1) { newsDetailsStore.store(articles = match { it.keys == setOf(5, 4, 3) }) }
+    }
+
+    private fun createResponse(id: Int): NewsDetailsResponse {
+        return NewsDetailsResponse(
+            id = id,
+            createdAt = "2024-01-01T00:00:00Z",
+            score = 1.0,
+            language = LANGUAGE,
+            isTrending = false,
+            categories = emptyList(),
+            relatedTokens = emptyList(),
+            title = "Article $id",
+            newsUrl = "https://example.com/news/$id",
+            shortContent = "",
+            content = "",
+            relatedArticles = emptyList(),
+        )
+    }
+
+    private companion object {
+        const val LANGUAGE = "en"
+        const val REQUEST_DELAY = 100L
+    }
+}
@@ -181,26 +181,16 @@ internal class DefaultNFTRepository @Inject constructor(
                     }
                 }
 
-                getNFTPersistenceStore(userWalletId, network)
+                val persistenceStore = getNFTPersistenceStore(userWalletId, network)
+                persistenceStore.saveAssets(collectionId = sdkCollectionId, assets = assets)
+                persistenceStore
                     .getCollectionsSync()
-                    ?.map { collection ->
-                        if (collection.identifier == sdkCollectionId) {
-                            collection.copy(assets = assets)
-                        } else {
-                            collection
-                        }
-                    }
                     ?.let { collections ->
                         saveCollectionsInRuntime(
                             userWalletId = userWalletId,
                             network = network,
                             collections = collections,
                         )
-                        saveCollectionsInPersistence(
-                            userWalletId = userWalletId,
-                            network = network,
-                            collections = collections,
-                        )
                     }
             }.onLeft { throwable ->
                 if (throwable !is UnsupportedOperationException) {
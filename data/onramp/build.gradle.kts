@@ -13,6 +13,10 @@ android {
     namespace = "com.tangem.data.onramp"
 }
 
+tasks.withType<Test>().configureEach {
+    useJUnitPlatform()
+}
+
 dependencies {
     /** Core modules */
     implementation(projects.core.datasource)
@@ -61,4 +65,9 @@ dependencies {
     }
 
     // endregion
+
+    // region Tests
+    testRuntimeOnly(deps.test.junit5.engine)
+    testImplementation(projects.test.core)
+    // endregion
 }
@@ -9,6 +9,7 @@ import com.tangem.data.onramp.converters.CurrencyConverter
 import com.tangem.data.onramp.converters.PaymentMethodConverter
 import com.tangem.data.onramp.converters.StatusConverter
 import com.tangem.data.onramp.converters.error.OnrampErrorConverter
+import com.tangem.data.onramp.quotes.OnrampQuotesFetcher
 import com.tangem.datasource.api.common.response.ApiResponseError
 import com.tangem.datasource.api.common.response.getOrThrow
 import com.tangem.datasource.api.express.TangemExpressApi
@@ -51,7 +52,6 @@ import com.tangem.utils.coroutines.CoroutineDispatcherProvider
 import com.tangem.utils.logging.TangemLogger
 import kotlinx.coroutines.NonCancellable
 import kotlinx.coroutines.async
-import kotlinx.coroutines.awaitAll
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.map
 import kotlinx.coroutines.withContext
@@ -82,6 +82,7 @@ internal class DefaultOnrampRepository(
     private val onrampDataAdapter = moshi.adapter(OnrampDataJson::class.java)
     private val onrampErrorAdapter = moshi.adapter(ExpressErrorResponse::class.java)
     private val onrampErrorConverter = OnrampErrorConverter(onrampErrorAdapter)
+    private val quotesFetcher = OnrampQuotesFetcher()
 
     override fun getCurrencies(): Flow<List<OnrampCurrency>> = currenciesStore.get(CURRENCIES_KEY)
 
@@ -294,57 +295,69 @@ internal class DefaultOnrampRepository(
                 decimals = currency.precision,
                 symbol = amount.currencySymbol,
             )
-            val quotes: List<OnrampQuote> = pairs.flatMap { pair ->
+            val cryptoCurrencyKey = "${cryptoCurrency.network.rawId}:${cryptoCurrency.getContractAddress()}"
+            val requests = pairs.flatMap { pair ->
                 pair.providers.flatMap { provider ->
                     provider.paymentMethods.map { paymentMethod ->
-                        async {
-                            safeApiCall(
-                                call = {
-                                    val response = onrampApi.getQuote(
-                                        fromCurrencyCode = currency.code,
-                                        fromPrecision = currency.precision,
-                                        toContractAddress = cryptoCurrency.getContractAddress(),
-                                        toNetwork = cryptoCurrency.network.rawId,
-                                        paymentMethod = paymentMethod.id,
-                                        countryCode = country.code,
-                                        fromAmount = fromAmount,
-                                        toDecimals = cryptoCurrency.decimals,
-                                        providerId = provider.id,
-                                        userWalletId = userWallet.walletId.stringValue,
-                                        refCode = ExpressUtils.getRefCode(
-                                            userWallet = userWallet,
-                                            appPreferencesStore = appPreferencesStore,
-                                        ),
-                                    ).bind()
-                                    OnrampQuote.Data(
-                                        fromAmount = fromOnrampAmount,
-                                        toAmount = convertToAmount(response.toAmount, cryptoCurrency),
-                                        minFromAmount = response.minFromAmount?.let {
-                                            convertToAmount(it, cryptoCurrency)
-                                        },
-                                        maxFromAmount = response.maxFromAmount?.let {
-                                            convertToAmount(it, cryptoCurrency)
-                                        },
-                                        paymentMethod = paymentMethod,
-                                        provider = provider,
-                                        countryCode = response.countryCode,
-                                    )
-                                },
-                                onError = { error ->
-                                    convertQuoteError(
-                                        error = error,
-                                        paymentMethod = paymentMethod,
-                                        provider = provider,
-                                        fromOnrampAmount = fromOnrampAmount,
-                                        countryCode = country.code,
-                                    )
-                                },
-                            )
-                        }
+                        OnrampQuotesFetcher.Request(
+                            key = OnrampQuotesFetcher.Key(
+                                providerId = provider.id,
+                                paymentMethodId = paymentMethod.id,
+                                countryCode = country.code,
+                                currencyCode = currency.code,
+                                amount = fromAmount,
+                                cryptoCurrency = cryptoCurrencyKey,
+                            ),
+                            fetch = {
+                                safeApiCall(
+                                    call = {
+                                        val response = onrampApi.getQuote(
+                                            fromCurrencyCode = currency.code,
+                                            fromPrecision = currency.precision,
+                                            toContractAddress = cryptoCurrency.getContractAddress(),
+                                            toNetwork = cryptoCurrency.network.rawId,
+                                            paymentMethod = paymentMethod.id,
+                                            countryCode = country.code,
+                                            fromAmount = fromAmount,
+                                            toDecimals = cryptoCurrency.decimals,
+                                            providerId = provider.id,
+                                            userWalletId = userWallet.walletId.stringValue,
+                                            refCode = ExpressUtils.getRefCode(
+                                                userWallet = userWallet,
+                                                appPreferencesStore = appPreferencesStore,
+                                            ),
+                                        ).bind()
+                                        OnrampQuote.Data(
+                                            fromAmount = fromOnrampAmount,
+                                            toAmount = convertToAmount(response.toAmount, cryptoCurrency),
+                                            minFromAmount = response.minFromAmount?.let {
+                                                convertToAmount(it, cryptoCurrency)
+                                            },
+                                            maxFromAmount = response.maxFromAmount?.let {
+                                                convertToAmount(it, cryptoCurrency)
+                                            },
+                                            paymentMethod = paymentMethod,
+                                            provider = provider,
+                                            countryCode = response.countryCode,
+                                        )
+                                    },
+                                    onError = { error ->
+                                        convertQuoteError(
+                                            error = error,
+                                            paymentMethod = paymentMethod,
+                                            provider = provider,
+                                            fromOnrampAmount = fromOnrampAmount,
+                                            countryCode = country.code,
+                                        )
+                                    },
+                                )
+                            },
+                        )
                     }
                 }
-            }.awaitAll().filterNotNull()
-            quotesStore.store(QUOTES_KEY, quotes)
+            }
+
+            quotesFetcher.fetch(requests = requests) { quotes -> quotesStore.store(QUOTES_KEY, quotes) }
         }
 
     override fun getQuotes(): Flow<List<OnrampQuote>> {
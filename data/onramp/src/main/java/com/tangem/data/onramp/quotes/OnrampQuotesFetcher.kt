@@ -0,0 +1,131 @@
+package com.tangem.data.onramp.quotes
+
+import com.tangem.domain.onramp.model.OnrampQuote
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.cancelAndJoin
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.joinAll
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.Semaphore
+import kotlinx.coroutines.sync.withLock
+import kotlinx.coroutines.sync.withPermit
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicReference
+
+/**
+ * Fetcher of onramp quotes for all pairs, providers and payment methods of a single amount.
+ *
+ * - A new fetch cancels requests of the superseded fetch, so stale amounts don't occupy providers.
+ * - Number of concurrent requests to every provider is limited by [MAX_CONCURRENT_REQUESTS_PER_PROVIDER].
+ * - Received quotes are memoised by [Key] for [QUOTE_TTL_MILLIS], so identical requests are not repeated.
+ * - Quotes are delivered incrementally as they arrive, so the best offer doesn't wait for the slowest provider.
+ *
+ * @property currentTimeMillis provider of the current time
+ */
+internal class OnrampQuotesFetcher(
+    private val currentTimeMillis: () -> Long = System::currentTimeMillis,
+) {
+
+    private val activeFetchJob = AtomicReference<Job?>()
+    private val providerSemaphores = ConcurrentHashMap<String, Semaphore>()
+    private val quotesCache = ConcurrentHashMap<Key, CachedQuote>()
+
+    /**
+     * Fetch quotes by [requests].
+     * [onUpdate] receives all quotes that are received so far, in order of [requests].
+     * If the fetch is superseded by another one, it returns without the final update.
+     */
+    suspend fun fetch(requests: List<Request>, onUpdate: suspend (List<OnrampQuote>) -> Unit) {
+        removeExpiredQuotes()
+
+        coroutineScope {
+            val job = launch(start = CoroutineStart.LAZY) { fetchAll(requests, onUpdate) }
+
+            // The superseded fetch is completed before the new one is started, so its updates can't come after
+            // updates of the new one. If this fetch is superseded while waiting, the job is cancelled before start
+            activeFetchJob.getAndSet(job)?.cancelAndJoin()
+            job.start()
+            job.join()
+            activeFetchJob.compareAndSet(job, null)
+        }
+    }
+
+    private suspend fun fetchAll(requests: List<Request>, onUpdate: suspend (List<OnrampQuote>) -> Unit) {
+        val quotes = arrayOfNulls<OnrampQuote>(requests.size)
+        val mutex = Mutex()
+
+        coroutineScope {
+            requests.mapIndexed { index, request ->
+                launch {
+                    val quote = getCachedOrFetch(request) ?: return@launch
+
+                    mutex.withLock {
+                        quotes[index] = quote
+                        onUpdate(quotes.filterNotNull())
+                    }
+                }
+            }.joinAll()
+        }
+
+        onUpdate(quotes.filterNotNull())
+    }
+
+    private suspend fun getCachedOrFetch(request: Request): OnrampQuote? {
+        quotesCache[request.key]?.takeUnless { it.isExpired() }?.let { return it.quote }
+
+        val semaphore = providerSemaphores.computeIfAbsent(request.key.providerId) {
+            Semaphore(permits = MAX_CONCURRENT_REQUESTS_PER_PROVIDER)
+        }
+
+        val quote = semaphore.withPermit { request.fetch() }
+
+        // Errors that aren't related to the amount are temporary, so they aren't memoised
+        if (quote is OnrampQuote.Data || quote is OnrampQuote.AmountError) {
+            quotesCache[request.key] = CachedQuote(quote = quote, timestamp = currentTimeMillis())
+        }
+
+        return quote
+    }
+
+    private fun removeExpiredQuotes() {
+        quotesCache.values.removeIf { it.isExpired() }
+    }
+
+    private fun CachedQuote.isExpired(): Boolean = currentTimeMillis() - timestamp > QUOTE_TTL_MILLIS
+
+    /**
+     * Quote request
+     *
+     * @property key   key of the request
+     * @property fetch fetches quote. Returns null if quote is unavailable
+     */
+    class Request(val key: Key, val fetch: suspend () -> OnrampQuote?)
+
+    /**
+     * Key of quote request
+     *
+     * @property providerId      provider id
+     * @property paymentMethodId payment method id
+     * @property countryCode     country code
+     * @property currencyCode    fiat currency code
+     * @property amount          fiat amount in minimal units
+     * @property cryptoCurrency  network id and contract address of the crypto currency
+     */
+    data class Key(
+        val providerId: String,
+        val paymentMethodId: String,
+        val countryCode: String,
+        val currencyCode: String,
+        val amount: String,
+        val cryptoCurrency: String,
+    )
+
+    private class CachedQuote(val quote: OnrampQuote, val timestamp: Long)
+
+    private companion object {
+        const val MAX_CONCURRENT_REQUESTS_PER_PROVIDER = 4
+        const val QUOTE_TTL_MILLIS = 5_000L
+    }
+}
@@ -0,0 +1,181 @@
+package com.tangem.data.onramp.quotes
+
+import com.google.common.truth.Truth
+import com.tangem.domain.onramp.model.OnrampQuote
+import io.mockk.mockk
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.test.TestScope
+import kotlinx.coroutines.test.advanceTimeBy
+import kotlinx.coroutines.test.currentTime
+import kotlinx.coroutines.test.runTest
+import org.junit.jupiter.api.Test
+
+internal class OnrampQuotesFetcherTest {
+
+    private val firstQuote = mockk<OnrampQuote.Data>()
+    private val secondQuote = mockk<OnrampQuote.Data>()
+    private val errorQuote = mockk<OnrampQuote.Error>()
+
+    private val updates = mutableListOf<List<OnrampQuote>>()
+    private var fetchesCount = 0
+
+    @Test
+    fun `quotes are delivered as they arrive in order of requests`() = runTest {
+        // Arrange
+        val fetcher = createFetcher()
+        val requests = listOf(
+            createRequest(paymentMethodId = "card", fetchDelay = 300, quote = firstQuote),
+            createRequest(paymentMethodId = "sepa", fetchDelay = 100, quote = secondQuote),
+            createRequest(paymentMethodId = "gpay", fetchDelay = 200, quote = null),
+        )
+        val updateTimes = mutableListOf<Long>()
+
+        // Act
+        fetcher.fetch(requests) { quotes ->
+            updates += quotes
+            updateTimes += currentTime
+        }
+
+        // Assert
+        Truth.assertThat(updates).containsExactly(
+            listOf(secondQuote),
+            listOf(firstQuote, secondQuote),
+            listOf(firstQuote, secondQuote),
+        ).inOrder()
+        Truth.assertThat(updateTimes).containsExactly(100L, 300L, 300L).inOrder()
+    }
+
+    @Test
+    fun `new fetch cancels superseded fetch before it's started`() = runTest {
+        // Arrange
+        val fetcher = createFetcher()
+        val events = mutableListOf<String>()
+        val supersededRequest = OnrampQuotesFetcher.Request(key = createKey(amount = "100")) {
+            try {
+                delay(1_000)
+                firstQuote
+            } catch (e: CancellationException) {
+                events += "superseded cancelled"
+                throw e
+            }
+        }
+        val newRequest = OnrampQuotesFetcher.Request(key = createKey(amount = "200")) {
+            events += "new started"
+            delay(100)
+            secondQuote
+        }
+        val supersededFetch = launch { fetcher.fetch(listOf(supersededRequest)) { updates += it } }
+        advanceTimeBy(500)
+
+        // Act
+        fetcher.fetch(listOf(newRequest)) { updates += it }
+
+        // Assert
+        Truth.assertThat(supersededFetch.isCompleted).isTrue()
+        Truth.assertThat(events).containsExactly("superseded cancelled", "new started").inOrder()
+        Truth.assertThat(updates).containsExactly(listOf(secondQuote), listOf(secondQuote))
+        Truth.assertThat(currentTime).isEqualTo(600)
+    }
+
+    @Test
+    fun `concurrent requests to the same provider are limited`() = runTest {
+        // Arrange
+        val fetcher = createFetcher()
+        var activeRequestsCount = 0
+        var maxActiveRequestsCount = 0
+        val requests = List(size = 10) { index ->
+            OnrampQuotesFetcher.Request(key = createKey(paymentMethodId = "method$index")) {
+                activeRequestsCount++
+                maxActiveRequestsCount = maxOf(maxActiveRequestsCount, activeRequestsCount)
+                delay(100)
+                activeRequestsCount--
+                firstQuote
+            }
+        }
+        val otherProviderRequest = createRequest(providerId = "other", fetchDelay = 100, quote = secondQuote)
+        val updateTimes = mutableListOf<Long>()
+
+        // Act
+        fetcher.fetch(requests + otherProviderRequest) { quotes ->
+            if (secondQuote in quotes && updateTimes.isEmpty()) updateTimes += currentTime
+        }
+
+        // Assert
+        Truth.assertThat(maxActiveRequestsCount).isEqualTo(4)
+        Truth.assertThat(currentTime).isEqualTo(300)
+        // requests to other provider don't wait for permits of the busy one
+        Truth.assertThat(updateTimes).containsExactly(100L)
+    }
+
+    @Test
+    fun `received quotes are memoised until ttl is expired`() = runTest {
+        // Arrange
+        val fetcher = createFetcher()
+        val requests = listOf(createRequest(fetchDelay = 100, quote = firstQuote))
+
+        // Act
+        fetcher.fetch(requests) { updates += it }
+        delay(1_000)
+        fetcher.fetch(requests) { updates += it }
+        val fetchesCountWithinTtl = fetchesCount
+        delay(5_000)
+        fetcher.fetch(requests) { updates += it }
+
+        // Assert
+        Truth.assertThat(fetchesCountWithinTtl).isEqualTo(1)
+        Truth.assertThat(fetchesCount).isEqualTo(2)
+        Truth.assertThat(updates.toSet()).containsExactly(listOf(firstQuote))
+    }
+
+    @Test
+    fun `errors that aren't related to amount aren't memoised`() = runTest {
+        // Arrange
+        val fetcher = createFetcher()
+        val requests = listOf(createRequest(fetchDelay = 100, quote = errorQuote))
+
+        // Act
+        fetcher.fetch(requests) { updates += it }
+        fetcher.fetch(requests) { updates += it }
+
+        // Assert
+        Truth.assertThat(fetchesCount).isEqualTo(2)
+    }
+
+    private fun TestScope.createFetcher(): OnrampQuotesFetcher {
+        return OnrampQuotesFetcher(currentTimeMillis = { testScheduler.currentTime })
+    }
+
+    private fun createRequest(
+        providerId: String = PROVIDER_ID,
+        paymentMethodId: String = "card",
+        fetchDelay: Long,
+        quote: OnrampQuote?,
+    ): OnrampQuotesFetcher.Request {
+        return OnrampQuotesFetcher.Request(key = createKey(providerId, paymentMethodId)) {
+            fetchesCount++
+            delay(fetchDelay)
+            quote
+        }
+    }
+
+    private fun createKey(
+        providerId: String = PROVIDER_ID,
+        paymentMethodId: String = "card",
+        amount: String = "100",
+    ): OnrampQuotesFetcher.Key {
+        return OnrampQuotesFetcher.Key(
+            providerId = providerId,
+            paymentMethodId = paymentMethodId,
+            countryCode = "US",
+            currencyCode = "USD",
+            amount = amount,
+            cryptoCurrency = "ethereum",
+        )
+    }
+
+    private companion object {
+        const val PROVIDER_ID = "provider"
+    }
+}
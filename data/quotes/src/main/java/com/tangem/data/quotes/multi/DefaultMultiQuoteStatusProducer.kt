@@ -13,7 +13,6 @@ import dagger.assisted.AssistedFactory
 import dagger.assisted.AssistedInject
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.flowOn
-import kotlinx.coroutines.flow.map
 
 internal class DefaultMultiQuoteStatusProducer @AssistedInject constructor(
     @Assisted val params: Unit,
@@ -25,8 +24,7 @@ internal class DefaultMultiQuoteStatusProducer @AssistedInject constructor(
     override val fallback: Option<Map<CryptoCurrency.RawID, QuoteStatus>> = none()
 
     override fun produce(): Flow<Map<CryptoCurrency.RawID, QuoteStatus>> {
-        return quotesStatusesStore.get()
-            .map { statuses -> statuses.associateBy(QuoteStatus::rawCurrencyId) }
+        return quotesStatusesStore.getAll()
             .flowOn(dispatchers.default)
     }
 
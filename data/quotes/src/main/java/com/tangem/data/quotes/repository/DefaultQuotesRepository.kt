@@ -23,12 +23,10 @@ internal class DefaultQuotesRepository(
             return emptySet()
         }
 
-        val storedQuotes = quotesStatusesStore.getAllSyncOrNull()
-            ?.filter { it.rawCurrencyId in currenciesIds }
+        val storedQuotes = quotesStatusesStore.getSyncOrNull(currenciesIds = currenciesIds)
 
         return currenciesIds.mapTo(hashSetOf()) { currencyId ->
-            storedQuotes?.firstOrNull { it.rawCurrencyId == currencyId }
-                ?: QuoteStatus(rawCurrencyId = currencyId)
+            storedQuotes?.get(currencyId) ?: QuoteStatus(rawCurrencyId = currencyId)
         }
     }
 
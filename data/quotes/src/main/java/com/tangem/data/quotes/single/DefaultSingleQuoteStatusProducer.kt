@@ -12,7 +12,7 @@ import dagger.assisted.AssistedFactory
 import dagger.assisted.AssistedInject
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.flowOn
-import kotlinx.coroutines.flow.mapNotNull
+import kotlinx.coroutines.flow.map
 
 /**
  * Default implementation of [SingleQuoteStatusProducer]
@@ -31,8 +31,8 @@ internal class DefaultSingleQuoteStatusProducer @AssistedInject constructor(
     override val fallback: Option<QuoteStatus> = default.some()
 
     override fun produce(): Flow<QuoteStatus> {
-        return quotesStatusesStore.get()
-            .mapNotNull { quotes -> quotes.firstOrNull { it.rawCurrencyId == params.rawCurrencyId } ?: default }
+        return quotesStatusesStore.get(currencyId = params.rawCurrencyId)
+            .map { quote -> quote ?: default }
             .flowOn(dispatchers.default)
     }
 
@@ -8,15 +8,25 @@ import com.tangem.domain.models.StatusSource
 import com.tangem.domain.models.currency.CryptoCurrency
 import com.tangem.domain.models.quote.QuoteStatus
 import com.tangem.utils.coroutines.AppCoroutineScope
-import com.tangem.utils.extensions.addOrReplace
 import com.tangem.utils.logging.TangemLogger
+import kotlinx.collections.immutable.PersistentMap
+import kotlinx.collections.immutable.mutate
+import kotlinx.collections.immutable.persistentMapOf
 import kotlinx.coroutines.coroutineScope
 import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.distinctUntilChanged
 import kotlinx.coroutines.flow.firstOrNull
+import kotlinx.coroutines.flow.map
 import kotlinx.coroutines.launch
 
 internal typealias CurrencyIdWithQuote = Map<String, QuotesResponse.Quote>
 
+/**
+ * Index of [QuoteStatus]es by [CryptoCurrency.RawID].
+ * Persistent map shares the structure between versions, so unchanged statuses keep the same instances.
+ */
+internal typealias QuoteStatusesIndex = PersistentMap<CryptoCurrency.RawID, QuoteStatus>
+
 /**
  * Default implementation of [QuotesStatusesStore]
  *
@@ -25,7 +35,7 @@ internal typealias CurrencyIdWithQuote = Map<String, QuotesResponse.Quote>
  * @param dispatchers             dispatchers
  */
 internal class DefaultQuotesStatusesStore(
-    private val runtimeStore: RuntimeSharedStore<Set<QuoteStatus>>,
+    private val runtimeStore: RuntimeSharedStore<QuoteStatusesIndex>,
     private val persistenceDataStore: DataStore<CurrencyIdWithQuote>,
     private val scope: AppCoroutineScope,
 ) : QuotesStatusesStore {
@@ -37,14 +47,34 @@ internal class DefaultQuotesStatusesStore(
             if (cachedStatuses.isNullOrEmpty()) return@launch
 
             runtimeStore.store(
-                value = QuoteStatusConverter(source = StatusSource.CACHE).convertSet(input = cachedStatuses.entries),
+                value = cachedStatuses.toIndex(source = StatusSource.CACHE),
             )
         }
     }
 
-    override fun get(): Flow<Set<QuoteStatus>> = runtimeStore.get()
+    override fun get(): Flow<Set<QuoteStatus>> = runtimeStore.get().map { it.values.toSet() }
+
+    override fun getAll(): Flow<Map<CryptoCurrency.RawID, QuoteStatus>> = runtimeStore.get()
+
+    override fun get(currencyId: CryptoCurrency.RawID): Flow<QuoteStatus?> {
+        return runtimeStore.get()
+            .map { index -> index[currencyId] }
+            .distinctUntilChanged()
+    }
 
-    override suspend fun getAllSyncOrNull(): Set<QuoteStatus>? = runtimeStore.getSyncOrNull()
+    override fun get(currenciesIds: Set<CryptoCurrency.RawID>): Flow<Map<CryptoCurrency.RawID, QuoteStatus>> {
+        return runtimeStore.get()
+            .map { index -> index.select(currenciesIds) }
+            .distinctUntilChanged()
+    }
+
+    override suspend fun getAllSyncOrNull(): Set<QuoteStatus>? = runtimeStore.getSyncOrNull()?.values?.toSet()
+
+    override suspend fun getSyncOrNull(
+        currenciesIds: Set<CryptoCurrency.RawID>,
+    ): Map<CryptoCurrency.RawID, QuoteStatus>? {
+        return runtimeStore.getSyncOrNull()?.select(currenciesIds)
+    }
 
     override suspend fun updateStatusSource(
         currencyId: CryptoCurrency.RawID,
@@ -68,16 +98,14 @@ internal class DefaultQuotesStatusesStore(
             return
         }
 
-        runtimeStore.update(default = emptySet()) { stored ->
-            val updatedQuotes = currenciesIds.mapNotNullTo(hashSetOf()) { id ->
-                val quote = stored.firstOrNull { it.rawCurrencyId == id }
-                    ?: ifNotFound(id)
-                    ?: return@mapNotNullTo null
+        runtimeStore.update(default = persistentMapOf()) { stored ->
+            stored.mutate { index ->
+                currenciesIds.forEach { id ->
+                    val quote = index[id] ?: ifNotFound(id) ?: return@forEach
 
-                quote.copy(value = quote.value.copySealed(source = source))
+                    index[id] = quote.copy(value = quote.value.copySealed(source = source))
+                }
             }
-
-            stored.addOrReplace(items = updatedQuotes) { old, new -> old.rawCurrencyId == new.rawCurrencyId }
         }
     }
 
@@ -91,14 +119,34 @@ internal class DefaultQuotesStatusesStore(
     }
 
     private suspend fun storeInRuntime(values: CurrencyIdWithQuote) {
-        val quotes = QuoteStatusConverter(source = StatusSource.ACTUAL).convertSet(input = values.entries)
-
-        runtimeStore.update(default = emptySet()) { saved ->
-            saved.addOrReplace(items = quotes) { prev, new -> prev.rawCurrencyId == new.rawCurrencyId }
+        runtimeStore.update(default = persistentMapOf()) { saved ->
+            saved.mutate { index ->
+                values.toIndex(source = StatusSource.ACTUAL).forEach { (id, quote) ->
+                    // keep the previous instance to avoid notifying subscribers of unchanged quotes
+                    if (index[id] != quote) index[id] = quote
+                }
+            }
         }
     }
 
     private suspend fun storeInPersistence(values: CurrencyIdWithQuote) {
         persistenceDataStore.updateData { storedQuotes -> storedQuotes + values }
     }
-}
\ No newline at end of file
+
+    private fun CurrencyIdWithQuote.toIndex(source: StatusSource): QuoteStatusesIndex {
+        val converter = QuoteStatusConverter(source = source)
+
+        return persistentMapOf<CryptoCurrency.RawID, QuoteStatus>().mutate { index ->
+            entries.forEach { entry ->
+                val quote = converter.convert(entry)
+                index[quote.rawCurrencyId] = quote
+            }
+        }
+    }
+
+    private fun QuoteStatusesIndex.select(
+        currenciesIds: Set<CryptoCurrency.RawID>,
+    ): Map<CryptoCurrency.RawID, QuoteStatus> {
+        return currenciesIds.mapNotNull { id -> get(id)?.let { id to it } }.toMap()
+    }
+}
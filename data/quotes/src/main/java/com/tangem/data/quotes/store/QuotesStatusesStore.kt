@@ -6,15 +6,27 @@ import com.tangem.domain.models.currency.CryptoCurrency
 import com.tangem.domain.models.quote.QuoteStatus
 import kotlinx.coroutines.flow.Flow
 
-/** Store of [QuoteStatus]'es set */
+/** Store of [QuoteStatus]'es indexed by [CryptoCurrency.RawID] */
 internal interface QuotesStatusesStore {
 
     /** Get flow of quotes */
     fun get(): Flow<Set<QuoteStatus>>
 
+    /** Get flow of quotes associated by [CryptoCurrency.RawID] */
+    fun getAll(): Flow<Map<CryptoCurrency.RawID, QuoteStatus>>
+
+    /** Get flow of quote by [currencyId]. Emits only if quote of [currencyId] is changed */
+    fun get(currencyId: CryptoCurrency.RawID): Flow<QuoteStatus?>
+
+    /** Get flow of quotes by [currenciesIds]. Emits only if any quote of [currenciesIds] is changed */
+    fun get(currenciesIds: Set<CryptoCurrency.RawID>): Flow<Map<CryptoCurrency.RawID, QuoteStatus>>
+
     /** Get all quotes synchronously or null */
     suspend fun getAllSyncOrNull(): Set<QuoteStatus>?
 
+    /** Get quotes by [currenciesIds] synchronously or null */
+    suspend fun getSyncOrNull(currenciesIds: Set<CryptoCurrency.RawID>): Map<CryptoCurrency.RawID, QuoteStatus>?
+
     /**
      * Update [source] of [QuoteStatus] by [currencyId].
      * If the status is not found, create a new one by [ifNotFound].
@@ -43,4 +55,4 @@ internal interface QuotesStatusesStore {
      * See complex methods in `QuotesStatusesStoreExt`.
      */
     suspend fun store(values: Map<String, QuotesResponse.Quote>)
-}
\ No newline at end of file
+}
@@ -52,7 +52,13 @@ internal class DefaultQuotesRepositoryTest {
         @ProvideTestModels
         fun getMultiQuoteSyncOrNull(model: GetMultiQuoteSyncOrNullModel) = runTest {
             // Arrange
-            coEvery { quotesStatusesStore.getAllSyncOrNull() } returns model.initialStore
+            coEvery { quotesStatusesStore.getSyncOrNull(currenciesIds = any()) } answers {
+                val currenciesIds = firstArg<Set<CryptoCurrency.RawID>>()
+
+                model.initialStore
+                    ?.filter { it.rawCurrencyId in currenciesIds }
+                    ?.associateBy(QuoteStatus::rawCurrencyId)
+            }
 
             // Act
             val actual = repository.getMultiQuoteSyncOrNull(currenciesIds = model.currencyIds)
@@ -122,7 +128,13 @@ internal class DefaultQuotesRepositoryTest {
         @ProvideTestModels
         fun getCurrencyUSDQuote(model: GetCurrencyUSDQuoteModel) = runTest {
             // Arrange
-            coEvery { quotesStatusesStore.getAllSyncOrNull() } returns model.initialStore
+            coEvery { quotesStatusesStore.getSyncOrNull(currenciesIds = any()) } answers {
+                val currenciesIds = firstArg<Set<CryptoCurrency.RawID>>()
+
+                model.initialStore
+                    ?.filter { it.rawCurrencyId in currenciesIds }
+                    ?.associateBy(QuoteStatus::rawCurrencyId)
+            }
 
             // Act
             val actual = repository.getCurrencyUSDQuote(currencyId = model.currencyId)
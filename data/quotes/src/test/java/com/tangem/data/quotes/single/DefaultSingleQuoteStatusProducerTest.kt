@@ -39,18 +39,13 @@ internal class DefaultSingleQuoteStatusProducerTest {
     @Test
     fun `test that flow is mapped for network from params`() = runTest {
         val status = QuoteStatus(rawCurrencyId = params.rawCurrencyId)
-        val storeQuote = flowOf(
-            setOf(
-                status,
-                QuoteStatus(rawCurrencyId = CryptoCurrency.RawID(value = "ETH")),
-            ),
-        )
+        val storeQuote = flowOf(status)
 
-        every { quotesStore.get() } returns storeQuote
+        every { quotesStore.get(currencyId = params.rawCurrencyId) } returns storeQuote
 
         val actual = producer.produce()
 
-        verify { quotesStore.get() }
+        verify { quotesStore.get(currencyId = params.rawCurrencyId) }
 
         val values = getEmittedValues(flow = actual)
 
@@ -60,17 +55,17 @@ internal class DefaultSingleQuoteStatusProducerTest {
 
     @Test
     fun `test that flow is updated if quote is updated`() = runTest {
-        val storeQuote = MutableSharedFlow<Set<QuoteStatus>>(replay = 2, extraBufferCapacity = 1)
+        val storeQuote = MutableSharedFlow<QuoteStatus?>(replay = 2, extraBufferCapacity = 1)
 
-        every { quotesStore.get() } returns storeQuote
+        every { quotesStore.get(currencyId = params.rawCurrencyId) } returns storeQuote
 
         val actual = producer.produceWithFallback()
 
-        verify { quotesStore.get() }
+        verify { quotesStore.get(currencyId = params.rawCurrencyId) }
 
         // first emit
         val status = QuoteStatus(rawCurrencyId = params.rawCurrencyId)
-        storeQuote.emit(value = setOf(status))
+        storeQuote.emit(value = status)
 
         val values1 = getEmittedValues(flow = actual)
 
@@ -87,7 +82,7 @@ internal class DefaultSingleQuoteStatusProducerTest {
                 source = StatusSource.ACTUAL,
             ),
         )
-        storeQuote.emit(value = setOf(updatedStatus))
+        storeQuote.emit(value = updatedStatus)
 
         val values2 = getEmittedValues(flow = actual)
 
@@ -97,17 +92,17 @@ internal class DefaultSingleQuoteStatusProducerTest {
 
     @Test
     fun `test that flow is filtered the same status`() = runTest {
-        val storeQuote = MutableSharedFlow<Set<QuoteStatus>>(replay = 2, extraBufferCapacity = 1)
+        val storeQuote = MutableSharedFlow<QuoteStatus?>(replay = 2, extraBufferCapacity = 1)
 
-        every { quotesStore.get() } returns storeQuote
+        every { quotesStore.get(currencyId = params.rawCurrencyId) } returns storeQuote
 
         val actual = producer.produceWithFallback()
 
-        verify { quotesStore.get() }
+        verify { quotesStore.get(currencyId = params.rawCurrencyId) }
 
         // first emit
         val status = QuoteStatus(rawCurrencyId = params.rawCurrencyId)
-        storeQuote.emit(value = setOf(status))
+        storeQuote.emit(value = status)
 
         val values1 = getEmittedValues(flow = actual)
 
@@ -115,7 +110,7 @@ internal class DefaultSingleQuoteStatusProducerTest {
         Truth.assertThat(values1).isEqualTo(listOf(status))
 
         // second emit
-        storeQuote.emit(value = setOf(status))
+        storeQuote.emit(value = status)
 
         val values2 = getEmittedValues(flow = actual)
 
@@ -139,18 +134,18 @@ internal class DefaultSingleQuoteStatusProducerTest {
         val innerFlow = MutableStateFlow(value = false)
         val storeQuote = flow {
             if (innerFlow.value) {
-                emit(setOf(status))
+                emit(status)
             } else {
                 throw exception
             }
         }
             .buffer(capacity = 5)
 
-        every { quotesStore.get() } returns storeQuote
+        every { quotesStore.get(currencyId = params.rawCurrencyId) } returns storeQuote
 
         val actual = producer.produceWithFallback()
 
-        verify { quotesStore.get() }
+        verify { quotesStore.get(currencyId = params.rawCurrencyId) }
 
         val values1 = getEmittedValues(flow = actual)
 
@@ -167,17 +162,13 @@ internal class DefaultSingleQuoteStatusProducerTest {
 
     @Test
     fun `test if flow doesn't contain network from params`() = runTest {
-        val storeFlow = flowOf(
-            setOf(
-                QuoteStatus(rawCurrencyId = CryptoCurrency.RawID(value = "ETH")),
-            ),
-        )
+        val storeFlow = flowOf<QuoteStatus?>(null)
 
-        every { quotesStore.get() } returns storeFlow
+        every { quotesStore.get(currencyId = params.rawCurrencyId) } returns storeFlow
 
         val actual = producer.produceWithFallback()
 
-        verify { quotesStore.get() }
+        verify { quotesStore.get(currencyId = params.rawCurrencyId) }
 
         val values = getEmittedValues(flow = actual)
 
@@ -10,6 +10,7 @@ import com.tangem.domain.models.StatusSource
 import com.tangem.domain.models.currency.CryptoCurrency
 import com.tangem.domain.models.quote.QuoteStatus
 import com.tangem.test.core.ProvideTestModels
+import kotlinx.collections.immutable.toPersistentMap
 import kotlinx.coroutines.test.runTest
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Nested
@@ -24,7 +25,7 @@ import kotlin.properties.Delegates
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 internal class QuotesStatusesStoreExtTest {
 
-    private var runtimeStore: RuntimeSharedStore<Set<QuoteStatus>> by Delegates.notNull()
+    private var runtimeStore: RuntimeSharedStore<QuoteStatusesIndex> by Delegates.notNull()
     private var persistenceStore: MockStateDataStore<CurrencyIdWithQuote> by Delegates.notNull()
     private var store: DefaultQuotesStatusesStore by Delegates.notNull()
 
@@ -52,7 +53,7 @@ internal class QuotesStatusesStoreExtTest {
         fun setSourceAsCache(model: SetSourceTestModel) = runTest {
             // Arrange
             if (model.initialRuntime != null) {
-                runtimeStore.store(value = model.initialRuntime)
+                runtimeStore.store(value = model.initialRuntime.toIndex())
             }
 
             // Act
@@ -93,7 +94,7 @@ internal class QuotesStatusesStoreExtTest {
         fun setSourceAsOnlyCache(model: SetSourceTestModel) = runTest {
             // Arrange
             if (model.initialRuntime != null) {
-                runtimeStore.store(value = model.initialRuntime)
+                runtimeStore.store(value = model.initialRuntime.toIndex())
             }
 
             // Act
@@ -130,4 +131,8 @@ internal class QuotesStatusesStoreExtTest {
         val currenciesIds: Set<CryptoCurrency.RawID>,
         val expected: Set<QuoteStatus>?,
     )
-}
\ No newline at end of file
+
+    private fun Set<QuoteStatus>.toIndex(): QuoteStatusesIndex {
+        return associateBy(QuoteStatus::rawCurrencyId).toPersistentMap()
+    }
+}
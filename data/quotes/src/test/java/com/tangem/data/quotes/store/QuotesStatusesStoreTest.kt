@@ -14,6 +14,7 @@ import com.tangem.test.core.ProvideTestModels
 import com.tangem.test.core.getEmittedValues
 import io.mockk.every
 import io.mockk.mockk
+import kotlinx.collections.immutable.toPersistentMap
 import kotlinx.coroutines.flow.emptyFlow
 import kotlinx.coroutines.test.runTest
 import org.junit.jupiter.api.BeforeEach
@@ -30,7 +31,7 @@ import kotlin.properties.Delegates
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 internal class QuotesStatusesStoreTest {
 
-    private var runtimeStore: RuntimeSharedStore<Set<QuoteStatus>> by Delegates.notNull()
+    private var runtimeStore: RuntimeSharedStore<QuoteStatusesIndex> by Delegates.notNull()
     private var persistenceStore: MockStateDataStore<CurrencyIdWithQuote> by Delegates.notNull()
     private var store: DefaultQuotesStatusesStore by Delegates.notNull()
 
@@ -64,7 +65,7 @@ internal class QuotesStatusesStoreTest {
         @Test
         fun `initialization if cache store is empty`() = runTest {
             // Arrange
-            val runtimeStore = RuntimeSharedStore<Set<QuoteStatus>>()
+            val runtimeStore = RuntimeSharedStore<QuoteStatusesIndex>()
             val persistenceStore: DataStore<CurrencyIdWithQuote> = mockk()
 
             every { persistenceStore.data } returns emptyFlow()
@@ -76,7 +77,7 @@ internal class QuotesStatusesStoreTest {
                 scope = TestAppCoroutineScope(),
             )
 
-            val actual = runtimeStore.getSyncOrNull()
+            val actual = runtimeStore.getSyncOrNull()?.values?.toSet()
 
             // Assert
             val expected = null
@@ -86,7 +87,7 @@ internal class QuotesStatusesStoreTest {
         @Test
         fun `initialization if cache store contains empty map`() = runTest {
             // Arrange
-            val runtimeStore = RuntimeSharedStore<Set<QuoteStatus>>()
+            val runtimeStore = RuntimeSharedStore<QuoteStatusesIndex>()
             val persistenceStore = MockStateDataStore<CurrencyIdWithQuote>(default = emptyMap())
 
             // Act
@@ -96,7 +97,7 @@ internal class QuotesStatusesStoreTest {
                 scope = TestAppCoroutineScope(),
             )
 
-            val actual = runtimeStore.getSyncOrNull()
+            val actual = runtimeStore.getSyncOrNull()?.values?.toSet()
 
             // Assert
             val expected = null
@@ -106,7 +107,7 @@ internal class QuotesStatusesStoreTest {
         @Test
         fun `initialization if cache store is not empty`() = runTest {
             // Arrange
-            val runtimeStore = RuntimeSharedStore<Set<QuoteStatus>>()
+            val runtimeStore = RuntimeSharedStore<QuoteStatusesIndex>()
             val persistenceStore = MockStateDataStore<CurrencyIdWithQuote>(default = emptyMap())
 
             persistenceStore.updateData {
@@ -123,7 +124,7 @@ internal class QuotesStatusesStoreTest {
                 scope = TestAppCoroutineScope(),
             )
 
-            val actual = runtimeStore.getSyncOrNull()
+            val actual = runtimeStore.getSyncOrNull()?.values?.toSet()
 
             // Assert
             val expected = setOf(
@@ -144,7 +145,7 @@ internal class QuotesStatusesStoreTest {
         fun get(model: GetTestModel) = runTest {
             // Arrange
             if (model.initialRuntime != null) {
-                runtimeStore.store(value = model.initialRuntime)
+                runtimeStore.store(value = model.initialRuntime.toIndex())
             }
 
             // Act
@@ -163,6 +164,52 @@ internal class QuotesStatusesStoreTest {
         )
     }
 
+    @Nested
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    inner class GetByCurrencyId {
+
+        @Test
+        fun `get emits only if quote of currency id is changed`() = runTest {
+            // Arrange
+            runtimeStore.store(value = setOf(btcQuote).toIndex())
+
+            // Act
+            val actual = getEmittedValues(flow = store.get(currencyId = btcQuote.rawCurrencyId))
+            store.store(values = mapOf(ethQuoteDM))
+
+            // Assert
+            Truth.assertThat(actual).isEqualTo(listOf(btcQuote))
+        }
+
+        @Test
+        fun `get by currencies ids returns only requested quotes`() = runTest {
+            // Arrange
+            runtimeStore.store(value = setOf(btcQuote, ethQuote).toIndex())
+
+            // Act
+            val actual = getEmittedValues(flow = store.get(currenciesIds = setOf(btcQuote.rawCurrencyId)))
+
+            // Assert
+            val expected = listOf(mapOf(btcQuote.rawCurrencyId to btcQuote))
+
+            Truth.assertThat(actual).isEqualTo(expected)
+        }
+
+        @Test
+        fun `getSyncOrNull returns only requested quotes`() = runTest {
+            // Arrange
+            runtimeStore.store(value = setOf(btcQuote, ethQuote).toIndex())
+
+            // Act
+            val actual = store.getSyncOrNull(currenciesIds = setOf(ethQuote.rawCurrencyId, adaEmptyQuote.rawCurrencyId))
+
+            // Assert
+            val expected = mapOf(ethQuote.rawCurrencyId to ethQuote)
+
+            Truth.assertThat(actual).isEqualTo(expected)
+        }
+    }
+
     @Nested
     @TestInstance(TestInstance.Lifecycle.PER_CLASS)
     inner class GetAllSyncOrNull {
@@ -172,7 +219,7 @@ internal class QuotesStatusesStoreTest {
         fun getAllSyncOrNull(model: GetTestModel) = runTest {
             // Arrange
             if (model.initialRuntime != null) {
-                runtimeStore.store(value = model.initialRuntime)
+                runtimeStore.store(value = model.initialRuntime.toIndex())
             }
 
             // Act
@@ -202,7 +249,7 @@ internal class QuotesStatusesStoreTest {
         fun updateStatusSource(model: UpdateStatusSourceModel.Single) = runTest {
             // Arrange
             if (model.initialRuntime != null) {
-                runtimeStore.store(value = model.initialRuntime)
+                runtimeStore.store(value = model.initialRuntime.toIndex())
             }
 
             // Act
@@ -303,7 +350,7 @@ internal class QuotesStatusesStoreTest {
         fun updateStatusSource(model: UpdateStatusSourceModel.Multi) = runTest {
             // Arrange
             if (model.initialRuntime != null) {
-                runtimeStore.store(value = model.initialRuntime)
+                runtimeStore.store(value = model.initialRuntime.toIndex())
             }
 
             // Act
@@ -463,7 +510,7 @@ internal class QuotesStatusesStoreTest {
         fun store(model: StoreTestModel) = runTest {
             // Arrange
             if (model.initialRuntime != null) {
-                runtimeStore.store(value = model.initialRuntime)
+                runtimeStore.store(value = model.initialRuntime.toIndex())
             }
 
             if (model.initialPersistence != null) {
@@ -473,7 +520,7 @@ internal class QuotesStatusesStoreTest {
             // Act
             store.store(values = model.values)
 
-            val runtimeActual = runtimeStore.getSyncOrNull()
+            val runtimeActual = runtimeStore.getSyncOrNull()?.values?.toSet()
             val persistenceActual = getEmittedValues(persistenceStore.data)
 
             // Assert
@@ -562,4 +609,8 @@ internal class QuotesStatusesStoreTest {
         val persistenceExpected: CurrencyIdWithQuote?,
         val runtimeExpected: Set<QuoteStatus>?,
     )
-}
\ No newline at end of file
+
+    private fun Set<QuoteStatus>.toIndex(): QuoteStatusesIndex {
+        return associateBy(QuoteStatus::rawCurrencyId).toPersistentMap()
+    }
+}
@@ -9,6 +9,10 @@ android {
     namespace = "com.tangem.data.txhistory"
 }
 
+tasks.withType<Test>().configureEach {
+    useJUnitPlatform()
+}
+
 dependencies {
     implementation(projects.data.common)
 
@@ -34,4 +38,9 @@ dependencies {
 
     implementation(deps.hilt.core)
     kapt(deps.hilt.kapt)
+
+    /** Testing libraries */
+    testRuntimeOnly(deps.test.junit5.engine)
+    testImplementation(projects.common.test)
+    testImplementation(projects.test.core)
 }
\ No newline at end of file
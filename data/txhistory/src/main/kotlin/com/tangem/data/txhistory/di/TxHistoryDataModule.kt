@@ -8,6 +8,7 @@ import com.tangem.domain.common.wallets.UserWalletsListRepository
 import com.tangem.domain.txhistory.repository.TxHistoryRepository
 import com.tangem.domain.txhistory.repository.TxHistoryRepositoryV2
 import com.tangem.domain.walletmanager.WalletManagersFacade
+import com.tangem.utils.coroutines.AppCoroutineScope
 import com.tangem.utils.coroutines.CoroutineDispatcherProvider
 import dagger.Module
 import dagger.Provides
@@ -27,12 +28,14 @@ internal object TxHistoryDataModule {
         userWalletsListRepository: UserWalletsListRepository,
         txHistoryItemsStore: TxHistoryItemsStore,
         dispatchers: CoroutineDispatcherProvider,
+        appScope: AppCoroutineScope,
     ): TxHistoryRepository = DefaultTxHistoryRepository(
         cacheRegistry = cacheRegistry,
         walletManagersFacade = walletManagersFacade,
         userWalletsListRepository = userWalletsListRepository,
         txHistoryItemsStore = txHistoryItemsStore,
         dispatchers = dispatchers,
+        appScope = appScope,
     )
 
     @Provides
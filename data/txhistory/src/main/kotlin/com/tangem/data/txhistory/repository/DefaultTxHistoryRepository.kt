@@ -12,6 +12,7 @@ import com.tangem.domain.common.wallets.UserWalletsListRepository
 import com.tangem.domain.common.wallets.getSyncStrict
 import com.tangem.domain.models.currency.CryptoCurrency
 import com.tangem.domain.models.network.TxInfo
+import com.tangem.domain.models.wallet.UserWallet
 import com.tangem.domain.models.wallet.UserWalletId
 import com.tangem.domain.txhistory.models.Page
 import com.tangem.domain.txhistory.models.TxHistoryState
@@ -19,9 +20,15 @@ import com.tangem.domain.txhistory.models.TxHistoryStateError
 import com.tangem.domain.txhistory.repository.TxHistoryRepository
 import com.tangem.domain.walletmanager.WalletManagersFacade
 import com.tangem.domain.walletmanager.utils.SdkPageConverter
+import com.tangem.utils.coroutines.AppCoroutineScope
 import com.tangem.utils.coroutines.CoroutineDispatcherProvider
 import com.tangem.utils.logging.TangemLogger
 import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.flow.filterNotNull
+import kotlinx.coroutines.flow.launchIn
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.flow.onEach
 import kotlinx.coroutines.withContext
 
 class DefaultTxHistoryRepository(
@@ -30,9 +37,14 @@ class DefaultTxHistoryRepository(
     private val userWalletsListRepository: UserWalletsListRepository,
     private val txHistoryItemsStore: TxHistoryItemsStore,
     private val dispatchers: CoroutineDispatcherProvider,
+    appScope: AppCoroutineScope,
 ) : TxHistoryRepository {
     private val sdkPageConverter by lazy { SdkPageConverter() }
 
+    init {
+        removeHistoryOfDeletedWallets(appScope)
+    }
+
     override suspend fun getTxHistoryItemsCount(userWalletId: UserWalletId, currency: CryptoCurrency): Int {
         return withContext(dispatchers.io) {
             val userWallet = userWalletsListRepository.getSyncStrict(userWalletId)
@@ -115,6 +127,19 @@ class DefaultTxHistoryRepository(
         }
     }
 
+    /** Persisted history pages of wallets that disappear from the wallets list are deleted from disk */
+    private fun removeHistoryOfDeletedWallets(appScope: AppCoroutineScope) {
+        userWalletsListRepository.userWallets
+            .filterNotNull()
+            .map { userWallets -> userWallets.mapTo(hashSetOf(), UserWallet::walletId) }
+            .distinctUntilChanged()
+            .onEach { userWalletIds ->
+                runCatching { txHistoryItemsStore.retain(userWalletIds) }
+                    .onFailure { TangemLogger.e("Unable to remove the transaction history of deleted wallets", it) }
+            }
+            .launchIn(appScope)
+    }
+
     private fun getTxHistoryPageKey(currency: CryptoCurrency, userWalletId: UserWalletId, page: Page): String {
         return "tx_history_page_${currency}_${userWalletId}_$page"
     }
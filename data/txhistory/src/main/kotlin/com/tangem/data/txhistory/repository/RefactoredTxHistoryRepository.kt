@@ -2,6 +2,7 @@ package com.tangem.data.txhistory.repository
 
 import com.tangem.data.common.cache.CacheRegistry
 import com.tangem.data.txhistory.repository.paging.TxHistoryPageBatchFetcher
+import com.tangem.data.txhistory.repository.paging.TxHistoryPageLoader
 import com.tangem.datasource.local.txhistory.TxHistoryItemsStore
 import com.tangem.domain.models.network.TxInfo
 import com.tangem.domain.txhistory.model.TxHistoryListBatchFlow
@@ -26,6 +27,7 @@ internal class RefactoredTxHistoryRepository(
 ) : TxHistoryRepositoryV2 {
 
     private val sdkPageConverter = SdkPageConverter()
+    private val pageLoader = TxHistoryPageLoader(txHistoryItemsStore, cacheRegistry)
     private val TxHistoryListConfig.storeKey get() = TxHistoryItemsStore.Key(userWalletId, currency)
 
     override fun getTxHistoryBatchFlow(batchSize: Int, context: TxHistoryListBatchingContext): TxHistoryListBatchFlow {
@@ -53,13 +55,15 @@ internal class RefactoredTxHistoryRepository(
         request: TxHistoryPageBatchFetcher.Request<TxHistoryListConfig>,
         batchSize: Int,
     ): PaginationWrapper<TxInfo> {
-        cacheRegistry.invokeOnExpire(
-            key = getTxHistoryPageKey(request.page, request.params),
-            skipCache = request.params.shouldRefresh,
-            block = { fetch(request, batchSize) },
+        val loadedItems = pageLoader.load(
+            key = request.params.storeKey,
+            page = request.page,
+            cacheKey = getTxHistoryPageKey(request.page, request.params),
+            refresh = request.params.shouldRefresh,
+            fetch = { fetch(request, batchSize) },
         )
 
-        return txHistoryItemsStore.getSync(request.page, request.params)
+        return if (request.page is Page.Initial) loadedItems.addRecentTransactions(request.params) else loadedItems
     }
 
     private suspend fun fetch(request: TxHistoryPageBatchFetcher.Request<TxHistoryListConfig>, batchSize: Int) {
@@ -73,17 +77,6 @@ internal class RefactoredTxHistoryRepository(
         txHistoryItemsStore.store(key = request.params.storeKey, value = wrappedItems)
     }
 
-    private suspend fun TxHistoryItemsStore.getSync(
-        pageToLoad: Page,
-        config: TxHistoryListConfig,
-    ): PaginationWrapper<TxInfo> {
-        val storedItems = requireNotNull(getSyncOrNull(config.storeKey, pageToLoad)) {
-            "The transaction history page #$pageToLoad could not be retrieved"
-        }
-
-        return if (pageToLoad is Page.Initial) storedItems.addRecentTransactions(config) else storedItems
-    }
-
     private suspend fun PaginationWrapper<TxInfo>.addRecentTransactions(
         config: TxHistoryListConfig,
     ): PaginationWrapper<TxInfo> {
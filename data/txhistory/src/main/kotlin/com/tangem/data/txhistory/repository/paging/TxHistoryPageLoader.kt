@@ -0,0 +1,57 @@
+package com.tangem.data.txhistory.repository.paging
+
+import com.tangem.data.common.cache.CacheRegistry
+import com.tangem.datasource.local.txhistory.TxHistoryItemsStore
+import com.tangem.domain.models.network.TxInfo
+import com.tangem.domain.txhistory.models.Page
+import com.tangem.domain.txhistory.models.PaginationWrapper
+import com.tangem.utils.coroutines.runSuspendCatching
+import com.tangem.utils.logging.TangemLogger
+
+/**
+ * Loader of transaction history pages that are stored in [TxHistoryItemsStore].
+ *
+ * Stored following pages are returned without fetching: store drops them if history has new transactions, so they are
+ * still actual. If fetching is failed, stored page is returned, so history is shown offline too.
+ *
+ * @property txHistoryItemsStore transaction history items store
+ * @property cacheRegistry       cache registry
+ */
+internal class TxHistoryPageLoader(
+    private val txHistoryItemsStore: TxHistoryItemsStore,
+    private val cacheRegistry: CacheRegistry,
+) {
+
+    /**
+     * Load [page] of [key]
+     *
+     * @param cacheKey key of [cacheRegistry] that limits the frequency of fetching
+     * @param refresh  ignore stored following pages and [cacheRegistry]
+     * @param fetch    fetch page and put it into [txHistoryItemsStore]
+     */
+    suspend fun load(
+        key: TxHistoryItemsStore.Key,
+        page: Page,
+        cacheKey: String,
+        refresh: Boolean,
+        fetch: suspend () -> Unit,
+    ): PaginationWrapper<TxInfo> {
+        val storedItems = txHistoryItemsStore.getSyncOrNull(key, page)
+
+        if (storedItems != null && page !is Page.Initial && !refresh) {
+            return storedItems
+        }
+
+        runSuspendCatching {
+            cacheRegistry.invokeOnExpire(key = cacheKey, skipCache = refresh, block = fetch)
+        }.onFailure { error ->
+            if (storedItems == null) throw error
+
+            TangemLogger.e("Unable to fetch the transaction history page #$page, stored one is used", error)
+        }
+
+        return requireNotNull(txHistoryItemsStore.getSyncOrNull(key, page)) {
+            "The transaction history page #$page could not be retrieved"
+        }
+    }
+}
@@ -22,6 +22,7 @@ internal class TxHistoryPagingSource(
 
     private val storeKey = TxHistoryItemsStore.Key(sourceParams.userWalletId, sourceParams.currency)
     private val sdkPageConverter by lazy { SdkPageConverter() }
+    private val pageLoader = TxHistoryPageLoader(txHistoryItemsStore, cacheRegistry)
 
     override val keyReuseSupported: Boolean get() = true
 
@@ -51,13 +52,15 @@ internal class TxHistoryPagingSource(
     }
 
     private suspend fun loadItems(pageToLoad: Page, pageSize: Int, refresh: Boolean): PaginationWrapper<TxInfo> {
-        cacheRegistry.invokeOnExpire(
-            key = getTxHistoryPageKey(pageToLoad),
-            skipCache = refresh,
-            block = { fetch(pageToLoad, pageSize) },
+        val loadedItems = pageLoader.load(
+            key = storeKey,
+            page = pageToLoad,
+            cacheKey = getTxHistoryPageKey(pageToLoad),
+            refresh = refresh,
+            fetch = { fetch(pageToLoad, pageSize) },
         )
 
-        return txHistoryItemsStore.getSync(pageToLoad)
+        return if (pageToLoad is Page.Initial) loadedItems.addRecentTransactions() else loadedItems
     }
 
     private suspend fun fetch(pageToLoad: Page, pageSize: Int) {
@@ -71,14 +74,6 @@ internal class TxHistoryPagingSource(
         txHistoryItemsStore.store(key = storeKey, value = wrappedItems)
     }
 
-    private suspend fun TxHistoryItemsStore.getSync(pageToLoad: Page): PaginationWrapper<TxInfo> {
-        val storedItems = requireNotNull(getSyncOrNull(storeKey, pageToLoad)) {
-            "The transaction history page #$pageToLoad could not be retrieved"
-        }
-
-        return if (pageToLoad is Page.Initial) storedItems.addRecentTransactions() else storedItems
-    }
-
     private suspend fun PaginationWrapper<TxInfo>.addRecentTransactions(): PaginationWrapper<TxInfo> {
         val recentItems = walletManagersFacade.getRecentTransactions(
             userWalletId = sourceParams.userWalletId,
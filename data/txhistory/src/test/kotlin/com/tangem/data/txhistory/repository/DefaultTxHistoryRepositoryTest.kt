@@ -0,0 +1,72 @@
+package com.tangem.data.txhistory.repository
+
+import com.tangem.common.test.TestAppCoroutineScope
+import com.tangem.datasource.local.txhistory.TxHistoryItemsStore
+import com.tangem.domain.common.wallets.UserWalletsListRepository
+import com.tangem.domain.models.wallet.UserWallet
+import com.tangem.domain.models.wallet.UserWalletId
+import com.tangem.utils.coroutines.TestingCoroutineDispatcherProvider
+import io.mockk.coVerify
+import io.mockk.coVerifyOrder
+import io.mockk.every
+import io.mockk.mockk
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.test.TestScope
+import kotlinx.coroutines.test.runCurrent
+import kotlinx.coroutines.test.runTest
+import org.junit.jupiter.api.Test
+
+internal class DefaultTxHistoryRepositoryTest {
+
+    private val firstWalletId = UserWalletId("011")
+    private val secondWalletId = UserWalletId("022")
+
+    private val userWalletsFlow = MutableStateFlow<List<UserWallet>?>(null)
+    private val userWalletsListRepository = mockk<UserWalletsListRepository> {
+        every { userWallets } returns userWalletsFlow
+    }
+    private val txHistoryItemsStore = mockk<TxHistoryItemsStore>(relaxUnitFun = true)
+
+    @Test
+    fun `history of deleted wallet is removed`() = runTest {
+        // Arrange
+        createRepository()
+        userWalletsFlow.value = listOf(createUserWallet(firstWalletId), createUserWallet(secondWalletId))
+        runCurrent()
+
+        // Act
+        userWalletsFlow.value = listOf(createUserWallet(secondWalletId))
+        runCurrent()
+
+        // Assert
+        coVerifyOrder {
+            txHistoryItemsStore.retain(setOf(firstWalletId, secondWalletId))
+            txHistoryItemsStore.retain(setOf(secondWalletId))
+        }
+    }
+
+    @Test
+    fun `history isn't removed until wallets are loaded`() = runTest {
+        // Act
+        createRepository()
+        runCurrent()
+
+        // Assert
+        coVerify(exactly = 0) { txHistoryItemsStore.retain(any()) }
+    }
+
+    private fun TestScope.createRepository(): DefaultTxHistoryRepository {
+        return DefaultTxHistoryRepository(
+            cacheRegistry = mockk(),
+            walletManagersFacade = mockk(),
+            userWalletsListRepository = userWalletsListRepository,
+            txHistoryItemsStore = txHistoryItemsStore,
+            dispatchers = TestingCoroutineDispatcherProvider(),
+            appScope = TestAppCoroutineScope(backgroundScope.coroutineContext),
+        )
+    }
+
+    private fun createUserWallet(userWalletId: UserWalletId): UserWallet = mockk<UserWallet.Hot> {
+        every { walletId } returns userWalletId
+    }
+}
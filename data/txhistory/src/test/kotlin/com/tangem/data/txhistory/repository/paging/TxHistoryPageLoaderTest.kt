@@ -0,0 +1,170 @@
+package com.tangem.data.txhistory.repository.paging
+
+import com.google.common.truth.Truth
+import com.tangem.common.test.domain.token.MockCryptoCurrencyFactory
+import com.tangem.data.common.cache.CacheRegistry
+import com.tangem.datasource.local.txhistory.TxHistoryItemsStore
+import com.tangem.domain.models.network.TxInfo
+import com.tangem.domain.models.wallet.UserWalletId
+import com.tangem.domain.txhistory.models.Page
+import com.tangem.domain.txhistory.models.PaginationWrapper
+import io.mockk.coEvery
+import io.mockk.mockk
+import kotlinx.coroutines.test.runTest
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import java.io.IOException
+import java.math.BigDecimal
+
+internal class TxHistoryPageLoaderTest {
+
+    private val store = InMemoryTxHistoryItemsStore()
+    private val cacheRegistry = mockk<CacheRegistry> {
+        coEvery { invokeOnExpire(key = any(), skipCache = any(), expireIn = any(), block = any()) } coAnswers {
+            arg<suspend () -> Unit>(3).invoke()
+        }
+    }
+    private val loader = TxHistoryPageLoader(txHistoryItemsStore = store, cacheRegistry = cacheRegistry)
+
+    private val key = TxHistoryItemsStore.Key(
+        userWalletId = UserWalletId("011"),
+        currency = MockCryptoCurrencyFactory().ethereum,
+    )
+
+    private var fetchesCount = 0
+
+    @Test
+    fun `fetched page is returned`() = runTest {
+        // Act
+        val actual = loader.load(page = Page.Initial, refresh = false, fetch = fetchPage(Page.Initial, "a"))
+
+        // Assert
+        Truth.assertThat(actual).isEqualTo(createPage(Page.Initial, "a"))
+        Truth.assertThat(fetchesCount).isEqualTo(1)
+    }
+
+    @Test
+    fun `stored following page is returned without fetching`() = runTest {
+        // Arrange
+        val storedPage = createPage(NEXT_PAGE, "a")
+        store.store(key = key, value = storedPage)
+
+        // Act
+        val actual = loader.load(page = NEXT_PAGE, refresh = false, fetch = fetchPage(NEXT_PAGE, "b"))
+
+        // Assert
+        Truth.assertThat(actual).isEqualTo(storedPage)
+        Truth.assertThat(fetchesCount).isEqualTo(0)
+    }
+
+    @Test
+    fun `stored following page is fetched on refresh`() = runTest {
+        // Arrange
+        store.store(key = key, value = createPage(NEXT_PAGE, "a"))
+
+        // Act
+        val actual = loader.load(page = NEXT_PAGE, refresh = true, fetch = fetchPage(NEXT_PAGE, "b"))
+
+        // Assert
+        Truth.assertThat(actual).isEqualTo(createPage(NEXT_PAGE, "b"))
+        Truth.assertThat(fetchesCount).isEqualTo(1)
+    }
+
+    @Test
+    fun `stored initial page is fetched`() = runTest {
+        // Arrange
+        store.store(key = key, value = createPage(Page.Initial, "a"))
+
+        // Act
+        val actual = loader.load(page = Page.Initial, refresh = false, fetch = fetchPage(Page.Initial, "b", "a"))
+
+        // Assert
+        Truth.assertThat(actual).isEqualTo(createPage(Page.Initial, "b", "a"))
+        Truth.assertThat(fetchesCount).isEqualTo(1)
+    }
+
+    @Test
+    fun `stored page is returned if fetching is failed`() = runTest {
+        // Arrange
+        val storedPage = createPage(Page.Initial, "a")
+        store.store(key = key, value = storedPage)
+
+        // Act
+        val actual = loader.load(page = Page.Initial, refresh = true, fetch = { throw IOException() })
+
+        // Assert
+        Truth.assertThat(actual).isEqualTo(storedPage)
+    }
+
+    @Test
+    fun `error is thrown if fetching is failed and page isn't stored`() = runTest {
+        // Act
+        val actual = assertThrows<IOException> {
+            loader.load(page = Page.Initial, refresh = false, fetch = { throw IOException("offline") })
+        }
+
+        // Assert
+        Truth.assertThat(actual).hasMessageThat().isEqualTo("offline")
+    }
+
+    private suspend fun TxHistoryPageLoader.load(
+        page: Page,
+        refresh: Boolean,
+        fetch: suspend () -> Unit,
+    ): PaginationWrapper<TxInfo> {
+        return load(key = key, page = page, cacheKey = "tx_history_page_$page", refresh = refresh, fetch = fetch)
+    }
+
+    private fun fetchPage(page: Page, vararg txHashes: String): suspend () -> Unit = {
+        fetchesCount++
+        store.store(key = key, value = createPage(page, *txHashes))
+    }
+
+    private class InMemoryTxHistoryItemsStore : TxHistoryItemsStore {
+
+        private val pages = mutableMapOf<Pair<TxHistoryItemsStore.Key, Page>, PaginationWrapper<TxInfo>>()
+
+        override suspend fun getSyncOrNull(key: TxHistoryItemsStore.Key, page: Page): PaginationWrapper<TxInfo>? {
+            return pages[key to page]
+        }
+
+        override suspend fun remove(key: TxHistoryItemsStore.Key) {
+            pages.keys.removeAll { it.first == key }
+        }
+
+        override suspend fun retain(userWalletIds: Set<UserWalletId>) {
+            pages.keys.removeAll { it.first.userWalletId !in userWalletIds }
+        }
+
+        override suspend fun store(key: TxHistoryItemsStore.Key, value: PaginationWrapper<TxInfo>) {
+            pages[key to value.currentPage] = value
+        }
+    }
+
+    private companion object {
+
+        val NEXT_PAGE = Page.Next(value = "1")
+
+        fun createPage(page: Page, vararg txHashes: String): PaginationWrapper<TxInfo> {
+            return PaginationWrapper(
+                currentPage = page,
+                nextPage = Page.LastPage,
+                items = txHashes.map(::createTxInfo),
+            )
+        }
+
+        fun createTxInfo(txHash: String): TxInfo {
+            return TxInfo(
+                txHash = txHash,
+                timestampInMillis = 0,
+                isOutgoing = false,
+                destinationType = TxInfo.DestinationType.Single(addressType = TxInfo.AddressType.User("0x1")),
+                sourceType = TxInfo.SourceType.Single("0x2"),
+                interactionAddressType = null,
+                status = TxInfo.TransactionStatus.Confirmed,
+                type = TxInfo.TransactionType.Transfer,
+                amount = BigDecimal.ONE,
+            )
+        }
+    }
+}
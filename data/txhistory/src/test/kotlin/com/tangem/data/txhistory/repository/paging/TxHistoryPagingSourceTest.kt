@@ -0,0 +1,103 @@
+package com.tangem.data.txhistory.repository.paging
+
+import androidx.paging.PagingSource
+import com.google.common.truth.Truth
+import com.tangem.common.test.domain.token.MockCryptoCurrencyFactory
+import com.tangem.data.common.cache.CacheRegistry
+import com.tangem.datasource.local.txhistory.TxHistoryItemsStore
+import com.tangem.domain.models.network.TxInfo
+import com.tangem.domain.models.wallet.UserWalletId
+import com.tangem.domain.txhistory.models.Page
+import com.tangem.domain.txhistory.models.PaginationWrapper
+import com.tangem.domain.walletmanager.WalletManagersFacade
+import io.mockk.coEvery
+import io.mockk.coVerify
+import io.mockk.mockk
+import kotlinx.coroutines.test.runTest
+import org.junit.jupiter.api.Test
+import java.io.IOException
+import java.math.BigDecimal
+
+internal class TxHistoryPagingSourceTest {
+
+    private val params = TxHistoryPagingSource.Params(
+        userWalletId = UserWalletId("011"),
+        currency = MockCryptoCurrencyFactory().ethereum,
+        pageSize = 20,
+        refresh = true,
+    )
+    private val storeKey = TxHistoryItemsStore.Key(userWalletId = params.userWalletId, currency = params.currency)
+
+    private val txHistoryItemsStore = mockk<TxHistoryItemsStore>(relaxUnitFun = true)
+    private val walletManagersFacade = mockk<WalletManagersFacade> {
+        coEvery { getRecentTransactions(userWalletId = any(), currency = any()) } returns emptyList()
+    }
+    private val cacheRegistry = mockk<CacheRegistry> {
+        coEvery { invokeOnExpire(key = any(), skipCache = any(), expireIn = any(), block = any()) } coAnswers {
+            arg<suspend () -> Unit>(3).invoke()
+        }
+    }
+
+    private val pagingSource = TxHistoryPagingSource(
+        sourceParams = params,
+        txHistoryItemsStore = txHistoryItemsStore,
+        walletManagersFacade = walletManagersFacade,
+        cacheRegistry = cacheRegistry,
+    )
+
+    @Test
+    fun `stored initial page is loaded if fetching is failed`() = runTest {
+        // Arrange
+        val storedPage = PaginationWrapper(
+            currentPage = Page.Initial,
+            nextPage = Page.Next(value = "1"),
+            items = listOf(createTxInfo(txHash = "a")),
+        )
+        coEvery { txHistoryItemsStore.getSyncOrNull(key = storeKey, page = Page.Initial) } returns storedPage
+        coEvery { walletManagersFacade.getTxHistoryItems(any(), any(), any(), any()) } throws IOException()
+
+        // Act
+        val actual = pagingSource.load(createRefreshParams())
+
+        // Assert
+        val expected = PagingSource.LoadResult.Page(
+            data = storedPage.items,
+            prevKey = null,
+            nextKey = storedPage.nextPage,
+        )
+        Truth.assertThat(actual).isEqualTo(expected)
+        coVerify(exactly = 0) { txHistoryItemsStore.store(key = any(), value = any()) }
+    }
+
+    @Test
+    fun `error is loaded if fetching is failed and page isn't stored`() = runTest {
+        // Arrange
+        val error = IOException()
+        coEvery { txHistoryItemsStore.getSyncOrNull(key = storeKey, page = Page.Initial) } returns null
+        coEvery { walletManagersFacade.getTxHistoryItems(any(), any(), any(), any()) } throws error
+
+        // Act
+        val actual = pagingSource.load(createRefreshParams())
+
+        // Assert
+        Truth.assertThat(actual).isEqualTo(PagingSource.LoadResult.Error<Page, TxInfo>(error))
+    }
+
+    private fun createRefreshParams(): PagingSource.LoadParams<Page> {
+        return PagingSource.LoadParams.Refresh(key = null, loadSize = params.pageSize, placeholdersEnabled = false)
+    }
+
+    private fun createTxInfo(txHash: String): TxInfo {
+        return TxInfo(
+            txHash = txHash,
+            timestampInMillis = 0,
+            isOutgoing = false,
+            destinationType = TxInfo.DestinationType.Single(addressType = TxInfo.AddressType.User("0x1")),
+            sourceType = TxInfo.SourceType.Single("0x2"),
+            interactionAddressType = null,
+            status = TxInfo.TransactionStatus.Confirmed,
+            type = TxInfo.TransactionType.Transfer,
+            amount = BigDecimal.ONE,
+        )
+    }
+}
@@ -25,7 +25,6 @@ import com.tangem.blockchainsdk.BlockchainSDKFactory
 import com.tangem.blockchainsdk.models.UpdateWalletManagerResult
 import com.tangem.blockchainsdk.utils.fromNetworkId
 import com.tangem.blockchainsdk.utils.toBlockchain
-import com.tangem.blockchainsdk.utils.toNetworkId
 import com.tangem.crypto.hdWallet.DerivationPath
 import com.tangem.data.walletmanager.utils.*
 import com.tangem.datasource.asset.loader.AssetLoader
@@ -38,6 +37,7 @@ import com.tangem.domain.models.network.Network
 import com.tangem.domain.models.network.TxInfo
 import com.tangem.domain.models.wallet.UserWallet
 import com.tangem.domain.models.wallet.UserWalletId
+import com.tangem.domain.models.wallet.isLocked
 import com.tangem.domain.transaction.GaslessTransactionRepository
 import com.tangem.domain.transaction.models.AssetRequirementsCondition
 import com.tangem.domain.txhistory.models.PaginationWrapper
@@ -48,16 +48,21 @@ import com.tangem.domain.walletmanager.model.SmartContractMethod
 import com.tangem.domain.walletmanager.model.TokenInfo
 import com.tangem.domain.walletmanager.utils.SdkPageConverter
 import com.tangem.domain.wallets.extension.hasDerivation
+import com.tangem.utils.coroutines.AppCoroutineScope
 import com.tangem.utils.coroutines.CoroutineDispatcherProvider
 import com.tangem.utils.logging.TangemLogger
+import kotlinx.coroutines.delay
 import kotlinx.coroutines.flow.Flow
-import kotlinx.coroutines.sync.Mutex
-import kotlinx.coroutines.sync.withLock
+import kotlinx.coroutines.flow.filterNotNull
+import kotlinx.coroutines.flow.launchIn
+import kotlinx.coroutines.flow.onEach
+import kotlinx.coroutines.isActive
+import kotlinx.coroutines.launch
 import kotlinx.coroutines.withContext
 import java.math.BigDecimal
 import java.util.EnumSet
-import java.util.concurrent.ConcurrentHashMap
 import javax.inject.Inject
+import kotlin.time.Duration.Companion.minutes
 
 @Suppress("LargeClass", "TooManyFunctions", "LongParameterList")
 internal class DefaultWalletManagersFacade @Inject constructor(
@@ -67,11 +72,13 @@ internal class DefaultWalletManagersFacade @Inject constructor(
     private val dispatchers: CoroutineDispatcherProvider,
     private val gaslessTransactionRepository: GaslessTransactionRepository,
     blockchainSDKFactory: BlockchainSDKFactory,
+    derivedAddressesCache: DerivedAddressesCache,
+    appScope: AppCoroutineScope,
 ) : WalletManagersFacade {
 
     private val demoConfig by lazy { DemoConfig }
     private val resultFactory by lazy { UpdateWalletManagerResultFactory() }
-    private val walletManagerFactory by lazy { WalletManagerFactory(blockchainSDKFactory) }
+    private val walletManagerFactory by lazy { WalletManagerFactory(blockchainSDKFactory, derivedAddressesCache) }
     private val sdkTokenConverter by lazy { SdkTokenConverter() }
     private val txHistoryStateConverter by lazy { SdkTransactionHistoryStateConverter() }
     private val sdkPageConverter by lazy { SdkPageConverter() }
@@ -79,7 +86,10 @@ internal class DefaultWalletManagersFacade @Inject constructor(
     private val requirementsConditionConverter by lazy { SdkRequirementsConditionConverter() }
     private val estimationFeeAddressFactory by lazy { EstimationFeeAddressFactory() }
 
-    private val wmInitializationMutexes = ConcurrentHashMap<String, Mutex>()
+    init {
+        evictWalletManagersOfUnavailableWallets(appScope)
+        evictIdleWalletManagers(appScope)
+    }
 
     override suspend fun update(
         userWalletId: UserWalletId,
@@ -395,37 +405,25 @@ internal class DefaultWalletManagersFacade @Inject constructor(
         blockchain: Blockchain,
         derivationPath: String?,
     ): WalletManager? {
-        getWmInitializationMutex(userWalletId, blockchain, derivationPath).withLock {
-            val userWallet = getUserWallet(userWalletId)
-
-            var walletManager = walletManagersStore.getSyncOrNull(
-                userWalletId = userWalletId,
-                blockchain = blockchain,
-                derivationPath = derivationPath,
-            )
+        return walletManagersStore.getOrCreate(
+            userWalletId = userWalletId,
+            blockchain = blockchain,
+            derivationPath = derivationPath,
+        ) {
             val path = derivationPath?.let { DerivationPath(rawPath = it) }
 
-            if (walletManager == null) {
-                when (userWallet) {
-                    is UserWallet.Hot -> {
-                        walletManager = walletManagerFactory.createWalletManagerForHot(
-                            hotWallet = userWallet,
-                            blockchain = blockchain,
-                            derivationPath = path,
-                        )
-                    }
-                    is UserWallet.Cold -> {
-                        walletManager = walletManagerFactory.createWalletManager(
-                            scanResponse = userWallet.scanResponse,
-                            blockchain = blockchain,
-                            derivationPath = path,
-                        )
-                    }
-                }
-                walletManager ?: return null
-                walletManagersStore.store(userWalletId, walletManager)
+            when (val userWallet = getUserWallet(userWalletId)) {
+                is UserWallet.Hot -> walletManagerFactory.createWalletManagerForHot(
+                    hotWallet = userWallet,
+                    blockchain = blockchain,
+                    derivationPath = path,
+                )
+                is UserWallet.Cold -> walletManagerFactory.createWalletManager(
+                    scanResponse = userWallet.scanResponse,
+                    blockchain = blockchain,
+                    derivationPath = path,
+                )
             }
-            return walletManager
         }
     }
 
@@ -894,24 +892,32 @@ internal class DefaultWalletManagersFacade @Inject constructor(
         return initializableAccountWalletManger.accountInitializationState == InitializableAccount.State.INITIALIZED
     }
 
-    private fun getWmInitializationMutex(
-        userWalletId: UserWalletId,
-        blockchain: Blockchain,
-        derivationPath: String?,
-    ): Mutex {
-        val key = createMutexMapKey(userWalletId, blockchain, derivationPath)
-        return wmInitializationMutexes.computeIfAbsent(key) {
-            Mutex()
-        }
+    /** Wallet managers of deleted and locked wallets are released, they are recreated on the next update */
+    private fun evictWalletManagersOfUnavailableWallets(appScope: AppCoroutineScope) {
+        var availableWalletIds = emptySet<UserWalletId>()
+
+        userWalletsListRepository.userWallets
+            .filterNotNull()
+            .onEach { userWallets ->
+                val actualWalletIds = userWallets
+                    .filterNot(UserWallet::isLocked)
+                    .mapTo(hashSetOf(), UserWallet::walletId)
+                val unavailableWalletIds = availableWalletIds - actualWalletIds
+
+                if (unavailableWalletIds.isNotEmpty()) walletManagersStore.evict(unavailableWalletIds)
+
+                availableWalletIds = actualWalletIds
+            }
+            .launchIn(appScope)
     }
 
-    private fun createMutexMapKey(userWalletId: UserWalletId, blockchain: Blockchain, derivationPath: String?): String {
-        return listOf(
-            userWalletId.stringValue,
-            blockchain.toNetworkId(),
-            derivationPath,
-        )
-            .joinToString(separator = "|")
+    private fun evictIdleWalletManagers(appScope: AppCoroutineScope) {
+        appScope.launch {
+            while (isActive) {
+                delay(WALLET_MANAGER_IDLE_TIMEOUT)
+                walletManagersStore.evictIdle(WALLET_MANAGER_IDLE_TIMEOUT)
+            }
+        }
     }
 
     private fun updateWalletManagerTokensIfNeeded(
@@ -936,5 +942,7 @@ internal class DefaultWalletManagersFacade @Inject constructor(
     private companion object {
         const val XPUB_PATH_MIN_NODES = 2
         const val RECEIVE_CHAIN_INDEX = 0L
+
+        val WALLET_MANAGER_IDLE_TIMEOUT = 30.minutes
     }
 }
\ No newline at end of file
@@ -0,0 +1,105 @@
+package com.tangem.data.walletmanager
+
+import com.tangem.blockchain.common.Blockchain
+import com.tangem.common.card.EllipticCurve
+import com.tangem.common.extensions.toMapKey
+import com.tangem.domain.common.wallets.UserWalletsListRepository
+import com.tangem.domain.models.wallet.UserWallet
+import com.tangem.domain.models.wallet.UserWalletId
+import com.tangem.utils.coroutines.AppCoroutineScope
+import kotlinx.coroutines.flow.filterNotNull
+import kotlinx.coroutines.flow.launchIn
+import kotlinx.coroutines.flow.onEach
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicLong
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * In-memory cache of default addresses derived from wallet public keys.
+ *
+ * Saves address generation in assets discovery: the address of every `(wallet public key, curve, derivation path,
+ * blockchain)` is derived there at most once per app session. Wallet managers creation doesn't read the cache, because
+ * the SDK generates the address inside the wallet manager. It only publishes that address to spare the derivation.
+ * Entries of deleted wallets are dropped as soon as they disappear from [UserWalletsListRepository.userWallets].
+ *
+ * Addresses aren't persisted, because wallet public keys and addresses shouldn't be stored unencrypted on disk.
+ *
+ * @param userWalletsListRepository user wallets list repository
+ * @param appScope                  app coroutine scope
+ */
+@Singleton
+class DerivedAddressesCache @Inject constructor(
+    userWalletsListRepository: UserWalletsListRepository,
+    appScope: AppCoroutineScope,
+) {
+
+    private val addresses = ConcurrentHashMap<UserWalletId, ConcurrentHashMap<Key, String>>()
+
+    private val hits = AtomicLong()
+    private val misses = AtomicLong()
+
+    init {
+        userWalletsListRepository.userWallets
+            .filterNotNull()
+            .onEach { userWallets -> retain(userWallets.mapTo(hashSetOf(), UserWallet::walletId)) }
+            .launchIn(appScope)
+    }
+
+    /** Get cached address of [key] or derive it by [derive] */
+    inline fun getOrDerive(userWalletId: UserWalletId, key: Key, derive: () -> String?): String? {
+        val cached = get(userWalletId, key)
+        if (cached != null) return cached
+
+        return derive()?.also { put(userWalletId, key, it) }
+    }
+
+    fun get(userWalletId: UserWalletId, key: Key): String? {
+        val address = addresses[userWalletId]?.get(key)
+
+        if (address != null) hits.incrementAndGet() else misses.incrementAndGet()
+
+        return address
+    }
+
+    fun put(userWalletId: UserWalletId, key: Key, address: String) {
+        addresses.getOrPut(userWalletId, ::ConcurrentHashMap)[key] = address
+    }
+
+    fun getStats(): Stats = Stats(hits = hits.get(), misses = misses.get())
+
+    private fun retain(userWalletIds: Set<UserWalletId>) {
+        addresses.keys.retainAll(userWalletIds)
+    }
+
+    /**
+     * Key of derived address
+     *
+     * @property seedKey        hex of wallet public key
+     * @property curve          curve of wallet
+     * @property derivationPath raw derivation path. Null for wallets without derivation
+     * @property blockchain     blockchain
+     */
+    data class Key(
+        val seedKey: String,
+        val curve: EllipticCurve,
+        val derivationPath: String?,
+        val blockchain: Blockchain,
+    ) {
+
+        constructor(
+            seedKey: ByteArray,
+            curve: EllipticCurve,
+            derivationPath: String?,
+            blockchain: Blockchain,
+        ) : this(seedKey = seedKey.toMapKey(), curve = curve, derivationPath = derivationPath, blockchain = blockchain)
+    }
+
+    /**
+     * Cache statistics
+     *
+     * @property hits   number of requests that are served from cache
+     * @property misses number of requests that require derivation
+     */
+    data class Stats(val hits: Long, val misses: Long)
+}
@@ -16,6 +16,7 @@ import com.tangem.utils.logging.TangemLogger
 
 internal class WalletManagerFactory(
     private val blockchainSDKFactory: BlockchainSDKFactory,
+    private val derivedAddressesCache: DerivedAddressesCache,
 ) {
 
     suspend fun createWalletManager(
@@ -48,7 +49,7 @@ internal class WalletManagerFactory(
         return try {
             val factory = blockchainSDKFactory.getWalletManagerFactorySync() ?: return null
 
-            if (derivationPath == null) {
+            val walletManager = if (derivationPath == null) {
                 factory.createLegacyWalletManager(
                     blockchain = blockchain,
                     walletPublicKey = selectedWallet.publicKey,
@@ -67,6 +68,21 @@ internal class WalletManagerFactory(
                     curve = selectedWallet.curve,
                 )
             }
+
+            // the SDK always generates the address of a new wallet manager, so the cache can't save it here.
+            // Publish it to spare the derivation in assets discovery
+            derivedAddressesCache.put(
+                userWalletId = hotWallet.walletId,
+                key = DerivedAddressesCache.Key(
+                    seedKey = selectedWallet.publicKey,
+                    curve = selectedWallet.curve,
+                    derivationPath = derivationPath?.rawPath,
+                    blockchain = blockchain,
+                ),
+                address = walletManager.wallet.address,
+            )
+
+            walletManager
         } catch (e: Throwable) {
             TangemLogger.w("Failed to create wallet manager for $blockchain", e)
             null
@@ -0,0 +1,84 @@
+package com.tangem.data.walletmanager
+
+import com.google.common.truth.Truth
+import com.tangem.blockchain.common.Blockchain
+import com.tangem.common.card.EllipticCurve
+import com.tangem.domain.common.wallets.UserWalletsListRepository
+import com.tangem.domain.models.wallet.UserWallet
+import com.tangem.domain.models.wallet.UserWalletId
+import com.tangem.utils.coroutines.AppCoroutineScope
+import io.mockk.every
+import io.mockk.mockk
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.flow.MutableStateFlow
+import org.junit.jupiter.api.Test
+import kotlin.coroutines.CoroutineContext
+
+internal class DerivedAddressesCacheTest {
+
+    private val userWalletId = UserWalletId("011")
+    private val userWalletsFlow = MutableStateFlow<List<UserWallet>?>(listOf(createUserWallet(userWalletId)))
+    private val userWalletsListRepository = mockk<UserWalletsListRepository> {
+        every { userWallets } returns userWalletsFlow
+    }
+
+    private val cache = DerivedAddressesCache(
+        userWalletsListRepository = userWalletsListRepository,
+        appScope = TestAppCoroutineScope(Dispatchers.Unconfined + Job()),
+    )
+
+    private val key = DerivedAddressesCache.Key(
+        seedKey = byteArrayOf(1, 2, 3),
+        curve = EllipticCurve.Secp256k1,
+        derivationPath = "m/44'/60'/0'/0/0",
+        blockchain = Blockchain.Ethereum,
+    )
+
+    @Test
+    fun `getOrDerive derives address only once`() {
+        // Arrange
+        var derivationsCount = 0
+        val derive = {
+            derivationsCount++
+            "0x123"
+        }
+
+        // Act
+        val first = cache.getOrDerive(userWalletId = userWalletId, key = key, derive = derive)
+        val second = cache.getOrDerive(userWalletId = userWalletId, key = key, derive = derive)
+
+        // Assert
+        Truth.assertThat(first).isEqualTo("0x123")
+        Truth.assertThat(second).isEqualTo("0x123")
+        Truth.assertThat(derivationsCount).isEqualTo(1)
+        Truth.assertThat(cache.getStats()).isEqualTo(DerivedAddressesCache.Stats(hits = 1, misses = 1))
+    }
+
+    @Test
+    fun `getOrDerive doesn't cache failed derivation`() {
+        // Act
+        cache.getOrDerive(userWalletId = userWalletId, key = key) { null }
+
+        // Assert
+        Truth.assertThat(cache.get(userWalletId = userWalletId, key = key)).isNull()
+    }
+
+    @Test
+    fun `get returns null after wallet deletion`() {
+        // Arrange
+        cache.put(userWalletId = userWalletId, key = key, address = "0x123")
+
+        // Act
+        userWalletsFlow.value = emptyList()
+
+        // Assert
+        Truth.assertThat(cache.get(userWalletId = userWalletId, key = key)).isNull()
+    }
+
+    private fun createUserWallet(userWalletId: UserWalletId): UserWallet = mockk<UserWallet.Hot> {
+        every { walletId } returns userWalletId
+    }
+
+    private class TestAppCoroutineScope(override val coroutineContext: CoroutineContext) : AppCoroutineScope
+}
@@ -69,7 +69,8 @@ interface AccountsCRUDRepository {
     suspend fun saveAccountsLocally(accountList: AccountList)
 
     /**
-     * Saves a list of accounts to the repository
+     * Saves a list of accounts to the repository and synchronizes it with remote data source in background.
+     * Returns once the list is saved, see [hasPendingChanges]
      *
      * @param accountList the list of accounts to be saved.
      */
@@ -82,6 +83,14 @@ interface AccountsCRUDRepository {
      */
     suspend fun saveAccount(account: Account.CryptoPortfolio)
 
+    /**
+     * Provides a flow of flag that accounts of a specific user wallet have changes that aren't synchronized with
+     * remote data source yet. Such changes are retried in background
+     *
+     * @param userWalletId the unique identifier of the user wallet
+     */
+    fun hasPendingChanges(userWalletId: UserWalletId): Flow<Boolean>
+
     /** Synchronizes tokens for a specific [userWalletId] with remote data source */
     suspend fun syncTokens(userWalletId: UserWalletId)
 
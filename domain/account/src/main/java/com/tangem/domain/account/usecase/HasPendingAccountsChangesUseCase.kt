@@ -0,0 +1,28 @@
+package com.tangem.domain.account.usecase
+
+import com.tangem.domain.account.repository.AccountsCRUDRepository
+import com.tangem.domain.models.wallet.UserWalletId
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.catch
+import kotlinx.coroutines.flow.distinctUntilChanged
+
+/**
+ * Use case for observing whether accounts of a specific user wallet have changes that aren't synchronized yet
+ *
+ * @property crudRepository the repository for performing CRUD operations on accounts
+ */
+class HasPendingAccountsChangesUseCase(
+    private val crudRepository: AccountsCRUDRepository,
+) {
+
+    /**
+     * Executes the use case. Emits false if the flag can't be retrieved
+     *
+     * @param userWalletId the unique identifier of the user wallet
+     */
+    operator fun invoke(userWalletId: UserWalletId): Flow<Boolean> {
+        return crudRepository.hasPendingChanges(userWalletId = userWalletId)
+            .catch { emit(false) }
+            .distinctUntilChanged()
+    }
+}
@@ -0,0 +1,54 @@
+package com.tangem.domain.account.usecase
+
+import com.google.common.truth.Truth
+import com.tangem.domain.account.repository.AccountsCRUDRepository
+import com.tangem.domain.models.wallet.UserWalletId
+import io.mockk.clearMocks
+import io.mockk.every
+import io.mockk.mockk
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.flow.flowOf
+import kotlinx.coroutines.flow.toList
+import kotlinx.coroutines.test.runTest
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class HasPendingAccountsChangesUseCaseTest {
+
+    private val crudRepository: AccountsCRUDRepository = mockk()
+    private val useCase = HasPendingAccountsChangesUseCase(crudRepository)
+    private val userWalletId = UserWalletId("011")
+
+    @BeforeEach
+    fun resetMocks() {
+        clearMocks(crudRepository)
+    }
+
+    @Test
+    fun `invoke should emit distinct flags from repository`() = runTest {
+        // Arrange
+        every { crudRepository.hasPendingChanges(userWalletId) } returns flowOf(false, true, true, false)
+
+        // Act
+        val actual = useCase(userWalletId = userWalletId).toList()
+
+        // Assert
+        Truth.assertThat(actual).containsExactly(false, true, false).inOrder()
+    }
+
+    @Test
+    fun `invoke should emit false if repository fails`() = runTest {
+        // Arrange
+        every { crudRepository.hasPendingChanges(userWalletId) } returns flow<Boolean> {
+            error("Failed to read outbox")
+        }
+
+        // Act
+        val actual = useCase(userWalletId = userWalletId).toList()
+
+        // Assert
+        Truth.assertThat(actual).containsExactly(false)
+    }
+}
@@ -2,7 +2,6 @@ package com.tangem.domain.account.status.producer
 
 import arrow.core.Option
 import arrow.core.none
-import arrow.core.toOption
 import com.tangem.common.card.FirmwareVersion
 import com.tangem.core.analytics.api.AnalyticsExceptionHandler
 import com.tangem.domain.account.models.AccountCurrencyId
@@ -40,8 +39,6 @@ import com.tangem.domain.staking.StakingIdFactory
 import com.tangem.domain.staking.multi.MultiStakingBalanceProducer
 import com.tangem.domain.staking.multi.MultiStakingBalanceSupplier
 import com.tangem.domain.staking.single.SingleStakingBalanceProducer.Companion.selectStakingBalance
-import com.tangem.domain.tokens.operations.CryptoCurrencyStatusFactory
-import com.tangem.domain.tokens.operations.PriceChangeCalculator
 import com.tangem.domain.tokens.operations.TokenListFactory
 import com.tangem.domain.tokens.operations.TotalFiatBalanceCalculator
 import com.tangem.hot.sdk.model.HotWalletId
@@ -101,7 +98,7 @@ internal class DefaultSingleAccountStatusListProducer @AssistedInject constructo
             .onEach { list ->
                 logger.i(
                     "produce()[${params.userWalletId}] emit: accounts=${list.accountStatuses.size}, " +
-                        "currencies=${list.flattenCurrencies().size}, " +
+                        "currencies=${list.currenciesCount()}, " +
                         "totalFiatType=${list.totalFiatBalance::class.simpleName}",
                 )
             }
@@ -122,11 +119,13 @@ internal class DefaultSingleAccountStatusListProducer @AssistedInject constructo
 
         val accountListFlow: StateFlow<AccountList> = singleAccountListSupplier(walletId)
             .onEach { accountList ->
+                val currencies = accountList.flattenMapCurrencies()
+
                 logger.i(
                     "flattenFlow[$walletId]: accountList emitted accounts=${accountList.accounts.size}, " +
-                        "currencies=${accountList.flattenMapCurrencies().size}",
+                        "currencies=${currencies.size}",
                 )
-                flattenCurrency.tryEmit(accountList.flattenMapCurrencies())
+                flattenCurrency.tryEmit(currencies)
             }
             .stateIn(this)
 
@@ -143,10 +142,14 @@ internal class DefaultSingleAccountStatusListProducer @AssistedInject constructo
             flattenCurrency = flattenCurrency,
         )
 
+        // Factories are stateful, so every collection of the flow has its own instances
+        val accountStatusFactory = IncrementalAccountStatusFactory()
+
         val isPaymentSupported = userWallet.isPaymentAccountSupported()
         logger.i("flattenFlow[$walletId]: isPaymentAccountSupported=$isPaymentSupported")
         if (isPaymentSupported) {
             combineWithPaymentAccount(
+                accountStatusFactory = accountStatusFactory,
                 accountListFlow = accountListFlow,
                 cryptoCurrencyStatusFlow = cryptoCurrencyStatusFlow,
                 paymentAccountStatusFlow = paymentAccountStatusSupplier.invoke(userWalletId = params.userWalletId)
@@ -159,6 +162,7 @@ internal class DefaultSingleAccountStatusListProducer @AssistedInject constructo
             )
         } else {
             combineWithoutPaymentAccount(
+                accountStatusFactory = accountStatusFactory,
                 accountListFlow = accountListFlow,
                 cryptoCurrencyStatusFlow = cryptoCurrencyStatusFlow,
             )
@@ -167,6 +171,7 @@ internal class DefaultSingleAccountStatusListProducer @AssistedInject constructo
     }
 
     private fun combineWithPaymentAccount(
+        accountStatusFactory: IncrementalAccountStatusFactory,
         accountListFlow: StateFlow<AccountList>,
         cryptoCurrencyStatusFlow: Flow<Map<AccountCurrencyId, CryptoCurrencyStatus>>,
         paymentAccountStatusFlow: Flow<AccountStatus.Payment>,
@@ -185,26 +190,15 @@ internal class DefaultSingleAccountStatusListProducer @AssistedInject constructo
                 val accountStatuses = accountList.accounts.map { account ->
                     when (account) {
                         is Account.Payment -> paymentAccountStatus
-                        is Account.CryptoPortfolio -> if (account.cryptoCurrencies.isEmpty()) {
-                            account.toEmptyAccountStatus()
-                        } else {
-                            val statuses: List<CryptoCurrencyStatus> =
-                                account.cryptoCurrencies.map { currency ->
-                                    val acId = account.accountId to currency.id
-                                    currencyStatusMap[acId] ?: currency.toLoadingCurrencyStatus()
-                                }
-                            AccountStatus.CryptoPortfolio(
-                                account = account,
-                                tokenList = TokenListFactory.create(
-                                    statuses = statuses,
-                                    groupType = accountList.groupType,
-                                    sortType = accountList.sortType,
-                                ),
-                                priceChangeLce = PriceChangeCalculator.calculate(statuses = statuses),
-                            )
-                        }
+                        is Account.CryptoPortfolio -> accountStatusFactory.create(
+                            account = account,
+                            accountList = accountList,
+                            currencyStatusMap = currencyStatusMap,
+                        )
                     }
                 }
+                accountStatusFactory.retain(accountList.accounts)
+
                 val balances = accountStatuses.flattenTotalFiatBalance()
 
                 AccountStatusList(
@@ -221,6 +215,7 @@ internal class DefaultSingleAccountStatusListProducer @AssistedInject constructo
     }
 
     private fun combineWithoutPaymentAccount(
+        accountStatusFactory: IncrementalAccountStatusFactory,
         accountListFlow: StateFlow<AccountList>,
         cryptoCurrencyStatusFlow: Flow<Map<AccountCurrencyId, CryptoCurrencyStatus>>,
     ): Flow<AccountStatusList> {
@@ -236,27 +231,14 @@ internal class DefaultSingleAccountStatusListProducer @AssistedInject constructo
                 val accountStatuses = accountList.accounts
                     .filterIsInstance<Account.CryptoPortfolio>()
                     .map { account ->
-                        when (account) {
-                            is Account.CryptoPortfolio -> if (account.cryptoCurrencies.isEmpty()) {
-                                account.toEmptyAccountStatus()
-                            } else {
-                                val statuses: List<CryptoCurrencyStatus> =
-                                    account.cryptoCurrencies.map { currency ->
-                                        val acId = account.accountId to currency.id
-                                        currencyStatusMap[acId] ?: currency.toLoadingCurrencyStatus()
-                                    }
-                                AccountStatus.CryptoPortfolio(
-                                    account = account,
-                                    tokenList = TokenListFactory.create(
-                                        statuses = statuses,
-                                        groupType = accountList.groupType,
-                                        sortType = accountList.sortType,
-                                    ),
-                                    priceChangeLce = PriceChangeCalculator.calculate(statuses = statuses),
-                                )
-                            }
-                        }
+                        accountStatusFactory.create(
+                            account = account,
+                            accountList = accountList,
+                            currencyStatusMap = currencyStatusMap,
+                        )
                     }
+                accountStatusFactory.retain(accountList.accounts)
+
                 val balances = accountStatuses.flattenTotalFiatBalance()
 
                 AccountStatusList(
@@ -282,6 +264,7 @@ internal class DefaultSingleAccountStatusListProducer @AssistedInject constructo
         flattenCurrency: MutableSharedFlow<Map<AccountCurrencyId, CryptoCurrency>>,
     ): Flow<Map<AccountCurrencyId, CryptoCurrencyStatus>> {
         val walletId = userWallet.walletId
+        val currencyStatusFactory = IncrementalCurrencyStatusFactory()
         val networkStatusFlow: SharedFlow<Map<Network.ID, NetworkStatus>> = networkStatusFlow(walletId)
             .onEach { logger.i("flattenCurrencyStatusFlow[$walletId]: networkStatuses emitted size=${it.size}") }
             .shareIn(this, started = SharingStarted.Eagerly, replay = 1)
@@ -296,10 +279,12 @@ internal class DefaultSingleAccountStatusListProducer @AssistedInject constructo
             .distinctUntilChanged()
             .onEach { logger.i("flattenCurrencyStatusFlow[$walletId]: flattenCurrency emitted size=${it.size}") }
             .flatMapLatest { a ->
+                val rawCurrenciesIds = a.keys.mapNotNullTo(hashSetOf()) { (_, id) -> id.rawCurrencyId }
+
                 combine(
                     flow = networkStatusFlow,
                     flow2 = stakingBalanceFlow,
-                    flow3 = quoteStatusFlow,
+                    flow3 = quoteStatusFlow.selectQuotes(rawCurrenciesIds),
                     transform = { b, c, d -> Box(
                         flattenCurrencyMap = a,
                         networkStatusMap = b,
@@ -319,26 +304,24 @@ internal class DefaultSingleAccountStatusListProducer @AssistedInject constructo
                 )
             }
             .map { box ->
-                val flattenCurrencyMap: Map<AccountCurrencyId, CryptoCurrency> = box.flattenCurrencyMap
                 val networkStatusMap: Map<Network.ID, NetworkStatus> = box.networkStatusMap
                 val stakingBalanceMap: Map<StakingID, Set<StakingBalance>> = box.stakingBalanceMap
                 val quoteStatusMap: Map<CryptoCurrency.RawID, QuoteStatus> = box.quoteStatusMap
 
-                flattenCurrencyMap.mapValues { (acId: AccountCurrencyId, currency) ->
+                currencyStatusFactory.createAll(currencies = box.flattenCurrencyMap) { acId, currency ->
                     val (_, id) = acId
                     val networkStatus: NetworkStatus? = networkStatusMap[currency.network.id]
-                    val quoteStatus: QuoteStatus? = id.rawCurrencyId?.let { rawID -> quoteStatusMap[rawID] }
-                    val stakingBalance: StakingBalance? = findStakingBalance(
-                        networkStatus = networkStatus,
-                        id = id,
-                        wallet = userWallet,
-                        stakingBalanceMap = stakingBalanceMap,
-                    )
-                    CryptoCurrencyStatusFactory.create(
+
+                    IncrementalCurrencyStatusFactory.Sources(
                         currency = currency,
-                        maybeNetworkStatus = networkStatus.toOption(),
-                        maybeQuoteStatus = quoteStatus.toOption(),
-                        maybeStakingBalance = stakingBalance.toOption(),
+                        networkStatus = networkStatus,
+                        quoteStatus = id.rawCurrencyId?.let { rawID -> quoteStatusMap[rawID] },
+                        stakingBalance = findStakingBalance(
+                            networkStatus = networkStatus,
+                            id = id,
+                            wallet = userWallet,
+                            stakingBalanceMap = stakingBalanceMap,
+                        ),
                     )
                 }
             }
@@ -369,6 +352,16 @@ internal class DefaultSingleAccountStatusListProducer @AssistedInject constructo
     private fun quoteStatusFlow(): Flow<Map<CryptoCurrency.RawID, QuoteStatus>> = quoteStatusSupplier(Unit)
         .distinctUntilChanged()
 
+    /** Select quotes of [rawCurrenciesIds] to re-emit only if any of the wallet's own quotes is changed */
+    private fun Flow<Map<CryptoCurrency.RawID, QuoteStatus>>.selectQuotes(
+        rawCurrenciesIds: Set<CryptoCurrency.RawID>,
+    ): Flow<Map<CryptoCurrency.RawID, QuoteStatus>> {
+        return map { quotes ->
+            rawCurrenciesIds.mapNotNull { id -> quotes[id]?.let { id to it } }.toMap()
+        }
+            .distinctUntilChanged()
+    }
+
     private fun findStakingBalance(
         networkStatus: NetworkStatus?,
         id: CryptoCurrency.ID,
@@ -391,6 +384,35 @@ internal class DefaultSingleAccountStatusListProducer @AssistedInject constructo
         )
     }
 
+    private fun IncrementalAccountStatusFactory.create(
+        account: Account.CryptoPortfolio,
+        accountList: AccountList,
+        currencyStatusMap: Map<AccountCurrencyId, CryptoCurrencyStatus>,
+    ): AccountStatus.CryptoPortfolio {
+        if (account.cryptoCurrencies.isEmpty()) return account.toEmptyAccountStatus()
+
+        val statuses: List<CryptoCurrencyStatus> = account.cryptoCurrencies.map { currency ->
+            val acId = account.accountId to currency.id
+            currencyStatusMap[acId] ?: currency.toLoadingCurrencyStatus()
+        }
+
+        return create(
+            account = account,
+            statuses = statuses,
+            groupType = accountList.groupType,
+            sortType = accountList.sortType,
+        )
+    }
+
+    private fun AccountStatusList.currenciesCount(): Int {
+        return accountStatuses.sumOf { accountStatus ->
+            when (accountStatus) {
+                is AccountStatus.CryptoPortfolio -> accountStatus.account.cryptoCurrencies.size
+                is AccountStatus.Payment -> 0
+            }
+        }
+    }
+
     private fun Account.CryptoPortfolio.toEmptyAccountStatus() = AccountStatus.CryptoPortfolio(
         account = this,
         tokenList = TokenList.Empty,
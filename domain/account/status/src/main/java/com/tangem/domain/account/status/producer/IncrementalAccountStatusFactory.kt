@@ -0,0 +1,172 @@
+package com.tangem.domain.account.status.producer
+
+import arrow.core.toOption
+import com.tangem.domain.account.models.AccountCurrencyId
+import com.tangem.domain.models.TokensGroupType
+import com.tangem.domain.models.TokensSortType
+import com.tangem.domain.models.account.Account
+import com.tangem.domain.models.account.AccountId
+import com.tangem.domain.models.account.AccountStatus
+import com.tangem.domain.models.currency.CryptoCurrency
+import com.tangem.domain.models.currency.CryptoCurrencyStatus
+import com.tangem.domain.models.network.NetworkStatus
+import com.tangem.domain.models.quote.QuoteStatus
+import com.tangem.domain.models.staking.StakingBalance
+import com.tangem.domain.tokens.operations.CryptoCurrencyStatusFactory
+import com.tangem.domain.tokens.operations.PriceChangeCalculator
+import com.tangem.domain.tokens.operations.TokenListFactory
+
+/**
+ * Factory of [CryptoCurrencyStatus] that recreates status only if its sources are changed.
+ * Unchanged statuses keep their instances, so [IncrementalAccountStatusFactory] can detect them by reference.
+ *
+ * Not thread-safe. Use one instance per flow stage.
+ */
+internal class IncrementalCurrencyStatusFactory {
+
+    private var entries = HashMap<AccountCurrencyId, Entry>()
+    private var nextEntries = HashMap<AccountCurrencyId, Entry>()
+
+    /**
+     * Create statuses of [currencies]. [getSources] provides sources of status for every currency.
+     * Entries of currencies that are absent in [currencies] are dropped.
+     */
+    fun createAll(
+        currencies: Map<AccountCurrencyId, CryptoCurrency>,
+        getSources: (AccountCurrencyId, CryptoCurrency) -> Sources,
+    ): Map<AccountCurrencyId, CryptoCurrencyStatus> {
+        val statuses = LinkedHashMap<AccountCurrencyId, CryptoCurrencyStatus>(currencies.size)
+
+        currencies.forEach { (acId, currency) ->
+            val sources = getSources(acId, currency)
+            val prevEntry = entries[acId]
+
+            val entry = if (prevEntry != null && prevEntry.sources == sources) {
+                prevEntry
+            } else {
+                Entry(sources = sources, status = sources.createStatus())
+            }
+
+            nextEntries[acId] = entry
+            statuses[acId] = entry.status
+        }
+
+        swapEntries()
+
+        return statuses
+    }
+
+    private fun swapEntries() {
+        val prevEntries = entries
+        entries = nextEntries
+        nextEntries = prevEntries.apply { clear() }
+    }
+
+    /**
+     * Sources of [CryptoCurrencyStatus]
+     *
+     * @property currency       currency
+     * @property networkStatus  network status
+     * @property quoteStatus    quote status
+     * @property stakingBalance staking balance
+     */
+    data class Sources(
+        val currency: CryptoCurrency,
+        val networkStatus: NetworkStatus?,
+        val quoteStatus: QuoteStatus?,
+        val stakingBalance: StakingBalance?,
+    ) {
+
+        fun createStatus(): CryptoCurrencyStatus {
+            return CryptoCurrencyStatusFactory.create(
+                currency = currency,
+                maybeNetworkStatus = networkStatus.toOption(),
+                maybeQuoteStatus = quoteStatus.toOption(),
+                maybeStakingBalance = stakingBalance.toOption(),
+            )
+        }
+    }
+
+    private class Entry(val sources: Sources, val status: CryptoCurrencyStatus)
+}
+
+/**
+ * Factory of [AccountStatus.CryptoPortfolio] that rebuilds token list and price change only of accounts
+ * whose currency statuses, sorting or grouping are changed. Output is the same as building the status from scratch
+ * with [TokenListFactory] and [PriceChangeCalculator].
+ *
+ * Not thread-safe. Use one instance per flow stage.
+ */
+internal class IncrementalAccountStatusFactory {
+
+    private val entries = HashMap<AccountId, Entry>()
+
+    fun create(
+        account: Account.CryptoPortfolio,
+        statuses: List<CryptoCurrencyStatus>,
+        groupType: TokensGroupType,
+        sortType: TokensSortType,
+    ): AccountStatus.CryptoPortfolio {
+        val prevEntry = entries[account.accountId]
+
+        if (prevEntry != null && prevEntry.isSame(account, statuses, groupType, sortType)) {
+            return prevEntry.status
+        }
+
+        val status = AccountStatus.CryptoPortfolio(
+            account = account,
+            tokenList = TokenListFactory.create(statuses = statuses, groupType = groupType, sortType = sortType),
+            priceChangeLce = PriceChangeCalculator.calculate(statuses = statuses),
+        )
+
+        entries[account.accountId] = Entry(
+            account = account,
+            statuses = statuses,
+            groupType = groupType,
+            sortType = sortType,
+            status = status,
+        )
+
+        return status
+    }
+
+    /** Drop entries of accounts that are absent in [accounts] */
+    fun retain(accounts: List<Account>) {
+        if (entries.size <= accounts.size) return
+
+        val ids = accounts.mapTo(hashSetOf(), Account::accountId)
+        entries.keys.retainAll(ids)
+    }
+
+    private class Entry(
+        val account: Account.CryptoPortfolio,
+        val statuses: List<CryptoCurrencyStatus>,
+        val groupType: TokensGroupType,
+        val sortType: TokensSortType,
+        val status: AccountStatus.CryptoPortfolio,
+    ) {
+
+        fun isSame(
+            account: Account.CryptoPortfolio,
+            statuses: List<CryptoCurrencyStatus>,
+            groupType: TokensGroupType,
+            sortType: TokensSortType,
+        ): Boolean {
+            return this.groupType == groupType &&
+                this.sortType == sortType &&
+                this.statuses.hasSameElements(statuses) &&
+                this.account == account
+        }
+
+        /** Statuses are compared by reference, because unchanged statuses keep their instances */
+        private fun List<CryptoCurrencyStatus>.hasSameElements(other: List<CryptoCurrencyStatus>): Boolean {
+            if (size != other.size) return false
+
+            for (index in indices) {
+                if (this[index] !== other[index]) return false
+            }
+
+            return true
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.tangem.domain.account.status.producer
+
+import com.google.common.truth.Truth
+import com.tangem.common.test.domain.token.MockCryptoCurrencyFactory
+import com.tangem.domain.account.models.AccountList
+import com.tangem.domain.models.TokensGroupType
+import com.tangem.domain.models.TokensSortType
+import com.tangem.domain.models.account.AccountStatus
+import com.tangem.domain.models.currency.CryptoCurrencyStatus
+import com.tangem.domain.models.tokenlist.TokenList
+import com.tangem.domain.models.wallet.UserWalletId
+import com.tangem.domain.tokens.operations.PriceChangeCalculator
+import com.tangem.domain.tokens.operations.TokenListFactory
+import org.junit.jupiter.api.Test
+
+class IncrementalAccountStatusFactoryTest {
+
+    private val cryptoCurrencyFactory = MockCryptoCurrencyFactory()
+    private val account = AccountList.empty(
+        userWalletId = UserWalletId("011"),
+        cryptoCurrencies = cryptoCurrencyFactory.ethereumAndStellar.toSet(),
+    ).mainAccount
+
+    private val ethereumStatus = CryptoCurrencyStatus(
+        currency = cryptoCurrencyFactory.ethereum,
+        value = CryptoCurrencyStatus.Loading,
+    )
+    private val stellarStatus = CryptoCurrencyStatus(
+        currency = cryptoCurrencyFactory.stellar,
+        value = CryptoCurrencyStatus.MissedDerivation(priceChange = null, fiatRate = null),
+    )
+
+    @Test
+    fun `create returns the same status as factories`() {
+        // Arrange
+        val factory = IncrementalAccountStatusFactory()
+        val statuses = listOf(ethereumStatus, stellarStatus)
+
+        // Act
+        val actual = factory.create(
+            account = account,
+            statuses = statuses,
+            groupType = TokensGroupType.NETWORK,
+            sortType = TokensSortType.BALANCE,
+        )
+
+        // Assert
+        val expected = AccountStatus.CryptoPortfolio(
+            account = account,
+            tokenList = TokenListFactory.create(
+                statuses = statuses,
+                groupType = TokensGroupType.NETWORK,
+                sortType = TokensSortType.BALANCE,
+            ),
+            priceChangeLce = PriceChangeCalculator.calculate(statuses = statuses),
+        )
+        Truth.assertThat(actual).isEqualTo(expected)
+    }
+
+    @Test
+    fun `create reuses status if statuses are not changed`() {
+        // Arrange
+        val factory = IncrementalAccountStatusFactory()
+        val first = factory.create(
+            account = account,
+            statuses = listOf(ethereumStatus, stellarStatus),
+            groupType = TokensGroupType.NONE,
+            sortType = TokensSortType.NONE,
+        )
+
+        // Act
+        val second = factory.create(
+            account = account,
+            statuses = listOf(ethereumStatus, stellarStatus),
+            groupType = TokensGroupType.NONE,
+            sortType = TokensSortType.NONE,
+        )
+
+        // Assert
+        Truth.assertThat(second).isSameInstanceAs(first)
+    }
+
+    @Test
+    fun `create rebuilds status if any status is changed`() {
+        // Arrange
+        val factory = IncrementalAccountStatusFactory()
+        val first = factory.create(
+            account = account,
+            statuses = listOf(ethereumStatus, stellarStatus),
+            groupType = TokensGroupType.NONE,
+            sortType = TokensSortType.NONE,
+        )
+        val updatedStellarStatus = stellarStatus.copy(value = CryptoCurrencyStatus.Loading)
+
+        // Act
+        val second = factory.create(
+            account = account,
+            statuses = listOf(ethereumStatus, updatedStellarStatus),
+            groupType = TokensGroupType.NONE,
+            sortType = TokensSortType.NONE,
+        )
+
+        // Assert
+        Truth.assertThat(second).isNotSameInstanceAs(first)
+        Truth.assertThat(second.flattenCurrencies()).containsExactly(ethereumStatus, updatedStellarStatus)
+    }
+
+    @Test
+    fun `create rebuilds status if sort type is changed`() {
+        // Arrange
+        val factory = IncrementalAccountStatusFactory()
+        val statuses = listOf(ethereumStatus, stellarStatus)
+        val first = factory.create(
+            account = account,
+            statuses = statuses,
+            groupType = TokensGroupType.NONE,
+            sortType = TokensSortType.NONE,
+        )
+
+        // Act
+        val second = factory.create(
+            account = account,
+            statuses = statuses,
+            groupType = TokensGroupType.NONE,
+            sortType = TokensSortType.BALANCE,
+        )
+
+        // Assert
+        Truth.assertThat(second).isNotSameInstanceAs(first)
+        Truth.assertThat((second.tokenList as TokenList.Ungrouped).sortedBy)
+            .isEqualTo(TokensSortType.BALANCE)
+    }
+}
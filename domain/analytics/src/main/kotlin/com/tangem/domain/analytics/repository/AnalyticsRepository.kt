@@ -7,6 +7,8 @@ interface AnalyticsRepository {
 
     suspend fun checkIsEventSent(eventId: String): Boolean
 
+    suspend fun getSentEventIds(): Set<String>
+
     suspend fun setIsEventSent(eventId: String)
 
     suspend fun getWalletBalanceState(userWalletId: UserWalletId): WalletBalanceState?
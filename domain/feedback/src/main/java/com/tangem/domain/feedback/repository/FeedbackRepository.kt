@@ -24,7 +24,7 @@ interface FeedbackRepository {
 
     fun getBlockchainErrorInfo(userWalletId: UserWalletId): BlockchainErrorInfo?
 
-    fun getLogFile(): File?
+    suspend fun getLogFile(): File?
 
     suspend fun getZipLogFile(): File?
 
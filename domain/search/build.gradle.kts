@@ -8,6 +8,10 @@ android {
     namespace = "com.tangem.domain.search"
 }
 
+tasks.withType<Test>().configureEach {
+    useJUnitPlatform()
+}
+
 dependencies {
     api(projects.domain.core)
     api(projects.domain.models)
@@ -17,4 +21,9 @@ dependencies {
     implementation(projects.domain.appCurrency)
     implementation(projects.domain.account)
     implementation(projects.domain.account.status)
+
+    /** Testing libraries */
+    testRuntimeOnly(deps.test.junit5.engine)
+    testImplementation(projects.common.test)
+    testImplementation(projects.test.core)
 }
\ No newline at end of file
@@ -0,0 +1,223 @@
+package com.tangem.domain.search.index
+
+import com.tangem.domain.account.models.AccountStatusList
+import com.tangem.domain.models.account.AccountId
+import com.tangem.domain.models.account.AccountStatus
+import com.tangem.domain.models.account.filterCryptoPortfolio
+import com.tangem.domain.models.currency.CryptoCurrency
+import com.tangem.domain.models.currency.CryptoCurrencyStatus
+import com.tangem.domain.models.portfolio.UserAssetEntry
+import com.tangem.domain.models.wallet.UserWallet
+import com.tangem.domain.models.wallet.UserWalletId
+import com.tangem.domain.models.wallet.isLocked
+
+/**
+ * In-memory search index of user assets by currency name and symbol.
+ *
+ * Every lowercased name and symbol is split into n-grams of length from 1 to [MAX_GRAM_LENGTH]. Query that is not
+ * longer than [MAX_GRAM_LENGTH] is resolved by a single lookup, longer query is checked only against the terms that
+ * contain its rarest n-gram. So the cost of search is proportional to the number of matches, not to the number of
+ * user assets.
+ *
+ * Index is updated per currency: entries are matched by [CryptoCurrency.ID] and their terms are rebuilt only if
+ * currency name or symbol is changed. Other data of entries (currency status, wallet and account) is just replaced,
+ * so quotes and balances updates don't touch n-grams. Index is updated only when account status lists or wallets are
+ * changed, queries are resolved by [search] only.
+ *
+ * Thread-safe.
+ */
+internal class UserAssetsSearchIndex {
+
+    private val accounts = HashMap<AccountId, IndexedAccount>()
+    private val termEntries = HashMap<String, MutableSet<IndexedEntry>>()
+    private val gramTerms = HashMap<String, MutableSet<String>>()
+
+    private var indexedWallets: List<UserWallet>? = null
+    private var indexedStatusLists: List<AccountStatusList>? = null
+
+    /**
+     * Update index by [statusLists] of unlocked [wallets].
+     *
+     * Lists of suppliers are replaced on every change, so the update is skipped if both lists are the same instances
+     * as in the previous update. It lets every query emission skip walking all currencies.
+     */
+    @Synchronized
+    fun update(wallets: List<UserWallet>, statusLists: List<AccountStatusList>) {
+        if (wallets === indexedWallets && statusLists === indexedStatusLists) return
+
+        val unlockedWallets = wallets.filterNot(UserWallet::isLocked).associateBy(UserWallet::walletId)
+        updateAccounts(unlockedWallets, statusLists)
+
+        indexedWallets = wallets
+        indexedStatusLists = statusLists
+    }
+
+    /** Find entries whose currency name or symbol contains [lowerQuery]. Entries are returned in order of accounts */
+    @Synchronized
+    fun search(lowerQuery: String): List<UserAssetEntry> {
+        val terms = if (lowerQuery.length <= MAX_GRAM_LENGTH) {
+            gramTerms[lowerQuery].orEmpty()
+        } else {
+            val rarestGramTerms = lowerQuery.grams(MAX_GRAM_LENGTH)
+                .map { gramTerms[it] ?: return emptyList() }
+                .minBy(Set<String>::size)
+
+            rarestGramTerms.filter { it.contains(lowerQuery) }
+        }
+
+        // entry is matched by name and symbol at the same time only once
+        val entries = terms.flatMapTo(hashSetOf()) { termEntries[it].orEmpty() }
+
+        return entries
+            .sortedWith(compareBy<IndexedEntry> { it.account.order }.thenBy(IndexedEntry::position))
+            .map(IndexedEntry::toUserAssetEntry)
+    }
+
+    private fun updateAccounts(unlockedWallets: Map<UserWalletId, UserWallet>, statusLists: List<AccountStatusList>) {
+        val actualAccountIds = HashSet<AccountId>(accounts.size)
+        var order = 0
+
+        statusLists.forEach { statusList ->
+            val wallet = unlockedWallets[statusList.userWalletId] ?: return@forEach
+
+            statusList.accountStatuses.filterCryptoPortfolio().forEach { accountStatus ->
+                val account = accounts.getOrPut(accountStatus.accountId) { IndexedAccount(accountStatus, wallet) }
+
+                account.status = accountStatus
+                account.wallet = wallet
+                account.order = order++
+                updateEntries(account)
+
+                actualAccountIds += accountStatus.accountId
+            }
+        }
+
+        if (actualAccountIds.size < accounts.size) {
+            accounts.values
+                .filterNot { it.status.accountId in actualAccountIds }
+                .forEach(::removeAccount)
+        }
+    }
+
+    private fun updateEntries(account: IndexedAccount) {
+        val currencyStatuses = account.status.flattenCurrencies()
+        val actualCurrencyIds = HashSet<CryptoCurrency.ID>(currencyStatuses.size)
+
+        currencyStatuses.forEachIndexed { index, currencyStatus ->
+            val currency = currencyStatus.currency
+            val terms = currency.terms()
+            val prevEntry = account.entries[currency.id]
+
+            val entry = if (prevEntry?.terms == terms) {
+                prevEntry
+            } else {
+                prevEntry?.let(::removeEntryTerms)
+                addEntry(account = account, currencyId = currency.id, terms = terms)
+            }
+
+            entry.currencyStatus = currencyStatus
+            entry.position = index
+            actualCurrencyIds += currency.id
+        }
+
+        if (actualCurrencyIds.size < account.entries.size) {
+            val iterator = account.entries.iterator()
+
+            while (iterator.hasNext()) {
+                val (currencyId, entry) = iterator.next()
+
+                if (currencyId !in actualCurrencyIds) {
+                    removeEntryTerms(entry)
+                    iterator.remove()
+                }
+            }
+        }
+    }
+
+    private fun addEntry(account: IndexedAccount, currencyId: CryptoCurrency.ID, terms: Set<String>): IndexedEntry {
+        val entry = IndexedEntry(account = account, terms = terms)
+
+        account.entries[currencyId] = entry
+        terms.forEach { addTerm(term = it, entry = entry) }
+
+        return entry
+    }
+
+    private fun removeAccount(account: IndexedAccount) {
+        account.entries.values.forEach(::removeEntryTerms)
+
+        accounts.remove(account.status.accountId)
+    }
+
+    private fun removeEntryTerms(entry: IndexedEntry) {
+        entry.terms.forEach { removeTerm(term = it, entry = entry) }
+    }
+
+    private fun addTerm(term: String, entry: IndexedEntry) {
+        val entries = termEntries.getOrPut(term) {
+            term.allGrams().forEach { gram -> gramTerms.getOrPut(gram, ::hashSetOf) += term }
+            hashSetOf()
+        }
+
+        entries += entry
+    }
+
+    private fun removeTerm(term: String, entry: IndexedEntry) {
+        val entries = termEntries[term] ?: return
+        entries -= entry
+
+        if (entries.isNotEmpty()) return
+
+        termEntries.remove(term)
+        term.allGrams().forEach { gram ->
+            val terms = gramTerms[gram] ?: return@forEach
+            terms -= term
+
+            if (terms.isEmpty()) gramTerms.remove(gram)
+        }
+    }
+
+    private fun CryptoCurrency.terms(): Set<String> = setOf(name.lowercase(), symbol.lowercase())
+
+    private fun String.allGrams(): Set<String> {
+        return (1..MAX_GRAM_LENGTH).flatMapTo(hashSetOf()) { length -> grams(length) }
+    }
+
+    private fun String.grams(length: Int): List<String> {
+        if (this.length < length) return emptyList()
+
+        return (0..this.length - length).map { substring(it, it + length) }
+    }
+
+    private class IndexedAccount(var status: AccountStatus.CryptoPortfolio, var wallet: UserWallet) {
+
+        val entries = HashMap<CryptoCurrency.ID, IndexedEntry>()
+
+        /** Position of account in the last update. Defines order of search results */
+        var order: Int = 0
+    }
+
+    /** Entry is compared by reference, so its data can be replaced while it's indexed by [terms] */
+    private class IndexedEntry(val account: IndexedAccount, val terms: Set<String>) {
+
+        lateinit var currencyStatus: CryptoCurrencyStatus
+
+        /** Position of currency in account in the last update */
+        var position: Int = 0
+
+        fun toUserAssetEntry(): UserAssetEntry {
+            return UserAssetEntry(
+                userWalletId = account.wallet.walletId,
+                userWalletName = account.wallet.name,
+                accountId = account.status.accountId,
+                accountName = account.status.account.accountName,
+                accountIcon = account.status.account.icon,
+                currencyStatus = currencyStatus,
+            )
+        }
+    }
+
+    private companion object {
+        const val MAX_GRAM_LENGTH = 3
+    }
+}
@@ -5,8 +5,8 @@ import com.tangem.domain.account.status.supplier.MultiAccountStatusListSupplier
 import com.tangem.domain.common.wallets.UserWalletsListRepository
 import com.tangem.domain.models.account.filterCryptoPortfolio
 import com.tangem.domain.models.wallet.UserWallet
-import com.tangem.domain.models.wallet.UserWalletId
 import com.tangem.domain.models.wallet.isLocked
+import com.tangem.domain.search.index.UserAssetsSearchIndex
 import com.tangem.domain.search.model.SearchResult
 import com.tangem.domain.models.portfolio.UserAssetEntry
 import com.tangem.domain.search.model.UserAssetSearchItem
@@ -22,6 +22,7 @@ import java.math.BigDecimal
  * Behavior depends on the query:
  * - **Empty query** — returns search history: text hints and recently viewed tokens.
  * - **Non-empty query** — performs the search across all unlocked user wallets, matching currencies by name or symbol.
+ *   Matching is done by [UserAssetsSearchIndex], so only matched assets are grouped and sorted.
  *
  * @property searchRepository            local search history storage
  * @property multiAccountStatusListSupplier supplier for loaded account status lists across all wallets
@@ -33,6 +34,9 @@ class GetSearchResultsUseCase(
     private val userWalletsListRepository: UserWalletsListRepository,
 ) {
 
+    /** Shared by queries, so typing in search and quotes updates don't rebuild the index */
+    private val searchIndex = UserAssetsSearchIndex()
+
     /**
      * Produces a [Flow] of [SearchResult] for the given [query].
      *
@@ -65,18 +69,15 @@ class GetSearchResultsUseCase(
             multiAccountStatusListSupplier(),
             userWalletsListRepository.userWallets,
         ) { statusLists, wallets ->
-            val unlockedWallets = wallets
-                .orEmpty()
-                .filterNot(UserWallet::isLocked)
-                .associateBy { it.walletId }
+            val unlockedWallets = wallets.orEmpty().filterNot(UserWallet::isLocked)
 
             if (unlockedWallets.isEmpty()) return@combine emptyList()
 
-            val entries = statusLists
-                .filter { it.userWalletId in unlockedWallets }
-                .flatMap { statusList -> extractMatchingAssets(statusList, unlockedWallets, lowerQuery) }
+            // no-op if lists aren't changed since the last query, so only search runs while the query is typed
+            searchIndex.update(wallets = wallets.orEmpty(), statusLists = statusLists)
+            val entries = searchIndex.search(lowerQuery)
 
-            val shouldGroup = needsGrouping(unlockedWallets.values, statusLists)
+            val shouldGroup = needsGrouping(unlockedWallets, statusLists)
             groupAndSort(entries, shouldGroup)
         }.map { userAssets ->
             SearchResult(
@@ -124,32 +125,4 @@ class GetSearchResultsUseCase(
             }
         }
     }
-
-    private fun extractMatchingAssets(
-        statusList: AccountStatusList,
-        wallets: Map<UserWalletId, UserWallet>,
-        lowerQuery: String,
-    ): List<UserAssetEntry> {
-        val wallet = wallets[statusList.userWalletId] ?: return emptyList()
-        return statusList.accountStatuses
-            .filterCryptoPortfolio()
-            .flatMap { accountStatus ->
-                accountStatus.flattenCurrencies()
-                    .filter { currencyStatus ->
-                        val name = currencyStatus.currency.name.lowercase()
-                        val symbol = currencyStatus.currency.symbol.lowercase()
-                        name.contains(lowerQuery) || symbol.contains(lowerQuery)
-                    }
-                    .map { currencyStatus ->
-                        UserAssetEntry(
-                            userWalletId = statusList.userWalletId,
-                            userWalletName = wallet.name,
-                            accountId = accountStatus.accountId,
-                            accountName = accountStatus.account.accountName,
-                            accountIcon = accountStatus.account.icon,
-                            currencyStatus = currencyStatus,
-                        )
-                    }
-            }
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,197 @@
+package com.tangem.domain.search.index
+
+import com.google.common.truth.Truth
+import com.tangem.common.test.domain.token.MockCryptoCurrencyFactory
+import com.tangem.common.test.domain.wallet.MockUserWalletFactory
+import com.tangem.domain.account.models.AccountStatusList
+import com.tangem.domain.core.utils.lceError
+import com.tangem.domain.models.TokensGroupType
+import com.tangem.domain.models.TokensSortType
+import com.tangem.domain.models.TotalFiatBalance
+import com.tangem.domain.models.account.Account
+import com.tangem.domain.models.account.AccountStatus
+import com.tangem.domain.models.currency.CryptoCurrency
+import com.tangem.domain.models.currency.CryptoCurrencyStatus
+import com.tangem.domain.models.portfolio.UserAssetEntry
+import com.tangem.domain.models.tokenlist.TokenList
+import com.tangem.domain.models.wallet.UserWallet
+import org.junit.jupiter.api.Test
+import java.math.BigDecimal
+
+internal class UserAssetsSearchIndexTest {
+
+    private val index = UserAssetsSearchIndex()
+
+    private val userWallet = MockUserWalletFactory.create()
+    private val cryptoCurrencyFactory = MockCryptoCurrencyFactory()
+
+    private val cardano = cryptoCurrencyFactory.cardano
+    private val ethereum = cryptoCurrencyFactory.ethereum
+    private val stellar = cryptoCurrencyFactory.stellar
+
+    @Test
+    fun `currencies are found by name and symbol in order of account`() {
+        // Arrange
+        val statusList = createStatusList(createStatus(stellar), createStatus(ethereum), createStatus(cardano))
+
+        // Act
+        val byName = index.search(statusList, lowerQuery = "ar")
+        val bySymbol = index.search(statusList, lowerQuery = "eth")
+        val byLongQuery = index.search(statusList, lowerQuery = "ellar")
+
+        // Assert
+        Truth.assertThat(byName.currencies()).containsExactly(stellar, cardano).inOrder()
+        Truth.assertThat(bySymbol.currencies()).containsExactly(ethereum)
+        Truth.assertThat(byLongQuery.currencies()).containsExactly(stellar)
+    }
+
+    @Test
+    fun `actual currency status is returned after quotes update`() {
+        // Arrange
+        index.search(createStatusList(createStatus(ethereum)), lowerQuery = "eth")
+        val updatedStatus = createStatus(ethereum, fiatRate = BigDecimal.TEN)
+
+        // Act
+        val actual = index.search(createStatusList(updatedStatus), lowerQuery = "eth")
+
+        // Assert
+        Truth.assertThat(actual.map { it.currencyStatus }).containsExactly(updatedStatus)
+    }
+
+    @Test
+    fun `renamed currency is found only by its new name`() {
+        // Arrange
+        index.search(createStatusList(createStatus(ethereum)), lowerQuery = "eth")
+        val renamed = ethereum.copy(name = "Renamed", symbol = "RNM")
+        val statusList = createStatusList(createStatus(renamed))
+
+        // Act
+        val byOldName = index.search(statusList, lowerQuery = "ethereum")
+        val byNewName = index.search(statusList, lowerQuery = "renamed")
+
+        // Assert
+        Truth.assertThat(byOldName).isEmpty()
+        Truth.assertThat(byNewName.currencies()).containsExactly(renamed)
+    }
+
+    @Test
+    fun `removed currency isn't found`() {
+        // Arrange
+        index.search(createStatusList(createStatus(stellar), createStatus(cardano)), lowerQuery = "ar")
+
+        // Act
+        val actual = index.search(createStatusList(createStatus(cardano)), lowerQuery = "ar")
+
+        // Assert
+        Truth.assertThat(actual.currencies()).containsExactly(cardano)
+    }
+
+    @Test
+    fun `order of results follows reordered currencies`() {
+        // Arrange
+        index.search(createStatusList(createStatus(stellar), createStatus(cardano)), lowerQuery = "ar")
+
+        // Act
+        val actual = index.search(createStatusList(createStatus(cardano), createStatus(stellar)), lowerQuery = "ar")
+
+        // Assert
+        Truth.assertThat(actual.currencies()).containsExactly(cardano, stellar).inOrder()
+    }
+
+    @Test
+    fun `currencies of locked wallet aren't found`() {
+        // Arrange
+        val statusList = createStatusList(createStatus(ethereum))
+        index.search(statusList, lowerQuery = "eth")
+
+        val lockedWallet = userWallet.copy(
+            scanResponse = userWallet.scanResponse.copy(
+                card = userWallet.scanResponse.card.copy(wallets = emptyList()),
+            ),
+        )
+
+        // Act
+        val actual = index.search(statusList, lowerQuery = "eth", wallet = lockedWallet)
+
+        // Assert
+        Truth.assertThat(actual).isEmpty()
+    }
+
+    @Test
+    fun `wallet rename is applied to found entries`() {
+        // Arrange
+        val statusList = createStatusList(createStatus(ethereum))
+        index.search(statusList, lowerQuery = "eth")
+        val renamedWallet = userWallet.copy(name = "Renamed wallet")
+
+        // Act
+        val actual = index.search(statusList, lowerQuery = "eth", wallet = renamedWallet)
+
+        // Assert
+        Truth.assertThat(actual.map { it.userWalletName }).containsExactly("Renamed wallet")
+    }
+
+    private fun UserAssetsSearchIndex.search(
+        statusList: AccountStatusList,
+        lowerQuery: String,
+        wallet: UserWallet = userWallet,
+    ): List<UserAssetEntry> {
+        update(wallets = listOf(wallet), statusLists = listOf(statusList))
+
+        return search(lowerQuery)
+    }
+
+    @Test
+    fun `index isn't updated by the same lists`() {
+        // Arrange
+        val wallets = listOf(userWallet)
+        val statusLists = mutableListOf(createStatusList(createStatus(ethereum)))
+        index.update(wallets = wallets, statusLists = statusLists)
+        statusLists[0] = createStatusList(createStatus(stellar))
+
+        // Act
+        index.update(wallets = wallets, statusLists = statusLists)
+        val byOldName = index.search(lowerQuery = "eth")
+        index.update(wallets = wallets, statusLists = statusLists.toList())
+        val byNewName = index.search(lowerQuery = "stellar")
+
+        // Assert
+        Truth.assertThat(byOldName.currencies()).containsExactly(ethereum)
+        Truth.assertThat(byNewName.currencies()).containsExactly(stellar)
+    }
+
+    private fun List<UserAssetEntry>.currencies(): List<CryptoCurrency> {
+        return map { it.currencyStatus.currency }
+    }
+
+    private fun createStatus(currency: CryptoCurrency, fiatRate: BigDecimal = BigDecimal.ONE): CryptoCurrencyStatus {
+        return CryptoCurrencyStatus(
+            currency = currency,
+            value = CryptoCurrencyStatus.Unreachable(priceChange = null, fiatRate = fiatRate, networkAddress = null),
+        )
+    }
+
+    private fun createStatusList(vararg statuses: CryptoCurrencyStatus): AccountStatusList {
+        val tokenList = TokenList.Ungrouped(
+            totalFiatBalance = TotalFiatBalance.Loading,
+            sortedBy = TokensSortType.NONE,
+            currencies = statuses.toList(),
+        )
+
+        val accountStatus = AccountStatus.CryptoPortfolio(
+            account = Account.CryptoPortfolio.createMainAccount(userWallet.walletId),
+            tokenList = tokenList,
+            priceChangeLce = Unit.lceError(),
+        )
+
+        return AccountStatusList(
+            userWalletId = userWallet.walletId,
+            accountStatuses = listOf(accountStatus),
+            totalAccounts = 1,
+            totalArchivedAccounts = 0,
+            totalFiatBalance = tokenList.totalFiatBalance,
+            sortType = tokenList.sortedBy,
+            groupType = TokensGroupType.NONE,
+        )
+    }
+}
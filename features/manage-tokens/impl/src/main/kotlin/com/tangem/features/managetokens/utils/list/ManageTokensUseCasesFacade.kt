@@ -39,12 +39,15 @@ internal class ManageTokensUseCasesFacade @AssistedInject constructor(
         get() = IllegalStateException("Unsupported")
 
     fun manageTokensListConfig(searchText: String?): ManageTokensListConfig {
+        // blank query is the same as no query, so equal configs let the list reuse prefetched batches
+        val query = searchText?.takeUnless(String::isBlank)
+
         return when (mode) {
             is ManageTokensMode.Account -> {
-                ManageTokensListConfig(accountId = mode.accountId, searchText = searchText)
+                ManageTokensListConfig(accountId = mode.accountId, searchText = query)
             }
             ManageTokensMode.None -> {
-                ManageTokensListConfig(accountId = null, searchText = searchText)
+                ManageTokensListConfig(accountId = null, searchText = query)
             }
         }
     }
@@ -6,12 +6,15 @@ import com.tangem.domain.express.models.ExpressOperationType
 import com.tangem.domain.models.currency.CryptoCurrencyStatus
 import com.tangem.domain.swap.models.SwapCurrencyStatus
 import com.tangem.domain.transaction.error.GetFeeError
+import com.tangem.feature.swap.domain.models.ExpressDataError
 import com.tangem.feature.swap.domain.models.SwapAmount
 import com.tangem.feature.swap.domain.models.domain.*
 import com.tangem.feature.swap.domain.models.ui.SwapFee
 import com.tangem.feature.swap.domain.models.ui.SwapState
 import com.tangem.feature.swap.domain.models.ui.SwapTransactionState
+import kotlinx.coroutines.flow.Flow
 import java.math.BigDecimal
+import kotlin.time.Duration
 
 interface SwapInteractor {
 
@@ -48,6 +51,23 @@ interface SwapInteractor {
         reduceBalanceBy: BigDecimal,
     ): Map<SwapProvider, SwapState>
 
+    /**
+     * Load quotes of [providers] simultaneously and emit loaded states as soon as every provider answers.
+     * Every emission contains states of all answered providers in order of [providers], the last one contains
+     * states of all providers.
+     *
+     * @param providerTimeout deadline of every provider. Provider that doesn't answer in time gets
+     * [SwapState.SwapError] with [ExpressDataError.ProviderTimeoutError] and doesn't delay other providers
+     */
+    fun findBestQuoteFlow(
+        fromSwapCurrencyStatus: SwapCurrencyStatus,
+        toSwapCurrencyStatus: SwapCurrencyStatus,
+        providers: List<SwapProvider>,
+        amountToSwap: String,
+        reduceBalanceBy: BigDecimal,
+        providerTimeout: Duration,
+    ): Flow<Map<SwapProvider, SwapState>>
+
     /**
      * Branch selection:
      *  - CEX, native fee → `sendTransactionUseCase`
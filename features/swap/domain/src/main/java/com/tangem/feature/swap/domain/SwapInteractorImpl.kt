@@ -65,11 +65,15 @@ import com.tangem.utils.coroutines.runSuspendCatching
 import com.tangem.utils.extensions.orZero
 import com.tangem.utils.logging.TangemLogger
 import jakarta.inject.Inject
-import kotlinx.coroutines.async
-import kotlinx.coroutines.awaitAll
-import kotlinx.coroutines.supervisorScope
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.channelFlow
+import kotlinx.coroutines.flow.last
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.withTimeoutOrNull
 import java.math.BigDecimal
 import java.math.RoundingMode
+import kotlin.time.Duration
 
 @Suppress("LargeClass", "LongParameterList")
 internal class SwapInteractorImpl @Inject constructor(
@@ -218,52 +222,121 @@ internal class SwapInteractorImpl @Inject constructor(
             shouldSanitize = false,
         )
 
+        return findBestQuoteFlow(
+            fromSwapCurrencyStatus = fromSwapCurrencyStatus,
+            toSwapCurrencyStatus = toSwapCurrencyStatus,
+            providers = providers,
+            amountToSwap = amountToSwap,
+            reduceBalanceBy = reduceBalanceBy,
+            providerTimeout = Duration.INFINITE,
+        ).last()
+    }
+
+    override fun findBestQuoteFlow(
+        fromSwapCurrencyStatus: SwapCurrencyStatus,
+        toSwapCurrencyStatus: SwapCurrencyStatus,
+        providers: List<SwapProvider>,
+        amountToSwap: String,
+        reduceBalanceBy: BigDecimal,
+        providerTimeout: Duration,
+    ): Flow<Map<SwapProvider, SwapState>> = channelFlow {
+        if (providers.isEmpty()) {
+            send(emptyMap())
+            return@channelFlow
+        }
+
         val amountDecimal = toBigDecimalOrNull(amountToSwap)
         if (amountDecimal == null || amountDecimal.signum() == 0) {
-            return providers.associateWith { createEmptyAmountState() }
+            send(providers.associateWith { createEmptyAmountState() })
+            return@channelFlow
         }
         val amount = SwapAmount(amountDecimal, fromSwapCurrencyStatus.currency.decimals)
 
-        return supervisorScope {
-            providers.map { provider ->
-                async {
-                    when (provider.type) {
-                        ExchangeProviderType.DEX, ExchangeProviderType.DEX_BRIDGE -> {
-                            if (isSolana(fromSwapCurrencyStatus.currency.network.rawId)) {
-                                manageDexSolana(
-                                    fromSwapCurrencyStatus = fromSwapCurrencyStatus,
-                                    toSwapCurrencyStatus = toSwapCurrencyStatus,
-                                    provider = provider,
-                                    amount = amount,
-                                    reduceBalanceBy = reduceBalanceBy,
-                                    expressOperationType = ExpressOperationType.SWAP,
-                                )
-                            } else {
-                                manageDex(
-                                    fromSwapCurrencyStatus = fromSwapCurrencyStatus,
-                                    toSwapCurrencyStatus = toSwapCurrencyStatus,
-                                    provider = provider,
-                                    amount = amount,
-                                    reduceBalanceBy = reduceBalanceBy,
-                                    expressOperationType = ExpressOperationType.SWAP,
-                                )
-                            }
-                        }
-                        ExchangeProviderType.CEX -> {
-                            manageCex(
-                                fromSwapCurrencyStatus = fromSwapCurrencyStatus,
-                                toSwapCurrencyStatus = toSwapCurrencyStatus,
-                                provider = provider,
-                                amount = amount,
-                                reduceBalanceBy = reduceBalanceBy,
-                            )
-                        }
-                    }
+        val loadedStates = Channel<Pair<SwapProvider, SwapState>>(capacity = Channel.UNLIMITED)
+
+        providers.forEach { provider ->
+            launch {
+                val state = withTimeoutOrNull(providerTimeout) {
+                    findProviderQuote(
+                        fromSwapCurrencyStatus = fromSwapCurrencyStatus,
+                        toSwapCurrencyStatus = toSwapCurrencyStatus,
+                        provider = provider,
+                        amount = amount,
+                        reduceBalanceBy = reduceBalanceBy,
+                    ).second
+                } ?: createProviderTimeoutState(provider, fromSwapCurrencyStatus, amount, providerTimeout)
+
+                loadedStates.send(provider to state)
+            }
+        }
+
+        // states are kept in order of providers, so the result doesn't depend on the order of responses
+        val states = HashMap<SwapProvider, SwapState>(providers.size)
+        repeat(providers.size) {
+            val (provider, state) = loadedStates.receive()
+            states[provider] = state
+
+            send(providers.filter(states::containsKey).associateWith(states::getValue))
+        }
+    }
+
+    private suspend fun findProviderQuote(
+        fromSwapCurrencyStatus: SwapCurrencyStatus,
+        toSwapCurrencyStatus: SwapCurrencyStatus,
+        provider: SwapProvider,
+        amount: SwapAmount,
+        reduceBalanceBy: BigDecimal,
+    ): Pair<SwapProvider, SwapState> {
+        return when (provider.type) {
+            ExchangeProviderType.DEX, ExchangeProviderType.DEX_BRIDGE -> {
+                if (isSolana(fromSwapCurrencyStatus.currency.network.rawId)) {
+                    manageDexSolana(
+                        fromSwapCurrencyStatus = fromSwapCurrencyStatus,
+                        toSwapCurrencyStatus = toSwapCurrencyStatus,
+                        provider = provider,
+                        amount = amount,
+                        reduceBalanceBy = reduceBalanceBy,
+                        expressOperationType = ExpressOperationType.SWAP,
+                    )
+                } else {
+                    manageDex(
+                        fromSwapCurrencyStatus = fromSwapCurrencyStatus,
+                        toSwapCurrencyStatus = toSwapCurrencyStatus,
+                        provider = provider,
+                        amount = amount,
+                        reduceBalanceBy = reduceBalanceBy,
+                        expressOperationType = ExpressOperationType.SWAP,
+                    )
                 }
-            }.awaitAll().toMap()
+            }
+            ExchangeProviderType.CEX -> {
+                manageCex(
+                    fromSwapCurrencyStatus = fromSwapCurrencyStatus,
+                    toSwapCurrencyStatus = toSwapCurrencyStatus,
+                    provider = provider,
+                    amount = amount,
+                    reduceBalanceBy = reduceBalanceBy,
+                )
+            }
         }
     }
 
+    private suspend fun createProviderTimeoutState(
+        provider: SwapProvider,
+        fromSwapCurrencyStatus: SwapCurrencyStatus,
+        amount: SwapAmount,
+        providerTimeout: Duration,
+    ): SwapState {
+        TangemLogger.w("Quote of ${provider.providerId} isn't loaded in $providerTimeout")
+
+        return createSwapErrorWith(
+            fromSwapCurrencyStatus = fromSwapCurrencyStatus,
+            amount = amount,
+            balanceStatus = SwapBalanceStatus.Pending,
+            expressDataError = ExpressDataError.ProviderTimeoutError(),
+        )
+    }
+
     @Suppress("LongMethod")
     private suspend fun manageDex(
         fromSwapCurrencyStatus: SwapCurrencyStatus,
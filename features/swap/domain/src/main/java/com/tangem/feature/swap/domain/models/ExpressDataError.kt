@@ -68,4 +68,9 @@ sealed class ExpressDataError : Throwable() {
         override val code: Int = -3,
         override val message: String = "dexActiveSupplyError",
     ) : ExpressDataError()
+
+    data class ProviderTimeoutError(
+        override val code: Int = -4,
+        override val message: String = "providerTimeout",
+    ) : ExpressDataError()
 }
\ No newline at end of file
@@ -26,6 +26,9 @@ import io.mockk.coEvery
 import io.mockk.every
 import io.mockk.mockk
 import io.mockk.mockkStatic
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.toList
+import kotlinx.coroutines.test.currentTime
 import kotlinx.coroutines.test.runTest
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Nested
@@ -33,6 +36,7 @@ import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.TestInstance
 import java.math.BigDecimal
 import java.math.BigInteger
+import kotlin.time.Duration.Companion.seconds
 
 /**
  * Tests for [SwapInteractorImpl.findBestQuote] — the core quote-dispatch method.
@@ -872,6 +876,102 @@ internal class SwapInteractorImplFindBestQuoteTest : SwapInteractorImplTestBase(
             assertThat(result[cexProvider]).isInstanceOf(SwapState.QuotesLoadedState::class.java)
         }
     }
+
+    @Nested
+    inner class StreamingQuotes {
+
+        @Test
+        fun `should emit fast provider before slow one and time out slow provider`() = runTest {
+            // Given
+            val fastProvider = buildSwapProvider(ExchangeProviderType.CEX, "cex-fast")
+            val slowProvider = buildSwapProvider(ExchangeProviderType.CEX, "cex-slow")
+            val fromStatus = buildSwapCurrencyStatus(
+                networkRawId = ethNetwork,
+                isCoin = true,
+                amount = BigDecimal("10"),
+            )
+            val toStatus = buildSwapCurrencyStatus(networkRawId = btcNetwork)
+            val quoteModel = buildQuoteModel()
+
+            coEvery {
+                repository.findBestQuote(
+                    userWallet = any(),
+                    fromContractAddress = any(),
+                    fromNetwork = any(),
+                    toContractAddress = any(),
+                    toNetwork = any(),
+                    fromAmount = any(),
+                    fromDecimals = any(),
+                    toDecimals = any(),
+                    providerId = fastProvider.providerId,
+                    rateType = any(),
+                )
+            } coAnswers {
+                delay(100)
+                quoteModel.right()
+            }
+            coEvery {
+                repository.findBestQuote(
+                    userWallet = any(),
+                    fromContractAddress = any(),
+                    fromNetwork = any(),
+                    toContractAddress = any(),
+                    toNetwork = any(),
+                    fromAmount = any(),
+                    fromDecimals = any(),
+                    toDecimals = any(),
+                    providerId = slowProvider.providerId,
+                    rateType = any(),
+                )
+            } coAnswers {
+                delay(60_000)
+                quoteModel.right()
+            }
+
+            // When
+            val emissions = sut.findBestQuoteFlow(
+                fromSwapCurrencyStatus = fromStatus,
+                toSwapCurrencyStatus = toStatus,
+                providers = listOf(slowProvider, fastProvider),
+                amountToSwap = "1.0",
+                reduceBalanceBy = BigDecimal.ZERO,
+                providerTimeout = 5.seconds,
+            ).toList()
+
+            // Then — fast provider is emitted first, slow one gets an error after the deadline
+            assertThat(emissions).hasSize(2)
+            assertThat(emissions[0].keys).containsExactly(fastProvider)
+            assertThat(emissions[0][fastProvider]).isInstanceOf(SwapState.QuotesLoadedState::class.java)
+            assertThat(emissions[1].keys).containsExactly(slowProvider, fastProvider).inOrder()
+            assertThat(emissions[1][slowProvider]).isInstanceOf(SwapState.SwapError::class.java)
+            assertThat((emissions[1][slowProvider] as SwapState.SwapError).error)
+                .isEqualTo(ExpressDataError.ProviderTimeoutError())
+            assertThat(currentTime).isEqualTo(5_000)
+        }
+
+        @Test
+        fun `should emit single state map when amount is empty`() = runTest {
+            // Given
+            val dexProvider = buildSwapProvider(ExchangeProviderType.DEX)
+            val cexProvider = buildSwapProvider(ExchangeProviderType.CEX)
+            val fromStatus = buildSwapCurrencyStatus(networkRawId = ethNetwork)
+            val toStatus = buildSwapCurrencyStatus(networkRawId = btcNetwork)
+
+            // When
+            val emissions = sut.findBestQuoteFlow(
+                fromSwapCurrencyStatus = fromStatus,
+                toSwapCurrencyStatus = toStatus,
+                providers = listOf(dexProvider, cexProvider),
+                amountToSwap = "",
+                reduceBalanceBy = BigDecimal.ZERO,
+                providerTimeout = 5.seconds,
+            ).toList()
+
+            // Then
+            assertThat(emissions).hasSize(1)
+            assertThat(emissions.single().values.all { it is SwapState.EmptyAmountState }).isTrue()
+        }
+    }
 }
 
 // region — test-local helpers
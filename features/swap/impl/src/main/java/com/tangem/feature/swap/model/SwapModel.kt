@@ -97,6 +97,7 @@ import com.tangem.feature.swap.models.states.SwapNotificationUM
 import com.tangem.feature.swap.router.SwapRoute
 import com.tangem.feature.swap.ui.StateBuilder
 import com.tangem.feature.swap.ui.transfer.SwapTransferStateBuilder
+import com.tangem.feature.swap.utils.collectProgressively
 import com.tangem.feature.swap.utils.formatToUIRepresentation
 import com.tangem.feature.swap.utils.getContractAddress
 import com.tangem.features.approval.api.GiveApprovalComponent
@@ -124,6 +125,7 @@ import java.text.DecimalFormat
 import java.text.NumberFormat
 import java.util.Locale
 import javax.inject.Inject
+import kotlin.time.Duration.Companion.seconds
 
 typealias SuccessLoadedSwapData = Map<SwapProvider, SwapState.QuotesLoadedState>
 
@@ -245,6 +247,9 @@ internal class SwapModel @Inject constructor(
     private val swapPairsJobHolder = JobHolder()
 
     private var isAmountChangedByUser: Boolean = false
+
+    /** Provider is selected by quotes of answered providers and can be replaced when other providers answer */
+    private var isProviderSelectedProvisionally: Boolean = false
     private var lastPermissionNotificationTokens: Pair<String, String>? = null
 
     private var preselectedFromCurrency: CryptoCurrency? = null
@@ -904,7 +909,8 @@ internal class SwapModel @Inject constructor(
         updateFeeBlock: Boolean = true,
     ): PeriodicTask<Map<SwapProvider, SwapState>> {
         var shouldUpdateFeeBlock = updateFeeBlock
-        return PeriodicTask(
+        lateinit var quotesTask: PeriodicTask<Map<SwapProvider, SwapState>>
+        quotesTask = PeriodicTask(
             delay = UPDATE_DELAY,
             task = {
                 uiState = stateBuilder.createSilentLoadState(uiState)
@@ -913,13 +919,29 @@ internal class SwapModel @Inject constructor(
                         amount = amount,
                         reduceBalanceBy = reduceBalanceBy,
                     )
-                    swapInteractor.findBestQuote(
+                    // best quote of answered providers is shown without waiting for slow ones
+                    swapInteractor.findBestQuoteFlow(
                         fromSwapCurrencyStatus = fromSwapCurrencyStatus,
                         toSwapCurrencyStatus = toSwapCurrencyStatus,
                         providers = toProvidersList,
                         amountToSwap = amount,
                         reduceBalanceBy = reduceBalanceBy,
-                    )
+                        providerTimeout = PROVIDER_QUOTE_TIMEOUT,
+                    ).collectProgressively(providersCount = toProvidersList.size) { partialProvidersState ->
+                        withContext(dispatchers.main) {
+                            // task is cancelled if quotes of another amount or pair are requested
+                            if (!quotesTask.isRunning || !canApplyPartialQuotes(partialProvidersState)) {
+                                return@withContext
+                            }
+
+                            applyLoadedQuotes(
+                                providersState = partialProvidersState,
+                                isFinal = false,
+                                fromSwapCurrencyStatus = fromSwapCurrencyStatus,
+                                toSwapCurrencyStatus = toSwapCurrencyStatus,
+                            )
+                        }
+                    }
                 }
             },
             onSuccess = { providersState ->
@@ -929,46 +951,14 @@ internal class SwapModel @Inject constructor(
                     )
 
                     if (providersState.isNotEmpty()) {
-                        val (provider, state) = updateLoadedQuotes(providersState)
-
-                        if (feeSelectorRepository.state.value is FeeSelectorUM.Content &&
-                            state is SwapState.QuotesLoadedState
-                        ) {
-                            val swapFee = getSelectedSwapFee() ?: return@launch
-                            val patchedState = withContext(dispatchers.default) {
-                                swapInteractor.applySwapFee(
-                                    state = state,
-                                    fee = swapFee,
-                                    lastReducedBalanceBy = lastReducedBalanceBy.value,
-                                )
-                            }
-                            val patchedStates = dataState.lastLoadedSwapStates.toMutableMap().apply {
-                                put(provider, patchedState)
-                            }
-                            dataState = dataState.copy(lastLoadedSwapStates = patchedStates)
-                            setupLoadedState(
-                                provider = provider,
-                                state = patchedState,
-                                fromSwapCurrencyStatus = fromSwapCurrencyStatus,
-                                toSwapCurrencyStatus = toSwapCurrencyStatus,
-                            )
-                        } else {
-                            setupLoadedState(
-                                provider = provider,
-                                state = state,
-                                fromSwapCurrencyStatus = fromSwapCurrencyStatus,
-                                toSwapCurrencyStatus = toSwapCurrencyStatus,
-                            )
-                        }
-
-                        val successStates = providersState.getLastLoadedSuccessStates()
-                        val pricesLowerBest = getPricesLowerBest(provider.providerId, successStates)
-                        uiState = stateBuilder.updateProvidersBottomSheetContent(
-                            uiState = uiState,
-                            pricesLowerBest = pricesLowerBest,
-                            tokenSwapInfoForProviders = successStates.entries
-                                .associate { it.key.providerId to it.value.toTokenInfo },
+                        val isApplied = applyLoadedQuotes(
+                            providersState = providersState,
+                            isFinal = true,
+                            fromSwapCurrencyStatus = fromSwapCurrencyStatus,
+                            toSwapCurrencyStatus = toSwapCurrencyStatus,
                         )
+                        if (!isApplied) return@launch
+
                         val isPermissionNotNeeded =
                             dataState.getCurrentLoadedSwapState()?.permissionState == PermissionDataState.Empty
                         if (shouldUpdateFeeBlock && isPermissionNotNeeded) {
@@ -990,6 +980,75 @@ internal class SwapModel @Inject constructor(
                 uiState = stateBuilder.addNotification(uiState, null) { startLoadingQuotesFromLastState() }
             },
         )
+        return quotesTask
+    }
+
+    /**
+     * Partial quotes are skipped while the provider that is selected by the user or by the previous refresh hasn't
+     * answered, so the selection isn't switched to another provider for a moment
+     */
+    private fun canApplyPartialQuotes(providersState: Map<SwapProvider, SwapState>): Boolean {
+        val selectedProvider = dataState.selectedProvider
+
+        return selectedProvider == null ||
+            isProviderSelectedProvisionally ||
+            isAmountChangedByUser ||
+            selectedProvider in providersState
+    }
+
+    /**
+     * Select provider of [providersState] and show its quote.
+     * [isFinal] is false for quotes of answered providers that are loaded before all providers answer.
+     * Returns false if the quote can't be shown because the selected fee isn't loaded.
+     */
+    private suspend fun applyLoadedQuotes(
+        providersState: Map<SwapProvider, SwapState>,
+        isFinal: Boolean,
+        fromSwapCurrencyStatus: SwapCurrencyStatus,
+        toSwapCurrencyStatus: SwapCurrencyStatus,
+    ): Boolean {
+        val (provider, state) = updateLoadedQuotes(state = providersState, isFinal = isFinal)
+
+        if (feeSelectorRepository.state.value is FeeSelectorUM.Content &&
+            state is SwapState.QuotesLoadedState
+        ) {
+            val swapFee = getSelectedSwapFee() ?: return false
+            val patchedState = withContext(dispatchers.default) {
+                swapInteractor.applySwapFee(
+                    state = state,
+                    fee = swapFee,
+                    lastReducedBalanceBy = lastReducedBalanceBy.value,
+                )
+            }
+            val patchedStates = dataState.lastLoadedSwapStates.toMutableMap().apply {
+                put(provider, patchedState)
+            }
+            dataState = dataState.copy(lastLoadedSwapStates = patchedStates)
+            setupLoadedState(
+                provider = provider,
+                state = patchedState,
+                fromSwapCurrencyStatus = fromSwapCurrencyStatus,
+                toSwapCurrencyStatus = toSwapCurrencyStatus,
+            )
+        } else {
+            setupLoadedState(
+                provider = provider,
+                state = state,
+                fromSwapCurrencyStatus = fromSwapCurrencyStatus,
+                toSwapCurrencyStatus = toSwapCurrencyStatus,
+            )
+        }
+
+        val successStates = providersState.getLastLoadedSuccessStates()
+        val pricesLowerBest = getPricesLowerBest(provider.providerId, successStates)
+        uiState = stateBuilder.updateProvidersBottomSheetContent(
+            uiState = uiState,
+            pricesLowerBest = pricesLowerBest,
+            tokenSwapInfoForProviders = successStates.entries
+                .associate { it.key.providerId to it.value.toTokenInfo },
+        )
+
+        return true
     }
 
     private fun setupLoadedState(
@@ -1132,10 +1191,13 @@ internal class SwapModel @Inject constructor(
         )
     }
 
-    private fun updateLoadedQuotes(state: Map<SwapProvider, SwapState>): Pair<SwapProvider, SwapState> {
+    private fun updateLoadedQuotes(
+        state: Map<SwapProvider, SwapState>,
+        isFinal: Boolean,
+    ): Pair<SwapProvider, SwapState> {
         val nonEmptyStates = state.filter { entry -> entry.value !is SwapState.EmptyAmountState }
         val selectedSwapProvider = if (nonEmptyStates.isNotEmpty()) {
-            selectProvider(state)
+            selectProvider(state = state, isFinal = isFinal)
         } else {
             null
         }
@@ -1149,27 +1211,33 @@ internal class SwapModel @Inject constructor(
         return state.entries.first().toPair()
     }
 
-    private fun selectProvider(state: Map<SwapProvider, SwapState>): SwapProvider {
+    /**
+     * Select provider of [state]. Until [isFinal] state is loaded, provider is selected provisionally: the next state of
+     * the same loading can replace it by the best one, and the flag of amount changed by user isn't consumed.
+     */
+    private fun selectProvider(state: Map<SwapProvider, SwapState>, isFinal: Boolean): SwapProvider {
         val consideredProviders = state.consideredProvidersStates()
+        var isSelectedAutomatically = true
 
-        return if (consideredProviders.isNotEmpty()) {
+        val selectedProvider = if (consideredProviders.isNotEmpty()) {
             val successLoadedData = consideredProviders.getLastLoadedSuccessStates()
             val bestQuotesProvider = findBestQuoteProvider(successLoadedData)
-            val currentSelected = dataState.selectedProvider
+            val currentSelected = dataState.selectedProvider.takeUnless { isProviderSelectedProvisionally }
             if (currentSelected != null && consideredProviders.keys.contains(currentSelected)) {
                 // logic for always choose best if already selected provider
                 if (isAmountChangedByUser) {
-                    isAmountChangedByUser = false
+                    if (isFinal) isAmountChangedByUser = false
                     bestQuotesProvider ?: currentSelected
                 } else {
+                    isSelectedAutomatically = false
                     currentSelected
                 }
             } else {
                 val recommendedProvider = successLoadedData.keys.firstOrNull { it.isRecommended }
-                triggerPromoProviderEvent(recommendedProvider, bestQuotesProvider)
+                if (isFinal) triggerPromoProviderEvent(recommendedProvider, bestQuotesProvider)
 
                 if (isAmountChangedByUser) {
-                    isAmountChangedByUser = false
+                    if (isFinal) isAmountChangedByUser = false
                     recommendedProvider ?: bestQuotesProvider ?: consideredProviders.keys.first()
                 } else {
                     recommendedProvider ?: consideredProviders.keys.first()
@@ -1178,6 +1246,10 @@ internal class SwapModel @Inject constructor(
         } else {
             state.keys.first()
         }
+
+        isProviderSelectedProvisionally = !isFinal && isSelectedAutomatically
+
+        return selectedProvider
     }
 
     @Suppress("LongMethod")
@@ -1879,6 +1951,7 @@ internal class SwapModel @Inject constructor(
     private fun findAndSelectProvider(providerId: String): SwapProvider? {
         val selectedProvider = dataState.lastLoadedSwapStates.keys.firstOrNull { it.providerId == providerId }
         if (selectedProvider != null) {
+            isProviderSelectedProvisionally = false
             dataState = dataState.copy(
                 selectedProvider = selectedProvider,
             )
@@ -2385,5 +2458,6 @@ internal class SwapModel @Inject constructor(
         const val UPDATE_BALANCE_DELAY_MILLIS = 11000L
         const val SWAP_IN_PROGRESS_DELAY = 200L
         const val CHANGELLY_PROVIDER_ID = "changelly"
+        val PROVIDER_QUOTE_TIMEOUT = 7.seconds
     }
 }
\ No newline at end of file
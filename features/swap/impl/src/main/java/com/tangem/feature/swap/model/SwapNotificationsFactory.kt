@@ -471,4 +471,5 @@ internal fun ExpressDataError.toExpressError(): ExpressError = when (this) {
     is ExpressDataError.UnknownError -> ExpressError.UnknownError
     is ExpressDataError.TooLargeSolanaTransactionError -> ExpressError.TooLargeSolanaTransactionError()
     is ExpressDataError.DexActiveSupplyError -> ExpressError.DexActiveSupplyError()
+    is ExpressDataError.ProviderTimeoutError -> ExpressError.ProviderNotAvailableError(code)
 }
\ No newline at end of file
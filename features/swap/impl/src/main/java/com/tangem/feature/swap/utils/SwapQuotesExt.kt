@@ -0,0 +1,27 @@
+package com.tangem.feature.swap.utils
+
+import com.tangem.feature.swap.domain.models.domain.SwapProvider
+import com.tangem.feature.swap.domain.models.ui.SwapState
+import kotlinx.coroutines.flow.Flow
+
+/**
+ * Collect quotes that are emitted as providers answer.
+ * Every emission that doesn't contain states of all [providersCount] providers is passed to [onPartialQuotes] as soon
+ * as it's emitted, so quotes of answered providers can be shown before slow providers answer.
+ *
+ * @return the last emission, it contains states of all providers
+ */
+internal suspend fun Flow<Map<SwapProvider, SwapState>>.collectProgressively(
+    providersCount: Int,
+    onPartialQuotes: suspend (Map<SwapProvider, SwapState>) -> Unit,
+): Map<SwapProvider, SwapState> {
+    var lastStates = emptyMap<SwapProvider, SwapState>()
+
+    collect { states ->
+        lastStates = states
+
+        if (states.size < providersCount) onPartialQuotes(states)
+    }
+
+    return lastStates
+}
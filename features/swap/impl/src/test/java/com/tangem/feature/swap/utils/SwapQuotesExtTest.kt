@@ -0,0 +1,86 @@
+package com.tangem.feature.swap.utils
+
+import com.google.common.truth.Truth.assertThat
+import com.tangem.feature.swap.domain.models.domain.ExchangeProviderType
+import com.tangem.feature.swap.domain.models.domain.RateType
+import com.tangem.feature.swap.domain.models.domain.SwapProvider
+import com.tangem.feature.swap.domain.models.ui.SwapState
+import io.mockk.mockk
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.test.currentTime
+import kotlinx.coroutines.test.runTest
+import org.junit.jupiter.api.Test
+
+internal class SwapQuotesExtTest {
+
+    private val fastProvider = buildProvider(providerId = "fast")
+    private val slowProvider = buildProvider(providerId = "slow")
+    private val fastState = mockk<SwapState>()
+    private val slowState = mockk<SwapState>()
+
+    private val quotes = flow {
+        delay(FAST_PROVIDER_DELAY)
+        emit(mapOf(fastProvider to fastState))
+
+        delay(SLOW_PROVIDER_DELAY)
+        emit(mapOf(slowProvider to slowState, fastProvider to fastState))
+    }
+
+    @Test
+    fun `quotes of fast provider are passed before slow provider answers`() = runTest {
+        // Arrange
+        val partialQuotes = mutableListOf<Pair<Long, Map<SwapProvider, SwapState>>>()
+
+        // Act
+        val actual = quotes.collectProgressively(providersCount = 2) { states ->
+            partialQuotes += currentTime to states
+        }
+
+        // Assert
+        assertThat(partialQuotes).containsExactly(FAST_PROVIDER_DELAY to mapOf(fastProvider to fastState))
+        assertThat(actual).containsExactly(slowProvider, slowState, fastProvider, fastState).inOrder()
+        assertThat(currentTime).isEqualTo(FAST_PROVIDER_DELAY + SLOW_PROVIDER_DELAY)
+    }
+
+    @Test
+    fun `complete quotes aren't passed as partial`() = runTest {
+        // Arrange
+        var partialQuotesCount = 0
+
+        // Act
+        val actual = quotes.collectProgressively(providersCount = 1) { partialQuotesCount++ }
+
+        // Assert
+        assertThat(partialQuotesCount).isEqualTo(0)
+        assertThat(actual).hasSize(2)
+    }
+
+    @Test
+    fun `empty quotes are returned as is`() = runTest {
+        // Act
+        val actual = flow { emit(emptyMap<SwapProvider, SwapState>()) }
+            .collectProgressively(providersCount = 0) { error("Partial quotes aren't expected") }
+
+        // Assert
+        assertThat(actual).isEmpty()
+    }
+
+    private fun buildProvider(providerId: String): SwapProvider = SwapProvider(
+        providerId = providerId,
+        rateTypes = listOf(RateType.FLOAT),
+        name = providerId,
+        type = ExchangeProviderType.CEX,
+        imageLarge = "",
+        termsOfUse = null,
+        privacyPolicy = null,
+        isRecommended = false,
+        slippage = null,
+        isExtraIdSupported = false,
+    )
+
+    private companion object {
+        const val FAST_PROVIDER_DELAY = 100L
+        const val SLOW_PROVIDER_DELAY = 5_000L
+    }
+}
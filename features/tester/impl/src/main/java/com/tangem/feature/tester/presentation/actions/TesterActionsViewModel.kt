@@ -36,12 +36,13 @@ internal class TesterActionsViewModel @Inject constructor(
                 isEnabled = hotWalletRestrictionManager.isCreationEnabledSync(),
                 onClick = this::toggleHotWalletRestriction,
             ),
-            shareLogsUM = TesterActionsContentState.ShareLogsUM(file = feedbackRepository.getLogFile()),
+            shareLogsUM = TesterActionsContentState.ShareLogsUM(file = null),
             onBackClick = { /* no-op */ },
         )
 
     init {
         bootstrapHotWalletRestrictionUpdates()
+        loadLogFile()
     }
 
     fun setupNavigation(router: InnerTesterRouter) {
@@ -76,6 +77,12 @@ internal class TesterActionsViewModel @Inject constructor(
         hotWalletRestrictionManager.toggleCreationEnabled()
     }
 
+    private fun loadLogFile() = viewModelScope.launch {
+        uiState = uiState.copy(
+            shareLogsUM = TesterActionsContentState.ShareLogsUM(file = feedbackRepository.getLogFile()),
+        )
+    }
+
     private fun bootstrapHotWalletRestrictionUpdates() {
         hotWalletRestrictionManager.isCreationEnabled()
             .onEach { isEnabled ->
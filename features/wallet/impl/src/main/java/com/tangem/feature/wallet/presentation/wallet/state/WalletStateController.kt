@@ -15,8 +15,10 @@ import kotlinx.collections.immutable.persistentListOf
 import kotlinx.coroutines.flow.MutableStateFlow
 import kotlinx.coroutines.flow.StateFlow
 import kotlinx.coroutines.flow.update
+import java.util.concurrent.atomic.AtomicLong
 import javax.inject.Inject
 import javax.inject.Singleton
+import kotlin.time.TimeSource
 
 /**
  * Wallet state holder
@@ -37,6 +39,10 @@ internal class WalletStateController @Inject constructor(
 
     private val mutableUiState: MutableStateFlow<WalletScreenState> = MutableStateFlow(value = getInitialState())
 
+    /** Numbers of transformers that are applied and of those that changed state, so the screen is recomposed */
+    private val appliedTransformersCount = AtomicLong()
+    private val stateChangesCount = AtomicLong()
+
     fun update(function: (WalletScreenState) -> WalletScreenState) {
         mutableUiState.update(function = function)
     }
@@ -49,8 +55,20 @@ internal class WalletStateController @Inject constructor(
             ""
         }
 
-        TangemLogger.d("Applying: ${transformer::class.simpleName}$maybeWalletId")
-        mutableUiState.update(function = transformer::transform)
+        val start = TimeSource.Monotonic.markNow()
+        var isStateChanged = false
+
+        mutableUiState.update { prevState ->
+            transformer.transform(prevState).also { isStateChanged = it !== prevState }
+        }
+
+        val appliedCount = appliedTransformersCount.incrementAndGet()
+        val changesCount = if (isStateChanged) stateChangesCount.incrementAndGet() else stateChangesCount.get()
+
+        TangemLogger.d(
+            "Applied: ${transformer::class.simpleName}$maybeWalletId in ${start.elapsedNow()}, " +
+                "state changes: $changesCount of $appliedCount",
+        )
     }
 
     fun clear() {
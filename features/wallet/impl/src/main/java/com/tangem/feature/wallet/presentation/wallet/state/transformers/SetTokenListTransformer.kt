@@ -1,6 +1,8 @@
 package com.tangem.feature.wallet.presentation.wallet.state.transformers
 
 import com.tangem.common.ui.tokens.TokenConverterParams
+import com.tangem.core.ui.components.token.state.TokenItemState
+import com.tangem.core.ui.ds.row.token.TangemTokenRowUM
 import com.tangem.domain.appcurrency.model.AppCurrency
 import com.tangem.domain.models.account.AccountStatus
 import com.tangem.domain.models.currency.CryptoCurrency
@@ -26,6 +28,8 @@ internal class SetTokenListTransformer(
     private val isAccountsModeEnabled: Boolean,
     private val isRedesignEnabled: Boolean,
     private val isAddAndManageTokensEnabled: Boolean,
+    private val tokenItemsCache: TokenRowUMCache<TokenItemState> = TokenRowUMCache(),
+    private val tokenRowsCache: TokenRowUMCache<TangemTokenRowUM> = TokenRowUMCache(),
 ) : WalletStateTransformer(userWallet.walletId) {
 
     private val tangemPayConverter by lazy {
@@ -107,7 +111,9 @@ internal class SetTokenListTransformer(
             stakingAvailabilityMap = stakingAvailabilityMap,
             shouldShowMainPromo = shouldShowMainPromo,
             isAddAndManageTokensEnabled = isAddAndManageTokensEnabled,
+            tokenItemsCache = tokenItemsCache,
         ).convert(value = this)
+            .also { logRowsStats(tokenItemsCache.lastStats) }
     }
 
     private fun TangemPayMainUM.toLoadedState(): TangemPayMainUM {
@@ -140,6 +146,12 @@ internal class SetTokenListTransformer(
             isAccountsModeEnabled = isAccountsModeEnabled,
             expandedAccounts = params.expandedAccounts,
             isAddAndManageTokensEnabled = isAddAndManageTokensEnabled,
+            tokenRowsCache = tokenRowsCache,
         ).convert(value = params.accountList)
+            .also { logRowsStats(tokenRowsCache.lastStats) }
+    }
+
+    private fun logRowsStats(stats: TokenRowUMCache.Stats) {
+        TangemLogger.d("Token rows of $userWalletId: ${stats.convertedCount} converted, ${stats.reusedCount} reused")
     }
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.tangem.feature.wallet.presentation.wallet.state.transformers.convert
 import com.tangem.common.ui.account.AccountCryptoPortfolioItemStateConverter
 import com.tangem.common.ui.account.TokensListPortfolioItemConverter
 import com.tangem.common.ui.tokens.TokenItemStateConverter
+import com.tangem.core.ui.components.token.state.TokenItemState
 import com.tangem.core.ui.components.tokenlist.state.PortfolioItemContentUM
 import com.tangem.core.ui.components.tokenlist.state.PortfolioTokensListItemUM
 import com.tangem.core.ui.components.tokenlist.state.TokensListItemUM
@@ -33,6 +34,10 @@ import kotlinx.collections.immutable.toPersistentList
 import java.math.BigDecimal
 import com.tangem.feature.wallet.presentation.wallet.state.model.WalletTokensListState.OrganizeTokensButtonConfig as WalletOrganizeTokensButtonConfig
 
+/**
+ * Converter of token list state of wallet screen.
+ * Token rows are taken from [tokenItemsCache] while their inputs are unchanged.
+ */
 @Suppress("LongParameterList")
 internal class TokenListStateConverter(
     private val appCurrency: AppCurrency,
@@ -43,6 +48,7 @@ internal class TokenListStateConverter(
     private val stakingAvailabilityMap: Map<CryptoCurrency, StakingAvailability>,
     shouldShowMainPromo: Boolean,
     private val isAddAndManageTokensEnabled: Boolean,
+    private val tokenItemsCache: TokenRowUMCache<TokenItemState> = TokenRowUMCache(),
 ) : Converter<WalletTokensListState, WalletTokensListState> {
 
     private val yieldSupplyPromoBannerConverter = YieldSupplyPromoBannerConverter(
@@ -60,10 +66,20 @@ internal class TokenListStateConverter(
             clickIntents.onTokenItemLongClick(accountId, currencyStatus)
         }
 
-    private fun tokenStatusConverter(accountId: AccountId) = TokenItemStateConverter(
+    private val promoCryptoCurrencyStatus by lazy(LazyThreadSafetyMode.NONE) {
+        yieldSupplyPromoBannerConverter.convert(params)
+    }
+
+    private fun TokenRowUMCache<TokenItemState>.Session.tokenStatusConverter(accountId: AccountId) = asConverter(
+        accountId = accountId,
+        converter = createTokenStatusConverter(accountId),
+        getRowInputs = { status -> promoCryptoCurrencyStatus?.takeIf { it.currency.id == status.currency.id } },
+    )
+
+    private fun createTokenStatusConverter(accountId: AccountId) = TokenItemStateConverter(
         appCurrency = appCurrency,
         yieldModuleApyMap = yieldModuleApyMap,
-        promoCryptoCurrencyStatus = yieldSupplyPromoBannerConverter.convert(params),
+        promoCryptoCurrencyStatus = promoCryptoCurrencyStatus,
         stakingApyMap = stakingAvailabilityMap,
         onItemClick = { _, status -> onTokenClick(accountId, status) },
         onItemLongClick = { _, status -> onTokenLongClick(accountId, status) },
@@ -73,16 +89,28 @@ internal class TokenListStateConverter(
     )
 
     override fun convert(value: WalletTokensListState): WalletTokensListState {
-        return when (params) {
-            is TokenConverterParams.Account -> convertAccountList(params)
-            is TokenConverterParams.Wallet -> convertTokenList(
-                tokenConverter = tokenStatusConverter(params.mainAccount.accountId),
-                tokenList = params.tokenList,
-            )
+        val sharedInputs = TokenRowSharedInputs(
+            appCurrency = appCurrency,
+            yieldModuleApyMap = yieldModuleApyMap,
+            stakingAvailabilityMap = stakingAvailabilityMap,
+            clickIntents = clickIntents,
+        )
+
+        return tokenItemsCache.convert(sharedInputs) {
+            when (params) {
+                is TokenConverterParams.Account -> convertAccountList(params)
+                is TokenConverterParams.Wallet -> convertTokenList(
+                    tokenConverter = tokenStatusConverter(params.mainAccount.accountId),
+                    tokenList = params.tokenList,
+                )
+            }
         }
     }
 
-    private fun convertTokenList(tokenConverter: TokenItemStateConverter, tokenList: TokenList): WalletTokensListState =
+    private fun convertTokenList(
+        tokenConverter: Converter<CryptoCurrencyStatus, TokenItemState>,
+        tokenList: TokenList,
+    ): WalletTokensListState =
         when (tokenList) {
             is TokenList.Empty -> WalletTokensListState.Empty
             is TokenList.GroupedByNetwork -> WalletTokensListState.ContentState.Content(
@@ -95,7 +123,9 @@ internal class TokenListStateConverter(
             )
         }
 
-    private fun convertAccountList(params: TokenConverterParams.Account): WalletTokensListState {
+    private fun TokenRowUMCache<TokenItemState>.Session.convertAccountList(
+        params: TokenConverterParams.Account,
+    ): WalletTokensListState {
         val accountList = params.accountList
 
         fun AccountStatus.CryptoPortfolio.map(): TokensListItemUM.Portfolio {
@@ -0,0 +1,134 @@
+package com.tangem.feature.wallet.presentation.wallet.state.transformers.converter
+
+import com.tangem.domain.appcurrency.model.AppCurrency
+import com.tangem.domain.models.account.AccountId
+import com.tangem.domain.models.currency.CryptoCurrency
+import com.tangem.domain.models.currency.CryptoCurrencyStatus
+import com.tangem.domain.staking.model.StakingAvailability
+import com.tangem.feature.wallet.child.wallet.model.intents.WalletClickIntents
+import com.tangem.utils.converter.Converter
+import java.math.BigDecimal
+
+/**
+ * Identity-preserving cache of token row UI models.
+ *
+ * Row is keyed by [AccountId] and [CryptoCurrency.ID] and is reused while its [CryptoCurrencyStatus] and row inputs
+ * are equal to the cached ones, so a token list emission with one changed quote rebuilds only one row. Unchanged rows
+ * keep their instances, amounts aren't reformatted and Compose skips them.
+ *
+ * Inputs that are shared by all rows (app currency, APY maps) are compared once per conversion: if they are changed,
+ * the cache is cleared. Rows that aren't requested by conversion are evicted after it.
+ *
+ * Thread-safe.
+ *
+ * @param T type of row UI model
+ */
+internal class TokenRowUMCache<T : Any> {
+
+    private val entries = HashMap<RowKey, Entry<T>>()
+    private val usedKeys = HashSet<RowKey>()
+    private var sharedInputs: Any? = null
+
+    /** Numbers of rows that were converted and reused by the last conversion */
+    @Volatile
+    var lastStats: Stats = Stats(convertedCount = 0, reusedCount = 0)
+        private set
+
+    /**
+     * Run conversion [block] that gets rows by [Session.getOrConvert].
+     * [sharedInputs] are inputs of the row conversion that are the same for all rows.
+     */
+    @Synchronized
+    fun <R> convert(sharedInputs: Any, block: Session.() -> R): R {
+        if (this.sharedInputs != sharedInputs) {
+            entries.clear()
+            this.sharedInputs = sharedInputs
+        }
+
+        val session = Session()
+        val result = session.block()
+
+        if (usedKeys.size < entries.size) entries.keys.retainAll(usedKeys)
+        usedKeys.clear()
+        lastStats = Stats(convertedCount = session.convertedCount, reusedCount = session.reusedCount)
+
+        return result
+    }
+
+    inner class Session internal constructor() {
+
+        internal var convertedCount = 0
+        internal var reusedCount = 0
+
+        /**
+         * Get row of [status] in [accountId] from cache or convert it by [convert].
+         * [rowInputs] are inputs of the row conversion except [status], e.g. a promo flag.
+         */
+        fun getOrConvert(
+            accountId: AccountId,
+            status: CryptoCurrencyStatus,
+            rowInputs: Any? = null,
+            convert: (CryptoCurrencyStatus) -> T,
+        ): T {
+            val key = RowKey(accountId = accountId, currencyId = status.currency.id)
+            val inputsHash = 31 * status.hashCode() + rowInputs.hashCode()
+            val cached = entries[key]
+
+            usedKeys += key
+
+            if (cached != null && cached.isSame(inputsHash, status, rowInputs)) {
+                reusedCount++
+                return cached.model
+            }
+
+            val model = convert(status)
+            entries[key] = Entry(inputsHash = inputsHash, status = status, rowInputs = rowInputs, model = model)
+            convertedCount++
+
+            return model
+        }
+
+        /** [Converter] of rows of [accountId] that gets rows from cache */
+        fun asConverter(
+            accountId: AccountId,
+            converter: Converter<CryptoCurrencyStatus, T>,
+            getRowInputs: (CryptoCurrencyStatus) -> Any? = { null },
+        ): Converter<CryptoCurrencyStatus, T> {
+            return object : Converter<CryptoCurrencyStatus, T> {
+                override fun convert(value: CryptoCurrencyStatus): T {
+                    return getOrConvert(
+                        accountId = accountId,
+                        status = value,
+                        rowInputs = getRowInputs(value),
+                        convert = converter::convert,
+                    )
+                }
+            }
+        }
+    }
+
+    data class Stats(val convertedCount: Int, val reusedCount: Int)
+
+    private data class RowKey(val accountId: AccountId, val currencyId: CryptoCurrency.ID)
+
+    private class Entry<T>(
+        val inputsHash: Int,
+        val status: CryptoCurrencyStatus,
+        val rowInputs: Any?,
+        val model: T,
+    ) {
+
+        /** Hash is compared first, because most of changed rows are rejected by it without deep comparison */
+        fun isSame(inputsHash: Int, status: CryptoCurrencyStatus, rowInputs: Any?): Boolean {
+            return this.inputsHash == inputsHash && this.status == status && this.rowInputs == rowInputs
+        }
+    }
+}
+
+/** Inputs of token row conversion that are the same for all rows of wallet */
+internal data class TokenRowSharedInputs(
+    val appCurrency: AppCurrency,
+    val yieldModuleApyMap: Map<String, BigDecimal>,
+    val stakingAvailabilityMap: Map<CryptoCurrency, StakingAvailability>,
+    val clickIntents: WalletClickIntents,
+)
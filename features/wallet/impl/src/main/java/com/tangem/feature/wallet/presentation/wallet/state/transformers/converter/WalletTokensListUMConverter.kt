@@ -6,6 +6,7 @@ import com.tangem.core.ui.ds.button.TangemButtonType
 import com.tangem.core.ui.ds.button.TangemButtonUM
 import com.tangem.core.ui.ds.image.TangemIconUM
 import com.tangem.core.ui.ds.row.header.TangemHeaderRowUM
+import com.tangem.core.ui.ds.row.token.TangemTokenRowUM
 import com.tangem.core.ui.extensions.resourceReference
 import com.tangem.core.ui.extensions.wrappedList
 import com.tangem.core.ui.res.TangemTheme
@@ -26,9 +27,14 @@ import com.tangem.feature.wallet.presentation.wallet.state.model.TokensListItemU
 import com.tangem.feature.wallet.presentation.wallet.state.model.WalletTokensListUM
 import com.tangem.feature.wallet.presentation.wallet.state.utils.isSingleWalletWithToken
 import com.tangem.utils.converter.Converter
+import kotlinx.collections.immutable.PersistentList
 import kotlinx.collections.immutable.toPersistentList
 import java.math.BigDecimal
 
+/**
+ * Converter of token list of wallet screen.
+ * Token rows are taken from [tokenRowsCache] while their inputs are unchanged.
+ */
 @Suppress("LongParameterList")
 internal class WalletTokensListUMConverter(
     private val appCurrency: AppCurrency,
@@ -40,6 +46,7 @@ internal class WalletTokensListUMConverter(
     private val stakingAvailabilityMap: Map<CryptoCurrency, StakingAvailability>,
     private val isAddAndManageTokensEnabled: Boolean,
     shouldShowMainPromo: Boolean,
+    private val tokenRowsCache: TokenRowUMCache<TangemTokenRowUM> = TokenRowUMCache(),
 ) : Converter<AccountStatusList, WalletTokensListUM> {
 
     private val accountRowConverter by lazy(LazyThreadSafetyMode.NONE) {
@@ -79,27 +86,14 @@ internal class WalletTokensListUMConverter(
                 onEmptyClick = { clickIntents.onManageTokensClick(value.mainAccount.accountId) },
             )
         } else {
-            val tokenListUM = value.accountStatuses
-                .filterIsInstance<AccountStatus.CryptoPortfolio>()
-                .asSequence()
-                .flatMap { accountStatus ->
-                    if (isAccountsModeEnabled) {
-                        sequenceOf(
-                            TokensListItemUM2.Portfolio(
-                                tokenRowUM = accountRowConverter.convert(accountStatus),
-                                isExpanded = expandedAccounts.contains(accountStatus.account.accountId),
-                                isCollapsable = true,
-                                onEmptyClick = { clickIntents.onManageTokensClick(accountStatus.account.accountId) },
-                                tokenList = getTokenListItems(
-                                    accountStatus,
-                                    promoCryptoCurrency,
-                                ).toPersistentList(),
-                            ),
-                        )
-                    } else {
-                        getTokenListItems(accountStatus, promoCryptoCurrency)
-                    }
-                }.toPersistentList()
+            val sharedInputs = TokenRowSharedInputs(
+                appCurrency = appCurrency,
+                yieldModuleApyMap = yieldModuleApyMap,
+                stakingAvailabilityMap = stakingAvailabilityMap,
+                clickIntents = clickIntents,
+            )
+
+            val tokenListUM = tokenRowsCache.convert(sharedInputs) { convertAccounts(value, promoCryptoCurrency) }
 
             WalletTokensListUM.Content(
                 tokenList = tokenListUM,
@@ -108,7 +102,34 @@ internal class WalletTokensListUMConverter(
         }
     }
 
-    private fun getTokenListItems(
+    private fun TokenRowUMCache<TangemTokenRowUM>.Session.convertAccounts(
+        value: AccountStatusList,
+        promoCryptoCurrency: CryptoCurrencyStatus?,
+    ): PersistentList<TokensListItemUM2> {
+        return value.accountStatuses
+            .filterIsInstance<AccountStatus.CryptoPortfolio>()
+            .asSequence()
+            .flatMap { accountStatus ->
+                if (isAccountsModeEnabled) {
+                    sequenceOf(
+                        TokensListItemUM2.Portfolio(
+                            tokenRowUM = accountRowConverter.convert(accountStatus),
+                            isExpanded = expandedAccounts.contains(accountStatus.account.accountId),
+                            isCollapsable = true,
+                            onEmptyClick = { clickIntents.onManageTokensClick(accountStatus.account.accountId) },
+                            tokenList = getTokenListItems(
+                                accountStatus,
+                                promoCryptoCurrency,
+                            ).toPersistentList(),
+                        ),
+                    )
+                } else {
+                    getTokenListItems(accountStatus, promoCryptoCurrency)
+                }
+            }.toPersistentList()
+    }
+
+    private fun TokenRowUMCache<TangemTokenRowUM>.Session.getTokenListItems(
         accountStatus: AccountStatus.CryptoPortfolio,
         promoCryptoCurrency: CryptoCurrencyStatus?,
     ): Sequence<TokensListItemUM2> {
@@ -124,12 +145,8 @@ internal class WalletTokensListUMConverter(
                         )
                         addAll(
                             currencies.asSequence().map { currencyStatus ->
-                                val shouldShowPromo = promoCryptoCurrency?.currency?.id == currencyStatus.currency.id
                                 TokensListItemUM2.Token(
-                                    tokenRowUM = currencyRowConverter(
-                                        accountStatus.accountId,
-                                        shouldShowPromo,
-                                    ).convert(currencyStatus),
+                                    tokenRowUM = getTokenRow(accountStatus, currencyStatus, promoCryptoCurrency),
                                 )
                             }.toList(),
                         )
@@ -138,18 +155,29 @@ internal class WalletTokensListUMConverter(
             }
             is TokenList.Ungrouped -> {
                 tokenList.currencies.asSequence().map { currencyStatus ->
-                    val shouldShowPromo = promoCryptoCurrency?.currency?.id == currencyStatus.currency.id
                     TokensListItemUM2.Token(
-                        tokenRowUM = currencyRowConverter(
-                            accountStatus.accountId,
-                            shouldShowPromo,
-                        ).convert(currencyStatus),
+                        tokenRowUM = getTokenRow(accountStatus, currencyStatus, promoCryptoCurrency),
                     )
                 }
             }
         }
     }
 
+    private fun TokenRowUMCache<TangemTokenRowUM>.Session.getTokenRow(
+        accountStatus: AccountStatus.CryptoPortfolio,
+        currencyStatus: CryptoCurrencyStatus,
+        promoCryptoCurrency: CryptoCurrencyStatus?,
+    ): TangemTokenRowUM {
+        val shouldShowPromo = promoCryptoCurrency?.currency?.id == currencyStatus.currency.id
+
+        return getOrConvert(
+            accountId = accountStatus.accountId,
+            status = currencyStatus,
+            rowInputs = shouldShowPromo,
+            convert = currencyRowConverter(accountStatus.accountId, shouldShowPromo)::convert,
+        )
+    }
+
     private fun toGroupRow(network: Network): TangemHeaderRowUM {
         return TangemHeaderRowUM(
             id = network.hashCode().toString(),
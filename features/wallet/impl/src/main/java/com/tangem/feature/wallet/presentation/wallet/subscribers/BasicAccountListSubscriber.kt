@@ -1,5 +1,7 @@
 package com.tangem.feature.wallet.presentation.wallet.subscribers
 
+import com.tangem.core.ui.components.token.state.TokenItemState
+import com.tangem.core.ui.ds.row.token.TangemTokenRowUM
 import com.tangem.domain.account.models.AccountStatusList
 import com.tangem.domain.account.status.supplier.SingleAccountStatusListSupplier
 import com.tangem.domain.appcurrency.GetSelectedAppCurrencyUseCase
@@ -16,6 +18,7 @@ import com.tangem.feature.wallet.presentation.account.AccountDependencies
 import com.tangem.feature.wallet.presentation.wallet.state.WalletStateController
 import com.tangem.feature.wallet.presentation.wallet.state.transformers.SetTokenListErrorTransformer
 import com.tangem.feature.wallet.presentation.wallet.state.transformers.SetTokenListTransformer
+import com.tangem.feature.wallet.presentation.wallet.state.transformers.converter.TokenRowUMCache
 import com.tangem.common.ui.tokens.TokenConverterParams
 import com.tangem.domain.models.account.AccountStatus
 import com.tangem.utils.logging.TangemLogger
@@ -39,6 +42,10 @@ internal abstract class BasicAccountListSubscriber : BasicWalletSubscriber() {
     override val singleAccountStatusListSupplier: SingleAccountStatusListSupplier
         get() = accountDependencies.singleAccountStatusListSupplier
 
+    /** Token rows of the previous emissions that are reused by the next ones while they are unchanged */
+    private val tokenItemsCache = TokenRowUMCache<TokenItemState>()
+    private val tokenRowsCache = TokenRowUMCache<TangemTokenRowUM>()
+
     protected fun getAppCurrencyFlow(): Flow<AppCurrency> {
         return getSelectedAppCurrencyUseCase.invokeOrDefault()
             .distinctUntilChanged()
@@ -107,6 +114,8 @@ internal abstract class BasicAccountListSubscriber : BasicWalletSubscriber() {
                 isAccountsModeEnabled = isAccountMode,
                 isRedesignEnabled = true,
                 isAddAndManageTokensEnabled = isAddAndManageTokensEnabled,
+                tokenItemsCache = tokenItemsCache,
+                tokenRowsCache = tokenRowsCache,
             ),
         )
     }
@@ -171,6 +180,8 @@ internal abstract class BasicAccountListSubscriber : BasicWalletSubscriber() {
                 isAccountsModeEnabled = false,
                 isRedesignEnabled = false,
                 isAddAndManageTokensEnabled = isAddAndManageTokensEnabled,
+                tokenItemsCache = tokenItemsCache,
+                tokenRowsCache = tokenRowsCache,
             ),
         )
     }
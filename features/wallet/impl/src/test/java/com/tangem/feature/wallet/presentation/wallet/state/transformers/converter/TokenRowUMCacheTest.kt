@@ -0,0 +1,155 @@
+package com.tangem.feature.wallet.presentation.wallet.state.transformers.converter
+
+import com.google.common.truth.Truth.assertThat
+import com.tangem.domain.models.account.Account.CryptoPortfolio.Companion.createMainAccount
+import com.tangem.domain.models.account.AccountId
+import com.tangem.domain.models.currency.CryptoCurrency
+import com.tangem.domain.models.currency.CryptoCurrencyStatus
+import com.tangem.domain.models.network.Network
+import com.tangem.domain.models.network.NetworkAddress
+import com.tangem.domain.models.wallet.UserWalletId
+import org.junit.Test
+import java.math.BigDecimal
+
+class TokenRowUMCacheTest {
+
+    private val cache = TokenRowUMCache<RowUM>()
+    private val accountId: AccountId = createMainAccount(UserWalletId("00")).accountId
+    private val convertedStatuses = mutableListOf<CryptoCurrencyStatus>()
+
+    @Test
+    fun `GIVEN unchanged statuses WHEN convert THEN reuse row instances`() {
+        val statuses = listOf(
+            createStatus(contract = "0xA1", amount = "1"),
+            createStatus(contract = "0xA2", amount = "2"),
+        )
+
+        val first = convertRows(statuses)
+        val second = convertRows(statuses.map { it.copy() })
+
+        assertThat(second.zip(first).all { (actual, prev) -> actual === prev }).isTrue()
+        assertThat(convertedStatuses).hasSize(2)
+        assertThat(cache.lastStats).isEqualTo(TokenRowUMCache.Stats(convertedCount = 0, reusedCount = 2))
+    }
+
+    @Test
+    fun `GIVEN one changed status WHEN convert THEN rebuild only its row`() {
+        val unchanged = createStatus(contract = "0xA1", amount = "1")
+        val first = convertRows(listOf(unchanged, createStatus(contract = "0xA2", amount = "2")))
+
+        val changed = createStatus(contract = "0xA2", amount = "3")
+        val second = convertRows(listOf(unchanged, changed))
+
+        assertThat(second[0]).isSameInstanceAs(first[0])
+        assertThat(second[1]).isNotSameInstanceAs(first[1])
+        assertThat(second[1].status).isEqualTo(changed)
+        assertThat(cache.lastStats).isEqualTo(TokenRowUMCache.Stats(convertedCount = 1, reusedCount = 1))
+    }
+
+    @Test
+    fun `GIVEN changed row inputs WHEN convert THEN rebuild row`() {
+        val status = createStatus(contract = "0xA1", amount = "1")
+
+        val first = convertRows(listOf(status), rowInputs = false)
+        val second = convertRows(listOf(status), rowInputs = true)
+
+        assertThat(second[0]).isNotSameInstanceAs(first[0])
+    }
+
+    @Test
+    fun `GIVEN changed shared inputs WHEN convert THEN rebuild all rows`() {
+        val statuses = listOf(
+            createStatus(contract = "0xA1", amount = "1"),
+            createStatus(contract = "0xA2", amount = "2"),
+        )
+
+        convertRows(statuses, sharedInputs = "USD")
+        convertRows(statuses, sharedInputs = "EUR")
+
+        assertThat(convertedStatuses).hasSize(4)
+        assertThat(cache.lastStats).isEqualTo(TokenRowUMCache.Stats(convertedCount = 2, reusedCount = 0))
+    }
+
+    @Test
+    fun `GIVEN removed status WHEN convert THEN evict its row`() {
+        val removed = createStatus(contract = "0xA2", amount = "2")
+        val statuses = listOf(createStatus(contract = "0xA1", amount = "1"), removed)
+
+        convertRows(statuses)
+        convertRows(statuses.take(1))
+        convertRows(statuses)
+
+        assertThat(convertedStatuses.count { it == removed }).isEqualTo(2)
+    }
+
+    private fun convertRows(
+        statuses: List<CryptoCurrencyStatus>,
+        sharedInputs: Any = "USD",
+        rowInputs: Any? = null,
+    ): List<RowUM> {
+        return cache.convert(sharedInputs) {
+            statuses.map { status ->
+                getOrConvert(accountId = accountId, status = status, rowInputs = rowInputs) {
+                    convertedStatuses += it
+                    RowUM(it)
+                }
+            }
+        }
+    }
+
+    private fun createStatus(contract: String, amount: String): CryptoCurrencyStatus {
+        return CryptoCurrencyStatus(
+            currency = createToken(contract),
+            value = CryptoCurrencyStatus.Loaded(
+                amount = BigDecimal(amount),
+                fiatAmount = BigDecimal.ZERO,
+                fiatRate = BigDecimal.ONE,
+                priceChange = BigDecimal.ZERO,
+                stakingBalance = null,
+                yieldSupplyStatus = null,
+                hasCurrentNetworkTransactions = false,
+                pendingTransactions = emptySet(),
+                networkAddress = NetworkAddress.Single(
+                    defaultAddress = NetworkAddress.Address(
+                        value = "addr",
+                        type = NetworkAddress.Address.Type.Primary,
+                    ),
+                ),
+                sources = CryptoCurrencyStatus.Sources(),
+            ),
+        )
+    }
+
+    private fun createToken(contract: String): CryptoCurrency.Token {
+        val network = Network(
+            id = Network.ID(value = "ethereum", derivationPath = Network.DerivationPath.None),
+            name = "ethereum",
+            currencySymbol = "ETH",
+            derivationPath = Network.DerivationPath.None,
+            isTestnet = false,
+            standardType = Network.StandardType.ERC20,
+            hasFiatFeeRate = false,
+            canHandleTokens = true,
+            transactionExtrasType = Network.TransactionExtrasType.NONE,
+            nameResolvingType = Network.NameResolvingType.NONE,
+        )
+
+        return CryptoCurrency.Token(
+            id = CryptoCurrency.ID(
+                prefix = CryptoCurrency.ID.Prefix.TOKEN_PREFIX,
+                body = CryptoCurrency.ID.Body.NetworkId("ethereum"),
+                suffix = CryptoCurrency.ID.Suffix.ContractAddress(contract),
+            ),
+            network = network,
+            name = "Token",
+            symbol = "TKN",
+            decimals = 18,
+            iconUrl = null,
+            isCustom = false,
+            contractAddress = contract,
+        )
+    }
+
+    /** Row UI model that is compared by reference like Compose does to skip unchanged rows */
+    private class RowUM(val status: CryptoCurrencyStatus)
+}
@@ -1,5 +1,7 @@
 package com.tangem.blockchainsdk.datastorage
 
+import androidx.datastore.core.DataStore
+import androidx.datastore.preferences.core.Preferences
 import androidx.datastore.preferences.core.edit
 import androidx.datastore.preferences.core.stringPreferencesKey
 import com.tangem.blockchain.common.datastorage.BlockchainDataStorage
@@ -9,27 +11,46 @@ import com.tangem.datasource.local.preferences.utils.getSyncOrNull
 /**
  * [BlockchainDataStorage] implementation
  *
- * @property appPreferencesStore app preferences store
+ * Data is stored in own preferences file. Keys of SDK are unknown in advance, so data that was stored in
+ * [AppPreferencesStore] before is moved to [dataStore] on the first read of its key.
+ *
+ * @property dataStore           blockchain SDK data store
+ * @property appPreferencesStore app preferences store that contains data of previous app versions
  *
 [REDACTED_AUTHOR]
  */
 internal class DefaultBlockchainDataStorage(
+    private val dataStore: DataStore<Preferences>,
     private val appPreferencesStore: AppPreferencesStore,
 ) : BlockchainDataStorage {
 
     override suspend fun getOrNull(key: String): String? {
-        return appPreferencesStore.getSyncOrNull(key = stringPreferencesKey(name = key))
+        val preferencesKey = stringPreferencesKey(name = key)
+
+        return dataStore.getSyncOrNull(key = preferencesKey) ?: migrate(preferencesKey)
     }
 
     override suspend fun store(key: String, value: String) {
-        appPreferencesStore.edit {
+        dataStore.edit {
             it[stringPreferencesKey(key)] = value
         }
     }
 
     override suspend fun remove(key: String) {
+        dataStore.edit {
+            it.remove(stringPreferencesKey(key))
+        }
         appPreferencesStore.edit {
             it.remove(stringPreferencesKey(key))
         }
     }
-}
\ No newline at end of file
+
+    private suspend fun migrate(key: Preferences.Key<String>): String? {
+        val value = appPreferencesStore.getSyncOrNull(key = key) ?: return null
+
+        dataStore.edit { if (key !in it) it[key] = value }
+        appPreferencesStore.edit { it.remove(key) }
+
+        return value
+    }
+}
@@ -23,6 +23,7 @@ import com.tangem.datasource.api.tangemTech.TangemTechApi
 import com.tangem.datasource.di.NetworkMoshi
 import com.tangem.datasource.local.config.environment.EnvironmentConfig
 import com.tangem.datasource.local.preferences.AppPreferencesStore
+import com.tangem.datasource.local.preferences.PreferencesShards
 import com.tangem.utils.coroutines.AppCoroutineScope
 import com.tangem.libs.blockchain_sdk.BuildConfig
 import com.tangem.utils.coroutines.CoroutineDispatcherProvider
@@ -90,12 +91,16 @@ internal object BlockchainSDKFactoryModule {
     fun provideWalletManagerFactoryCreator(
         tangemTechApi: TangemTechApi,
         appPreferencesStore: AppPreferencesStore,
+        preferencesShards: PreferencesShards,
         blockchainSDKLogger: BlockchainSDKLogger,
         featureTogglesManager: FeatureTogglesManager,
     ): WalletManagerFactoryCreator {
         return WalletManagerFactoryCreator(
             accountCreator = DefaultAccountCreator(tangemTechApi),
-            blockchainDataStorage = DefaultBlockchainDataStorage(appPreferencesStore),
+            blockchainDataStorage = DefaultBlockchainDataStorage(
+                dataStore = preferencesShards.blockchainSdkData,
+                appPreferencesStore = appPreferencesStore,
+            ),
             blockchainSDKLogger = blockchainSDKLogger,
             isSolanaTxHistoryEnabled = featureTogglesManager.isFeatureEnabled(
                 FeatureToggles.SOLANA_TX_HISTORY_ENABLED,